@@ -0,0 +1,124 @@
+package cl.bci.ejercicio.controller;
+
+import cl.bci.ejercicio.BciProjectApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compara el throughput HTTP de sign-up y login con alta concurrencia entre
+ * el pool de hilos de plataforma de Tomcat y el modo de hilos virtuales
+ * ({@code spring.threads.virtual.enabled}).
+ *
+ * Cada hilo de JMH es un cliente que envía solicitudes de forma síncrona; con
+ * 400 clientes la cantidad de solicitudes en curso supera el máximo de 200
+ * hilos de Tomcat. La concurrencia se ajusta con {@code -t} y el pool de
+ * plataforma con {@code -p serverThreads=...}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Threads(400)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HttpLoadBenchmark {
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    @Param({"200"})
+    public int serverThreads;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private URI signUpUri;
+    private URI loginUri;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = new SpringApplicationBuilder(BciProjectApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--server.tomcat.threads.max=" + serverThreads,
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--spring.datasource.url=jdbc:h2:mem:http-benchmark;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.cl.bci=WARN");
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        signUpUri = URI.create("http://localhost:" + port + "/v1/bci/sign-up");
+        loginUri = URI.create("http://localhost:" + port + "/v1/bci/login");
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        HttpResponse<String> response = send(signUpRequest("login@bci.cl"));
+        JsonNode body = objectMapper.readTree(response.body());
+        token = body.get("token").asText();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int signUp() throws Exception {
+        return send(signUpRequest("user" + sequence.incrementAndGet() + "@bci.cl")).statusCode();
+    }
+
+    @Benchmark
+    public int login() throws Exception {
+        return send(HttpRequest.newBuilder(loginUri)
+                .header("token", token)
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build()).statusCode();
+    }
+
+    private HttpRequest signUpRequest(String email) {
+        String body = "{\"name\":\"Juan Pérez\",\"email\":\"" + email + "\",\"password\":\"Password12\","
+                + "\"phones\":[{\"number\":123456789,\"citycode\":1,\"contrycode\":\"57\"}]}";
+        return HttpRequest.newBuilder(signUpUri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws Exception {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException("HTTP " + response.statusCode() + ": " + response.body());
+        }
+        return response;
+    }
+}
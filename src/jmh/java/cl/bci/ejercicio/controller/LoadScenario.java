@@ -0,0 +1,138 @@
+package cl.bci.ejercicio.controller;
+
+import cl.bci.ejercicio.BciProjectApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Escenario de carga para perfilar la aplicación con JDK Flight Recorder
+ * ({@code ./gradlew jfrLoad}).
+ *
+ * Inicia la aplicación en un puerto libre, registra {@code users} usuarios y
+ * durante {@code duration} segundos envía desde {@code clients} clientes
+ * síncronos una mezcla de logins (fracción {@code loginRatio}) y sign-ups
+ * nuevos. Al terminar informa las solicitudes atendidas y los errores.
+ *
+ * Argumentos: {@code duration clients users loginRatio} (por omisión
+ * {@code 60 50 1000 0.9}).
+ */
+public class LoadScenario {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong logins = new AtomicLong();
+    private final AtomicLong signUps = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+
+    private HttpClient client;
+    private URI signUpUri;
+    private URI loginUri;
+
+    public static void main(String[] args) throws Exception {
+        int duration = args.length > 0 ? Integer.parseInt(args[0]) : 60;
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+        int users = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+        double loginRatio = args.length > 3 ? Double.parseDouble(args[3]) : 0.9;
+        new LoadScenario().run(duration, clients, users, loginRatio);
+    }
+
+    private void run(int duration, int clients, int users, double loginRatio) throws Exception {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(BciProjectApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:jfr-load;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.cl.bci=WARN");
+        try {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            signUpUri = URI.create("http://localhost:" + port + "/v1/bci/sign-up");
+            loginUri = URI.create("http://localhost:" + port + "/v1/bci/login");
+            client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+
+            List<String> tokens = new ArrayList<>(users);
+            for (int i = 0; i < users; i++) {
+                HttpResponse<String> response = signUp();
+                tokens.add(objectMapper.readTree(response.body()).get("token").asText());
+            }
+            signUps.set(0);
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(duration);
+            ExecutorService executor = Executors.newFixedThreadPool(clients);
+            List<Future<?>> futures = new ArrayList<>(clients);
+            for (int i = 0; i < clients; i++) {
+                futures.add(executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        try {
+                            if (random.nextDouble() < loginRatio) {
+                                login(tokens.get(random.nextInt(tokens.size())));
+                                logins.incrementAndGet();
+                            } else {
+                                signUp();
+                                signUps.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            executor.shutdown();
+
+            System.out.printf("Escenario de carga: %d s, %d clientes, %d logins (%.1f/s), %d sign-ups (%.1f/s), %d errores%n",
+                    duration, clients, logins.get(), logins.get() / (double) duration,
+                    signUps.get(), signUps.get() / (double) duration, errors.get());
+        } finally {
+            context.close();
+        }
+    }
+
+    private HttpResponse<String> signUp() throws Exception {
+        String body = "{\"name\":\"Juan Pérez\",\"email\":\"load" + sequence.incrementAndGet() + "@bci.cl\","
+                + "\"password\":\"Password12\","
+                + "\"phones\":[{\"number\":123456789,\"citycode\":1,\"contrycode\":\"57\"}]}";
+        return send(HttpRequest.newBuilder(signUpUri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build());
+    }
+
+    private HttpResponse<String> login(String token) throws Exception {
+        return send(HttpRequest.newBuilder(loginUri)
+                .header("token", token)
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build());
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws Exception {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException("HTTP " + response.statusCode() + ": " + response.body());
+        }
+        return response;
+    }
+}
@@ -0,0 +1,120 @@
+package cl.bci.ejercicio.controller;
+
+import cl.bci.ejercicio.BciProjectApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compara la latencia de cola de sign-up y login entre la variante servlet
+ * (Tomcat + JPA) y la variante reactiva (perfil {@code reactive}, Netty + R2DBC).
+ *
+ * Cada hilo de JMH es un cliente con su propia conexión que envía solicitudes
+ * de forma síncrona, por lo que {@code -t} fija la cantidad de conexiones
+ * concurrentes. El modo {@code SampleTime} reporta los percentiles p50 a
+ * p99.99 de cada variante.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Threads(2000)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StackLatencyBenchmark {
+
+    @Param({"servlet", "reactive"})
+    public String stack;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private URI signUpUri;
+    private URI loginUri;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = new SpringApplicationBuilder(BciProjectApplication.class)
+                .profiles("reactive".equals(stack) ? new String[]{"reactive"} : new String[0])
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:stack-benchmark;DB_CLOSE_DELAY=-1",
+                        "--spring.r2dbc.url=r2dbc:h2:mem:///stack-benchmark?options=DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.cl.bci=WARN");
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        signUpUri = URI.create("http://localhost:" + port + "/v1/bci/sign-up");
+        loginUri = URI.create("http://localhost:" + port + "/v1/bci/login");
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+
+        HttpResponse<String> response = send(signUpRequest("login@bci.cl"));
+        JsonNode body = objectMapper.readTree(response.body());
+        token = body.get("token").asText();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int signUp() throws Exception {
+        return send(signUpRequest("user" + sequence.incrementAndGet() + "@bci.cl")).statusCode();
+    }
+
+    @Benchmark
+    public int login() throws Exception {
+        return send(HttpRequest.newBuilder(loginUri)
+                .header("token", token)
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build()).statusCode();
+    }
+
+    private HttpRequest signUpRequest(String email) {
+        String body = "{\"name\":\"Juan Pérez\",\"email\":\"" + email + "\",\"password\":\"Password12\","
+                + "\"phones\":[{\"number\":123456789,\"citycode\":1,\"contrycode\":\"57\"}]}";
+        return HttpRequest.newBuilder(signUpUri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws Exception {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException("HTTP " + response.statusCode() + ": " + response.body());
+        }
+        return response;
+    }
+}
@@ -0,0 +1,125 @@
+package cl.bci.ejercicio.repository;
+
+import cl.bci.ejercicio.entity.User;
+import cl.bci.ejercicio.utils.UuidUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Compara la tasa de inserción en {@code users} con ids UUID aleatorios (v4)
+ * frente a ids ordenados por tiempo (v7) sobre una tabla que ya contiene
+ * {@code rows} filas, en una base H2 en archivo.
+ *
+ * Con ids aleatorios cada inserción cae en una hoja distinta del índice
+ * primario; con ids v7 todas se agregan al final. Cada invocación inserta un
+ * lote de {@value #BATCH_SIZE} usuarios en una transacción, y el resultado se
+ * expresa en filas por segundo.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserIdInsertBenchmark {
+
+    private static final int BATCH_SIZE = 100;
+
+    private static final String CREATE_TABLE_SQL = "CREATE TABLE users ("
+            + "id BINARY(16) NOT NULL PRIMARY KEY, "
+            + "name VARCHAR(255) NOT NULL, "
+            + "email VARCHAR(255) NOT NULL, "
+            + "password VARCHAR(255) NOT NULL, "
+            + "created TIMESTAMP NOT NULL, "
+            + "last_login TIMESTAMP, "
+            + "token VARCHAR(255), "
+            + "is_active BOOLEAN NOT NULL, "
+            + "CONSTRAINT " + User.EMAIL_UNIQUE_CONSTRAINT + " UNIQUE (email))";
+
+    private static final String INSERT_SQL = "INSERT INTO users "
+            + "(id, name, email, password, created, last_login, token, is_active) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, TRUE)";
+
+    @Param({"random", "timeOrdered"})
+    public String idType;
+
+    @Param({"1000000"})
+    public int rows;
+
+    private Path directory;
+    private Connection connection;
+    private PreparedStatement insert;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("user-id-benchmark");
+        connection = DriverManager.getConnection("jdbc:h2:file:" + directory.resolve("users"), "sa", "");
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(CREATE_TABLE_SQL);
+        }
+        insert = connection.prepareStatement(INSERT_SQL);
+        for (int i = 0; i < rows; i += BATCH_SIZE) {
+            insertBatch();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        insert.close();
+        connection.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int[] insert() throws Exception {
+        return insertBatch();
+    }
+
+    private int[] insertBatch() throws Exception {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            long n = ++sequence;
+            UUID id = "random".equals(idType) ? UUID.randomUUID() : UuidUtil.timeOrdered();
+            insert.setBytes(1, UuidUtil.toBytes(id));
+            insert.setString(2, "Usuario " + n);
+            insert.setString(3, "user" + n + "@bci.cl");
+            insert.setString(4, "cifrada-" + n);
+            insert.setTimestamp(5, now);
+            insert.setTimestamp(6, now);
+            insert.setString(7, "token-" + n);
+            insert.addBatch();
+        }
+        int[] counts = insert.executeBatch();
+        connection.commit();
+        return counts;
+    }
+}
@@ -0,0 +1,65 @@
+package cl.bci.ejercicio.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide la generación y extracción de tokens de {@link JwtService}, con y sin
+ * la caché de tokens verificados.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtServiceBenchmark {
+
+    private static final String EMAIL = "juan.perez@bci.cl";
+
+    @Param({"0", "10000"})
+    public int cacheMaxSize;
+
+    private JwtService jwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        setField("secret", "variable-de-entorno-con-la-key");
+        setField("jwtExpiration", 28800000L);
+        setField("cacheMaxSize", cacheMaxSize);
+        setField("cacheTtl", 300000L);
+        jwtService.init();
+        token = jwtService.generateToken(EMAIL);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(EMAIL);
+    }
+
+    @Benchmark
+    public String extractEmail() {
+        return jwtService.extractEmail(token);
+    }
+
+    private void setField(String name, Object value) {
+        Field field = ReflectionUtils.findField(JwtService.class, name);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, jwtService, value);
+    }
+}
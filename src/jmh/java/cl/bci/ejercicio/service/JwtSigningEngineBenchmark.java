@@ -0,0 +1,74 @@
+package cl.bci.ejercicio.service;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara la firma y verificación de tokens con {@code Jwts.builder()/parser()}
+ * (camino original de JwtService) contra {@link JwtSigningEngine}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtSigningEngineBenchmark {
+
+    private static final String SECRET = "variable-de-entorno-con-la-key";
+    private static final String EMAIL = "juan.perez@bci.cl";
+    private static final long EXPIRATION = 28800000L;
+
+    private JwtSigningEngine engine;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        engine = new JwtSigningEngine(SECRET);
+        long now = System.currentTimeMillis();
+        token = engine.sign(EMAIL, now, now + EXPIRATION);
+    }
+
+    @Benchmark
+    public String signJjwt() {
+        return Jwts.builder()
+                .setSubject(EMAIL)
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION))
+                .signWith(SignatureAlgorithm.HS512, SECRET)
+                .compact();
+    }
+
+    @Benchmark
+    public String signEngine() {
+        long now = System.currentTimeMillis();
+        return engine.sign(EMAIL, now, now + EXPIRATION);
+    }
+
+    @Benchmark
+    public Claims verifyJjwt() {
+        return Jwts.parser()
+                .setSigningKey(SECRET)
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    @Benchmark
+    public Claims verifyEngine() {
+        return engine.verify(token);
+    }
+}
@@ -0,0 +1,165 @@
+package cl.bci.ejercicio.service;
+
+import cl.bci.ejercicio.BciProjectApplication;
+import cl.bci.ejercicio.dto.PhoneDto;
+import cl.bci.ejercicio.dto.SignUpRequestDto;
+import cl.bci.ejercicio.dto.SignUpResponseDto;
+import cl.bci.ejercicio.dto.UserResponseDto;
+import cl.bci.ejercicio.utils.AESUtil;
+import cl.bci.ejercicio.utils.EmailUtil;
+import cl.bci.ejercicio.utils.UuidUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Compara sign-up y login de {@link UserService} con la base H2 en memoria
+ * frente al perfil {@code file}, sobre una tabla que ya contiene {@code users}
+ * usuarios con un teléfono cada uno.
+ *
+ * Los usuarios iniciales se insertan por JDBC en lotes (cifrar y firmar un
+ * millón de registros tomaría más que la medición); el login usa tokens de
+ * {@value #TOKEN_POOL_SIZE} usuarios elegidos al azar (diez veces la región
+ * {@code users} de {@code ehcache.xml}), de modo que la mayoría de las
+ * búsquedas llegan a la base de datos.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StorageModeBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int TOKEN_POOL_SIZE = 100000;
+
+    private static final String INSERT_USER_SQL = "INSERT INTO users "
+            + "(id, name, email, email_normalized, email_hash, password, created, last_login, token, is_active) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, TRUE)";
+
+    private static final String INSERT_PHONE_SQL = "INSERT INTO phones "
+            + "(id, number, city_code, contry_code, user_id) VALUES (?, ?, 1, '57', ?)";
+
+    @Param({"mem", "file"})
+    public String storage;
+
+    @Param({"1000000"})
+    public int users;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private Path directory;
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+    private String[] tokens;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(BciProjectApplication.class)
+                .web(WebApplicationType.NONE);
+        List<String> args = new ArrayList<>();
+        args.add("--spring.jpa.show-sql=false");
+        args.add("--logging.level.root=WARN");
+        args.add("--logging.level.cl.bci=WARN");
+        if ("file".equals(storage)) {
+            directory = Files.createTempDirectory("storage-benchmark");
+            builder.profiles("file");
+            args.add("--h2.file.path=" + directory.resolve("bci"));
+        } else {
+            args.add("--spring.datasource.url=jdbc:h2:mem:storage-benchmark;DB_CLOSE_DELAY=-1");
+        }
+        context = builder.run(args.toArray(new String[0]));
+        userService = context.getBean(UserService.class);
+
+        prefill(context.getBean(JdbcTemplate.class));
+        JwtService jwtService = context.getBean(JwtService.class);
+        tokens = new String[TOKEN_POOL_SIZE];
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = jwtService.generateToken(email(ThreadLocalRandom.current().nextInt(users)));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        context.close();
+        if (directory != null) {
+            try (Stream<Path> files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    @Benchmark
+    public SignUpResponseDto signUp() throws Exception {
+        return userService.signUp(newRequest("new" + sequence.incrementAndGet() + "@bci.cl"));
+    }
+
+    @Benchmark
+    public UserResponseDto login() throws Exception {
+        return userService.login(tokens[ThreadLocalRandom.current().nextInt(tokens.length)]);
+    }
+
+    private void prefill(JdbcTemplate jdbcTemplate) throws Exception {
+        String password = AESUtil.encrypt("Password12");
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        List<Object[]> userRows = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> phoneRows = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < users; i++) {
+            String email = email(i);
+            byte[] id = UuidUtil.toBytes(UuidUtil.timeOrdered());
+            userRows.add(new Object[]{id, "Usuario " + i, email, EmailUtil.normalize(email), EmailUtil.hash(email),
+                    password, now, now, "token-" + i});
+            phoneRows.add(new Object[]{i + 1L, 100000000L + i, id});
+            if (userRows.size() == BATCH_SIZE || i == users - 1) {
+                jdbcTemplate.batchUpdate(INSERT_USER_SQL, userRows);
+                jdbcTemplate.batchUpdate(INSERT_PHONE_SQL, phoneRows);
+                userRows.clear();
+                phoneRows.clear();
+            }
+        }
+        // Hibernate toma cada valor de la secuencia como el tope de un bloque de
+        // 50 ids: se deja un bloque de margen sobre los teléfonos insertados.
+        jdbcTemplate.execute("ALTER SEQUENCE phones_seq RESTART WITH " + (users + 100));
+    }
+
+    private static String email(int index) {
+        return "user" + index + "@bci.cl";
+    }
+
+    private static SignUpRequestDto newRequest(String email) {
+        SignUpRequestDto request = new SignUpRequestDto();
+        request.setName("Juan Pérez");
+        request.setEmail(email);
+        request.setPassword("Password12");
+        request.setPhones(Collections.singletonList(
+                PhoneDto.builder().number(123456789L).citycode(1).contrycode("57").build()));
+        return request;
+    }
+}
@@ -0,0 +1,88 @@
+package cl.bci.ejercicio.service;
+
+import cl.bci.ejercicio.BciProjectApplication;
+import cl.bci.ejercicio.dto.PhoneDto;
+import cl.bci.ejercicio.dto.SignUpRequestDto;
+import cl.bci.ejercicio.dto.SignUpResponseDto;
+import cl.bci.ejercicio.dto.UserResponseDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mide el camino completo de {@link UserService} (sign-up y login) contra una
+ * base H2 en memoria, levantando el contexto de Spring sin servidor web.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserServiceBenchmark {
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = new SpringApplicationBuilder(BciProjectApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.cl.bci=WARN");
+        userService = context.getBean(UserService.class);
+        token = userService.signUp(newRequest("login@bci.cl")).getToken();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public SignUpResponseDto signUp() throws Exception {
+        return userService.signUp(newRequest("user" + sequence.incrementAndGet() + "@bci.cl"));
+    }
+
+    @Benchmark
+    public UserResponseDto login() throws Exception {
+        return userService.login(token);
+    }
+
+    @Benchmark
+    public byte[] loginSerialized() throws Exception {
+        return userService.loginSerialized(token);
+    }
+
+    private static SignUpRequestDto newRequest(String email) {
+        SignUpRequestDto request = new SignUpRequestDto();
+        request.setName("Juan Pérez");
+        request.setEmail(email);
+        request.setPassword("Password12");
+        request.setPhones(Collections.singletonList(
+                PhoneDto.builder().number(123456789L).citycode(1).contrycode("57").build()));
+        return request;
+    }
+}
@@ -0,0 +1,45 @@
+package cl.bci.ejercicio.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide el cifrado y descifrado de contraseñas con {@link AESUtil}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AESUtilBenchmark {
+
+    private static final String PASSWORD = "Password12";
+
+    private String encrypted;
+
+    @Setup
+    public void setUp() throws Exception {
+        encrypted = AESUtil.encrypt(PASSWORD);
+    }
+
+    @Benchmark
+    public String encrypt() throws Exception {
+        return AESUtil.encrypt(PASSWORD);
+    }
+
+    @Benchmark
+    public String decrypt() throws Exception {
+        return AESUtil.decrypt(encrypted);
+    }
+}
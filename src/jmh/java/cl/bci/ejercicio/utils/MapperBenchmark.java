@@ -0,0 +1,67 @@
+package cl.bci.ejercicio.utils;
+
+import cl.bci.ejercicio.dto.PhoneDto;
+import cl.bci.ejercicio.dto.UserResponseDto;
+import cl.bci.ejercicio.entity.Phone;
+import cl.bci.ejercicio.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide los mapeos de {@link UserMapper} y {@link PhoneMapper} usados en
+ * sign-up y login.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    private User user;
+    private List<PhoneDto> phoneDtos;
+
+    @Setup
+    public void setUp() throws Exception {
+        phoneDtos = Arrays.asList(
+                PhoneDto.builder().number(123456789L).citycode(1).contrycode("57").build(),
+                PhoneDto.builder().number(987654321L).citycode(2).contrycode("56").build());
+
+        user = User.builder()
+                .id(UUID.randomUUID())
+                .name("Juan Pérez")
+                .email("juan.perez@bci.cl")
+                .password(AESUtil.encrypt("Password12"))
+                .created(LocalDateTime.now())
+                .lastLogin(LocalDateTime.now())
+                .token("eyJhbGciOiJIUzUxMiJ9.token.firma")
+                .isActive(true)
+                .build();
+        user.setPhones(PhoneMapper.toEntityList(phoneDtos, user));
+    }
+
+    @Benchmark
+    public UserResponseDto convertToUserResponse() throws Exception {
+        return UserMapper.convertToUserResponse(user);
+    }
+
+    @Benchmark
+    public List<Phone> toEntityList() {
+        return PhoneMapper.toEntityList(phoneDtos, user);
+    }
+}
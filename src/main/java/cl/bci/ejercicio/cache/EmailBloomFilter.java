@@ -0,0 +1,154 @@
+package cl.bci.ejercicio.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Filtro de Bloom de emails registrados.
+ *
+ * Responde si un email "definitivamente no está" o "podría estar" registrado.
+ * El arreglo de bits se dimensiona a partir de la cantidad esperada de
+ * elementos y de la tasa de falsos positivos objetivo, y las posiciones se
+ * obtienen por doble hashing sobre un hash de 64 bits del email. Las
+ * inserciones y consultas son seguras entre hilos y no usan bloqueos.
+ *
+ * @author BCI Team
+ * @version 1.0
+ * @since 1.0
+ */
+public class EmailBloomFilter {
+
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray bits;
+    private final long bitSize;
+    private final int hashFunctions;
+    private final LongAdder insertions = new LongAdder();
+
+    /**
+     * Crea un filtro dimensionado para la cantidad de elementos y la tasa de
+     * falsos positivos indicadas.
+     *
+     * @param expectedInsertions cantidad esperada de emails
+     * @param falsePositiveRate  tasa de falsos positivos objetivo, entre 0 y 1 (exclusivo)
+     */
+    public EmailBloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("La cantidad esperada de elementos debe ser mayor que 0");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("La tasa de falsos positivos debe estar entre 0 y 1");
+        }
+        long words = (optimalBitSize(expectedInsertions, falsePositiveRate) + 63) / 64;
+        if (words > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("El filtro solicitado es demasiado grande");
+        }
+        this.bits = new AtomicLongArray((int) words);
+        this.bitSize = words * 64;
+        this.hashFunctions = optimalHashFunctions(expectedInsertions, bitSize);
+    }
+
+    /**
+     * Registra un email en el filtro.
+     *
+     * @param email Email registrado
+     */
+    public void put(String email) {
+        long hash = hash(email);
+        long h1 = mix(hash);
+        long h2 = mix(h1) | 1;
+        for (int i = 0; i < hashFunctions; i++) {
+            long index = ((h1 + i * h2) & Long.MAX_VALUE) % bitSize;
+            setBit(index);
+        }
+        insertions.increment();
+    }
+
+    /**
+     * Indica si el email podría estar registrado.
+     *
+     * @param email Email a consultar
+     * @return {@code false} si el email definitivamente no fue registrado;
+     *         {@code true} si podría haberlo sido
+     */
+    public boolean mightContain(String email) {
+        long hash = hash(email);
+        long h1 = mix(hash);
+        long h2 = mix(h1) | 1;
+        for (int i = 0; i < hashFunctions; i++) {
+            long index = ((h1 + i * h2) & Long.MAX_VALUE) % bitSize;
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long getBitSize() {
+        return bitSize;
+    }
+
+    public int getHashFunctions() {
+        return hashFunctions;
+    }
+
+    public long getInsertions() {
+        return insertions.sum();
+    }
+
+    /**
+     * Memoria ocupada por el arreglo de bits, en bytes.
+     */
+    public long getMemoryBytes() {
+        return bitSize / 8;
+    }
+
+    /**
+     * Tasa de falsos positivos esperada para la cantidad actual de elementos.
+     */
+    public double getExpectedFalsePositiveRate() {
+        return Math.pow(1 - Math.exp(-hashFunctions * (double) getInsertions() / bitSize), hashFunctions);
+    }
+
+    private void setBit(long index) {
+        int word = (int) (index >>> 6);
+        long mask = 1L << index;
+        long current;
+        do {
+            current = bits.get(word);
+            if ((current & mask) != 0) {
+                return;
+            }
+        } while (!bits.compareAndSet(word, current, current | mask));
+    }
+
+    static long optimalBitSize(long expectedInsertions, double falsePositiveRate) {
+        return (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (LN2 * LN2));
+    }
+
+    static int optimalHashFunctions(long expectedInsertions, long bitSize) {
+        return Math.max(1, (int) Math.round((double) bitSize / expectedInsertions * LN2));
+    }
+
+    /**
+     * FNV-1a de 64 bits sobre los bytes UTF-8 del email.
+     */
+    private static long hash(String email) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : email.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Finalizador de SplitMix64, distribuye los bits de un hash.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
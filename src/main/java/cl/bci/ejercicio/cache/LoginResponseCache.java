@@ -0,0 +1,337 @@
+package cl.bci.ejercicio.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caché de respuestas de login ya serializadas, indexada por email.
+ *
+ * Cada entrada guarda el JSON de {@code UserResponseDto} generado con
+ * {@code lastLogin} y {@code password} nulos, dividido en los fragmentos que
+ * rodean esos valores, de modo que en cada acierto solo se serializa la fecha
+ * vigente y la contraseña. La contraseña en claro nunca se almacena: la
+ * entrada guarda la contraseña cifrada y quien la usa la descifra en cada
+ * acierto, a costa de un descifrado AES por login.
+ * El tamaño se acota por el total de bytes almacenados, descartando la
+ * entrada usada menos recientemente.
+ *
+ * Para no almacenar datos obsoletos, cada invalidación avanza una época
+ * global y la registra en la franja correspondiente al email: una respuesta
+ * construida a partir de una lectura iniciada antes de la última
+ * invalidación de su franja no se guarda.
+ *
+ * @author BCI Team
+ * @version 1.0
+ * @since 1.0
+ */
+public class LoginResponseCache {
+
+    private static final byte[] LAST_LOGIN_FIELD = "\"lastLogin\":".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] PASSWORD_FIELD = "\"password\":".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NULL_VALUE = "null".getBytes(StandardCharsets.US_ASCII);
+
+    private final long maxBytes;
+    private final Map<String, Entry> entries;
+    private static final int STRIPES = 1024;
+
+    private final AtomicLong epoch = new AtomicLong();
+    private final AtomicLongArray invalidatedAt = new AtomicLongArray(STRIPES);
+    private volatile long allInvalidatedAt;
+    private long totalBytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder stalePuts = new LongAdder();
+
+    /**
+     * Crea una caché con el tamaño máximo indicado.
+     *
+     * @param maxBytes total de bytes que pueden ocupar las respuestas almacenadas; 0 deshabilita la caché
+     */
+    public LoginResponseCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Época vigente; debe leerse antes de consultar la base de datos y
+     * entregarse luego a {@link #put}.
+     */
+    public long currentEpoch() {
+        return epoch.get();
+    }
+
+    /**
+     * Obtiene la respuesta almacenada para un email.
+     *
+     * @param email Email del usuario
+     * @return la entrada almacenada, o {@code null} si no existe
+     */
+    public Entry get(String email) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(email);
+        }
+        if (entry != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return entry;
+    }
+
+    /**
+     * Construye la entrada a partir del JSON de la respuesta y la almacena si
+     * no hubo invalidaciones desde {@code epochAtLoad}.
+     *
+     * @param email       Email del usuario
+     * @param userId      ID del usuario
+     * @param lastLogin         Fecha de último login leída de la base de datos
+     * @param encryptedPassword Contraseña cifrada del usuario, o {@code null} si la respuesta no la incluye
+     * @param body              JSON de la respuesta serializada con {@code lastLogin} y {@code password} nulos
+     * @param epochAtLoad       Época leída antes de consultar la base de datos
+     * @return la entrada construida, o {@code null} si el JSON no contiene {@code "lastLogin":null}
+     *         o incluye una contraseña distinta de {@code null}
+     */
+    public Entry put(String email, UUID userId, LocalDateTime lastLogin, String encryptedPassword, byte[] body,
+                     long epochAtLoad) {
+        Entry entry = Entry.split(userId, lastLogin, encryptedPassword, body);
+        if (entry == null || entry.size() > maxBytes) {
+            return entry;
+        }
+
+        synchronized (entries) {
+            if (invalidatedAt.get(stripe(email)) > epochAtLoad || allInvalidatedAt > epochAtLoad) {
+                stalePuts.increment();
+                return entry;
+            }
+            Entry previous = entries.put(email, entry);
+            if (previous != null) {
+                totalBytes -= previous.size();
+            }
+            totalBytes += entry.size();
+
+            Iterator<Entry> eldest = entries.values().iterator();
+            while (totalBytes > maxBytes && eldest.hasNext()) {
+                totalBytes -= eldest.next().size();
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+        return entry;
+    }
+
+    /**
+     * Elimina la respuesta almacenada para un email.
+     *
+     * @param email Email del usuario cuyos datos cambiaron
+     */
+    public void invalidate(String email) {
+        synchronized (entries) {
+            invalidatedAt.set(stripe(email), epoch.incrementAndGet());
+            Entry removed = entries.remove(email);
+            if (removed != null) {
+                totalBytes -= removed.size();
+            }
+        }
+        invalidations.increment();
+    }
+
+    /**
+     * Elimina todas las respuestas almacenadas.
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            allInvalidatedAt = epoch.incrementAndGet();
+            entries.clear();
+            totalBytes = 0;
+        }
+        invalidations.increment();
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getTotalBytes() {
+        synchronized (entries) {
+            return totalBytes;
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public long getInvalidationCount() {
+        return invalidations.sum();
+    }
+
+    public long getStalePutCount() {
+        return stalePuts.sum();
+    }
+
+    private static int stripe(String email) {
+        int hash = email.hashCode();
+        return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+    }
+
+    /**
+     * Respuesta almacenada de un usuario.
+     */
+    public static final class Entry {
+        private static final int LAST_LOGIN = 0;
+        private static final int PASSWORD = 1;
+
+        private final UUID userId;
+        private final String encryptedPassword;
+        // Fragmentos del JSON entre los valores omitidos; slots[i] indica el valor que sigue a fragments[i]
+        private final byte[][] fragments;
+        private final int[] slots;
+        private volatile LocalDateTime lastLogin;
+
+        private Entry(UUID userId, LocalDateTime lastLogin, String encryptedPassword, byte[][] fragments, int[] slots) {
+            this.userId = userId;
+            this.lastLogin = lastLogin;
+            this.encryptedPassword = encryptedPassword;
+            this.fragments = fragments;
+            this.slots = slots;
+        }
+
+        private static Entry split(UUID userId, LocalDateTime lastLogin, String encryptedPassword, byte[] body) {
+            int lastLoginValue = nullValueOf(body, LAST_LOGIN_FIELD);
+            boolean hasPassword = indexOf(body, PASSWORD_FIELD) >= 0;
+            int passwordValue = hasPassword ? nullValueOf(body, PASSWORD_FIELD) : -1;
+            if (lastLoginValue < 0 || (hasPassword && passwordValue < 0)) {
+                return null;
+            }
+            if (!hasPassword) {
+                byte[][] fragments = {
+                        Arrays.copyOfRange(body, 0, lastLoginValue),
+                        Arrays.copyOfRange(body, lastLoginValue + NULL_VALUE.length, body.length)
+                };
+                return new Entry(userId, lastLogin, encryptedPassword, fragments, new int[]{LAST_LOGIN});
+            }
+            int first = Math.min(lastLoginValue, passwordValue);
+            int second = Math.max(lastLoginValue, passwordValue);
+            byte[][] fragments = {
+                    Arrays.copyOfRange(body, 0, first),
+                    Arrays.copyOfRange(body, first + NULL_VALUE.length, second),
+                    Arrays.copyOfRange(body, second + NULL_VALUE.length, body.length)
+            };
+            int[] slots = lastLoginValue < passwordValue
+                    ? new int[]{LAST_LOGIN, PASSWORD}
+                    : new int[]{PASSWORD, LAST_LOGIN};
+            return new Entry(userId, lastLogin, encryptedPassword, fragments, slots);
+        }
+
+        public UUID getUserId() {
+            return userId;
+        }
+
+        /**
+         * Contraseña cifrada del usuario, que se descifra en cada acierto.
+         */
+        public String getEncryptedPassword() {
+            return encryptedPassword;
+        }
+
+        /**
+         * Última fecha de login conocida para el usuario.
+         */
+        public LocalDateTime getLastLogin() {
+            return lastLogin;
+        }
+
+        public void setLastLogin(LocalDateTime lastLogin) {
+            this.lastLogin = lastLogin;
+        }
+
+        /**
+         * Genera el JSON de la respuesta con la fecha de último login y la
+         * contraseña indicadas.
+         *
+         * @param lastLoginJson valor JSON de {@code lastLogin} ya serializado
+         * @param passwordJson  valor JSON de {@code password} ya serializado; se ignora si la respuesta no lo incluye
+         * @return cuerpo completo de la respuesta
+         */
+        public byte[] render(byte[] lastLoginJson, byte[] passwordJson) {
+            byte[][] values = {lastLoginJson, passwordJson};
+            int length = 0;
+            for (byte[] fragment : fragments) {
+                length += fragment.length;
+            }
+            for (int slot : slots) {
+                length += values[slot].length;
+            }
+
+            byte[] body = new byte[length];
+            int position = 0;
+            for (int i = 0; i < fragments.length; i++) {
+                System.arraycopy(fragments[i], 0, body, position, fragments[i].length);
+                position += fragments[i].length;
+                if (i < slots.length) {
+                    byte[] value = values[slots[i]];
+                    System.arraycopy(value, 0, body, position, value.length);
+                    position += value.length;
+                }
+            }
+            return body;
+        }
+
+        long size() {
+            long size = encryptedPassword == null ? 0 : encryptedPassword.length();
+            for (byte[] fragment : fragments) {
+                size += fragment.length;
+            }
+            return size;
+        }
+
+        /**
+         * Posición del valor {@code null} que sigue al campo, o -1 si el campo
+         * no existe o tiene otro valor.
+         */
+        private static int nullValueOf(byte[] source, byte[] field) {
+            int index = indexOf(source, field);
+            int value = index + field.length;
+            return index >= 0 && indexOf(source, NULL_VALUE, value) == value ? value : -1;
+        }
+
+        private static int indexOf(byte[] source, byte[] target) {
+            return indexOf(source, target, 0);
+        }
+
+        private static int indexOf(byte[] source, byte[] target, int from) {
+            outer:
+            for (int i = from; i <= source.length - target.length; i++) {
+                for (int j = 0; j < target.length; j++) {
+                    if (source[i + j] != target[j]) {
+                        continue outer;
+                    }
+                }
+                return i;
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package cl.bci.ejercicio.cache;
+
+import cl.bci.ejercicio.entity.Phone;
+import cl.bci.ejercicio.entity.User;
+import cl.bci.ejercicio.utils.EmailUtil;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+/**
+ * Listener JPA que invalida la {@link LoginResponseCache} cuando cambia un
+ * usuario o alguno de sus teléfonos.
+ *
+ * La entrada se elimina al sincronizar el cambio con la base de datos y
+ * nuevamente al terminar la transacción, para descartar respuestas que otro
+ * hilo haya construido leyendo la fila antes del commit.
+ *
+ * @author BCI Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+public class LoginResponseCacheInvalidator {
+
+    /**
+     * Hibernate crea el listener a través del contenedor de Spring; en
+     * contextos sin la caché (por ejemplo, pruebas de repositorio) queda nulo.
+     */
+    @Autowired(required = false)
+    private LoginResponseCache loginResponseCache;
+
+    /**
+     * Un usuario recién creado no puede tener una respuesta en caché, por lo
+     * que solo se consideran los teléfonos agregados a usuarios existentes.
+     */
+    @PostPersist
+    public void onPersist(Object entity) {
+        if (entity instanceof Phone) {
+            onChange(entity);
+        }
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        if (loginResponseCache == null) {
+            return;
+        }
+        if (entity instanceof User) {
+            invalidate(cacheKey((User) entity));
+        } else if (entity instanceof Phone) {
+            User user = ((Phone) entity).getUser();
+            invalidate(user != null && Hibernate.isInitialized(user) ? cacheKey(user) : null);
+        }
+    }
+
+    /**
+     * Las respuestas se guardan por email normalizado.
+     */
+    private static String cacheKey(User user) {
+        return user.getEmail() != null ? EmailUtil.normalize(user.getEmail()) : null;
+    }
+
+    private void invalidate(String email) {
+        evict(email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(email);
+                }
+            });
+        }
+    }
+
+    private void evict(String email) {
+        if (email != null) {
+            loginResponseCache.invalidate(email);
+        } else {
+            loginResponseCache.invalidateAll();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package cl.bci.ejercicio.cache;
+
+import cl.bci.ejercicio.entity.Phone;
+import cl.bci.ejercicio.entity.User;
+import lombok.Builder;
+import lombok.Data;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.NaturalIdStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Estadísticas de las regiones de la caché de segundo nivel.
+ *
+ * Requiere {@code hibernate.generate_statistics=true}; sin esa propiedad
+ * Hibernate no acumula contadores y todas las regiones informan cero. El
+ * proveedor JCache no expone la cantidad de elementos por región, por lo que
+ * solo se informan aciertos, fallos e inserciones.
+ *
+ * @author BCI Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+public class SecondLevelCacheStatistics {
+
+    static final List<String> REGIONS = Arrays.asList(
+            User.CACHE_REGION,
+            User.PHONES_CACHE_REGION,
+            User.NATURAL_ID_CACHE_REGION,
+            Phone.CACHE_REGION);
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Obtiene los contadores actuales de cada región.
+     *
+     * @return una entrada por región configurada
+     */
+    public List<RegionStatistics> getRegions() {
+        Statistics statistics = statistics();
+        List<RegionStatistics> regions = new ArrayList<>(REGIONS.size());
+        for (String region : REGIONS) {
+            CacheRegionStatistics stats = statistics.getDomainDataRegionStatistics(region);
+            regions.add(RegionStatistics.builder()
+                    .region(region)
+                    .hitCount(stats.getHitCount())
+                    .missCount(stats.getMissCount())
+                    .putCount(stats.getPutCount())
+                    .build());
+        }
+        return regions;
+    }
+
+    /**
+     * Cantidad de consultas a la base de datos para resolver un email a su ID.
+     */
+    public long getNaturalIdQueryCount() {
+        NaturalIdStatistics stats = statistics().getNaturalIdStatistics(User.class.getName());
+        return stats.getExecutionCount();
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /**
+     * Contadores de una región de la caché.
+     */
+    @Data
+    @Builder
+    public static class RegionStatistics {
+        private String region;
+        private long hitCount;
+        private long missCount;
+        private long putCount;
+
+        /**
+         * Proporción de lecturas resueltas por la caché, entre 0 y 1.
+         */
+        public double getHitRatio() {
+            long requests = hitCount + missCount;
+            return requests == 0 ? 0 : (double) hitCount / requests;
+        }
+    }
+}
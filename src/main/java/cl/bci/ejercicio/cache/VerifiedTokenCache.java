@@ -0,0 +1,135 @@
+package cl.bci.ejercicio.cache;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caché acotada de tokens JWT cuya firma ya fue verificada.
+ *
+ * Las entradas se indexan por el digest SHA-256 del token (nunca por el token
+ * en claro) y expiran al cumplirse el TTL configurado o la expiración propia
+ * del token, lo que ocurra primero. Cuando se alcanza el tamaño máximo se
+ * descarta la entrada usada menos recientemente.
+ *
+ * @author BCI Team
+ * @version 1.0
+ * @since 1.0
+ */
+public class VerifiedTokenCache {
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final Map<ByteBuffer, Entry> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Crea una caché con la capacidad y el TTL indicados.
+     *
+     * @param maxSize   cantidad máxima de tokens almacenados
+     * @param ttlMillis tiempo máximo de vida de una entrada en milisegundos
+     */
+    public VerifiedTokenCache(int maxSize, long ttlMillis) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<ByteBuffer, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ByteBuffer, Entry> eldest) {
+                if (size() > VerifiedTokenCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Obtiene el subject de un token previamente verificado.
+     *
+     * @param token Token JWT recibido
+     * @return el subject almacenado, o {@code null} si no está en caché o expiró
+     */
+    public String get(String token) {
+        ByteBuffer key = digest(token);
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAt > now) {
+                hits.increment();
+                return entry.subject;
+            }
+            if (entry != null) {
+                entries.remove(key);
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Registra un token cuya firma fue verificada.
+     *
+     * @param token      Token JWT verificado
+     * @param subject    Subject contenido en el token
+     * @param expiration Expiración del token en milisegundos epoch, o {@code null} si no tiene
+     */
+    public void put(String token, String subject, Long expiration) {
+        long now = System.currentTimeMillis();
+        long expiresAt = now + ttlMillis;
+        if (expiration != null) {
+            expiresAt = Math.min(expiresAt, expiration);
+        }
+        if (expiresAt <= now) {
+            return;
+        }
+        ByteBuffer key = digest(token);
+        synchronized (entries) {
+            entries.put(key, new Entry(subject, expiresAt));
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    private static ByteBuffer digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return ByteBuffer.wrap(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    private static final class Entry {
+        private final String subject;
+        private final long expiresAt;
+
+        private Entry(String subject, long expiresAt) {
+            this.subject = subject;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
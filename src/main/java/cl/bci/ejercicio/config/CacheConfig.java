@@ -0,0 +1,28 @@
+package cl.bci.ejercicio.config;
+
+import cl.bci.ejercicio.cache.LoginResponseCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuración de las cachés en memoria de la aplicación.
+ * 
+ * @author BCI Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Configuration
+public class CacheConfig {
+
+    /**
+     * Crea la caché de respuestas de login serializadas.
+     * 
+     * @param maxBytes tamaño máximo de la caché en bytes; 0 la deshabilita
+     * @return caché compartida por el servicio de usuarios y el listener de invalidación
+     */
+    @Bean
+    public LoginResponseCache loginResponseCache(@Value("${login.cache.max-bytes:16777216}") long maxBytes) {
+        return new LoginResponseCache(maxBytes);
+    }
+}
@@ -0,0 +1,49 @@
+package cl.bci.ejercicio.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Configuración del pool de hilos para las operaciones criptográficas.
+ * 
+ * El cifrado de contraseñas y la firma de tokens son las etapas más costosas
+ * del registro de usuarios. Este pool permite ejecutarlas en paralelo con una
+ * cola acotada: cuando la cola se llena, la tarea se ejecuta en el hilo que la
+ * envía, lo que frena al productor en lugar de acumular trabajo en memoria.
+ * 
+ * @author BCI Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Configuration
+public class CryptoExecutorConfig {
+
+    @Value("${crypto.executor.threads:0}")
+    private int threads;
+
+    @Value("${crypto.executor.queue-capacity:256}")
+    private int queueCapacity;
+
+    /**
+     * Crea el executor usado para cifrar contraseñas y firmar tokens.
+     * 
+     * @return executor con cola acotada y política de ejecución en el hilo llamador
+     */
+    @Bean(name = "cryptoExecutor")
+    public ThreadPoolTaskExecutor cryptoExecutor() {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("crypto-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+}
@@ -0,0 +1,218 @@
+package cl.bci.ejercicio.config;
+
+import cl.bci.ejercicio.cache.LoginResponseCache;
+import cl.bci.ejercicio.cache.VerifiedTokenCache;
+import cl.bci.ejercicio.datasource.ReplicaRoutingDataSource;
+import cl.bci.ejercicio.datasource.ShardRoutingDataSource;
+import cl.bci.ejercicio.outbox.OutboxRelay;
+import cl.bci.ejercicio.service.JwtService;
+import cl.bci.ejercicio.service.LastLoginBuffer;
+import cl.bci.ejercicio.service.RegisteredEmailFilter;
+import cl.bci.ejercicio.service.SignUpStageMetrics;
+import cl.bci.ejercicio.utils.AESUtil;
+import cl.bci.ejercicio.utils.BoundedPool;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import javax.crypto.Cipher;
+import javax.sql.DataSource;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publica en Micrometer los contadores que ya acumulan los componentes de la
+ * aplicación, para verlos en {@code /actuator/prometheus} junto a los timers
+ * de las operaciones de usuario, JWT y AES.
+ *
+ * Los pools de conexiones Hikari declarados como beans los publica Spring
+ * Boot ({@code hikaricp.connections.active}, {@code idle}, {@code pending});
+ * los de los shards no son beans y se registran aquí.
+ *
+ * @author BCI Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Publica el uso del pool criptográfico y de los pools de cifradores AES.
+     *
+     * @param cryptoExecutor Executor criptográfico
+     * @return binder de las métricas criptográficas
+     */
+    @Bean
+    public MeterBinder cryptoMetrics(@Qualifier("cryptoExecutor") ThreadPoolTaskExecutor cryptoExecutor) {
+        return registry -> {
+            new ExecutorServiceMetrics(cryptoExecutor.getThreadPoolExecutor(), "crypto", Tags.empty()).bindTo(registry);
+            bindCipherPool(registry, "encrypt", AESUtil.getEncryptPool());
+            bindCipherPool(registry, "decrypt", AESUtil.getDecryptPool());
+        };
+    }
+
+    /**
+     * Publica los tiempos por etapa del registro y los contadores del filtro
+     * de emails registrados.
+     *
+     * @param signUpStageMetrics    Tiempos por etapa del registro
+     * @param registeredEmailFilter Filtro de emails registrados
+     * @return binder de las métricas del registro
+     */
+    @Bean
+    public MeterBinder signUpMetrics(SignUpStageMetrics signUpStageMetrics, RegisteredEmailFilter registeredEmailFilter) {
+        return registry -> {
+            for (SignUpStageMetrics.Stage stage : SignUpStageMetrics.Stage.values()) {
+                String tag = stage.name().toLowerCase();
+                FunctionTimer.builder("bci.signup.stage", signUpStageMetrics,
+                                metrics -> metrics.getCount(stage), metrics -> metrics.getTotalNanos(stage),
+                                TimeUnit.NANOSECONDS)
+                        .tag("stage", tag)
+                        .register(registry);
+                Gauge.builder("bci.signup.stage.max", signUpStageMetrics, metrics -> metrics.getMaxNanos(stage) / 1e9)
+                        .tag("stage", tag)
+                        .baseUnit("seconds")
+                        .register(registry);
+            }
+            counter(registry, "bci.email.filter", registeredEmailFilter,
+                    RegisteredEmailFilter::getDefiniteMissCount, "result", "definite_miss");
+            counter(registry, "bci.email.filter", registeredEmailFilter,
+                    RegisteredEmailFilter::getPossibleHitCount, "result", "possible_hit");
+            counter(registry, "bci.email.filter", registeredEmailFilter,
+                    RegisteredEmailFilter::getFalsePositiveCount, "result", "false_positive");
+            Gauge.builder("bci.email.filter.memory", registeredEmailFilter, RegisteredEmailFilter::getMemoryBytes)
+                    .baseUnit("bytes")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * Publica los contadores de las cachés del login.
+     *
+     * @param loginResponseCache Caché de respuestas de login
+     * @param jwtService         Servicio JWT, con su caché de tokens verificados
+     * @return binder de las métricas del login
+     */
+    @Bean
+    public MeterBinder loginMetrics(LoginResponseCache loginResponseCache, JwtService jwtService) {
+        return registry -> {
+            counter(registry, "bci.login.cache", loginResponseCache, LoginResponseCache::getHitCount, "result", "hit");
+            counter(registry, "bci.login.cache", loginResponseCache, LoginResponseCache::getMissCount, "result", "miss");
+            counter(registry, "bci.login.cache.evictions", loginResponseCache, LoginResponseCache::getEvictionCount);
+            Gauge.builder("bci.login.cache.size", loginResponseCache, LoginResponseCache::size).register(registry);
+            Gauge.builder("bci.login.cache.memory", loginResponseCache, LoginResponseCache::getTotalBytes)
+                    .baseUnit("bytes")
+                    .register(registry);
+
+            VerifiedTokenCache tokenCache = jwtService.getTokenCache();
+            if (tokenCache != null) {
+                counter(registry, "bci.jwt.cache", tokenCache, VerifiedTokenCache::getHitCount, "result", "hit");
+                counter(registry, "bci.jwt.cache", tokenCache, VerifiedTokenCache::getMissCount, "result", "miss");
+                Gauge.builder("bci.jwt.cache.size", tokenCache, VerifiedTokenCache::size).register(registry);
+            }
+        };
+    }
+
+    /**
+     * Publica la escritura diferida del último login.
+     *
+     * @param lastLoginBuffer Buffer de último login
+     * @return binder de las métricas del buffer
+     */
+    @Bean
+    public MeterBinder lastLoginMetrics(LastLoginBuffer lastLoginBuffer) {
+        return registry -> {
+            Gauge.builder("bci.last.login.pending", lastLoginBuffer, LastLoginBuffer::getBufferDepth)
+                    .register(registry);
+            counter(registry, "bci.last.login.skipped", lastLoginBuffer, LastLoginBuffer::getSkippedCount);
+            counter(registry, "bci.last.login.flushed", lastLoginBuffer, LastLoginBuffer::getFlushedRows);
+            counter(registry, "bci.last.login.flush.failures", lastLoginBuffer, LastLoginBuffer::getFlushFailureCount);
+            FunctionTimer.builder("bci.last.login.flush", lastLoginBuffer,
+                            LastLoginBuffer::getFlushCount, LastLoginBuffer::getTotalFlushNanos, TimeUnit.NANOSECONDS)
+                    .register(registry);
+        };
+    }
+
+    /**
+     * Publica el avance del relay de eventos, si el outbox está habilitado.
+     *
+     * @param outboxRelay Relay de eventos
+     * @return binder de las métricas del outbox
+     */
+    @Bean
+    public MeterBinder outboxMetrics(ObjectProvider<OutboxRelay> outboxRelay) {
+        return registry -> outboxRelay.ifAvailable(relay -> {
+            counter(registry, "bci.outbox.published", relay, OutboxRelay::getPublishedCount);
+            counter(registry, "bci.outbox.batches", relay, OutboxRelay::getBatchCount);
+            counter(registry, "bci.outbox.failures", relay, OutboxRelay::getFailureCount);
+            Gauge.builder("bci.outbox.pending", relay, OutboxRelay::getPendingCount).register(registry);
+            Gauge.builder("bci.outbox.lag", relay, r -> r.getLastLagMillis() / 1e3)
+                    .baseUnit("seconds")
+                    .register(registry);
+            Gauge.builder("bci.outbox.lag.max", relay, r -> r.getMaxLagMillis() / 1e3)
+                    .baseUnit("seconds")
+                    .register(registry);
+        });
+    }
+
+    /**
+     * Publica el enrutamiento entre primario y réplica, si la réplica está habilitada.
+     *
+     * @param replicaRoutingDataSource Enrutador entre primario y réplica
+     * @return binder de las métricas de la réplica
+     */
+    @Bean
+    public MeterBinder replicaMetrics(ObjectProvider<ReplicaRoutingDataSource> replicaRoutingDataSource) {
+        return registry -> replicaRoutingDataSource.ifAvailable(dataSource -> {
+            for (ReplicaRoutingDataSource.Pool pool : ReplicaRoutingDataSource.Pool.values()) {
+                counter(registry, "bci.datasource.connections", dataSource, d -> d.getConnectionCount(pool),
+                        "pool", pool.name().toLowerCase());
+            }
+            counter(registry, "bci.datasource.replica.lag.redirects", dataSource,
+                    ReplicaRoutingDataSource::getLagRedirectCount);
+            counter(registry, "bci.datasource.replica.failures", dataSource,
+                    ReplicaRoutingDataSource::getReplicaFailureCount);
+        });
+    }
+
+    /**
+     * Publica los pools de conexiones de los shards ({@code pool=shard-n}),
+     * si los shards están habilitados.
+     *
+     * @param shardRoutingDataSource Enrutador entre los shards
+     * @return binder de las métricas de los shards
+     */
+    @Bean
+    public MeterBinder shardMetrics(ObjectProvider<ShardRoutingDataSource> shardRoutingDataSource) {
+        return registry -> shardRoutingDataSource.ifAvailable(dataSource -> {
+            for (DataSource shard : dataSource.getShards()) {
+                if (shard instanceof HikariDataSource) {
+                    ((HikariDataSource) shard).setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+                }
+            }
+        });
+    }
+
+    private static void bindCipherPool(MeterRegistry registry, String operation, BoundedPool<Cipher> pool) {
+        Gauge.builder("bci.crypto.aes.ciphers.idle", pool, BoundedPool::getIdleCount)
+                .tag("operation", operation)
+                .register(registry);
+        counter(registry, "bci.crypto.aes.ciphers.misses", pool, BoundedPool::getMissCount, "operation", operation);
+    }
+
+    private static <T> void counter(MeterRegistry registry, String name, T source, ToDoubleFunction<T> count,
+                                    String... tags) {
+        FunctionCounter.builder(name, source, count).tags(tags).register(registry);
+    }
+}
@@ -0,0 +1,59 @@
+package cl.bci.ejercicio.config;
+
+import cl.bci.ejercicio.outbox.FileOutboxPublisher;
+import cl.bci.ejercicio.outbox.InMemoryOutboxPublisher;
+import cl.bci.ejercicio.outbox.OutboxPublisher;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * Configuración del destino de los eventos de usuario ({@code outbox.publisher}).
+ *
+ * {@code memory} conserva los últimos eventos en memoria y {@code file} los
+ * agrega a un archivo NDJSON. Para publicar en otro destino se indica otro
+ * valor en {@code outbox.publisher} y se declara un bean propio de
+ * {@link OutboxPublisher}.
+ *
+ * @author BCI Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Configuration
+@ConditionalOnProperty(name = "outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxConfig {
+
+    @Value("${outbox.publisher.memory.capacity:10000}")
+    private int memoryCapacity;
+
+    @Value("${outbox.publisher.file.path:./data/outbox-events.ndjson}")
+    private String filePath;
+
+    /**
+     * Crea el publicador en memoria.
+     *
+     * @return publicador que conserva los últimos eventos
+     */
+    @Bean
+    @ConditionalOnProperty(name = "outbox.publisher", havingValue = "memory", matchIfMissing = true)
+    public InMemoryOutboxPublisher inMemoryOutboxPublisher() {
+        return new InMemoryOutboxPublisher(memoryCapacity);
+    }
+
+    /**
+     * Crea el publicador en archivo.
+     *
+     * @param objectMapper Serializador de los eventos
+     * @return publicador que agrega los eventos al archivo
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "outbox.publisher", havingValue = "file")
+    public FileOutboxPublisher fileOutboxPublisher(ObjectMapper objectMapper) throws IOException {
+        return new FileOutboxPublisher(Paths.get(filePath), objectMapper);
+    }
+}
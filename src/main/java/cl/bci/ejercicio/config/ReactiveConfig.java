@@ -0,0 +1,90 @@
+package cl.bci.ejercicio.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Configuración de la variante reactiva de la API (perfil {@code reactive}).
+ *
+ * Con este perfil la aplicación se levanta sobre WebFlux y Netty, y el
+ * registro y el login acceden a la base de datos con R2DBC. El esquema lo
+ * siguen creando las migraciones de Flyway por JDBC sobre la misma base H2,
+ * de modo que ambas variantes trabajan con las mismas tablas.
+ *
+ * Spring Boot no configura un {@code DataSource} cuando existe una conexión
+ * R2DBC, por lo que aquí se declara explícitamente: JPA, la escritura diferida
+ * del último login y la carga del filtro de emails siguen usando JDBC.
+ *
+ * @author BCI Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveConfig {
+
+    @Value("${crypto.executor.threads:0}")
+    private int threads;
+
+    @Value("${crypto.scheduler.queue-capacity:100000}")
+    private int queueCapacity;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource")
+    public DataSourceProperties dataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    /**
+     * Crea el {@code DataSource} JDBC a partir de las propiedades {@code spring.datasource}.
+     *
+     * @param dataSourceProperties Propiedades de la conexión JDBC
+     * @return pool de conexiones Hikari
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * Crea el scheduler para cifrar contraseñas, firmar y verificar tokens.
+     *
+     * Tiene tantos hilos como {@code cryptoExecutor} y una cola acotada por
+     * hilo. A diferencia del pool servlet, la cola debe alojar el trabajo de
+     * todas las conexiones en curso, no solo el de los hilos de Tomcat; con
+     * la cola llena la tarea se rechaza en lugar de ejecutarse en el event
+     * loop de Netty.
+     *
+     * @return scheduler acotado que se libera junto con el contexto
+     */
+    @Bean(name = "cryptoScheduler", destroyMethod = "dispose")
+    public Scheduler cryptoScheduler() {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return Schedulers.newBoundedElastic(poolSize, queueCapacity, "crypto-rx");
+    }
+
+    /**
+     * Crea el operador de transacciones reactivas sobre la conexión R2DBC.
+     *
+     * El administrador de transacciones no se registra como bean para no
+     * competir con el de JPA en los servicios anotados con {@code @Transactional}.
+     *
+     * @param connectionFactory Fábrica de conexiones R2DBC
+     * @return operador que ejecuta un publisher dentro de una transacción R2DBC
+     */
+    @Bean
+    public TransactionalOperator reactiveTransactionalOperator(ConnectionFactory connectionFactory) {
+        return TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+    }
+}
@@ -0,0 +1,115 @@
+package cl.bci.ejercicio.config;
+
+import cl.bci.ejercicio.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Separación de lecturas y escrituras entre un primario y una réplica
+ * ({@code datasource.replica.enabled=true}).
+ *
+ * El primario se configura con las propiedades {@code spring.datasource} y la
+ * réplica con {@code datasource.replica}; cada uno tiene su propio pool
+ * Hikari ({@code primary} y {@code replica}). JPA, Flyway y los
+ * {@code JdbcTemplate} usan el {@code DataSource} de enrutamiento: los métodos
+ * anotados con {@code @Transactional(readOnly = true)}, como el login, leen
+ * desde la réplica, y todo lo demás (incluidas las migraciones) va al
+ * primario. La replicación en sí queda fuera de la aplicación.
+ *
+ * No aplica a la variante reactiva, que declara su propio {@code DataSource}
+ * en {@link ReactiveConfig} y lee con R2DBC.
+ *
+ * @author BCI Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Configuration
+@Profile("!reactive")
+@ConditionalOnProperty(name = "datasource.replica.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Value("${datasource.replica.url}")
+    private String replicaUrl;
+
+    @Value("${datasource.replica.username:${spring.datasource.username:}}")
+    private String replicaUsername;
+
+    @Value("${datasource.replica.password:${spring.datasource.password:}}")
+    private String replicaPassword;
+
+    @Value("${datasource.replica.max-lag:1000}")
+    private long maxLagMillis;
+
+    @Value("${datasource.replica.fallback-to-primary:true}")
+    private boolean fallbackToPrimary;
+
+    /**
+     * Crea el pool del primario a partir de las propiedades {@code spring.datasource}.
+     *
+     * @param dataSourceProperties Propiedades de la conexión JDBC
+     * @return pool de conexiones Hikari de escritura
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * Crea el pool de la réplica, con conexiones de solo lectura.
+     *
+     * @return pool de conexiones Hikari de lectura
+     */
+    @Bean
+    @ConfigurationProperties("datasource.replica.hikari")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(replicaUrl);
+        dataSource.setUsername(replicaUsername);
+        dataSource.setPassword(replicaPassword);
+        dataSource.setReadOnly(true);
+        dataSource.setPoolName("replica");
+        return dataSource;
+    }
+
+    /**
+     * Crea el {@code DataSource} de enrutamiento que usa el resto de la aplicación.
+     *
+     * @param primary Pool de escritura
+     * @param replica Pool de lectura
+     * @return proxy que obtiene la conexión recién en la primera sentencia
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource(primary, replica));
+    }
+
+    /**
+     * Expone el enrutador para consultar sus métricas por pool.
+     *
+     * @param primary Pool de escritura
+     * @param replica Pool de lectura
+     * @return enrutador entre primario y réplica
+     */
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                                             @Qualifier("replicaDataSource") DataSource replica) {
+        return new ReplicaRoutingDataSource(primary, replica, maxLagMillis, fallbackToPrimary);
+    }
+}
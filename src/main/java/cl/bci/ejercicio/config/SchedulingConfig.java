@@ -0,0 +1,16 @@
+package cl.bci.ejercicio.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita la ejecución de tareas programadas con {@code @Scheduled}.
+ * 
+ * @author BCI Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,179 @@
+package cl.bci.ejercicio.config;
+
+import cl.bci.ejercicio.cache.LoginResponseCache;
+import cl.bci.ejercicio.datasource.ShardRebalancer;
+import cl.bci.ejercicio.datasource.ShardRouter;
+import cl.bci.ejercicio.datasource.ShardRoutingDataSource;
+import cl.bci.ejercicio.entity.Phone;
+import cl.bci.ejercicio.entity.User;
+import cl.bci.ejercicio.migration.V5__Partition_phone_ids_by_shard;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.hibernate.Cache;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Almacenamiento de usuarios repartido en varios shards
+ * ({@code datasource.sharding.enabled=true}).
+ *
+ * Cada URL de {@code datasource.sharding.urls} es un shard con su propio pool
+ * Hikari ({@code shard-0}, {@code shard-1}, ...). Los usuarios se asignan a un
+ * shard por el hash de su email normalizado ({@link ShardRouter}) y sus
+ * teléfonos quedan en el mismo shard. Las búsquedas por email de
+ * {@code UserRepository} y la inserción de usuarios eligen el shard antes de
+ * la primera sentencia, por lo que el registro y el login no cambian.
+ *
+ * Las migraciones de Flyway se aplican en cada shard. Para agregar shards se
+ * agregan URLs al final de la lista y, con la aplicación detenida, se ejecuta
+ * {@link cl.bci.ejercicio.datasource.ShardRebalanceCommand}, que mueve a los
+ * shards nuevos los usuarios que ahora les corresponden.
+ *
+ * No se combina con la réplica de lectura ({@link ReadReplicaConfig}) ni con
+ * la variante reactiva.
+ *
+ * @author BCI Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Configuration
+@Profile("!reactive")
+@ConditionalOnProperty(name = "datasource.sharding.enabled", havingValue = "true")
+public class ShardingConfig {
+
+    @Value("${datasource.sharding.urls}")
+    private String[] urls;
+
+    @Value("${spring.datasource.username:sa}")
+    private String username;
+
+    @Value("${spring.datasource.password:}")
+    private String password;
+
+    @Value("${datasource.sharding.pool-size:10}")
+    private int poolSize;
+
+    @Value("${datasource.sharding.rebalance-batch-size:500}")
+    private int rebalanceBatchSize;
+
+    @Value("${datasource.replica.enabled:false}")
+    private boolean replicaEnabled;
+
+    /**
+     * Crea la asignación de usuarios a shards.
+     *
+     * @return enrutador por hash del email
+     */
+    @Bean
+    public ShardRouter shardRouter() {
+        return new ShardRouter(urls.length);
+    }
+
+    /**
+     * Crea un pool de conexiones por shard y el {@code DataSource} que elige
+     * entre ellos.
+     *
+     * @return enrutador entre los pools de los shards
+     */
+    @Bean(destroyMethod = "close")
+    public ShardRoutingDataSource shardRoutingDataSource() {
+        if (replicaEnabled) {
+            throw new IllegalStateException("datasource.sharding y datasource.replica no pueden habilitarse a la vez");
+        }
+        List<HikariDataSource> shards = new ArrayList<>(urls.length);
+        for (int i = 0; i < urls.length; i++) {
+            HikariDataSource shard = new HikariDataSource();
+            shard.setJdbcUrl(urls[i].trim());
+            shard.setUsername(username);
+            shard.setPassword(password);
+            shard.setMaximumPoolSize(poolSize);
+            shard.setPoolName("shard-" + i);
+            shards.add(shard);
+        }
+        return new ShardRoutingDataSource(shards);
+    }
+
+    /**
+     * Crea el {@code DataSource} que usa el resto de la aplicación.
+     *
+     * @param shardRoutingDataSource Enrutador entre shards
+     * @return proxy que obtiene la conexión recién en la primera sentencia
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    }
+
+    /**
+     * Aplica las migraciones en cada shard, indicando su índice para que la
+     * secuencia de teléfonos use un rango propio.
+     *
+     * @param shardRoutingDataSource Enrutador entre shards
+     * @return estrategia que reemplaza la migración sobre el {@code DataSource} principal
+     */
+    @Bean
+    public FlywayMigrationStrategy shardedFlywayMigrationStrategy(ShardRoutingDataSource shardRoutingDataSource) {
+        return flyway -> {
+            List<? extends DataSource> shards = shardRoutingDataSource.getShards();
+            for (int i = 0; i < shards.size(); i++) {
+                Flyway.configure()
+                        .configuration(flyway.getConfiguration())
+                        .dataSource(shards.get(i))
+                        .placeholders(Collections.singletonMap(
+                                V5__Partition_phone_ids_by_shard.SHARD_PLACEHOLDER, String.valueOf(i)))
+                        .load()
+                        .migrate();
+            }
+        };
+    }
+
+    /**
+     * Crea la herramienta que mueve los usuarios a su shard
+     * ({@link cl.bci.ejercicio.datasource.ShardRebalanceCommand}).
+     *
+     * Los usuarios movidos se descartan de la caché de segundo nivel (entidad,
+     * teléfonos e id natural) y de la caché de respuestas de login.
+     *
+     * @param shardRouter            Asignación de usuarios a shards
+     * @param shardRoutingDataSource Enrutador entre shards
+     * @param entityManagerFactory   Fábrica con la caché de segundo nivel
+     * @param loginResponseCache     Caché de respuestas de login, si está configurada
+     * @return herramienta de rebalanceo
+     */
+    @Bean
+    public ShardRebalancer shardRebalancer(ShardRouter shardRouter, ShardRoutingDataSource shardRoutingDataSource,
+                                           EntityManagerFactory entityManagerFactory,
+                                           ObjectProvider<LoginResponseCache> loginResponseCache) {
+        return new ShardRebalancer(shardRouter, shardRoutingDataSource.getShards(), rebalanceBatchSize, moved -> {
+            Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+            for (UUID id : moved.keySet()) {
+                cache.evictEntityData(User.class, id);
+                cache.evictCollectionData(User.class.getName() + ".phones", id);
+            }
+            if (!moved.isEmpty()) {
+                // Ni el id natural ni los teléfonos se pueden descartar por usuario sin sus claves
+                cache.evictNaturalIdData(User.class);
+                cache.evictEntityData(Phone.class);
+            }
+            LoginResponseCache responses = loginResponseCache.getIfAvailable();
+            if (responses != null) {
+                moved.values().forEach(responses::invalidate);
+            }
+        });
+    }
+}
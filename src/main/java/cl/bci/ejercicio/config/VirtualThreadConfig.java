@@ -0,0 +1,51 @@
+package cl.bci.ejercicio.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Modo opcional de atención de solicitudes en hilos virtuales.
+ *
+ * Con {@code spring.threads.virtual.enabled=true}, Tomcat atiende cada
+ * solicitud (y por lo tanto el trabajo de {@code UserService}) en un hilo
+ * virtual nuevo en lugar del pool de hilos de plataforma limitado por
+ * {@code server.tomcat.threads.max}. Las esperas de JDBC dejan de ocupar un
+ * hilo del sistema operativo; la concurrencia efectiva queda acotada por el
+ * pool de conexiones. El cifrado y la firma de tokens siguen en el pool
+ * {@code cryptoExecutor}, porque son trabajo de CPU que no se beneficia de
+ * hilos virtuales.
+ *
+ * @author BCI Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    /**
+     * Crea el executor de solicitudes con un hilo virtual por tarea.
+     *
+     * @return executor que se cierra junto con el contexto
+     */
+    @Bean(name = "requestExecutor", destroyMethod = "shutdown")
+    public ExecutorService requestExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("http-vt-", 0).factory());
+    }
+
+    /**
+     * Reemplaza el pool de hilos del conector de Tomcat por el executor de hilos virtuales.
+     *
+     * @param requestExecutor executor de solicitudes
+     * @return customizador del protocolo de Tomcat
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer(ExecutorService requestExecutor) {
+        return protocolHandler -> protocolHandler.setExecutor(requestExecutor);
+    }
+}
@@ -0,0 +1,91 @@
+package cl.bci.ejercicio.controller;
+
+import cl.bci.ejercicio.dto.SignUpRequestDto;
+import cl.bci.ejercicio.dto.SignUpResponseDto;
+import cl.bci.ejercicio.dto.UserResponseDto;
+import cl.bci.ejercicio.service.ReactiveUserService;
+import io.swagger.annotations.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import javax.validation.Valid;
+
+/**
+ * Controlador REST reactivo para el registro y login de usuarios.
+ *
+ * Expone los mismos endpoints {@code /v1/bci/sign-up} y {@code /v1/bci/login}
+ * que {@link UserController}, con el mismo contrato, sobre WebFlux. Solo se
+ * registra con el perfil {@code reactive}; el registro masivo y la
+ * importación NDJSON no tienen variante reactiva.
+ *
+ * @author BCI Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Api(value = "Gestión de Usuarios", tags = {"Usuarios"}, description = "Operaciones relacionadas con usuarios")
+@RestController
+@RequestMapping("/v1/bci")
+@Profile("reactive")
+public class ReactiveUserController {
+
+    @Autowired
+    private ReactiveUserService reactiveUserService;
+
+    /**
+     * Registra un nuevo usuario en el sistema.
+     *
+     * @param request Datos del usuario a registrar incluyendo nombre, email, contraseña y teléfonos
+     * @return Mono con los datos del usuario creado y token JWT
+     */
+    @ApiOperation(
+        value = "Registrar nuevo usuario",
+        notes = "Crea un nuevo usuario en el sistema con validaciones de email único y contraseña segura",
+        response = SignUpResponseDto.class
+    )
+    @ApiResponses(value = {
+        @ApiResponse(code = 201, message = "Usuario creado exitosamente", response = SignUpResponseDto.class),
+        @ApiResponse(code = 400, message = "Datos inválidos o email ya existe"),
+        @ApiResponse(code = 500, message = "Error interno del servidor")
+    })
+    @PostMapping("/sign-up")
+    public Mono<ResponseEntity<SignUpResponseDto>> signUp(
+            @ApiParam(value = "Datos del usuario a registrar", required = true)
+            @Valid @RequestBody SignUpRequestDto request) {
+        return reactiveUserService.signUp(request)
+                .map(response -> ResponseEntity.status(HttpStatus.CREATED).body(response));
+    }
+
+    /**
+     * Realiza el login de un usuario mediante token JWT.
+     *
+     * La respuesta se obtiene de la caché de respuestas de login cuando es posible.
+     *
+     * @param token Token JWT válido del usuario
+     * @return Mono con los datos completos del usuario autenticado
+     */
+    @ApiOperation(
+        value = "Login de usuario",
+        notes = "Autentica un usuario mediante token JWT y actualiza su último login",
+        response = UserResponseDto.class
+    )
+    @ApiResponses(value = {
+        @ApiResponse(code = 200, message = "Login exitoso", response = UserResponseDto.class),
+        @ApiResponse(code = 404, message = "Usuario no encontrado"),
+        @ApiResponse(code = 400, message = "Token inválido o malformado"),
+        @ApiResponse(code = 500, message = "Error interno del servidor")
+    })
+    @PostMapping("/login")
+    public Mono<ResponseEntity<byte[]>> login(
+            @ApiParam(value = "Token JWT del usuario", required = true, example = "eyJhbGciOiJIUzUxMiJ9...")
+            @RequestHeader String token) {
+        return reactiveUserService.loginSerialized(token)
+                .map(body -> ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(body));
+    }
+}
@@ -0,0 +1,41 @@
+package cl.bci.ejercicio.controller;
+
+import cl.bci.ejercicio.utils.RequestTimings;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Agrega el encabezado {@code Server-Timing} con las etapas medidas por
+ * {@link ServerTimingFilter}, justo antes de escribir el cuerpo de la
+ * respuesta (incluidas las respuestas de error).
+ *
+ * @author BCI Team
+ * @version 1.0
+ * @since 1.0
+ */
+@ControllerAdvice
+@Profile("!reactive")
+public class ServerTimingAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        RequestTimings timings = RequestTimings.current();
+        if (timings.isEnabled()) {
+            response.getHeaders().set(ServerTimingFilter.SERVER_TIMING, timings.toServerTiming());
+        }
+        return body;
+    }
+}
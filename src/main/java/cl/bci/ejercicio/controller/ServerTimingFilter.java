@@ -0,0 +1,82 @@
+package cl.bci.ejercicio.controller;
+
+import cl.bci.ejercicio.utils.RequestTimings;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Mide las etapas de la solicitud con {@link RequestTimings} e informa su
+ * duración en el encabezado {@code Server-Timing} y en el log.
+ *
+ * La medición se activa para todas las solicitudes con
+ * {@code server-timing.enabled=true}, o solo para las que traen el
+ * encabezado {@code server-timing.debug-header} si
+ * {@code server-timing.debug.enabled=true}. El encabezado lo puede enviar
+ * cualquier cliente, por eso viene desactivado: expone los tiempos internos
+ * y fuerza una línea de log por solicitud. Sin medición activa el filtro no
+ * hace más que leer ese encabezado. El encabezado de respuesta lo
+ * agrega {@link ServerTimingAdvice} antes de escribir el cuerpo; las
+ * respuestas que se escriben directamente (importación NDJSON) solo quedan
+ * en el log.
+ *
+ * Se registra una línea de log en nivel DEBUG por cada solicitud con el
+ * encabezado de depuración y, del resto, una fracción
+ * {@code server-timing.log.sample-rate}.
+ *
+ * @author BCI Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@Component
+@Profile("!reactive")
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    public static final String SERVER_TIMING = "Server-Timing";
+
+    @Value("${server-timing.enabled:false}")
+    private boolean enabled;
+
+    @Value("${server-timing.debug.enabled:false}")
+    private boolean debugEnabled;
+
+    @Value("${server-timing.debug-header:X-Debug-Timing}")
+    private String debugHeader;
+
+    @Value("${server-timing.log.sample-rate:0.01}")
+    private double logSampleRate;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean debug = debugEnabled && request.getHeader(debugHeader) != null;
+        if (!enabled && !debug) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        RequestTimings timings = RequestTimings.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestTimings.stop();
+            if (!response.isCommitted() && !response.containsHeader(SERVER_TIMING)) {
+                response.setHeader(SERVER_TIMING, timings.toServerTiming());
+            }
+            if (log.isDebugEnabled() && (debug || ThreadLocalRandom.current().nextDouble() < logSampleRate)) {
+                log.debug("Tiempos de la solicitud method={} path={} status={} {}", request.getMethod(),
+                        request.getRequestURI(), response.getStatus(), timings.toLogFields());
+            }
+        }
+    }
+}
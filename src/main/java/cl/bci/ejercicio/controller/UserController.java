@@ -1,16 +1,27 @@
 package cl.bci.ejercicio.controller;
 
+import cl.bci.ejercicio.dto.BatchSignUpResponseDto;
+import cl.bci.ejercicio.dto.ImportEventDto;
 import cl.bci.ejercicio.dto.SignUpRequestDto;
 import cl.bci.ejercicio.dto.SignUpResponseDto;
 import cl.bci.ejercicio.dto.UserResponseDto;
+import cl.bci.ejercicio.service.UserBatchService;
+import cl.bci.ejercicio.service.UserImportService;
 import cl.bci.ejercicio.service.UserService;
 import io.swagger.annotations.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 /**
  * Controlador REST para la gestión de usuarios.
@@ -19,6 +30,8 @@ import javax.validation.Valid;
  * y la autenticación mediante tokens JWT. Implementa las operaciones principales
  * del sistema de usuarios de BCI.
  * 
+ * Con el perfil {@code reactive} lo reemplaza {@link ReactiveUserController}.
+ * 
  * @author BCI Team
  * @version 1.0
  * @since 1.0
@@ -26,11 +39,20 @@ import javax.validation.Valid;
 @Api(value = "Gestión de Usuarios", tags = {"Usuarios"}, description = "Operaciones relacionadas con usuarios")
 @RestController
 @RequestMapping("/v1/bci")
+@Profile("!reactive")
 public class UserController {
 
+    private static final String NDJSON = "application/x-ndjson";
+
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private UserBatchService userBatchService;
+
+    @Autowired
+    private UserImportService userImportService;
+
     /**
      * Registra un nuevo usuario en el sistema.
      * 
@@ -61,11 +83,68 @@ public class UserController {
                 .body(userService.signUp(request));
     }
 
+    /**
+     * Registra un lote de usuarios en una sola petición.
+     * 
+     * Cada elemento se valida con las mismas reglas del registro individual.
+     * Los elementos inválidos o con email ya registrado se informan en el
+     * resultado sin impedir el registro del resto del lote.
+     * 
+     * @param requests Lista de usuarios a registrar
+     * @return ResponseEntity con el resumen del lote y el resultado de cada elemento
+     * @throws cl.bci.ejercicio.exception.InvalidBatchException si el lote está vacío o es demasiado grande
+     */
+    @ApiOperation(
+        value = "Registrar usuarios en lote", 
+        notes = "Crea múltiples usuarios en una sola petición e informa el resultado de cada uno",
+        response = BatchSignUpResponseDto.class
+    )
+    @ApiResponses(value = {
+        @ApiResponse(code = 200, message = "Lote procesado", response = BatchSignUpResponseDto.class),
+        @ApiResponse(code = 400, message = "Lote vacío o demasiado grande"),
+        @ApiResponse(code = 500, message = "Error interno del servidor")
+    })
+    @PostMapping("/sign-up/batch")
+    public ResponseEntity<BatchSignUpResponseDto> signUpBatch(
+            @ApiParam(value = "Usuarios a registrar", required = true)
+            @RequestBody List<SignUpRequestDto> requests) throws Exception {
+        return ResponseEntity.ok(userBatchService.signUpBatch(requests));
+    }
+
+    /**
+     * Importa usuarios desde un flujo NDJSON (un usuario por línea).
+     * 
+     * El cuerpo se procesa a medida que se recibe y los usuarios se confirman
+     * en bloques, por lo que el tamaño del archivo no está limitado por la
+     * memoria disponible. La respuesta es NDJSON con los registros rechazados,
+     * el avance de cada bloque confirmado y un resumen final.
+     * 
+     * @param input    Cuerpo de la petición en formato NDJSON
+     * @param response Respuesta HTTP donde se escriben los eventos de la importación
+     * @throws IOException si falla la lectura del cuerpo o la escritura de la respuesta
+     */
+    @ApiOperation(
+        value = "Importar usuarios desde NDJSON", 
+        notes = "Registra usuarios leídos línea a línea e informa rechazos y avance en formato NDJSON"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(code = 200, message = "Importación procesada", response = ImportEventDto.class),
+        @ApiResponse(code = 500, message = "Error interno del servidor")
+    })
+    @PostMapping(value = "/import", produces = NDJSON)
+    public void importUsers(InputStream input, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        userImportService.importUsers(input, response.getOutputStream());
+    }
+
     /**
      * Realiza el login de un usuario mediante token JWT.
      * 
      * Este endpoint permite autenticar a un usuario existente utilizando
      * un token JWT válido. Actualiza la fecha de último login del usuario.
+     * La respuesta se obtiene de la caché de respuestas de login cuando es posible.
      * 
      * @param token Token JWT válido del usuario
      * @return ResponseEntity con los datos completos del usuario autenticado
@@ -83,10 +162,11 @@ public class UserController {
         @ApiResponse(code = 500, message = "Error interno del servidor")
     })
     @PostMapping("/login")
-    public ResponseEntity<UserResponseDto> login(
+    public ResponseEntity<byte[]> login(
             @ApiParam(value = "Token JWT del usuario", required = true, example = "eyJhbGciOiJIUzUxMiJ9...")
             @Valid @RequestHeader String token) throws Exception {
-        UserResponseDto response = userService.login(token);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(userService.loginSerialized(token));
     }
 } 
\ No newline at end of file
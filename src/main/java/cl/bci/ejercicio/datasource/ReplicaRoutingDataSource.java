@@ -0,0 +1,269 @@
+package cl.bci.ejercicio.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * {@code DataSource} que envía las transacciones de solo lectura a la réplica
+ * y el resto al primario.
+ *
+ * La decisión se toma al pedir la conexión, a partir de
+ * {@link TransactionSynchronizationManager#isCurrentTransactionReadOnly()};
+ * por eso debe usarse detrás de un
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy},
+ * que retrasa la obtención de la conexión hasta la primera sentencia, cuando
+ * la transacción ya está marcada como de solo lectura.
+ *
+ * Tolerancia al retraso de la réplica, por usuario: las transacciones que
+ * modifican un usuario lo informan con {@link #recordWrite(String)} (ver
+ * {@link ReplicaWriteListener}) y, durante {@code maxLagMillis} después de su
+ * commit, las lecturas de ese mismo usuario van al primario, de modo que un
+ * login inmediatamente posterior al registro lo encuentra. Las lecturas
+ * indican su usuario con {@link #callFor(String, Supplier)}; las de otros
+ * usuarios y las que no indican ninguno siguen en la réplica. La ventana es
+ * local a cada instancia: una lectura atendida por otra instancia no la ve.
+ *
+ * Si la réplica no entrega una conexión y {@code fallbackToPrimary} está
+ * activo, la lectura se atiende en el primario.
+ *
+ * {@link #getConnection(String, String)} se enruta igual y entrega las
+ * credenciales al pool elegido; los pools Hikari no lo admiten y lanzan
+ * {@link java.sql.SQLFeatureNotSupportedException}.
+ *
+ * @author BCI Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    /**
+     * Pools de conexiones entre los que se reparten las transacciones.
+     */
+    public enum Pool {
+        PRIMARY,
+        REPLICA
+    }
+
+    private static final ThreadLocal<String> READ_KEY = new ThreadLocal<>();
+
+    private final Map<Pool, DataSource> targets = new EnumMap<>(Pool.class);
+    private final Map<Pool, LongAdder> connections = new EnumMap<>(Pool.class);
+    private final long maxLagMillis;
+    private final boolean fallbackToPrimary;
+    private final LongAdder lagRedirects = new LongAdder();
+    private final LongAdder replicaFailures = new LongAdder();
+
+    // Commit más reciente de cada usuario modificado dentro de la ventana de retraso
+    private final Map<String, Long> recentWrites = new ConcurrentHashMap<>();
+    private volatile long lastPruneMillis;
+
+    /**
+     * @param primary           Pool de escritura
+     * @param replica           Pool de solo lectura
+     * @param maxLagMillis      Tiempo tras el commit de un usuario en que sus lecturas siguen en el primario
+     * @param fallbackToPrimary Si una lectura pasa al primario cuando la réplica no entrega conexión
+     */
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, long maxLagMillis,
+                                    boolean fallbackToPrimary) {
+        this.targets.put(Pool.PRIMARY, primary);
+        this.targets.put(Pool.REPLICA, replica);
+        for (Pool pool : Pool.values()) {
+            connections.put(pool, new LongAdder());
+        }
+        this.maxLagMillis = maxLagMillis;
+        this.fallbackToPrimary = fallbackToPrimary;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(target -> target.getConnection(username, password));
+    }
+
+    private Connection route(Connector connector) throws SQLException {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (isRecentlyWritten(READ_KEY.get())) {
+                lagRedirects.increment();
+            } else {
+                try {
+                    return connect(Pool.REPLICA, connector);
+                } catch (SQLException e) {
+                    replicaFailures.increment();
+                    if (!fallbackToPrimary) {
+                        throw e;
+                    }
+                    log.warn("La réplica no entregó una conexión, se lee desde el primario: {}", e.getMessage());
+                }
+            }
+        }
+        return connect(Pool.PRIMARY, connector);
+    }
+
+    /**
+     * Ejecuta una lectura de los datos de un usuario: si el usuario se
+     * modificó dentro de la ventana de retraso, la transacción de solo
+     * lectura que obtenga su conexión en la acción usa el primario.
+     *
+     * @param key    Email normalizado del usuario
+     * @param action Acción a ejecutar
+     * @return el resultado de la acción
+     */
+    public static <T> T callFor(String key, Supplier<T> action) {
+        String previous = READ_KEY.get();
+        READ_KEY.set(key);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                READ_KEY.remove();
+            } else {
+                READ_KEY.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Informa que la transacción en curso modifica al usuario. Al confirmarse,
+     * las lecturas del usuario van al primario durante {@code maxLagMillis};
+     * si la transacción se revierte no se registra nada.
+     *
+     * @param key Email normalizado del usuario
+     */
+    @SuppressWarnings("unchecked")
+    public void recordWrite(String key) {
+        if (maxLagMillis <= 0 || key == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            markWritten(key);
+            return;
+        }
+        Set<String> keys = (Set<String>) TransactionSynchronizationManager.getResource(this);
+        if (keys == null) {
+            keys = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(this, keys);
+            TransactionSynchronizationManager.registerSynchronization(new WriteSynchronization(keys));
+        }
+        keys.add(key);
+    }
+
+    /**
+     * Cantidad de conexiones entregadas por el pool desde el inicio.
+     */
+    public long getConnectionCount(Pool pool) {
+        return connections.get(pool).sum();
+    }
+
+    /**
+     * Lecturas enviadas al primario por estar dentro de la ventana de retraso
+     * posterior a una escritura del mismo usuario.
+     */
+    public long getLagRedirectCount() {
+        return lagRedirects.sum();
+    }
+
+    /**
+     * Veces que la réplica no entregó una conexión.
+     */
+    public long getReplicaFailureCount() {
+        return replicaFailures.sum();
+    }
+
+    /**
+     * Estado actual del pool Hikari (conexiones activas, ociosas y solicitudes
+     * en espera), o {@code null} si el pool no es Hikari o aún no se inicia.
+     */
+    public HikariPoolMXBean getPoolState(Pool pool) {
+        DataSource target = targets.get(pool);
+        return target instanceof HikariDataSource ? ((HikariDataSource) target).getHikariPoolMXBean() : null;
+    }
+
+    private Connection connect(Pool pool, Connector connector) throws SQLException {
+        Connection connection = connector.connect(targets.get(pool));
+        connections.get(pool).increment();
+        return connection;
+    }
+
+    private boolean isRecentlyWritten(String key) {
+        if (key == null) {
+            return false;
+        }
+        Long committed = recentWrites.get(key);
+        return committed != null && System.currentTimeMillis() - committed < maxLagMillis;
+    }
+
+    /**
+     * Registra el commit del usuario y, a lo más una vez por ventana, descarta
+     * los usuarios cuya ventana ya terminó, de modo que el mapa no crece con
+     * el total de usuarios modificados.
+     */
+    private void markWritten(String key) {
+        long now = System.currentTimeMillis();
+        recentWrites.put(key, now);
+        if (now - lastPruneMillis >= maxLagMillis) {
+            lastPruneMillis = now;
+            recentWrites.values().removeIf(committed -> now - committed >= maxLagMillis);
+        }
+    }
+
+    /**
+     * Obtención de la conexión desde el pool elegido, con o sin credenciales.
+     */
+    @FunctionalInterface
+    private interface Connector {
+        Connection connect(DataSource target) throws SQLException;
+    }
+
+    /**
+     * Registra los usuarios modificados al confirmarse la transacción y los
+     * retira mientras esta se suspende.
+     */
+    private final class WriteSynchronization implements TransactionSynchronization {
+
+        private final Set<String> keys;
+
+        private WriteSynchronization(Set<String> keys) {
+            this.keys = keys;
+        }
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ReplicaRoutingDataSource.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(ReplicaRoutingDataSource.this, keys);
+        }
+
+        @Override
+        public void afterCommit() {
+            keys.forEach(ReplicaRoutingDataSource.this::markWritten);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ReplicaRoutingDataSource.this);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package cl.bci.ejercicio.datasource;
+
+import cl.bci.ejercicio.entity.Phone;
+import cl.bci.ejercicio.entity.User;
+import cl.bci.ejercicio.utils.EmailUtil;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+/**
+ * Listener JPA que informa a {@link ReplicaRoutingDataSource} el usuario que
+ * modifica la transacción en curso, para que sus lecturas posteriores no
+ * lleguen a una réplica que aún no recibe el cambio.
+ *
+ * @author BCI Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+public class ReplicaWriteListener {
+
+    /**
+     * Hibernate crea el listener a través del contenedor de Spring; sin
+     * réplica configurada queda nulo.
+     */
+    @Autowired(required = false)
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        if (replicaRoutingDataSource == null) {
+            return;
+        }
+        User user = entity instanceof Phone ? ((Phone) entity).getUser() : (User) entity;
+        if (user != null && Hibernate.isInitialized(user) && user.getEmail() != null) {
+            replicaRoutingDataSource.recordWrite(EmailUtil.normalize(user.getEmail()));
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package cl.bci.ejercicio.datasource;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Supplier;
+
+/**
+ * Shard sobre el que opera el hilo actual.
+ *
+ * Dentro de una transacción el shard queda asociado a ella hasta que termina:
+ * la conexión física se obtiene en la primera sentencia y se mantiene hasta
+ * el commit, de modo que todas las operaciones de la transacción deben
+ * corresponder al mismo shard. Operar sobre otro shard en la misma
+ * transacción lanza {@link IllegalStateException} en lugar de escribir en el
+ * shard equivocado.
+ *
+ * Fuera de una transacción el shard aplica solo mientras dura la acción.
+ *
+ * @author BCI Team
+ * @version 1.0
+ * @since 1.0
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> SCOPED = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    /**
+     * Ejecuta la acción sobre el shard indicado.
+     *
+     * @param shard  Índice del shard
+     * @param action Acción a ejecutar
+     * @return el resultado de la acción
+     * @throws IllegalStateException si la transacción en curso ya opera sobre otro shard
+     */
+    public static <T> T callOn(int shard, Supplier<T> action) {
+        bindTransaction(shard);
+        Integer previous = SCOPED.get();
+        SCOPED.set(shard);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                SCOPED.remove();
+            } else {
+                SCOPED.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Asocia el shard a la transacción en curso, si la hay.
+     *
+     * @param shard Índice del shard
+     * @throws IllegalStateException si la transacción ya opera sobre otro shard
+     */
+    public static void bindTransaction(int shard) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        Integer bound = (Integer) TransactionSynchronizationManager.getResource(ShardContext.class);
+        if (bound == null) {
+            TransactionSynchronizationManager.bindResource(ShardContext.class, shard);
+            TransactionSynchronizationManager.registerSynchronization(new ShardSynchronization(shard));
+        } else if (bound != shard) {
+            throw new IllegalStateException(
+                    "La transacción opera sobre el shard " + bound + " y no puede acceder al shard " + shard);
+        }
+    }
+
+    /**
+     * Shard del hilo actual, o {@code null} si no se ha indicado ninguno.
+     */
+    public static Integer current() {
+        Integer scoped = SCOPED.get();
+        return scoped != null ? scoped : (Integer) TransactionSynchronizationManager.getResource(ShardContext.class);
+    }
+
+    /**
+     * Libera el shard al terminar la transacción y lo retira mientras esta
+     * se suspende (por ejemplo, durante una transacción {@code REQUIRES_NEW}).
+     */
+    private static final class ShardSynchronization implements TransactionSynchronization {
+
+        private final int shard;
+
+        private ShardSynchronization(int shard) {
+            this.shard = shard;
+        }
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ShardContext.class);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(ShardContext.class, shard);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ShardContext.class);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package cl.bci.ejercicio.datasource;
+
+import cl.bci.ejercicio.entity.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.PrePersist;
+
+/**
+ * Listener JPA que asocia a la transacción el shard del usuario que se
+ * inserta.
+ *
+ * El registro puede insertar sin haber consultado antes por el email (cuando
+ * el filtro de emails lo descarta); en ese caso la primera sentencia de la
+ * transacción es la inserción, y el shard debe quedar indicado antes de ella.
+ * Los teléfonos se insertan en la misma transacción y quedan en el mismo shard.
+ *
+ * @author BCI Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+public class ShardKeyListener {
+
+    /**
+     * Hibernate crea el listener a través del contenedor de Spring; sin shards
+     * configurados queda nulo.
+     */
+    @Autowired(required = false)
+    private ShardRouter shardRouter;
+
+    @PrePersist
+    public void onPersist(User user) {
+        if (shardRouter != null) {
+            ShardContext.bindTransaction(shardRouter.shardFor(user.getEmail()));
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package cl.bci.ejercicio.datasource;
+
+import cl.bci.ejercicio.BciProjectApplication;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Comando que rebalancea los shards con la aplicación detenida
+ * ({@code ./gradlew shardRebalance}).
+ *
+ * Inicia el contexto sin servidor web, de modo que nadie lee un usuario a
+ * medio mover, aplica las migraciones en cada shard, ejecuta
+ * {@link ShardRebalancer#rebalance()} y termina. Los argumentos se pasan a
+ * Spring ({@code --datasource.sharding.urls=...}); el sharding queda
+ * habilitado aunque la configuración lo tenga deshabilitado.
+ *
+ * @author BCI Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+public final class ShardRebalanceCommand {
+
+    private ShardRebalanceCommand() {
+    }
+
+    public static void main(String[] args) {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BciProjectApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("datasource.sharding.enabled=true")
+                .run(args)) {
+            long moved = context.getBean(ShardRebalancer.class).rebalance();
+            log.info("Rebalanceo terminado: {} usuarios movidos", moved);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package cl.bci.ejercicio.datasource;
+
+import cl.bci.ejercicio.utils.UuidUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Mueve a su shard los usuarios que quedaron en otro, por ejemplo después de
+ * agregar shards a la configuración.
+ *
+ * Recorre cada shard por id en bloques de {@code batchSize} usuarios y mueve
+ * al shard que indica {@link ShardRouter} los usuarios mal ubicados junto con
+ * sus teléfonos. Cada bloque se mueve en dos fases: una transacción en el
+ * shard de origen bloquea las filas con {@code SELECT ... FOR UPDATE}, la
+ * copia se confirma en el shard de destino y recién entonces se eliminan las
+ * filas de origen y se libera el bloqueo. Una escritura concurrente sobre el
+ * usuario espera a que termine el movimiento en lugar de perderse en la
+ * copia. La copia usa {@code MERGE}, de modo que si el proceso se interrumpe
+ * entre la copia y la eliminación basta con volver a ejecutarlo. Los ids de
+ * teléfono se conservan: los rangos de la secuencia de cada shard no se
+ * superponen.
+ *
+ * Después de cada bloque se informan los usuarios movidos (id y email
+ * normalizado) para descartar lo que las cachés guardan de ellos.
+ *
+ * Mientras se ejecuta, el login de un usuario que aún no se mueve no lo
+ * encuentra en su nuevo shard, por lo que se ejecuta con la aplicación
+ * detenida ({@link ShardRebalanceCommand}).
+ *
+ * @author BCI Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+public class ShardRebalancer {
+
+    private static final String USER_COLUMNS =
+            "id, name, email, email_normalized, email_hash, password, created, last_login, token, is_active";
+    private static final String PHONE_COLUMNS = "id, number, city_code, contry_code, user_id";
+
+    private final ShardRouter router;
+    private final List<? extends DataSource> shards;
+    private final int batchSize;
+    private final Consumer<Map<UUID, String>> onMoved;
+
+    /**
+     * @param router    Asignación de usuarios a shards con la cantidad actual de shards
+     * @param shards    Pools de conexiones, en orden de shard
+     * @param batchSize Usuarios leídos y movidos por bloque
+     */
+    public ShardRebalancer(ShardRouter router, List<? extends DataSource> shards, int batchSize) {
+        this(router, shards, batchSize, moved -> {
+        });
+    }
+
+    /**
+     * @param router    Asignación de usuarios a shards con la cantidad actual de shards
+     * @param shards    Pools de conexiones, en orden de shard
+     * @param batchSize Usuarios leídos y movidos por bloque
+     * @param onMoved   Recibe, por bloque, el email normalizado de cada usuario movido según su id
+     */
+    public ShardRebalancer(ShardRouter router, List<? extends DataSource> shards, int batchSize,
+                           Consumer<Map<UUID, String>> onMoved) {
+        if (router.getShardCount() != shards.size()) {
+            throw new IllegalArgumentException("La cantidad de shards no coincide con la del enrutador");
+        }
+        this.router = router;
+        this.shards = shards;
+        this.batchSize = batchSize;
+        this.onMoved = onMoved;
+    }
+
+    /**
+     * Mueve a su shard todos los usuarios mal ubicados.
+     *
+     * @return cantidad de usuarios movidos
+     */
+    public long rebalance() {
+        long moved = 0;
+        for (int source = 0; source < shards.size(); source++) {
+            long movedFromShard = rebalanceShard(source);
+            if (movedFromShard > 0) {
+                log.info("Movidos {} usuarios desde el shard {}", movedFromShard, source);
+            }
+            moved += movedFromShard;
+        }
+        return moved;
+    }
+
+    private long rebalanceShard(int source) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(shards.get(source));
+        long moved = 0;
+        byte[] after = null;
+        while (true) {
+            List<Map<String, Object>> page = after == null
+                    ? jdbcTemplate.queryForList("select id, email_hash from users order by id limit ?", batchSize)
+                    : jdbcTemplate.queryForList("select id, email_hash from users where id > ? order by id limit ?",
+                    after, batchSize);
+            if (page.isEmpty()) {
+                return moved;
+            }
+            after = (byte[]) page.get(page.size() - 1).get("id");
+
+            Map<Integer, List<byte[]>> misplaced = new TreeMap<>();
+            for (Map<String, Object> row : page) {
+                int target = router.shardForHash((byte[]) row.get("email_hash"));
+                if (target != source) {
+                    misplaced.computeIfAbsent(target, shard -> new ArrayList<>()).add((byte[]) row.get("id"));
+                }
+            }
+            for (Map.Entry<Integer, List<byte[]>> group : misplaced.entrySet()) {
+                move(source, group.getKey(), group.getValue());
+                moved += group.getValue().size();
+            }
+        }
+    }
+
+    private void move(int source, int target, List<byte[]> ids) {
+        String in = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        Object[] args = ids.toArray();
+        Map<UUID, String> moved = new LinkedHashMap<>();
+        inTransaction(source, from -> {
+            List<Map<String, Object>> users = from.queryForList(
+                    "select " + USER_COLUMNS + " from users where id in (" + in + ") for update", args);
+            List<Map<String, Object>> phones = from.queryForList(
+                    "select " + PHONE_COLUMNS + " from phones where user_id in (" + in + ") for update", args);
+
+            inTransaction(target, to -> {
+                to.batchUpdate("merge into users (" + USER_COLUMNS + ") key (id) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                        values(users, USER_COLUMNS));
+                to.batchUpdate("merge into phones (" + PHONE_COLUMNS + ") key (id) values (?, ?, ?, ?, ?)",
+                        values(phones, PHONE_COLUMNS));
+            });
+
+            from.update("delete from phones where user_id in (" + in + ")", args);
+            from.update("delete from users where id in (" + in + ")", args);
+            for (Map<String, Object> user : users) {
+                moved.put(UuidUtil.fromBytes((byte[]) user.get("id")), (String) user.get("email_normalized"));
+            }
+        });
+        onMoved.accept(moved);
+    }
+
+    /**
+     * Cada shard tiene su propio administrador de transacciones, por lo que la
+     * transacción del destino puede abrirse dentro de la del origen.
+     */
+    private void inTransaction(int shard, Consumer<JdbcTemplate> work) {
+        DataSource dataSource = shards.get(shard);
+        new TransactionTemplate(new DataSourceTransactionManager(dataSource))
+                .executeWithoutResult(status -> work.accept(new JdbcTemplate(dataSource)));
+    }
+
+    private static List<Object[]> values(List<Map<String, Object>> rows, String columns) {
+        String[] names = columns.split(", ");
+        List<Object[]> values = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows) {
+            Object[] value = new Object[names.length];
+            for (int i = 0; i < names.length; i++) {
+                value[i] = row.get(names[i]);
+            }
+            values.add(value);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,119 @@
+package cl.bci.ejercicio.datasource;
+
+import cl.bci.ejercicio.utils.EmailUtil;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Asigna cada usuario a un shard a partir del hash de su email normalizado.
+ *
+ * Usa jump consistent hash (Lamping y Veach) sobre los primeros 8 bytes de
+ * {@link EmailUtil#hash(String)}: la distribución es uniforme y, al pasar de
+ * N a N+1 shards, solo cambia de shard alrededor de 1/(N+1) de los usuarios,
+ * y todos hacia el shard nuevo. Por eso los shards se agregan siempre al
+ * final de la lista y nunca se reordenan.
+ *
+ * @author BCI Team
+ * @version 1.0
+ * @since 1.0
+ */
+public class ShardRouter {
+
+    private final int shardCount;
+
+    /**
+     * @param shardCount cantidad de shards, mayor que 0
+     */
+    public ShardRouter(int shardCount) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("La cantidad de shards debe ser mayor que 0");
+        }
+        this.shardCount = shardCount;
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    /**
+     * Shard del usuario con el email dado (normalizado o no).
+     */
+    public int shardFor(String email) {
+        return shardForHash(EmailUtil.hash(email));
+    }
+
+    /**
+     * Shard del usuario a partir de su {@code email_hash}.
+     */
+    public int shardForHash(byte[] emailHash) {
+        long key = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            key = (key << 8) | (emailHash[i] & 0xFF);
+        }
+        return jumpConsistentHash(key, shardCount);
+    }
+
+    /**
+     * Ejecuta la acción sobre el shard del email.
+     */
+    public <T> T callOnShardOf(String email, Supplier<T> action) {
+        return ShardContext.callOn(shardFor(email), action);
+    }
+
+    /**
+     * Agrupa los emails por shard y ejecuta la acción una vez por grupo, en su
+     * shard. Los resultados se concatenan en orden de shard.
+     */
+    public <T> List<T> callOnShardsOf(Collection<String> emails, Function<List<String>, List<T>> action) {
+        Map<Integer, List<String>> groups = new TreeMap<>();
+        for (String email : emails) {
+            groups.computeIfAbsent(shardFor(email), shard -> new ArrayList<>()).add(email);
+        }
+        List<T> results = new ArrayList<>();
+        for (Map.Entry<Integer, List<String>> group : groups.entrySet()) {
+            results.addAll(ShardContext.callOn(group.getKey(), () -> action.apply(group.getValue())));
+        }
+        return results;
+    }
+
+    /**
+     * Ejecuta la acción en cada shard y devuelve sus resultados en orden de shard.
+     */
+    public <T> List<T> callOnEachShard(Supplier<T> action) {
+        List<T> results = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            results.add(ShardContext.callOn(shard, action));
+        }
+        return results;
+    }
+
+    /**
+     * Agrupa los elementos por el shard de su email, conservando el orden de
+     * llegada dentro de cada grupo.
+     */
+    public <E> Map<Integer, List<E>> partition(Collection<E> elements, Function<E, String> email) {
+        Map<Integer, List<E>> groups = new LinkedHashMap<>();
+        for (E element : elements) {
+            groups.computeIfAbsent(shardFor(email.apply(element)), shard -> new ArrayList<>()).add(element);
+        }
+        return groups;
+    }
+
+    static int jumpConsistentHash(long key, int buckets) {
+        long bucket = -1;
+        long next = 0;
+        while (next < buckets) {
+            bucket = next;
+            key = key * 2862933555777941757L + 1;
+            next = (long) ((bucket + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+        }
+        return (int) bucket;
+    }
+}
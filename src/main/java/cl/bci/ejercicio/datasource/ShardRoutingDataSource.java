@@ -0,0 +1,65 @@
+package cl.bci.ejercicio.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code DataSource} que entrega conexiones del shard indicado en
+ * {@link ShardContext}.
+ *
+ * Debe usarse detrás de un
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}:
+ * la conexión se pide en la primera sentencia, cuando el repositorio ya
+ * asoció el shard a la transacción. Las conexiones pedidas sin shard (por
+ * ejemplo, la lectura de metadatos de Hibernate al iniciar) van al shard 0.
+ *
+ * @author BCI Team
+ * @version 1.0
+ * @since 1.0
+ */
+public final class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final List<? extends DataSource> shards;
+
+    /**
+     * @param shards Pools de conexiones, en orden de shard
+     */
+    public ShardRoutingDataSource(List<? extends DataSource> shards) {
+        this.shards = shards;
+        Map<Object, Object> targets = new HashMap<>();
+        for (int i = 0; i < shards.size(); i++) {
+            targets.put(i, shards.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(shards.get(0));
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Pools de conexiones, en orden de shard.
+     */
+    public List<? extends DataSource> getShards() {
+        return shards;
+    }
+
+    /**
+     * Cierra los pools de conexiones de todos los shards.
+     */
+    public void close() throws Exception {
+        for (DataSource shard : shards) {
+            if (shard instanceof AutoCloseable) {
+                ((AutoCloseable) shard).close();
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.current();
+    }
+}
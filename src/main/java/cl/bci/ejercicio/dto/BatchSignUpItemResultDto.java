@@ -0,0 +1,80 @@
+package cl.bci.ejercicio.dto;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * DTO con el resultado del registro de un usuario dentro de un lote.
+ *
+ * Cada elemento del lote produce un resultado en la misma posición,
+ * indicando si fue creado o el motivo por el cual fue rechazado.
+ *
+ * @author BCI Team
+ * @version 1.0
+ * @since 1.0
+ */
+@ApiModel(description = "Resultado del registro de un usuario dentro de un lote")
+@Data
+@Builder
+public class BatchSignUpItemResultDto {
+
+    /**
+     * Estados posibles de un elemento del lote.
+     */
+    public enum Status {
+        CREATED,
+        ALREADY_EXISTS,
+        INVALID,
+        /**
+         * El bloque de la importación NDJSON que contenía el registro no pudo registrarse.
+         */
+        FAILED
+    }
+
+    /**
+     * Posición del elemento en el lote recibido (desde 0).
+     */
+    @ApiModelProperty(value = "Posición del elemento en el lote", example = "0")
+    private Integer index;
+
+    /**
+     * Email informado en el elemento.
+     */
+    @ApiModelProperty(value = "Email del usuario", example = "juan.perez@bci.cl")
+    private String email;
+
+    /**
+     * Estado final del elemento.
+     */
+    @ApiModelProperty(value = "Estado del registro", example = "CREATED")
+    private Status status;
+
+    /**
+     * Identificador del usuario creado; nulo si fue rechazado.
+     */
+    @ApiModelProperty(value = "ID único del usuario", example = "550e8400-e29b-41d4-a716-446655440000")
+    private UUID id;
+
+    /**
+     * Fecha de creación del usuario; nula si fue rechazado.
+     */
+    @ApiModelProperty(value = "Fecha de creación del usuario", example = "2023-12-07T10:30:00")
+    private LocalDateTime created;
+
+    /**
+     * Token JWT del usuario creado; nulo si fue rechazado.
+     */
+    @ApiModelProperty(value = "Token JWT de autenticación", example = "eyJhbGciOiJIUzUxMiJ9...")
+    private String token;
+
+    /**
+     * Detalle del rechazo; nulo si fue creado.
+     */
+    @ApiModelProperty(value = "Detalle del error", example = "Ya existe un usuario activo registrado con el mismo email")
+    private String detail;
+}
@@ -0,0 +1,48 @@
+package cl.bci.ejercicio.dto;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * DTO de respuesta para el registro masivo de usuarios.
+ *
+ * Resume la cantidad de usuarios creados y rechazados, e incluye
+ * el resultado individual de cada elemento del lote.
+ *
+ * @author BCI Team
+ * @version 1.0
+ * @since 1.0
+ */
+@ApiModel(description = "Respuesta del registro masivo de usuarios")
+@Data
+@Builder
+public class BatchSignUpResponseDto {
+
+    /**
+     * Cantidad de elementos recibidos.
+     */
+    @ApiModelProperty(value = "Cantidad de elementos recibidos", example = "100")
+    private Integer total;
+
+    /**
+     * Cantidad de usuarios creados.
+     */
+    @ApiModelProperty(value = "Cantidad de usuarios creados", example = "98")
+    private Integer created;
+
+    /**
+     * Cantidad de elementos rechazados.
+     */
+    @ApiModelProperty(value = "Cantidad de elementos rechazados", example = "2")
+    private Integer failed;
+
+    /**
+     * Resultado de cada elemento, en el mismo orden del lote.
+     */
+    @ApiModelProperty(value = "Resultado de cada elemento del lote")
+    private List<BatchSignUpItemResultDto> results;
+}
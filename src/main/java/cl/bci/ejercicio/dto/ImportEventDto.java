@@ -0,0 +1,82 @@
+package cl.bci.ejercicio.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * DTO con un evento de la importación NDJSON de usuarios.
+ *
+ * La respuesta de la importación es a su vez NDJSON: una línea {@code ERROR}
+ * por cada registro rechazado, una línea {@code PROGRESS} al confirmar cada
+ * bloque y una línea {@code SUMMARY} al terminar.
+ *
+ * @author BCI Team
+ * @version 1.0
+ * @since 1.0
+ */
+@ApiModel(description = "Evento de la importación de usuarios")
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImportEventDto {
+
+    /**
+     * Tipos de evento emitidos durante la importación.
+     */
+    public enum Type {
+        ERROR,
+        PROGRESS,
+        SUMMARY
+    }
+
+    /**
+     * Tipo del evento.
+     */
+    @ApiModelProperty(value = "Tipo de evento", example = "ERROR")
+    private Type type;
+
+    /**
+     * Número de línea del registro rechazado (desde 1).
+     */
+    @ApiModelProperty(value = "Línea del registro en el archivo", example = "42")
+    private Long line;
+
+    /**
+     * Email del registro rechazado, si pudo leerse.
+     */
+    @ApiModelProperty(value = "Email del usuario", example = "juan.perez@bci.cl")
+    private String email;
+
+    /**
+     * Estado del registro rechazado.
+     */
+    @ApiModelProperty(value = "Estado del registro", example = "INVALID")
+    private BatchSignUpItemResultDto.Status status;
+
+    /**
+     * Detalle del rechazo.
+     */
+    @ApiModelProperty(value = "Detalle del error", example = "El formato del email no es válido")
+    private String detail;
+
+    /**
+     * Registros leídos hasta el momento.
+     */
+    @ApiModelProperty(value = "Registros procesados", example = "10000")
+    private Long processed;
+
+    /**
+     * Usuarios creados hasta el momento.
+     */
+    @ApiModelProperty(value = "Usuarios creados", example = "9990")
+    private Long created;
+
+    /**
+     * Registros rechazados hasta el momento.
+     */
+    @ApiModelProperty(value = "Registros rechazados", example = "10")
+    private Long failed;
+}
@@ -1,22 +1,32 @@
 package cl.bci.ejercicio.entity;
 
+import cl.bci.ejercicio.cache.LoginResponseCacheInvalidator;
+import cl.bci.ejercicio.datasource.ReplicaWriteListener;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 
 @Entity
+@EntityListeners({ReplicaWriteListener.class, LoginResponseCacheInvalidator.class})
 @Table(name = "phones")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Phone.CACHE_REGION)
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Phone {
 
+    public static final String CACHE_REGION = "phones";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "phones_seq")
+    @SequenceGenerator(name = "phones_seq", sequenceName = "phones_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "number", nullable = false)
@@ -29,6 +39,6 @@ public class Phone {
     private String contrycode;
 
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "user_id", nullable = false)
+    @JoinColumn(name = "user_id", nullable = false, columnDefinition = User.BINARY_COLUMN_DEFINITION)
     private User user;
 } 
\ No newline at end of file
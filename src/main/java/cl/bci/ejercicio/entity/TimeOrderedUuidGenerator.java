@@ -0,0 +1,15 @@
+package cl.bci.ejercicio.entity;
+
+import cl.bci.ejercicio.utils.UuidUtil;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+import java.io.Serializable;
+
+public class TimeOrderedUuidGenerator implements IdentifierGenerator {
+
+    @Override
+    public Serializable generate(SharedSessionContractImplementor session, Object object) {
+        return UuidUtil.timeOrdered();
+    }
+}
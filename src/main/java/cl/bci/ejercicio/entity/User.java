@@ -1,10 +1,18 @@
 package cl.bci.ejercicio.entity;
 
+import cl.bci.ejercicio.cache.LoginResponseCacheInvalidator;
+import cl.bci.ejercicio.datasource.ReplicaWriteListener;
+import cl.bci.ejercicio.datasource.ShardKeyListener;
+import cl.bci.ejercicio.utils.EmailUtil;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
@@ -13,29 +21,49 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "users")
+@EntityListeners({ShardKeyListener.class, ReplicaWriteListener.class, LoginResponseCacheInvalidator.class})
+@Table(name = "users", uniqueConstraints = @UniqueConstraint(name = User.EMAIL_UNIQUE_CONSTRAINT, columnNames = "email_hash"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = User.CACHE_REGION)
+@NaturalIdCache(region = User.NATURAL_ID_CACHE_REGION)
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class User {
 
+    public static final String CACHE_REGION = "users";
+    public static final String PHONES_CACHE_REGION = "users.phones";
+    public static final String NATURAL_ID_CACHE_REGION = "users.email";
+    public static final String EMAIL_UNIQUE_CONSTRAINT = "uk_users_email";
+    // Las migraciones crean estas columnas como BINARY(16), que H2 informa como
+    // VARBINARY; sin este tipo la validación del esquema espera BINARY y falla.
+    public static final String BINARY_COLUMN_DEFINITION = "varbinary";
+
     @Id
-    @GeneratedValue(generator = "UUID")
-    @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator")
-    @Column(name = "id", updatable = false, nullable = false)
+    @GeneratedValue(generator = "uuid-v7")
+    @GenericGenerator(name = "uuid-v7", strategy = "cl.bci.ejercicio.entity.TimeOrderedUuidGenerator")
+    @Column(name = "id", updatable = false, nullable = false, columnDefinition = User.BINARY_COLUMN_DEFINITION)
     private UUID id;
 
     @Column(name = "name", nullable = false)
     private String name;
 
-    @Column(name = "email", nullable = false, unique = true)
+    @Column(name = "email", nullable = false)
     private String email;
 
+    @Column(name = "email_normalized", nullable = false)
+    private String emailNormalized;
+
+    @NaturalId
+    @Column(name = "email_hash", nullable = false, columnDefinition = User.BINARY_COLUMN_DEFINITION)
+    private byte[] emailHash;
+
     @Column(name = "password", nullable = false)
     private String password;
 
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = User.PHONES_CACHE_REGION)
     @Builder.Default
     private List<Phone> phones = new ArrayList<>();
 
@@ -45,7 +73,7 @@ public class User {
     @Column(name = "last_login")
     private LocalDateTime lastLogin;
 
-    @Column(name = "token")
+    @Column(name = "token", length = 512)
     private String token;
 
     @Column(name = "is_active", nullable = false)
@@ -56,10 +84,19 @@ public class User {
     protected void onCreate() {
         created = LocalDateTime.now();
         lastLogin = LocalDateTime.now();
+        normalizeEmail();
     }
 
     @PreUpdate
     protected void onUpdate() {
         lastLogin = LocalDateTime.now();
     }
+
+    /**
+     * Completa el email normalizado y su hash a partir del email ingresado.
+     */
+    public void normalizeEmail() {
+        emailNormalized = EmailUtil.normalize(email);
+        emailHash = EmailUtil.hash(email);
+    }
 } 
\ No newline at end of file
@@ -5,6 +5,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
 
 import javax.validation.ConstraintViolationException;
 import java.sql.Timestamp;
@@ -46,6 +47,27 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(errorResponseDto);
     }
 
+    /**
+     * Maneja excepciones cuando un lote de registro masivo no es aceptable.
+     * 
+     * Se ejecuta cuando el lote recibido está vacío o supera el tamaño
+     * máximo configurado.
+     * 
+     * @param ex Excepción InvalidBatchException lanzada
+     * @return ResponseEntity con código 400 y mensaje de error
+     */
+    @ExceptionHandler(InvalidBatchException.class)
+    public ResponseEntity<ApiErrorResponseDto> handleInvalidBatch(InvalidBatchException ex) {
+
+        ApiErrorResponseDto errorResponseDto = ApiErrorResponseDto.builder()
+                .timestamp(Timestamp.from(Instant.now()))
+                .detail(ex.getMessage())
+                .codigo(HttpStatus.BAD_REQUEST.value())
+                .build();
+
+        return ResponseEntity.badRequest().body(errorResponseDto);
+    }
+
     /**
      * Maneja excepciones de validación de argumentos de métodos.
      * 
@@ -71,6 +93,31 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(errorResponseDto);
     }
 
+    /**
+     * Maneja excepciones de validación del cuerpo de la solicitud en WebFlux.
+     * 
+     * Equivalente a {@link #handleValidationExceptions} para el controlador
+     * reactivo del perfil {@code reactive}.
+     * 
+     * @param ex Excepción WebExchangeBindException con detalles de validación
+     * @return ResponseEntity con código 400 y mensajes de validación concatenados
+     */
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ApiErrorResponseDto> handleWebExchangeBindException(WebExchangeBindException ex) {
+
+        String errorMessage = ex.getFieldErrors().stream()
+                .map(error -> error.getDefaultMessage())
+                .collect(Collectors.joining(", "));
+
+        ApiErrorResponseDto errorResponseDto = ApiErrorResponseDto.builder()
+                .timestamp(Timestamp.from(Instant.now()))
+                .detail(errorMessage)
+                .codigo(HttpStatus.BAD_REQUEST.value())
+                .build();
+
+        return ResponseEntity.badRequest().body(errorResponseDto);
+    }
+
     /**
      * Maneja excepciones de violación de restricciones.
      * 
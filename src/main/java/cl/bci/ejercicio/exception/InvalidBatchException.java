@@ -0,0 +1,11 @@
+package cl.bci.ejercicio.exception;
+
+import lombok.Getter;
+
+@Getter
+public class InvalidBatchException extends RuntimeException {
+
+    public InvalidBatchException(String message) {
+        super(message);
+    }
+}
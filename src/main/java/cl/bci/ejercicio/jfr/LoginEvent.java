@@ -0,0 +1,49 @@
+package cl.bci.ejercicio.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento de JDK Flight Recorder para un login completo
+ * ({@code UserService.login} y {@code loginSerialized}). Sus etapas se
+ * registran como {@link LoginStageEvent}.
+ *
+ * @author BCI Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Name("cl.bci.ejercicio.Login")
+@Label("Login")
+@Category({"BCI", "Usuarios"})
+@Description("Login de un usuario")
+public class LoginEvent extends Event {
+
+    @Label("Resultado")
+    @Description("success, not_found o error")
+    private String outcome;
+
+    /**
+     * Crea el evento e inicia su medición.
+     */
+    public static LoginEvent start() {
+        LoginEvent event = new LoginEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Termina la medición y registra el evento si la grabación lo habilita.
+     *
+     * @param outcome Resultado del login
+     */
+    public void finish(String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
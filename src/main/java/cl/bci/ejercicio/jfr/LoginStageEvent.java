@@ -0,0 +1,67 @@
+package cl.bci.ejercicio.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento de JDK Flight Recorder para una etapa del login: verificación del
+ * token, consulta del usuario, conversión a la respuesta (incluida la carga
+ * de los teléfonos) o descifrado de la contraseña.
+ *
+ * @author BCI Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Name("cl.bci.ejercicio.LoginStage")
+@Label("Login Stage")
+@Category({"BCI", "Usuarios"})
+@Description("Etapa del login de un usuario")
+public class LoginStageEvent extends Event {
+
+    public static final String VERIFY_TOKEN = "VERIFY_TOKEN";
+    public static final String FETCH = "FETCH";
+    public static final String MAP = "MAP";
+    public static final String DECRYPT = "DECRYPT";
+
+    @Label("Etapa")
+    private String stage;
+
+    @Label("Teléfonos")
+    @Description("Teléfonos convertidos (solo MAP)")
+    private int phoneCount;
+
+    /**
+     * Crea el evento de la etapa e inicia su medición.
+     *
+     * @param stage Etapa medida
+     */
+    public static LoginStageEvent start(String stage) {
+        LoginStageEvent event = new LoginStageEvent();
+        event.stage = stage;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Termina la medición y registra el evento si la grabación lo habilita.
+     */
+    public void finish() {
+        finish(0);
+    }
+
+    /**
+     * Termina la medición y registra el evento si la grabación lo habilita.
+     *
+     * @param phoneCount Cantidad de teléfonos procesados en la etapa
+     */
+    public void finish(int phoneCount) {
+        end();
+        if (shouldCommit()) {
+            this.phoneCount = phoneCount;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package cl.bci.ejercicio.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento de JDK Flight Recorder para un registro de usuario completo
+ * ({@code UserService.signUp}). Sus etapas se registran como
+ * {@link SignUpStageEvent} en el mismo hilo o en el pool criptográfico.
+ *
+ * Sin una grabación que lo habilite, crear y terminar el evento no tiene
+ * costo apreciable.
+ *
+ * @author BCI Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Name("cl.bci.ejercicio.SignUp")
+@Label("Sign-Up")
+@Category({"BCI", "Usuarios"})
+@Description("Registro de un usuario")
+public class SignUpEvent extends Event {
+
+    @Label("Resultado")
+    @Description("created, already_exists o error")
+    private String outcome;
+
+    @Label("Teléfonos")
+    private int phoneCount;
+
+    /**
+     * Crea el evento e inicia su medición.
+     */
+    public static SignUpEvent start() {
+        SignUpEvent event = new SignUpEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Termina la medición y registra el evento si la grabación lo habilita.
+     *
+     * @param outcome    Resultado del registro
+     * @param phoneCount Cantidad de teléfonos del usuario
+     */
+    public void finish(String outcome, int phoneCount) {
+        end();
+        if (shouldCommit()) {
+            this.outcome = outcome;
+            this.phoneCount = phoneCount;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package cl.bci.ejercicio.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento de JDK Flight Recorder para una etapa del registro de usuario:
+ * verificación del email en la base de datos, cifrado de la contraseña,
+ * firma del token o inserción del usuario.
+ *
+ * @author BCI Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Name("cl.bci.ejercicio.SignUpStage")
+@Label("Sign-Up Stage")
+@Category({"BCI", "Usuarios"})
+@Description("Etapa del registro de un usuario")
+public class SignUpStageEvent extends Event {
+
+    public static final String EMAIL_CHECK = "EMAIL_CHECK";
+    public static final String ENCRYPT = "ENCRYPT";
+    public static final String TOKEN = "TOKEN";
+    public static final String PERSIST = "PERSIST";
+
+    @Label("Etapa")
+    private String stage;
+
+    @Label("Teléfonos")
+    @Description("Teléfonos insertados (solo PERSIST)")
+    private int phoneCount;
+
+    /**
+     * Crea el evento de la etapa e inicia su medición.
+     *
+     * @param stage Etapa medida
+     */
+    public static SignUpStageEvent start(String stage) {
+        SignUpStageEvent event = new SignUpStageEvent();
+        event.stage = stage;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Termina la medición y registra el evento si la grabación lo habilita.
+     */
+    public void finish() {
+        finish(0);
+    }
+
+    /**
+     * Termina la medición y registra el evento si la grabación lo habilita.
+     *
+     * @param phoneCount Cantidad de teléfonos procesados en la etapa
+     */
+    public void finish(int phoneCount) {
+        end();
+        if (shouldCommit()) {
+            this.phoneCount = phoneCount;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package cl.bci.ejercicio.migration;
+
+import cl.bci.ejercicio.utils.EmailUtil;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Completa {@code email_normalized} y {@code email_hash} en los usuarios
+ * existentes, con UPDATE por lotes JDBC.
+ *
+ * El hash se calcula con {@link EmailUtil}, por lo que no puede expresarse en
+ * SQL. Si dos usuarios existentes solo difieren en mayúsculas o espacios la
+ * migración falla informando los emails en conflicto, que deben resolverse
+ * manualmente antes de que V4 establezca la unicidad sobre el hash.
+ *
+ * @author BCI Team
+ * @version 1.0
+ * @since 1.0
+ */
+public class V3__Backfill_normalized_emails extends BaseJavaMigration {
+
+    static final String SELECT_PENDING_SQL = "SELECT id, email FROM users WHERE email_hash IS NULL";
+    static final String UPDATE_SQL = "UPDATE users SET email_normalized = ?, email_hash = ? WHERE id = ?";
+    static final String SELECT_CONFLICTS_SQL =
+            "SELECT email_normalized FROM users GROUP BY email_normalized HAVING COUNT(*) > 1";
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int MAX_REPORTED_CONFLICTS = 20;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        try (Statement select = connection.createStatement();
+             ResultSet rs = select.executeQuery(SELECT_PENDING_SQL);
+             PreparedStatement update = connection.prepareStatement(UPDATE_SQL)) {
+            int pending = 0;
+            while (rs.next()) {
+                String email = rs.getString(2);
+                update.setString(1, EmailUtil.normalize(email));
+                update.setBytes(2, EmailUtil.hash(email));
+                update.setBytes(3, rs.getBytes(1));
+                update.addBatch();
+                if (++pending == BATCH_SIZE) {
+                    update.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                update.executeBatch();
+            }
+        }
+
+        List<String> conflicts = findConflicts(connection);
+        if (!conflicts.isEmpty()) {
+            throw new IllegalStateException("Existen usuarios distintos con el mismo email normalizado: " + conflicts);
+        }
+    }
+
+    private static List<String> findConflicts(Connection connection) throws SQLException {
+        List<String> conflicts = new ArrayList<>();
+        try (Statement statement = connection.createStatement()) {
+            statement.setMaxRows(MAX_REPORTED_CONFLICTS);
+            try (ResultSet rs = statement.executeQuery(SELECT_CONFLICTS_SQL)) {
+                while (rs.next()) {
+                    conflicts.add(rs.getString(1));
+                }
+            }
+        }
+        return conflicts;
+    }
+}
@@ -0,0 +1,51 @@
+package cl.bci.ejercicio.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Reserva a cada shard un rango propio de ids de teléfono.
+ *
+ * Hibernate reparte en memoria los bloques de ids que obtiene de
+ * {@code phones_seq}, sin importar de qué shard vino el bloque; si todas las
+ * secuencias comenzaran en 1, dos shards entregarían los mismos ids. La
+ * secuencia del shard {@code n} (placeholder {@value #SHARD_PLACEHOLDER})
+ * parte en {@code n * 2^40}. En una base sin shards, o en el shard 0, no
+ * cambia nada.
+ *
+ * @author BCI Team
+ * @version 1.0
+ * @since 1.0
+ */
+public class V5__Partition_phone_ids_by_shard extends BaseJavaMigration {
+
+    public static final String SHARD_PLACEHOLDER = "shard";
+
+    static final long PHONE_IDS_PER_SHARD = 1L << 40;
+    static final String SELECT_CURRENT_SQL =
+            "SELECT CURRENT_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'PHONES_SEQ'";
+
+    // Igual al allocationSize de Phone: el primer bloque queda completo dentro del rango
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        String shard = context.getConfiguration().getPlaceholders().get(SHARD_PLACEHOLDER);
+        long start = shard == null ? 0 : Long.parseLong(shard) * PHONE_IDS_PER_SHARD;
+        if (start == 0) {
+            return;
+        }
+
+        try (Statement statement = context.getConnection().createStatement()) {
+            try (ResultSet rs = statement.executeQuery(SELECT_CURRENT_SQL)) {
+                if (rs.next() && rs.getLong(1) >= start) {
+                    return;
+                }
+            }
+            statement.execute("ALTER SEQUENCE phones_seq RESTART WITH " + (start + ALLOCATION_SIZE));
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package cl.bci.ejercicio.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Publicador que agrega los eventos a un archivo NDJSON, una línea por evento,
+ * para ejecuciones locales.
+ *
+ * Cada lote se escribe y se fuerza a disco antes de que el relay elimine los
+ * eventos de la tabla.
+ *
+ * @author BCI Team
+ * @version 1.0
+ * @since 1.0
+ */
+public class FileOutboxPublisher implements OutboxPublisher, AutoCloseable {
+
+    private static final byte NEW_LINE = '\n';
+
+    private final ObjectMapper objectMapper;
+    private final FileChannel channel;
+
+    /**
+     * @param path         Archivo de destino; se crea si no existe y se escribe al final
+     * @param objectMapper Serializador de los eventos
+     */
+    public FileOutboxPublisher(Path path, ObjectMapper objectMapper) throws IOException {
+        if (path.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+        }
+        this.objectMapper = objectMapper;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxEvent> events) throws IOException {
+        long size = channel.size();
+        try {
+            for (OutboxEvent event : events) {
+                byte[] line = objectMapper.writeValueAsBytes(event);
+                ByteBuffer buffer = ByteBuffer.allocate(line.length + 1).put(line).put(NEW_LINE);
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            // Descarta el lote incompleto: se volverá a escribir completo en el reintento
+            channel.truncate(size);
+            throw e;
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+}
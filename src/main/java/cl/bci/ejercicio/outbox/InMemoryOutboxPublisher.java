@@ -0,0 +1,44 @@
+package cl.bci.ejercicio.outbox;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Publicador que conserva en memoria los últimos eventos publicados, para
+ * ejecuciones locales y pruebas.
+ *
+ * @author BCI Team
+ * @version 1.0
+ * @since 1.0
+ */
+public class InMemoryOutboxPublisher implements OutboxPublisher {
+
+    private final Deque<OutboxEvent> events = new ArrayDeque<>();
+    private final int capacity;
+
+    /**
+     * @param capacity Cantidad máxima de eventos conservados; se descartan los más antiguos
+     */
+    public InMemoryOutboxPublisher(int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxEvent> batch) {
+        for (OutboxEvent event : batch) {
+            if (events.size() == capacity) {
+                events.removeFirst();
+            }
+            events.addLast(event);
+        }
+    }
+
+    /**
+     * Eventos conservados, en orden de publicación.
+     */
+    public synchronized List<OutboxEvent> getEvents() {
+        return new ArrayList<>(events);
+    }
+}
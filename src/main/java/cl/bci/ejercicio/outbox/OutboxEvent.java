@@ -0,0 +1,56 @@
+package cl.bci.ejercicio.outbox;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Evento de usuario registrado en la tabla {@code outbox_events}.
+ *
+ * @author BCI Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    /**
+     * Tipos de evento de usuario.
+     */
+    public enum Type {
+        USER_CREATED,
+        USER_LOGGED_IN
+    }
+
+    /**
+     * Posición del evento en la tabla; creciente dentro de cada base (o shard).
+     */
+    private Long id;
+
+    /**
+     * ID del usuario al que se refiere el evento.
+     */
+    private UUID userId;
+
+    /**
+     * Tipo del evento.
+     */
+    private Type type;
+
+    /**
+     * Datos del evento en JSON.
+     */
+    private String payload;
+
+    /**
+     * Fecha en que se registró el evento.
+     */
+    private LocalDateTime created;
+}
@@ -0,0 +1,26 @@
+package cl.bci.ejercicio.outbox;
+
+import java.util.List;
+
+/**
+ * Destino al que {@link OutboxRelay} entrega los eventos de usuario.
+ *
+ * Recibe los eventos de cada lote en el orden en que se registraron. Si lanza
+ * una excepción el lote completo se vuelve a entregar en el siguiente ciclo,
+ * por lo que la entrega es al menos una vez: el destino debe tolerar eventos
+ * repetidos.
+ *
+ * @author BCI Team
+ * @version 1.0
+ * @since 1.0
+ */
+public interface OutboxPublisher {
+
+    /**
+     * Publica un lote de eventos.
+     *
+     * @param events Eventos en orden de registro
+     * @throws Exception si el lote no pudo publicarse
+     */
+    void publish(List<OutboxEvent> events) throws Exception;
+}
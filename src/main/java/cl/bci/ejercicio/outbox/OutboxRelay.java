@@ -0,0 +1,208 @@
+package cl.bci.ejercicio.outbox;
+
+import cl.bci.ejercicio.datasource.ShardRouter;
+import cl.bci.ejercicio.utils.UuidUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Publica los eventos de la tabla {@code outbox_events}.
+ *
+ * Una tarea programada lee los eventos pendientes en orden de id, en lotes de
+ * {@code outbox.relay.batch-size}, los entrega a {@link OutboxPublisher} y los
+ * elimina en la misma transacción. Si la publicación falla la transacción se
+ * revierte y el lote se reintenta en el siguiente ciclo, de modo que la
+ * entrega es al menos una vez.
+ *
+ * Los eventos de un mismo usuario se publican en el orden en que se
+ * registraron: sus transacciones no se solapan (el login requiere el usuario
+ * ya confirmado y el buffer de último login escribe de a un lote), los lotes
+ * se leen por id y se publican de a uno. La lectura bloquea las filas, por lo
+ * que varias instancias pueden ejecutar el relay sobre la misma base. Con
+ * shards, cada shard se vacía por separado.
+ *
+ * El retraso es el tiempo entre el registro de un evento y su publicación.
+ * Los eventos pendientes se cuentan al terminar cada ciclo: cero si la tabla
+ * quedó vacía y, si un lote falló, los que siguen en la tabla. La métrica lee
+ * ese valor, sin consultar la base de datos.
+ *
+ * @author BCI Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    static final String SELECT_SQL =
+            "select id, user_id, type, payload, created from outbox_events order by id limit ? for update";
+    static final String DELETE_SQL = "delete from outbox_events where id = ?";
+
+    // ReentrantLock en lugar de synchronized, igual que en LastLoginBuffer
+    private final ReentrantLock relayLock = new ReentrantLock();
+
+    private final LongAdder publishedEvents = new LongAdder();
+    private final LongAdder publishedBatches = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final AtomicLong lastLagMillis = new AtomicLong();
+    private final AtomicLong maxLagMillis = new AtomicLong();
+    private final AtomicLong pendingEvents = new AtomicLong();
+
+    // Pendientes del ciclo en curso, protegido por relayLock
+    private long cyclePending;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private OutboxPublisher outboxPublisher;
+
+    @Autowired(required = false)
+    private ShardRouter shardRouter;
+
+    @Value("${outbox.relay.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Publica los eventos pendientes hasta vaciar la tabla o hasta el primer error.
+     *
+     * @return cantidad de eventos publicados
+     */
+    @Scheduled(fixedDelayString = "${outbox.relay.poll-interval:500}")
+    public int relay() {
+        relayLock.lock();
+        try {
+            cyclePending = 0;
+            int published = shardRouter == null
+                    ? drain()
+                    : shardRouter.callOnEachShard(this::drain).stream().mapToInt(Integer::intValue).sum();
+            pendingEvents.set(cyclePending);
+            return published;
+        } finally {
+            relayLock.unlock();
+        }
+    }
+
+    public long getPublishedCount() {
+        return publishedEvents.sum();
+    }
+
+    public long getBatchCount() {
+        return publishedBatches.sum();
+    }
+
+    public long getFailureCount() {
+        return failures.sum();
+    }
+
+    /**
+     * Mayor retraso entre los eventos del último lote publicado.
+     */
+    public long getLastLagMillis() {
+        return lastLagMillis.get();
+    }
+
+    public long getMaxLagMillis() {
+        return maxLagMillis.get();
+    }
+
+    /**
+     * Cantidad de eventos a la espera de ser publicados al terminar el último ciclo.
+     */
+    public long getPendingCount() {
+        return pendingEvents.get();
+    }
+
+    private int drain() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        int published = 0;
+        while (true) {
+            List<OutboxEvent> events;
+            try {
+                events = transaction.execute(status -> publishBatch());
+            } catch (RuntimeException e) {
+                failures.increment();
+                log.error("No fue posible publicar los eventos pendientes", e instanceof CompletionException ? e.getCause() : e);
+                cyclePending += countPending();
+                return published;
+            }
+            if (events == null || events.isEmpty()) {
+                return published;
+            }
+
+            published += events.size();
+            publishedEvents.add(events.size());
+            publishedBatches.increment();
+            LocalDateTime now = LocalDateTime.now();
+            long lag = 0;
+            for (OutboxEvent event : events) {
+                lag = Math.max(lag, Duration.between(event.getCreated(), now).toMillis());
+            }
+            lastLagMillis.set(lag);
+            maxLagMillis.accumulateAndGet(lag, Math::max);
+            if (events.size() < batchSize) {
+                return published;
+            }
+        }
+    }
+
+    /**
+     * Cuenta los eventos que quedaron en la tabla después de un lote fallido,
+     * o el lote completo si la consulta también falla.
+     */
+    private long countPending() {
+        try {
+            Long pending = jdbcTemplate.queryForObject("select count(*) from outbox_events", Long.class);
+            return pending != null ? pending : 0;
+        } catch (RuntimeException e) {
+            log.warn("No fue posible contar los eventos pendientes: {}", e.getMessage());
+            return batchSize;
+        }
+    }
+
+    private List<OutboxEvent> publishBatch() {
+        List<OutboxEvent> events = jdbcTemplate.query(SELECT_SQL, (rs, rowNum) -> OutboxEvent.builder()
+                .id(rs.getLong("id"))
+                .userId(UuidUtil.fromBytes(rs.getBytes("user_id")))
+                .type(OutboxEvent.Type.valueOf(rs.getString("type")))
+                .payload(rs.getString("payload"))
+                .created(rs.getTimestamp("created").toLocalDateTime())
+                .build(), batchSize);
+        if (events.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        try {
+            outboxPublisher.publish(events);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        }
+        jdbcTemplate.batchUpdate(DELETE_SQL, events.stream()
+                .map(event -> new Object[]{event.getId()})
+                .collect(Collectors.toList()));
+        return events;
+    }
+}
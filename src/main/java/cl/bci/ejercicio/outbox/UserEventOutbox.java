@@ -0,0 +1,115 @@
+package cl.bci.ejercicio.outbox;
+
+import cl.bci.ejercicio.entity.User;
+import cl.bci.ejercicio.utils.UuidUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Registra eventos de usuario en la tabla {@code outbox_events}.
+ *
+ * Los eventos se insertan con la conexión de la transacción en curso, de modo
+ * que se confirman o se descartan junto con el cambio que describen; los
+ * publica después {@link OutboxRelay}. El payload es un JSON compacto con los
+ * datos que un sistema externo necesita para no consultar la base de datos.
+ *
+ * @author BCI Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class UserEventOutbox {
+
+    static final String INSERT_SQL =
+            "insert into outbox_events (user_id, type, payload, created) values (?, ?, ?, ?)";
+    // Solo inserta el evento si el usuario está en esta base: con shards, el
+    // lote del último login se envía a todos y cada usuario está en uno solo.
+    static final String INSERT_LOGIN_SQL = "insert into outbox_events (user_id, type, payload, created) "
+            + "select id, ?, ?, ? from users where id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int jdbcBatchSize;
+
+    /**
+     * Registra el evento {@code USER_CREATED} de un usuario recién insertado.
+     *
+     * @param user Usuario ya persistido, con id y fecha de creación
+     */
+    public void userCreated(User user) {
+        usersCreated(Collections.singletonList(user));
+    }
+
+    /**
+     * Registra el evento {@code USER_CREATED} de cada usuario, en un lote JDBC.
+     *
+     * @param users Usuarios ya persistidos, en orden de inserción
+     */
+    public void usersCreated(List<User> users) {
+        if (users.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, users, jdbcBatchSize, (ps, user) -> {
+            Map<String, Object> payload = new LinkedHashMap<>();
+            payload.put("id", user.getId());
+            payload.put("email", user.getEmail());
+            payload.put("name", user.getName());
+            payload.put("created", String.valueOf(user.getCreated()));
+            ps.setBytes(1, UuidUtil.toBytes(user.getId()));
+            ps.setString(2, OutboxEvent.Type.USER_CREATED.name());
+            ps.setString(3, toJson(payload));
+            ps.setTimestamp(4, now);
+        });
+    }
+
+    /**
+     * Registra el evento {@code USER_LOGGED_IN} de cada usuario existente en
+     * la base de la transacción en curso.
+     *
+     * @param lastLogins Fecha de último login por usuario
+     */
+    public void usersLoggedIn(Map<UUID, Timestamp> lastLogins) {
+        if (lastLogins.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_LOGIN_SQL, lastLogins.entrySet(), jdbcBatchSize, (ps, login) -> {
+            Map<String, Object> payload = new LinkedHashMap<>();
+            payload.put("id", login.getKey());
+            payload.put("lastLogin", String.valueOf(login.getValue().toLocalDateTime()));
+            ps.setString(1, OutboxEvent.Type.USER_LOGGED_IN.name());
+            ps.setString(2, toJson(payload));
+            ps.setTimestamp(3, now);
+            ps.setBytes(4, UuidUtil.toBytes(login.getKey()));
+        });
+    }
+
+    private String toJson(Map<String, Object> payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package cl.bci.ejercicio.repository;
+
+import cl.bci.ejercicio.entity.Phone;
+import cl.bci.ejercicio.entity.User;
+import cl.bci.ejercicio.utils.EmailUtil;
+import cl.bci.ejercicio.utils.UuidUtil;
+import io.r2dbc.spi.Row;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Equivalente reactivo de {@link UserRepository} sobre R2DBC.
+ *
+ * Lee y escribe las mismas tablas que usa Hibernate para {@link User} y
+ * {@link Phone}, reutilizando esas clases como objetos simples. Los ids de
+ * usuario se generan como UUID ordenados por tiempo ({@link UuidUtil#timeOrdered()})
+ * y se almacenan en el mismo formato binario que usa Hibernate; los de teléfono
+ * se toman de {@code phones_seq}. Las búsquedas por email, como en
+ * {@link UserRepository}, usan el índice de {@code email_hash}.
+ */
+@Repository
+@Profile("reactive")
+public class ReactiveUserRepository {
+
+    static final String EXISTS_BY_EMAIL_SQL = "SELECT 1 FROM users WHERE email_hash = :emailHash LIMIT 1";
+
+    static final String FIND_WITH_PHONES_BY_EMAIL_SQL =
+            "SELECT u.id, u.name, u.email, u.email_normalized, u.email_hash, u.password, u.created, "
+                    + "u.last_login, u.token, u.is_active, p.number, p.city_code, p.contry_code "
+                    + "FROM users u LEFT JOIN phones p ON p.user_id = u.id "
+                    + "WHERE u.email_hash = :emailHash ORDER BY p.id";
+
+    static final String INSERT_USER_SQL =
+            "INSERT INTO users (id, name, email, email_normalized, email_hash, password, created, last_login, "
+                    + "token, is_active) VALUES (:id, :name, :email, :emailNormalized, :emailHash, :password, "
+                    + ":created, :lastLogin, :token, :isActive)";
+
+    static final String INSERT_PHONE_SQL =
+            "INSERT INTO phones (id, number, city_code, contry_code, user_id) "
+                    + "VALUES (NEXT VALUE FOR phones_seq, :number, :cityCode, :contryCode, :userId)";
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private TransactionalOperator reactiveTransactionalOperator;
+
+    public Mono<Boolean> existsByEmail(String email) {
+        return databaseClient.sql(EXISTS_BY_EMAIL_SQL)
+                .bind("emailHash", EmailUtil.hash(email))
+                .map(row -> Boolean.TRUE)
+                .first()
+                .defaultIfEmpty(Boolean.FALSE);
+    }
+
+    /**
+     * Busca un usuario por email junto con sus teléfonos en una sola consulta.
+     */
+    public Mono<User> findWithPhonesByEmail(String email) {
+        return databaseClient.sql(FIND_WITH_PHONES_BY_EMAIL_SQL)
+                .bind("emailHash", EmailUtil.hash(email))
+                .map((row, metadata) -> toUser(row))
+                .all()
+                .reduce(ReactiveUserRepository::mergePhones);
+    }
+
+    /**
+     * Inserta el usuario y sus teléfonos en una transacción, asignando el id y
+     * las fechas de creación y último login como lo hace la entidad al persistirse.
+     */
+    public Mono<User> insert(User user) {
+        LocalDateTime now = LocalDateTime.now();
+        user.setId(UuidUtil.timeOrdered());
+        user.setCreated(now);
+        user.setLastLogin(now);
+        user.normalizeEmail();
+        byte[] userId = UuidUtil.toBytes(user.getId());
+
+        DatabaseClient.GenericExecuteSpec insertUser = databaseClient.sql(INSERT_USER_SQL)
+                .bind("id", userId)
+                .bind("name", user.getName())
+                .bind("email", user.getEmail())
+                .bind("emailNormalized", user.getEmailNormalized())
+                .bind("emailHash", user.getEmailHash())
+                .bind("password", user.getPassword())
+                .bind("created", now)
+                .bind("lastLogin", now);
+        insertUser = user.getToken() == null
+                ? insertUser.bindNull("token", String.class)
+                : insertUser.bind("token", user.getToken());
+        insertUser = insertUser.bind("isActive", user.getIsActive());
+
+        Flux<Integer> insertPhones = Flux.fromIterable(user.getPhones())
+                .concatMap(phone -> databaseClient.sql(INSERT_PHONE_SQL)
+                        .bind("number", phone.getNumber())
+                        .bind("cityCode", phone.getCityCode())
+                        .bind("contryCode", phone.getContrycode())
+                        .bind("userId", userId)
+                        .fetch()
+                        .rowsUpdated());
+
+        return insertUser.fetch().rowsUpdated()
+                .thenMany(insertPhones)
+                .then(Mono.just(user))
+                .as(reactiveTransactionalOperator::transactional);
+    }
+
+    /**
+     * Convierte una fila de la consulta con join en un usuario con a lo sumo un teléfono.
+     */
+    private static User toUser(Row row) {
+        User user = User.builder()
+                .id(UuidUtil.fromBytes(row.get("id", byte[].class)))
+                .name(row.get("name", String.class))
+                .email(row.get("email", String.class))
+                .emailNormalized(row.get("email_normalized", String.class))
+                .emailHash(row.get("email_hash", byte[].class))
+                .password(row.get("password", String.class))
+                .created(row.get("created", LocalDateTime.class))
+                .lastLogin(row.get("last_login", LocalDateTime.class))
+                .token(row.get("token", String.class))
+                .isActive(row.get("is_active", Boolean.class))
+                .build();
+
+        Long number = row.get("number", Long.class);
+        if (number != null) {
+            user.getPhones().add(Phone.builder()
+                    .number(number)
+                    .cityCode(row.get("city_code", Integer.class))
+                    .contrycode(row.get("contry_code", String.class))
+                    .user(user)
+                    .build());
+        }
+        return user;
+    }
+
+    private static User mergePhones(User user, User next) {
+        for (Phone phone : next.getPhones()) {
+            phone.setUser(user);
+            user.getPhones().add(phone);
+        }
+        return user;
+    }
+}
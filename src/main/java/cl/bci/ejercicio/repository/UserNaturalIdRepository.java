@@ -0,0 +1,38 @@
+package cl.bci.ejercicio.repository;
+
+import cl.bci.ejercicio.entity.User;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Consultas de usuarios por email resueltas a través del natural id.
+ *
+ * A diferencia de las consultas derivadas, estas búsquedas usan la caché de
+ * segundo nivel: el hash del email normalizado (el natural id) se resuelve al
+ * ID en la región del natural id y el usuario y sus teléfonos se obtienen de
+ * las regiones de entidad y colección, sin consultar la base de datos cuando
+ * todas las regiones tienen la entrada. Si falta alguna, el usuario y sus
+ * teléfonos se cargan con una sola consulta (fetch join), que además
+ * completa la caché.
+ */
+public interface UserNaturalIdRepository {
+
+    /**
+     * Busca un usuario por email con sus teléfonos inicializados.
+     *
+     * @param email Email del usuario
+     * @return el usuario, o vacío si no existe
+     */
+    @Transactional(readOnly = true)
+    Optional<User> findByNaturalEmail(String email);
+
+    /**
+     * Indica si existe un usuario con el email dado.
+     *
+     * @param email Email a verificar
+     * @return {@code true} si el email ya está registrado
+     */
+    @Transactional(readOnly = true)
+    boolean existsByNaturalEmail(String email);
+}
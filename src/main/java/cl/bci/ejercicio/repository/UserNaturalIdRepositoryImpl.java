@@ -0,0 +1,84 @@
+package cl.bci.ejercicio.repository;
+
+import cl.bci.ejercicio.datasource.ReplicaRoutingDataSource;
+import cl.bci.ejercicio.datasource.ShardRouter;
+import cl.bci.ejercicio.entity.User;
+import cl.bci.ejercicio.utils.EmailUtil;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.cache.spi.access.NaturalIdDataAccess;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.Serializable;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+class UserNaturalIdRepositoryImpl implements UserNaturalIdRepository {
+
+    private static final String PHONES_ROLE = User.class.getName() + ".phones";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired(required = false)
+    private ShardRouter shardRouter;
+
+    @Override
+    public Optional<User> findByNaturalEmail(String email) {
+        return onShardOf(email, () -> {
+            byte[] emailHash = EmailUtil.hash(email);
+            if (!isCached(emailHash)) {
+                return entityManager.createQuery(UserRepository.FIND_WITH_PHONES_BY_EMAIL_HASH, User.class)
+                        .setParameter("emailHash", emailHash)
+                        .getResultList()
+                        .stream()
+                        .findFirst();
+            }
+            Optional<User> user = entityManager.unwrap(Session.class)
+                    .bySimpleNaturalId(User.class)
+                    .loadOptional(emailHash);
+            user.ifPresent(found -> Hibernate.initialize(found.getPhones()));
+            return user;
+        });
+    }
+
+    @Override
+    public boolean existsByNaturalEmail(String email) {
+        return onShardOf(email, () -> entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .getReference(EmailUtil.hash(email)) != null);
+    }
+
+    /**
+     * Indica si el natural id, el usuario y sus teléfonos están en la caché de
+     * segundo nivel. Si falta alguno, la carga por natural id consultaría la
+     * base de datos una vez por cada uno; en ese caso conviene la consulta
+     * con fetch join, que los trae juntos y completa la caché.
+     */
+    private boolean isCached(byte[] emailHash) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        EntityPersister persister = session.getFactory().getMetamodel().entityPersister(User.class);
+        NaturalIdDataAccess naturalIds = persister.getNaturalIdCacheAccessStrategy();
+        if (naturalIds == null) {
+            return false;
+        }
+        Serializable id = (Serializable) naturalIds.get(session,
+                naturalIds.generateCacheKey(new Object[]{emailHash}, persister, session));
+        return id != null
+                && session.getFactory().getCache().containsEntity(User.class, id)
+                && session.getFactory().getCache().containsCollection(PHONES_ROLE, id);
+    }
+
+    /**
+     * Ejecuta la acción en el shard del email, como lectura de ese usuario
+     * para la ventana de retraso de la réplica.
+     */
+    private <T> T onShardOf(String email, Supplier<T> action) {
+        return ReplicaRoutingDataSource.callFor(EmailUtil.normalize(email),
+                () -> shardRouter == null ? action.get() : shardRouter.callOnShardOf(email, action));
+    }
+}
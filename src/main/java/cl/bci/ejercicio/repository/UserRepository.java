@@ -1,16 +1,62 @@
 package cl.bci.ejercicio.repository;
 
 import cl.bci.ejercicio.entity.User;
+import cl.bci.ejercicio.utils.EmailUtil;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Component;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
+/**
+ * Las búsquedas por email se resuelven por el índice de {@code email_hash}; el
+ * email puede venir tal como fue ingresado. Con shards, cada búsqueda por
+ * email se ejecuta en el shard que le corresponde.
+ */
 @Component
-public interface UserRepository extends JpaRepository<User, String> {
-    
-    Optional<User> findByEmail(String email);
-    
-    boolean existsByEmail(String email);
-} 
\ No newline at end of file
+public interface UserRepository extends JpaRepository<User, UUID>, UserNaturalIdRepository, UserShardRepository {
+
+    /**
+     * Usuario y teléfonos en una sola consulta; también la usa
+     * {@link UserNaturalIdRepository#findByNaturalEmail(String)} cuando el
+     * usuario no está en la caché de segundo nivel.
+     */
+    String FIND_WITH_PHONES_BY_EMAIL_HASH = "select u from User u left join fetch u.phones where u.emailHash = :emailHash";
+
+    Optional<User> findByEmailHash(byte[] emailHash);
+
+    @Query(FIND_WITH_PHONES_BY_EMAIL_HASH)
+    Optional<User> findWithPhonesByEmailHash(@Param("emailHash") byte[] emailHash);
+
+    boolean existsByEmailHash(byte[] emailHash);
+
+    @Query("select u.emailNormalized from User u where u.emailHash in :emailHashes")
+    List<String> findNormalizedEmailsByEmailHashIn(@Param("emailHashes") Collection<byte[]> emailHashes);
+
+    default Optional<User> findByEmail(String email) {
+        return onShardOf(email, () -> findByEmailHash(EmailUtil.hash(email)));
+    }
+
+    default Optional<User> findWithPhonesByEmail(String email) {
+        return onShardOf(email, () -> findWithPhonesByEmailHash(EmailUtil.hash(email)));
+    }
+
+    default boolean existsByEmail(String email) {
+        return onShardOf(email, () -> existsByEmailHash(EmailUtil.hash(email)));
+    }
+
+    /**
+     * Devuelve, normalizados, los emails de la colección que ya están registrados.
+     */
+    default List<String> findExistingEmails(Collection<String> emails) {
+        return onShardsOf(emails, group -> findNormalizedEmailsByEmailHashIn(group.stream()
+                .map(EmailUtil::hash)
+                .collect(Collectors.toList())));
+    }
+}
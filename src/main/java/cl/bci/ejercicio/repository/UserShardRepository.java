@@ -0,0 +1,28 @@
+package cl.bci.ejercicio.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Ejecución de consultas en el shard que corresponde al email.
+ *
+ * Sin shards configurados ({@code datasource.sharding.enabled=false}) las
+ * acciones se ejecutan directamente sobre la única base de datos. Con
+ * réplica de lectura, las consultas de un email recién modificado se
+ * atienden en el primario ({@link cl.bci.ejercicio.datasource.ReplicaRoutingDataSource}).
+ */
+public interface UserShardRepository {
+
+    /**
+     * Ejecuta la acción en el shard del email, como lectura de ese usuario.
+     */
+    <T> T onShardOf(String email, Supplier<T> action);
+
+    /**
+     * Agrupa los emails por shard y ejecuta la acción una vez por grupo.
+     * Dentro de una transacción todos los emails deben corresponder al mismo shard.
+     */
+    <T> List<T> onShardsOf(Collection<String> emails, Function<List<String>, List<T>> action);
+}
@@ -0,0 +1,29 @@
+package cl.bci.ejercicio.repository;
+
+import cl.bci.ejercicio.datasource.ReplicaRoutingDataSource;
+import cl.bci.ejercicio.datasource.ShardRouter;
+import cl.bci.ejercicio.utils.EmailUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+class UserShardRepositoryImpl implements UserShardRepository {
+
+    @Autowired(required = false)
+    private ShardRouter shardRouter;
+
+    @Override
+    public <T> T onShardOf(String email, Supplier<T> action) {
+        return ReplicaRoutingDataSource.callFor(EmailUtil.normalize(email),
+                () -> shardRouter == null ? action.get() : shardRouter.callOnShardOf(email, action));
+    }
+
+    @Override
+    public <T> List<T> onShardsOf(Collection<String> emails, Function<List<String>, List<T>> action) {
+        return shardRouter == null ? action.apply(new ArrayList<>(emails)) : shardRouter.callOnShardsOf(emails, action);
+    }
+}
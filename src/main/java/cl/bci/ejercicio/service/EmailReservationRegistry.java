@@ -0,0 +1,101 @@
+package cl.bci.ejercicio.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reservas en memoria de los emails que se están registrando.
+ *
+ * Cada email ocupa una de un número fijo de franjas, elegida por su hash.
+ * Mientras un registro está en curso, otro registro del mismo email en esta
+ * instancia se rechaza sin llegar a la base de datos. Si la franja está
+ * ocupada por un email distinto no se reserva nada y el registro continúa:
+ * la restricción única de la base de datos sigue siendo la garantía final,
+ * también entre instancias.
+ *
+ * @author BCI Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+public class EmailReservationRegistry {
+
+    private static final Runnable NO_RESERVATION = () -> { };
+
+    private AtomicReferenceArray<String> slots;
+    private int mask;
+
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder collisions = new LongAdder();
+
+    @Value("${signup.reservation.stripes:1024}")
+    private int stripes;
+
+    @PostConstruct
+    void init() {
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1) << 1);
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Reserva un email hasta que termine la transacción actual, o hasta
+     * ejecutar la acción retornada si no hay una transacción activa.
+     *
+     * @param email Email a registrar
+     * @return acción que libera la reserva, o {@code null} si el mismo email
+     *         ya se está registrando
+     */
+    public Runnable reserve(String email) {
+        int slot = spread(email.hashCode()) & mask;
+        if (!slots.compareAndSet(slot, null, email)) {
+            String current = slots.get(slot);
+            if (email.equals(current)) {
+                rejected.increment();
+                return null;
+            }
+            collisions.increment();
+            return NO_RESERVATION;
+        }
+
+        Runnable release = () -> slots.compareAndSet(slot, email, null);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    release.run();
+                }
+            });
+            return NO_RESERVATION;
+        }
+        return release;
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public long getCollisionCount() {
+        return collisions.sum();
+    }
+
+    public int getReservedCount() {
+        int reserved = 0;
+        for (int i = 0; i < slots.length(); i++) {
+            if (slots.get(i) != null) {
+                reserved++;
+            }
+        }
+        return reserved;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
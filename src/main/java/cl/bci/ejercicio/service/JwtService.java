@@ -1,16 +1,15 @@
 package cl.bci.ejercicio.service;
 
+import cl.bci.ejercicio.cache.VerifiedTokenCache;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.SecretKey;
+import javax.annotation.PostConstruct;
 import java.util.Date;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.function.Function;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Servicio para la gestión de tokens JWT.
@@ -26,12 +25,38 @@ import java.util.function.Function;
 @Service
 public class JwtService {
 
+    private static final Timer SIGN_TIMER = timer("sign");
+    private static final Timer VERIFY_TIMER = timer("verify");
+
     @Value("${jwt.secret:mySecretKey}")
     private String secret;
 
     @Value("${jwt.expiration:86400000}") // 8 horas por defecto
     private Long jwtExpiration;
 
+    @Value("${jwt.cache.max-size:10000}")
+    private int cacheMaxSize;
+
+    @Value("${jwt.cache.ttl:300000}") // 5 minutos por defecto
+    private long cacheTtl;
+
+    private JwtSigningEngine signingEngine;
+
+    private VerifiedTokenCache tokenCache;
+
+    /**
+     * Inicializa el motor de firma y la caché de tokens verificados con la
+     * configuración cargada.
+     *
+     * La clave se deriva una única vez a partir del secreto. Un tamaño máximo
+     * de caché igual a cero deshabilita la caché.
+     */
+    @PostConstruct
+    public void init() {
+        signingEngine = new JwtSigningEngine(secret);
+        tokenCache = cacheMaxSize > 0 ? new VerifiedTokenCache(cacheMaxSize, cacheTtl) : null;
+    }
+
     /**
      * Genera un token JWT para el email proporcionado.
      * 
@@ -44,27 +69,49 @@ public class JwtService {
      * @return String representando el token JWT generado
      */
     public String generateToken(String email) {
-
-        return Jwts.builder()
-                .setSubject(email)
-                .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration))
-                .signWith(SignatureAlgorithm.HS512, secret)
-                .compact();
+        long started = System.nanoTime();
+        long now = System.currentTimeMillis();
+        String token = signingEngine.sign(email, now, now + jwtExpiration);
+        SIGN_TIMER.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        return token;
     }
 
     /**
      * Extrae el email del subject de un token JWT.
      * 
      * Decodifica el token JWT y obtiene el email del usuario
-     * almacenado en el campo subject del token.
+     * almacenado en el campo subject del token. Si el mismo token ya fue
+     * verificado recientemente, el subject se obtiene desde la caché sin
+     * volver a validar la firma; el timer {@code bci.jwt} solo mide las
+     * verificaciones de firma.
      * 
      * @param token Token JWT del cual extraer el email
      * @return String representando el email del usuario
      * @throws io.jsonwebtoken.JwtException si el token es inválido o ha expirado
      */
     public String extractEmail(String token) {
-        return getClaims(token).getSubject();
+        if (tokenCache == null) {
+            return getClaims(token).getSubject();
+        }
+
+        String cached = tokenCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+
+        Claims claims = getClaims(token);
+        Date expiration = claims.getExpiration();
+        tokenCache.put(token, claims.getSubject(), expiration != null ? expiration.getTime() : null);
+        return claims.getSubject();
+    }
+
+    /**
+     * Retorna la caché de tokens verificados, o {@code null} si está deshabilitada.
+     *
+     * @return VerifiedTokenCache en uso
+     */
+    public VerifiedTokenCache getTokenCache() {
+        return tokenCache;
     }
 
     /**
@@ -78,9 +125,18 @@ public class JwtService {
      * @throws io.jsonwebtoken.JwtException si el token es inválido, malformado o ha expirado
      */
     private Claims getClaims(String token) {
-        return Jwts.parser()
-                .setSigningKey(secret)
-                .parseClaimsJws(token)
-                .getBody();
+        long started = System.nanoTime();
+        try {
+            return signingEngine.verify(token);
+        } finally {
+            VERIFY_TIMER.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static Timer timer(String operation) {
+        return Timer.builder("bci.jwt")
+                .description("Firma y verificación de tokens (la verificación excluye los aciertos de caché)")
+                .tag("operation", operation)
+                .register(Metrics.globalRegistry);
     }
 } 
\ No newline at end of file
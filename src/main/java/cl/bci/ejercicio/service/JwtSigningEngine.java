@@ -0,0 +1,171 @@
+package cl.bci.ejercicio.service;
+
+import cl.bci.ejercicio.utils.BoundedPool;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.impl.DefaultClaims;
+import io.jsonwebtoken.impl.TextCodec;
+import io.jsonwebtoken.lang.Strings;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Motor de firma y verificación de tokens JWT HS512 con la clave precalculada.
+ *
+ * Deriva la clave una sola vez a partir del secreto (con la misma decodificación
+ * Base64 que aplica jjwt), reutiliza instancias de {@link Mac} ya inicializadas
+ * desde un {@link BoundedPool} y reutiliza el segmento de cabecera ya codificado.
+ * El pool, a diferencia de una instancia por hilo, no crea una instancia nueva
+ * por solicitud cuando cada solicitud se atiende en su propio hilo virtual. Los tokens que
+ * genera son idénticos byte a byte a los de {@code Jwts.builder()}.
+ *
+ * La verificación resuelve por el camino rápido los tokens emitidos con la
+ * misma cabecera; cualquier otro caso (cabecera distinta, firma inválida,
+ * token expirado o malformado) se delega al parser de jjwt para conservar
+ * exactamente sus excepciones.
+ *
+ * @author BCI Team
+ * @version 1.0
+ * @since 1.0
+ */
+public class JwtSigningEngine {
+
+    private static final SignatureAlgorithm ALGORITHM = SignatureAlgorithm.HS512;
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final Base64.Encoder BASE64URL_ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder BASE64URL_DECODER = Base64.getUrlDecoder();
+    private static final String HEADER = BASE64URL_ENCODER.encodeToString(
+            ("{\"alg\":\"" + ALGORITHM.getValue() + "\"}").getBytes(StandardCharsets.UTF_8));
+
+    private static final int POOL_CAPACITY = Runtime.getRuntime().availableProcessors() * 2;
+
+    private final byte[] keyBytes;
+    private final BoundedPool<Mac> macs;
+
+    /**
+     * Crea el motor a partir del secreto configurado en {@code jwt.secret}.
+     *
+     * @param base64EncodedSecret secreto en el mismo formato que recibe {@code signWith}
+     */
+    public JwtSigningEngine(String base64EncodedSecret) {
+        this.keyBytes = TextCodec.BASE64.decode(base64EncodedSecret);
+        SecretKeySpec key = new SecretKeySpec(keyBytes, ALGORITHM.getJcaName());
+        this.macs = new BoundedPool<>(() -> newMac(key), POOL_CAPACITY);
+    }
+
+    /**
+     * Firma un token con el subject y las fechas indicadas.
+     *
+     * @param subject        subject del token; si está vacío se omite, igual que en jjwt
+     * @param issuedAtMillis fecha de emisión en milisegundos epoch
+     * @param expirationMillis fecha de expiración en milisegundos epoch
+     * @return token JWT compacto
+     */
+    public String sign(String subject, long issuedAtMillis, long expirationMillis) {
+        Map<String, Object> claims = new LinkedHashMap<>();
+        if (Strings.hasText(subject)) {
+            claims.put(Claims.SUBJECT, subject);
+        }
+        claims.put(Claims.ISSUED_AT, issuedAtMillis / 1000);
+        claims.put(Claims.EXPIRATION, expirationMillis / 1000);
+
+        String payload;
+        try {
+            payload = BASE64URL_ENCODER.encodeToString(OBJECT_MAPPER.writeValueAsBytes(claims));
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Unable to serialize claims object to json.", e);
+        }
+
+        String unsigned = HEADER + '.' + payload;
+        byte[] signature = mac(unsigned);
+        return unsigned + '.' + BASE64URL_ENCODER.encodeToString(signature);
+    }
+
+    /**
+     * Verifica la firma de un token y retorna sus claims.
+     *
+     * @param token Token JWT compacto
+     * @return Claims del token
+     * @throws io.jsonwebtoken.JwtException si el token es inválido, malformado o ha expirado
+     */
+    public Claims verify(String token) {
+        Claims claims = tryFastVerify(token);
+        if (claims != null) {
+            return claims;
+        }
+        return Jwts.parser()
+                .setSigningKey(keyBytes)
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Claims tryFastVerify(String token) {
+        if (token == null) {
+            return null;
+        }
+        int firstDot = token.indexOf('.');
+        int secondDot = token.indexOf('.', firstDot + 1);
+        if (firstDot != HEADER.length() || !token.startsWith(HEADER)
+                || secondDot < 0 || token.indexOf('.', secondDot + 1) >= 0) {
+            return null;
+        }
+
+        try {
+            byte[] expected = mac(token.substring(0, secondDot));
+            byte[] actual = BASE64URL_DECODER.decode(token.substring(secondDot + 1));
+            if (!MessageDigest.isEqual(expected, actual)) {
+                return null;
+            }
+
+            byte[] payload = BASE64URL_DECODER.decode(token.substring(firstDot + 1, secondDot));
+            Claims claims = new DefaultClaims(OBJECT_MAPPER.readValue(payload, Map.class));
+
+            Date now = new Date();
+            Date expiration = claims.getExpiration();
+            Date notBefore = claims.getNotBefore();
+            if ((expiration != null && now.after(expiration))
+                    || (notBefore != null && now.before(notBefore))) {
+                return null;
+            }
+            return claims;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    public BoundedPool<Mac> getMacPool() {
+        return macs;
+    }
+
+    /**
+     * Calcula la firma con una instancia del pool. Si doFinal falla, la
+     * instancia no vuelve al pool.
+     */
+    private byte[] mac(String signingInput) {
+        Mac mac = macs.borrow();
+        byte[] signature = mac.doFinal(signingInput.getBytes(StandardCharsets.US_ASCII));
+        macs.release(mac);
+        return signature;
+    }
+
+    private static Mac newMac(SecretKeySpec key) {
+        try {
+            Mac mac = Mac.getInstance(key.getAlgorithm());
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("No fue posible inicializar " + key.getAlgorithm(), e);
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package cl.bci.ejercicio.service;
+
+import cl.bci.ejercicio.datasource.ShardContext;
+import cl.bci.ejercicio.datasource.ShardRouter;
+import cl.bci.ejercicio.entity.User;
+import cl.bci.ejercicio.outbox.UserEventOutbox;
+import cl.bci.ejercicio.utils.UuidUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import javax.persistence.Cache;
+import javax.persistence.EntityManagerFactory;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Buffer de escritura diferida para la fecha de último login.
+ *
+ * El login deja de escribir en la base de datos: cada acceso registra la
+ * fecha en memoria, agrupando los accesos de un mismo usuario en una sola
+ * entrada, y una tarea programada aplica todas las entradas pendientes con
+ * un único UPDATE por lotes JDBC. Los accesos ocurridos dentro del intervalo
+ * mínimo configurado desde la última fecha registrada no generan escritura.
+ *
+ * Las entradas pendientes se aplican también al detener la aplicación. Si
+ * una escritura falla, las entradas vuelven al buffer para el siguiente ciclo.
+ * Como el UPDATE no pasa por Hibernate, los usuarios actualizados se eliminan
+ * de la caché de segundo nivel. Con shards, el UPDATE se envía a cada shard:
+ * solo coincide en el del usuario, aun si el rebalanceo lo movió después del
+ * login.
+ *
+ * Cada UPDATE se confirma en una transacción junto con los eventos
+ * {@code USER_LOGGED_IN} de la tabla outbox: un evento por usuario cuya fila
+ * se actualizó, con la fecha del último login acumulado. Los usuarios que ya
+ * no existen, o que en ese shard no tienen fila, no generan evento.
+ *
+ * @author BCI Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@Component
+public class LastLoginBuffer {
+
+    static final String UPDATE_SQL =
+            "update users set last_login = ? where id = ? and (last_login is null or last_login < ?)";
+
+    private final Map<UUID, LocalDateTime> pending = new ConcurrentHashMap<>();
+    // ReentrantLock en lugar de synchronized: la escritura JDBC no bloquea el
+    // hilo portador cuando el flush se ejecuta en un hilo virtual.
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder flushedRows = new LongAdder();
+    private final LongAdder flushCount = new LongAdder();
+    private final LongAdder flushFailures = new LongAdder();
+    private final LongAdder totalFlushNanos = new LongAdder();
+    private final AtomicLong lastFlushNanos = new AtomicLong();
+    private final AtomicLong maxFlushNanos = new AtomicLong();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired(required = false)
+    private ShardRouter shardRouter;
+
+    @Autowired(required = false)
+    private UserEventOutbox userEventOutbox;
+
+    @Value("${login.write-behind.min-interval:0}")
+    private long minIntervalMillis;
+
+    @Value("${login.write-behind.max-pending:10000}")
+    private int maxPending;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int jdbcBatchSize;
+
+    /**
+     * Registra un login del usuario.
+     *
+     * @param userId    ID del usuario
+     * @param persisted Fecha de último login leída de la base de datos, o {@code null}
+     * @param now       Fecha del login actual
+     * @return la fecha de último login vigente después de registrar el acceso
+     */
+    public LocalDateTime record(UUID userId, LocalDateTime persisted, LocalDateTime now) {
+        LocalDateTime last = latest(persisted, pending.get(userId));
+        if (last != null && Duration.between(last, now).toMillis() < minIntervalMillis) {
+            skipped.increment();
+            return last;
+        }
+
+        LocalDateTime buffered = pending.merge(userId, now, LastLoginBuffer::latest);
+        recorded.increment();
+        if (pending.size() >= maxPending) {
+            flush();
+        }
+        return buffered;
+    }
+
+    /**
+     * Aplica en la base de datos las fechas pendientes con un UPDATE por lotes.
+     *
+     * @return cantidad de usuarios enviados a la base de datos
+     */
+    @Scheduled(fixedDelayString = "${login.write-behind.flush-interval:1000}")
+    public int flush() {
+        flushLock.lock();
+        try {
+            if (pending.isEmpty()) {
+                return 0;
+            }
+
+            List<Object[]> batch = drain();
+            long start = System.nanoTime();
+            try {
+                writeOnEachShard(batch);
+            } catch (RuntimeException e) {
+                flushFailures.increment();
+                restore(batch);
+                log.error("No fue posible actualizar el último login de {} usuarios", batch.size(), e);
+                return 0;
+            }
+
+            evictFromSecondLevelCache(batch);
+
+            long elapsed = System.nanoTime() - start;
+            flushCount.increment();
+            flushedRows.add(batch.size());
+            totalFlushNanos.add(elapsed);
+            lastFlushNanos.set(elapsed);
+            maxFlushNanos.accumulateAndGet(elapsed, Math::max);
+            return batch.size();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        int flushed = flush();
+        if (!pending.isEmpty()) {
+            log.warn("Quedaron {} fechas de último login sin aplicar al detener la aplicación", pending.size());
+        } else if (flushed > 0) {
+            log.info("Aplicadas {} fechas de último login pendientes al detener la aplicación", flushed);
+        }
+    }
+
+    public int getBufferDepth() {
+        return pending.size();
+    }
+
+    public long getRecordedCount() {
+        return recorded.sum();
+    }
+
+    public long getSkippedCount() {
+        return skipped.sum();
+    }
+
+    public long getFlushCount() {
+        return flushCount.sum();
+    }
+
+    public long getFlushedRows() {
+        return flushedRows.sum();
+    }
+
+    public long getFlushFailureCount() {
+        return flushFailures.sum();
+    }
+
+    public long getTotalFlushNanos() {
+        return totalFlushNanos.sum();
+    }
+
+    public long getLastFlushNanos() {
+        return lastFlushNanos.get();
+    }
+
+    public long getMaxFlushNanos() {
+        return maxFlushNanos.get();
+    }
+
+    private int[][] write(List<Object[]> batch) {
+        int[][] updated = jdbcTemplate.batchUpdate(UPDATE_SQL, batch, jdbcBatchSize, (ps, row) -> {
+            ps.setTimestamp(1, (Timestamp) row[1]);
+            ps.setBytes(2, UuidUtil.toBytes((UUID) row[0]));
+            ps.setTimestamp(3, (Timestamp) row[1]);
+        });
+        if (userEventOutbox != null) {
+            Map<UUID, Timestamp> lastLogins = new LinkedHashMap<>();
+            for (int i = 0; i < batch.size(); i++) {
+                if (wasUpdated(updated[i / jdbcBatchSize][i % jdbcBatchSize])) {
+                    Object[] row = batch.get(i);
+                    lastLogins.put((UUID) row[0], (Timestamp) row[1]);
+                }
+            }
+            userEventOutbox.usersLoggedIn(lastLogins);
+        }
+        return updated;
+    }
+
+    private static boolean wasUpdated(int count) {
+        return count > 0 || count == Statement.SUCCESS_NO_INFO;
+    }
+
+    /**
+     * Aplica el lote en una transacción propia por shard: el flush puede
+     * ejecutarse dentro de la transacción de solo lectura de un login.
+     */
+    private void writeOnEachShard(List<Object[]> batch) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        if (shardRouter == null) {
+            transaction.execute(status -> write(batch));
+            return;
+        }
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            int target = shard;
+            transaction.execute(status -> ShardContext.callOn(target, () -> write(batch)));
+        }
+    }
+
+    private List<Object[]> drain() {
+        List<Object[]> batch = new ArrayList<>(pending.size());
+        Iterator<UUID> ids = pending.keySet().iterator();
+        while (ids.hasNext()) {
+            UUID id = ids.next();
+            LocalDateTime lastLogin = pending.remove(id);
+            if (lastLogin != null) {
+                batch.add(new Object[]{id, Timestamp.valueOf(lastLogin)});
+            }
+        }
+        return batch;
+    }
+
+    private void evictFromSecondLevelCache(List<Object[]> batch) {
+        Cache cache = entityManagerFactory.getCache();
+        for (Object[] row : batch) {
+            cache.evict(User.class, row[0]);
+        }
+    }
+
+    private void restore(List<Object[]> batch) {
+        for (Object[] row : batch) {
+            pending.merge((UUID) row[0], ((Timestamp) row[1]).toLocalDateTime(), LastLoginBuffer::latest);
+        }
+    }
+
+    private static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        return a.isAfter(b) ? a : b;
+    }
+}
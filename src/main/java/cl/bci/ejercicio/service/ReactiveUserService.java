@@ -0,0 +1,255 @@
+package cl.bci.ejercicio.service;
+
+import cl.bci.ejercicio.cache.LoginResponseCache;
+import cl.bci.ejercicio.dto.SignUpRequestDto;
+import cl.bci.ejercicio.dto.SignUpResponseDto;
+import cl.bci.ejercicio.dto.UserResponseDto;
+import cl.bci.ejercicio.entity.User;
+import cl.bci.ejercicio.exception.UserAlReadyExist;
+import cl.bci.ejercicio.exception.UserNotFoundException;
+import cl.bci.ejercicio.repository.ReactiveUserRepository;
+import cl.bci.ejercicio.utils.AESUtil;
+import cl.bci.ejercicio.utils.EmailUtil;
+import cl.bci.ejercicio.utils.PhoneMapper;
+import cl.bci.ejercicio.utils.UserMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+/**
+ * Servicio reactivo para el registro y login de usuarios (perfil {@code reactive}).
+ *
+ * Sigue los mismos pasos que {@link UserService}, pero sin bloquear el hilo
+ * que atiende la solicitud: la base de datos se consulta con R2DBC y el
+ * cifrado, la firma y la verificación de tokens se ejecutan en el scheduler
+ * acotado {@code cryptoScheduler}. Comparte con la variante servlet la reserva
+ * de emails en curso, el filtro de emails registrados, las métricas por etapa,
+ * el buffer de último login y la caché de respuestas de login.
+ *
+ * @author BCI Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Service
+@Profile("reactive")
+public class ReactiveUserService {
+
+    private static final String USER_ALREADY_EXISTS = "Ya existe un usuario activo registrado con el mismo email";
+
+    @Autowired
+    private ReactiveUserRepository reactiveUserRepository;
+    @Autowired
+    private JwtService jwtService;
+    @Autowired
+    private LastLoginBuffer lastLoginBuffer;
+    @Autowired
+    private RegisteredEmailFilter registeredEmailFilter;
+    @Autowired
+    private EmailReservationRegistry emailReservationRegistry;
+    @Autowired
+    private SignUpStageMetrics signUpStageMetrics;
+    @Autowired
+    @Qualifier("cryptoScheduler")
+    private Scheduler cryptoScheduler;
+    @Autowired
+    private LoginResponseCache loginResponseCache;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Registra un nuevo usuario en el sistema.
+     *
+     * Este método realiza las siguientes operaciones:
+     * 1. Reserva el email normalizado en memoria, rechazando registros simultáneos del mismo email
+     * 2. Cifra la contraseña y firma el token en una sola tarea del scheduler
+     *    criptográfico y, si el filtro de emails registrados no descarta el
+     *    email, verifica en paralelo que no esté registrado
+     * 3. Inserta el usuario con sus teléfonos; si la restricción única del
+     *    email lo rechaza, el registro se informa como duplicado
+     *
+     * @param request DTO con los datos del usuario a registrar
+     * @return Mono con la información básica del usuario creado y su token
+     */
+    public Mono<SignUpResponseDto> signUp(SignUpRequestDto request) {
+        return Mono.defer(() -> {
+            String email = EmailUtil.normalize(request.getEmail());
+            Runnable release = emailReservationRegistry.reserve(email);
+            if (release == null) {
+                return Mono.error(new UserAlReadyExist(USER_ALREADY_EXISTS));
+            }
+
+            long started = System.nanoTime();
+            Mono<Tuple2<String, String>> credentials = Mono.fromCallable(() -> Tuples.of(
+                            encryptPassword(request.getPassword()), generateToken(request.getEmail())))
+                    .subscribeOn(cryptoScheduler);
+            if (registeredEmailFilter.mightExist(email)) {
+                credentials = Mono.zip(checkNotRegistered(email), credentials, (notRegistered, result) -> result);
+            }
+
+            return credentials
+                    .flatMap(result -> {
+                        User user = User.builder()
+                                .name(request.getName())
+                                .email(request.getEmail())
+                                .password(result.getT1())
+                                .token(result.getT2())
+                                .isActive(true)
+                                .build();
+                        if (request.getPhones() != null) {
+                            user.setPhones(PhoneMapper.toEntityList(request.getPhones(), user));
+                        }
+                        return insert(user);
+                    })
+                    .map(savedUser -> {
+                        registeredEmailFilter.add(email);
+                        signUpStageMetrics.record(SignUpStageMetrics.Stage.TOTAL, started);
+                        return UserMapper.convertToSignUpResponse(savedUser);
+                    })
+                    .doFinally(signal -> release.run());
+        });
+    }
+
+    /**
+     * Autentica un usuario mediante token JWT.
+     *
+     * La verificación del token, el descifrado de la contraseña y el registro
+     * del último login se ejecutan en el scheduler criptográfico; la búsqueda
+     * del usuario y sus teléfonos es una única consulta R2DBC.
+     *
+     * @param token Token JWT válido del usuario
+     * @return Mono con toda la información del usuario autenticado, o con
+     *         {@link UserNotFoundException} si no existe un usuario con el email del token
+     */
+    public Mono<UserResponseDto> login(String token) {
+        return Mono.fromCallable(() -> jwtService.extractEmail(token))
+                .subscribeOn(cryptoScheduler)
+                .flatMap(email -> reactiveUserRepository.findWithPhonesByEmail(email))
+                .switchIfEmpty(Mono.error(() -> new UserNotFoundException("Usuario no encontrado")))
+                .publishOn(cryptoScheduler)
+                .flatMap(user -> Mono.fromCallable(() -> {
+                    LocalDateTime lastLogin = lastLoginBuffer.record(user.getId(), user.getLastLogin(), LocalDateTime.now());
+                    UserResponseDto response = UserMapper.convertToUserResponse(user);
+                    response.setLastLogin(lastLogin);
+                    return response;
+                }));
+    }
+
+    /**
+     * Autentica un usuario mediante token JWT y retorna la respuesta ya serializada.
+     *
+     * Equivalente a {@link UserService#loginSerialized(String)}: en un acierto
+     * de la caché de respuestas de login no se consulta la base de datos y
+     * solo se descifra la contraseña, que la caché no guarda en claro. Todo el trabajo fuera de la consulta R2DBC se
+     * ejecuta en el scheduler criptográfico.
+     *
+     * @param token Token JWT válido del usuario
+     * @return Mono con el JSON de UserResponseDto, o con {@link UserNotFoundException}
+     *         si no existe un usuario con el email del token
+     */
+    public Mono<byte[]> loginSerialized(String token) {
+        return Mono.fromCallable(() -> EmailUtil.normalize(jwtService.extractEmail(token)))
+                .subscribeOn(cryptoScheduler)
+                .flatMap(email -> {
+                    LoginResponseCache.Entry cached = loginResponseCache.get(email);
+                    if (cached != null) {
+                        return Mono.fromCallable(
+                                () -> render(cached, AESUtil.decrypt(cached.getEncryptedPassword())));
+                    }
+                    long epoch = loginResponseCache.currentEpoch();
+                    return reactiveUserRepository.findWithPhonesByEmail(email)
+                            .switchIfEmpty(Mono.error(() -> new UserNotFoundException("Usuario no encontrado")))
+                            .publishOn(cryptoScheduler)
+                            .flatMap(user -> Mono.fromCallable(() -> serialize(email, user, epoch)));
+                });
+    }
+
+    private byte[] serialize(String email, User user, long epoch) throws Exception {
+        UserResponseDto response = UserMapper.convertToUserResponse(user);
+        String password = response.getPassword();
+        response.setLastLogin(null);
+        response.setPassword(null);
+        LoginResponseCache.Entry cached = loginResponseCache.put(email, user.getId(), user.getLastLogin(),
+                user.getPassword(), objectMapper.writeValueAsBytes(response), epoch);
+        if (cached == null) {
+            response.setLastLogin(lastLoginBuffer.record(user.getId(), user.getLastLogin(), LocalDateTime.now()));
+            response.setPassword(password);
+            return objectMapper.writeValueAsBytes(response);
+        }
+        return render(cached, password);
+    }
+
+    private byte[] render(LoginResponseCache.Entry cached, String password) throws Exception {
+        LocalDateTime lastLogin = lastLoginBuffer.record(cached.getUserId(), cached.getLastLogin(), LocalDateTime.now());
+        cached.setLastLogin(lastLogin);
+        return cached.render(objectMapper.writeValueAsBytes(lastLogin), objectMapper.writeValueAsBytes(password));
+    }
+
+    private String encryptPassword(String password) throws Exception {
+        long encryptStarted = System.nanoTime();
+        String encrypted = AESUtil.encrypt(password);
+        signUpStageMetrics.record(SignUpStageMetrics.Stage.ENCRYPT, encryptStarted);
+        return encrypted;
+    }
+
+    private String generateToken(String email) {
+        long tokenStarted = System.nanoTime();
+        String generated = jwtService.generateToken(email);
+        signUpStageMetrics.record(SignUpStageMetrics.Stage.TOKEN, tokenStarted);
+        return generated;
+    }
+
+    /**
+     * Verifica que el email, que el filtro de emails registrados no pudo
+     * descartar, no esté registrado.
+     */
+    private Mono<Boolean> checkNotRegistered(String email) {
+        return Mono.defer(() -> {
+            long checkStarted = System.nanoTime();
+            return reactiveUserRepository.existsByEmail(email)
+                    .map(exists -> {
+                        signUpStageMetrics.record(SignUpStageMetrics.Stage.EXISTENCE_CHECK, checkStarted);
+                        if (exists) {
+                            throw new UserAlReadyExist(USER_ALREADY_EXISTS);
+                        }
+                        registeredEmailFilter.recordFalsePositive();
+                        return Boolean.TRUE;
+                    });
+        });
+    }
+
+    private Mono<User> insert(User user) {
+        return Mono.defer(() -> {
+            long insertStarted = System.nanoTime();
+            return reactiveUserRepository.insert(user)
+                    .doOnSuccess(saved -> signUpStageMetrics.record(SignUpStageMetrics.Stage.INSERT, insertStarted))
+                    .onErrorMap(ReactiveUserService::isEmailUniqueViolation,
+                            e -> new UserAlReadyExist(USER_ALREADY_EXISTS));
+        });
+    }
+
+    /**
+     * R2DBC no expone el nombre de la restricción violada; H2 lo incluye en el mensaje.
+     */
+    private static boolean isEmailUniqueViolation(Throwable e) {
+        if (!(e instanceof DataIntegrityViolationException)) {
+            return false;
+        }
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            String message = cause.getMessage();
+            if (message != null && message.toLowerCase(Locale.ROOT).contains(User.EMAIL_UNIQUE_CONSTRAINT)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,198 @@
+package cl.bci.ejercicio.service;
+
+import cl.bci.ejercicio.cache.EmailBloomFilter;
+import cl.bci.ejercicio.datasource.ShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Pre-verificación en memoria de emails registrados para el sign-up.
+ *
+ * Mantiene un {@link EmailBloomFilter} con todos los emails normalizados de la
+ * tabla de usuarios (de todos los shards, si los hay), reconstruido al iniciar la aplicación y actualizado en cada
+ * inserción. Cuando el filtro indica que un email definitivamente no está
+ * registrado, el registro omite la consulta de existencia; ante un posible
+ * acierto, o mientras el filtro no está cargado, se consulta la base de datos.
+ *
+ * La restricción única sobre el email sigue siendo la garantía final frente
+ * a inserciones concurrentes que el filtro aún no refleja.
+ *
+ * @author BCI Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@Component
+public class RegisteredEmailFilter {
+
+    static final String COUNT_SQL = "select count(*) from users";
+    static final String SELECT_EMAILS_SQL = "select email_normalized from users";
+
+    private volatile EmailBloomFilter filter;
+    private volatile EmailBloomFilter building;
+
+    private final LongAdder definiteMisses = new LongAdder();
+    private final LongAdder possibleHits = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+    private final LongAdder unavailable = new LongAdder();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired(required = false)
+    private ShardRouter shardRouter;
+
+    @Value("${signup.bloom.enabled:true}")
+    private boolean enabled;
+
+    @Value("${signup.bloom.expected-insertions:1000000}")
+    private long expectedInsertions;
+
+    @Value("${signup.bloom.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    /**
+     * Reconstruye el filtro a partir de los emails registrados.
+     *
+     * El filtro se dimensiona para el mayor valor entre
+     * {@code signup.bloom.expected-insertions} y el doble de los usuarios
+     * existentes. Las inserciones ocurridas durante la carga se registran
+     * también en el filtro nuevo, que reemplaza al anterior al terminar.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long started = System.nanoTime();
+        long count = onEachShard(() -> jdbcTemplate.queryForObject(COUNT_SQL, Long.class)).stream()
+                .mapToLong(shardCount -> shardCount == null ? 0 : shardCount)
+                .sum();
+        EmailBloomFilter next = new EmailBloomFilter(Math.max(expectedInsertions, count * 2), falsePositiveRate);
+
+        building = next;
+        try {
+            onEachShard(() -> {
+                jdbcTemplate.query(SELECT_EMAILS_SQL, rs -> {
+                    next.put(rs.getString(1));
+                });
+                return null;
+            });
+            filter = next;
+        } finally {
+            building = null;
+        }
+
+        log.info("Filtro de emails cargado: {} emails, {} KB, {} funciones hash, falsos positivos esperados {} ({} ms)",
+                next.getInsertions(), next.getMemoryBytes() / 1024, next.getHashFunctions(),
+                String.format("%.4f", next.getExpectedFalsePositiveRate()),
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Indica si el email podría estar registrado.
+     *
+     * @param email Email normalizado a verificar
+     * @return {@code false} solo si el email definitivamente no está registrado
+     */
+    public boolean mightExist(String email) {
+        EmailBloomFilter current = filter;
+        if (current == null) {
+            unavailable.increment();
+            return true;
+        }
+        if (current.mightContain(email)) {
+            possibleHits.increment();
+            return true;
+        }
+        definiteMisses.increment();
+        return false;
+    }
+
+    /**
+     * Registra un email recién insertado.
+     *
+     * @param email Email normalizado del usuario creado
+     */
+    public void add(String email) {
+        EmailBloomFilter current = filter;
+        if (current != null) {
+            current.put(email);
+        }
+        EmailBloomFilter next = building;
+        if (next != null) {
+            next.put(email);
+        }
+    }
+
+    /**
+     * Registra un posible acierto del filtro que la base de datos descartó.
+     */
+    public void recordFalsePositive() {
+        falsePositives.increment();
+    }
+
+    /**
+     * Registra varios posibles aciertos que la base de datos descartó.
+     *
+     * @param count cantidad de falsos positivos
+     */
+    public void recordFalsePositives(int count) {
+        falsePositives.add(count);
+    }
+
+    public boolean isLoaded() {
+        return filter != null;
+    }
+
+    public long getDefiniteMissCount() {
+        return definiteMisses.sum();
+    }
+
+    public long getPossibleHitCount() {
+        return possibleHits.sum();
+    }
+
+    public long getFalsePositiveCount() {
+        return falsePositives.sum();
+    }
+
+    public long getUnavailableCount() {
+        return unavailable.sum();
+    }
+
+    public long getInsertions() {
+        EmailBloomFilter current = filter;
+        return current == null ? 0 : current.getInsertions();
+    }
+
+    /**
+     * Memoria ocupada por el filtro en bytes, o 0 si no está cargado.
+     */
+    public long getMemoryBytes() {
+        EmailBloomFilter current = filter;
+        return current == null ? 0 : current.getMemoryBytes();
+    }
+
+    /**
+     * Tasa de falsos positivos esperada con la cantidad actual de emails.
+     */
+    public double getExpectedFalsePositiveRate() {
+        EmailBloomFilter current = filter;
+        return current == null ? 0 : current.getExpectedFalsePositiveRate();
+    }
+
+    private <T> List<T> onEachShard(Supplier<T> action) {
+        return shardRouter == null ? Collections.singletonList(action.get()) : shardRouter.callOnEachShard(action);
+    }
+}
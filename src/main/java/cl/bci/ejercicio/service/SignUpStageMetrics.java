@@ -0,0 +1,89 @@
+package cl.bci.ejercicio.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tiempos acumulados por etapa del registro de usuarios.
+ *
+ * Las etapas de cifrado y firma miden su ejecución en el pool criptográfico;
+ * {@link Stage#CRYPTO_WAIT} mide cuánto esperó el hilo de la solicitud por
+ * ellas después de verificar el email, que es la parte del costo
+ * criptográfico que no quedó oculta por la verificación.
+ *
+ * @author BCI Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+public class SignUpStageMetrics {
+
+    /**
+     * Etapas medidas del registro.
+     */
+    public enum Stage {
+        EXISTENCE_CHECK,
+        ENCRYPT,
+        TOKEN,
+        CRYPTO_WAIT,
+        INSERT,
+        TOTAL
+    }
+
+    private final Map<Stage, Timer> timers = new EnumMap<>(Stage.class);
+
+    public SignUpStageMetrics() {
+        for (Stage stage : Stage.values()) {
+            timers.put(stage, new Timer());
+        }
+    }
+
+    /**
+     * Registra la duración de una etapa.
+     *
+     * @param stage        Etapa medida
+     * @param startedNanos Valor de {@link System#nanoTime()} al iniciar la etapa
+     * @return la duración registrada en nanosegundos
+     */
+    public long record(Stage stage, long startedNanos) {
+        long elapsed = System.nanoTime() - startedNanos;
+        timers.get(stage).record(elapsed);
+        return elapsed;
+    }
+
+    public long getCount(Stage stage) {
+        return timers.get(stage).count.sum();
+    }
+
+    public long getTotalNanos(Stage stage) {
+        return timers.get(stage).totalNanos.sum();
+    }
+
+    public long getMaxNanos(Stage stage) {
+        return timers.get(stage).maxNanos.get();
+    }
+
+    /**
+     * Duración promedio de la etapa en nanosegundos, o 0 si no se ha medido.
+     */
+    public long getMeanNanos(Stage stage) {
+        long count = getCount(stage);
+        return count == 0 ? 0 : getTotalNanos(stage) / count;
+    }
+
+    private static final class Timer {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        private void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+    }
+}
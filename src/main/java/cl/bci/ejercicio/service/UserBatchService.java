@@ -0,0 +1,346 @@
+package cl.bci.ejercicio.service;
+
+import cl.bci.ejercicio.datasource.ShardRouter;
+import cl.bci.ejercicio.dto.BatchSignUpItemResultDto;
+import cl.bci.ejercicio.dto.BatchSignUpResponseDto;
+import cl.bci.ejercicio.dto.SignUpRequestDto;
+import cl.bci.ejercicio.entity.User;
+import cl.bci.ejercicio.outbox.UserEventOutbox;
+import cl.bci.ejercicio.exception.InvalidBatchException;
+import cl.bci.ejercicio.repository.UserRepository;
+import cl.bci.ejercicio.utils.AESUtil;
+import cl.bci.ejercicio.utils.AsyncUtil;
+import cl.bci.ejercicio.utils.EmailUtil;
+import cl.bci.ejercicio.utils.PhoneMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+/**
+ * Servicio para el registro masivo de usuarios.
+ *
+ * Valida cada elemento del lote con las mismas restricciones de
+ * {@link SignUpRequestDto}, verifica con una única consulta los emails que
+ * el filtro de emails registrados no descarta y persiste los usuarios y sus teléfonos en lotes JDBC del
+ * tamaño configurado en {@code hibernate.jdbc.batch_size}. El cifrado de
+ * contraseñas y la firma de tokens se ejecutan en paralelo en el pool
+ * {@code cryptoExecutor}.
+ *
+ * Los candidatos se registran en una transacción propia o, con shards, en
+ * una transacción por shard: la confirmación es por shard y no por lote
+ * completo. Si un email que el filtro descartó ya estaba registrado (por
+ * ejemplo, por otra instancia), la restricción {@code uk_users_email}
+ * revierte la transacción y el grupo se reintenta consultando todos sus
+ * emails, de modo que el elemento se informa como {@code ALREADY_EXISTS}.
+ *
+ * @author BCI Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@Service
+public class UserBatchService {
+
+    static final String DUPLICATED_IN_BATCH = "El email está repetido dentro del lote";
+    static final String ALREADY_EXISTS = "Ya existe un usuario activo registrado con el mismo email";
+    static final int MAX_ATTEMPTS = 3;
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JwtService jwtService;
+    @Autowired
+    private Validator validator;
+    @Autowired
+    private RegisteredEmailFilter registeredEmailFilter;
+    @PersistenceContext
+    private EntityManager entityManager;
+    @Autowired
+    @Qualifier("cryptoExecutor")
+    private Executor cryptoExecutor;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired(required = false)
+    private ShardRouter shardRouter;
+    @Autowired(required = false)
+    private UserEventOutbox userEventOutbox;
+
+    @Value("${signup.batch.max-size:1000}")
+    private int maxBatchSize;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int jdbcBatchSize;
+
+    /**
+     * Registra un lote de usuarios.
+     *
+     * Este método realiza las siguientes operaciones:
+     * 1. Valida cada elemento y detecta emails repetidos dentro del lote
+     * 2. Consulta en una sola operación cuáles de los emails que el filtro no descarta ya están registrados
+     * 3. Cifra y firma en paralelo los usuarios restantes y los persiste en lotes JDBC
+     * 4. Si la base de datos rechaza un email repetido, reintenta consultando todos los emails
+     * 5. Retorna el resultado de cada elemento en el orden recibido
+     *
+     * @param requests Lista de solicitudes de registro
+     * @return BatchSignUpResponseDto con el resumen y el resultado por elemento
+     * @throws InvalidBatchException si el lote está vacío o supera el máximo configurado
+     */
+    public BatchSignUpResponseDto signUpBatch(List<SignUpRequestDto> requests) throws Exception {
+        if (requests == null || requests.isEmpty()) {
+            throw new InvalidBatchException("El lote no contiene usuarios");
+        }
+        if (requests.size() > maxBatchSize) {
+            throw new InvalidBatchException("El lote supera el máximo de " + maxBatchSize + " usuarios");
+        }
+
+        List<BatchSignUpItemResultDto> results = register(requests);
+        int created = (int) results.stream()
+                .filter(result -> result.getStatus() == BatchSignUpItemResultDto.Status.CREATED)
+                .count();
+
+        return BatchSignUpResponseDto.builder()
+                .total(results.size())
+                .created(created)
+                .failed(results.size() - created)
+                .results(results)
+                .build();
+    }
+
+    private List<BatchSignUpItemResultDto> register(List<SignUpRequestDto> requests) throws Exception {
+        BatchSignUpItemResultDto[] results = new BatchSignUpItemResultDto[requests.size()];
+        Map<String, Integer> candidates = new LinkedHashMap<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            SignUpRequestDto request = requests.get(i);
+            if (request == null) {
+                results[i] = rejected(i, null, BatchSignUpItemResultDto.Status.INVALID, "El elemento está vacío");
+                continue;
+            }
+
+            Set<ConstraintViolation<SignUpRequestDto>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                results[i] = rejected(i, request, BatchSignUpItemResultDto.Status.INVALID, violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .collect(Collectors.joining(", ")));
+            } else if (candidates.putIfAbsent(EmailUtil.normalize(request.getEmail()), i) != null) {
+                results[i] = rejected(i, request, BatchSignUpItemResultDto.Status.ALREADY_EXISTS, DUPLICATED_IN_BATCH);
+            }
+        }
+
+        if (shardRouter == null) {
+            registerInTransaction(requests, candidates.values(), results);
+        } else {
+            for (List<Integer> group : shardRouter.partition(candidates.values(),
+                    index -> requests.get(index).getEmail()).values()) {
+                registerInTransaction(requests, group, results);
+            }
+        }
+
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Registra los candidatos en una transacción nueva, ya que con shards la
+     * conexión de una transacción pertenece a un solo shard.
+     *
+     * Si la inserción viola la restricción de email único la transacción se
+     * revierte y los candidatos se registran de nuevo sin usar el filtro de
+     * emails registrados, hasta {@link #MAX_ATTEMPTS} intentos. Cada intento
+     * reescribe el resultado de todos los candidatos.
+     */
+    private void registerInTransaction(List<SignUpRequestDto> requests, Collection<Integer> candidates,
+                                       BatchSignUpItemResultDto[] results) throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        for (int attempt = 1; ; attempt++) {
+            boolean checkAll = attempt > 1;
+            try {
+                transaction.executeWithoutResult(status -> {
+                    try {
+                        register(requests, candidates, results, checkAll);
+                    } catch (RuntimeException e) {
+                        throw e;
+                    } catch (Exception e) {
+                        throw new CompletionException(e);
+                    }
+                });
+                return;
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof Exception) {
+                    throw (Exception) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw e;
+            } catch (RuntimeException e) {
+                if (attempt == MAX_ATTEMPTS || !UserService.isEmailUniqueViolation(e)) {
+                    throw e;
+                }
+                log.warn("Email ya registrado al insertar el lote (intento {}), se reintenta consultando todos los emails",
+                        attempt);
+            }
+        }
+    }
+
+    /**
+     * Registra los candidatos que no estén ya registrados.
+     *
+     * @param candidates Índices de las solicitudes válidas y sin repetir dentro del lote
+     * @param checkAll   Si se consultan todos los emails, sin descartar los que el filtro no conoce
+     */
+    private void register(List<SignUpRequestDto> requests, Collection<Integer> candidates,
+                          BatchSignUpItemResultDto[] results, boolean checkAll) throws Exception {
+        Set<String> emails = candidates.stream()
+                .map(index -> EmailUtil.normalize(requests.get(index).getEmail()))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Set<String> existing = checkAll ? findAllExistingEmails(emails) : findExistingEmails(emails);
+
+        List<Integer> accepted = new ArrayList<>(candidates.size());
+        for (Integer index : candidates) {
+            SignUpRequestDto request = requests.get(index);
+            if (existing.contains(EmailUtil.normalize(request.getEmail()))) {
+                results[index] = rejected(index, request, BatchSignUpItemResultDto.Status.ALREADY_EXISTS, ALREADY_EXISTS);
+            } else {
+                accepted.add(index);
+            }
+        }
+
+        List<CompletableFuture<User>> users = new ArrayList<>(accepted.size());
+        for (Integer index : accepted) {
+            users.add(toUserAsync(requests.get(index)));
+        }
+
+        List<User> pending = new ArrayList<>(jdbcBatchSize);
+        List<Integer> pendingIndexes = new ArrayList<>(jdbcBatchSize);
+        for (int i = 0; i < accepted.size(); i++) {
+            pending.add(AsyncUtil.join(users.get(i)));
+            pendingIndexes.add(accepted.get(i));
+            users.set(i, null);
+            if (pending.size() == jdbcBatchSize) {
+                persist(pending, pendingIndexes, results);
+            }
+        }
+        if (!pending.isEmpty()) {
+            persist(pending, pendingIndexes, results);
+        }
+    }
+
+    /**
+     * Consulta cuáles emails ya están registrados, omitiendo los que el filtro
+     * de emails registrados descarta. Si el filtro los descarta todos no se
+     * accede a la base de datos.
+     */
+    private Set<String> findExistingEmails(Set<String> emails) {
+        List<String> possible = emails.stream()
+                .filter(registeredEmailFilter::mightExist)
+                .collect(Collectors.toList());
+        if (possible.isEmpty()) {
+            return new HashSet<>();
+        }
+
+        Set<String> existing = new HashSet<>(userRepository.findExistingEmails(possible));
+        registeredEmailFilter.recordFalsePositives(possible.size() - existing.size());
+        return existing;
+    }
+
+    /**
+     * Consulta cuáles emails ya están registrados sin pasar por el filtro y
+     * agrega al filtro los encontrados, que otra instancia pudo registrar.
+     */
+    private Set<String> findAllExistingEmails(Set<String> emails) {
+        Set<String> existing = new HashSet<>(userRepository.findExistingEmails(emails));
+        existing.forEach(registeredEmailFilter::add);
+        return existing;
+    }
+
+    /**
+     * Cifra la contraseña y firma el token del usuario en el pool criptográfico,
+     * de modo que estas etapas avanzan en paralelo mientras se persisten los
+     * lotes anteriores.
+     */
+    private CompletableFuture<User> toUserAsync(SignUpRequestDto request) {
+        return AsyncUtil.supplyAsync(() -> toUser(request), cryptoExecutor);
+    }
+
+    private User toUser(SignUpRequestDto request) throws Exception {
+        User user = User.builder()
+                .name(request.getName())
+                .email(request.getEmail())
+                .password(AESUtil.encrypt(request.getPassword()))
+                .isActive(true)
+                .build();
+
+        if (request.getPhones() != null) {
+            user.setPhones(PhoneMapper.toEntityList(request.getPhones(), user));
+        }
+
+        user.setToken(jwtService.generateToken(user.getEmail()));
+        return user;
+    }
+
+    /**
+     * Persiste un lote de usuarios junto con sus eventos {@code USER_CREATED}
+     * y libera el contexto de persistencia para que la memoria usada no crezca
+     * con el tamaño total del lote.
+     */
+    private void persist(List<User> users, List<Integer> indexes, BatchSignUpItemResultDto[] results) {
+        userRepository.saveAll(users);
+        entityManager.flush();
+        if (userEventOutbox != null) {
+            userEventOutbox.usersCreated(users);
+        }
+
+        for (int i = 0; i < users.size(); i++) {
+            User user = users.get(i);
+            int index = indexes.get(i);
+            registeredEmailFilter.add(EmailUtil.normalize(user.getEmail()));
+            results[index] = BatchSignUpItemResultDto.builder()
+                    .index(index)
+                    .email(user.getEmail())
+                    .status(BatchSignUpItemResultDto.Status.CREATED)
+                    .id(user.getId())
+                    .created(user.getCreated())
+                    .token(user.getToken())
+                    .build();
+        }
+
+        entityManager.clear();
+        users.clear();
+        indexes.clear();
+    }
+
+    private static BatchSignUpItemResultDto rejected(int index, SignUpRequestDto request,
+                                                     BatchSignUpItemResultDto.Status status, String detail) {
+        return BatchSignUpItemResultDto.builder()
+                .index(index)
+                .email(request != null ? request.getEmail() : null)
+                .status(status)
+                .detail(detail)
+                .build();
+    }
+}
@@ -0,0 +1,263 @@
+package cl.bci.ejercicio.service;
+
+import cl.bci.ejercicio.dto.BatchSignUpItemResultDto;
+import cl.bci.ejercicio.dto.BatchSignUpResponseDto;
+import cl.bci.ejercicio.dto.ImportEventDto;
+import cl.bci.ejercicio.dto.SignUpRequestDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Servicio para la importación masiva de usuarios desde NDJSON.
+ *
+ * Lee el cuerpo de la petición línea a línea y agrupa los registros en
+ * bloques de tamaño fijo que se registran mediante {@link UserBatchService},
+ * cada uno en su propia transacción. Solo se mantiene en memoria el bloque
+ * en curso: la lectura del siguiente bloque no comienza hasta confirmar el
+ * anterior, por lo que el consumo de memoria no depende del tamaño del archivo.
+ *
+ * Las líneas de más de {@code signup.import.max-line-length} caracteres se
+ * descartan sin almacenarlas y se informan como inválidas.
+ *
+ * Los rechazos y el avance se escriben como NDJSON en la salida a medida que
+ * se producen. Si el registro de un bloque falla, sus registros se informan
+ * como {@code FAILED} y la importación continúa con el siguiente; el resumen
+ * final se escribe siempre.
+ *
+ * @author BCI Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@Service
+public class UserImportService {
+
+    static final String INVALID_JSON = "El registro no es un JSON válido";
+    static final String LINE_TOO_LONG = "El registro supera el largo máximo de línea";
+    static final String CHUNK_FAILED = "No se pudo registrar el bloque del registro";
+
+    static final int END_OF_INPUT = -1;
+    static final int LINE_READ = 0;
+    static final int LINE_TRUNCATED = 1;
+
+    @Autowired
+    private UserBatchService userBatchService;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${signup.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${signup.import.max-line-length:16384}")
+    private int maxLineLength;
+
+    @Value("${signup.batch.max-size:1000}")
+    private int batchMaxSize;
+
+    /**
+     * Verifica que cada bloque de la importación sea aceptado por
+     * {@link UserBatchService}.
+     *
+     * @throws IllegalStateException si {@code signup.import.chunk-size} no está
+     *                               entre 1 y {@code signup.batch.max-size}
+     */
+    @PostConstruct
+    public void init() {
+        if (chunkSize <= 0 || chunkSize > batchMaxSize) {
+            throw new IllegalStateException("signup.import.chunk-size (" + chunkSize
+                    + ") debe estar entre 1 y signup.batch.max-size (" + batchMaxSize + ")");
+        }
+        if (maxLineLength <= 0) {
+            throw new IllegalStateException("signup.import.max-line-length debe ser mayor que 0");
+        }
+    }
+
+    /**
+     * Importa los usuarios contenidos en un flujo NDJSON.
+     *
+     * Este método realiza las siguientes operaciones:
+     * 1. Lee cada línea no vacía y la convierte en {@link SignUpRequestDto}
+     * 2. Registra los registros válidos en bloques, con una transacción por bloque
+     * 3. Escribe un evento por cada registro rechazado (incluidas las líneas
+     *    demasiado largas y los registros de un bloque que no pudo registrarse)
+     *    y uno de avance por bloque
+     * 4. Escribe y retorna el resumen final
+     *
+     * @param input  Flujo NDJSON con un usuario por línea
+     * @param output Flujo donde se escriben los eventos NDJSON
+     * @return ImportEventDto con el resumen de la importación
+     * @throws IOException si falla la lectura de la entrada o la escritura de la salida
+     */
+    public ImportEventDto importUsers(InputStream input, OutputStream output) throws IOException {
+        ObjectReader reader = objectMapper.readerFor(SignUpRequestDto.class);
+        BufferedReader lines = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        Progress progress = new Progress();
+
+        List<SignUpRequestDto> chunk = new ArrayList<>(chunkSize);
+        List<Long> chunkLines = new ArrayList<>(chunkSize);
+        long lineNumber = 0;
+        StringBuilder line = new StringBuilder();
+        int read;
+        while ((read = readLine(lines, line, maxLineLength)) != END_OF_INPUT) {
+            lineNumber++;
+            if (read == LINE_READ && isBlank(line)) {
+                continue;
+            }
+
+            progress.processed++;
+            if (read == LINE_TRUNCATED) {
+                progress.failed++;
+                writeInvalid(output, lineNumber, LINE_TOO_LONG);
+            } else {
+                try {
+                    chunk.add(reader.readValue(line.toString()));
+                    chunkLines.add(lineNumber);
+                } catch (JsonProcessingException e) {
+                    progress.failed++;
+                    writeInvalid(output, lineNumber, INVALID_JSON);
+                }
+            }
+
+            if (chunk.size() == chunkSize) {
+                commit(chunk, chunkLines, progress, output);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            commit(chunk, chunkLines, progress, output);
+        }
+
+        ImportEventDto summary = progress.toEvent(ImportEventDto.Type.SUMMARY);
+        write(output, summary);
+        output.flush();
+        return summary;
+    }
+
+    private void commit(List<SignUpRequestDto> chunk, List<Long> chunkLines,
+                        Progress progress, OutputStream output) throws IOException {
+        BatchSignUpResponseDto response;
+        try {
+            response = userBatchService.signUpBatch(chunk);
+        } catch (Exception e) {
+            log.error("No se pudo registrar el bloque de las líneas {} a {}",
+                    chunkLines.get(0), chunkLines.get(chunkLines.size() - 1), e);
+            for (int i = 0; i < chunk.size(); i++) {
+                write(output, ImportEventDto.builder()
+                        .type(ImportEventDto.Type.ERROR)
+                        .line(chunkLines.get(i))
+                        .email(chunk.get(i).getEmail())
+                        .status(BatchSignUpItemResultDto.Status.FAILED)
+                        .detail(CHUNK_FAILED)
+                        .build());
+            }
+            response = null;
+        }
+
+        if (response != null) {
+            for (BatchSignUpItemResultDto result : response.getResults()) {
+                if (result.getStatus() != BatchSignUpItemResultDto.Status.CREATED) {
+                    write(output, ImportEventDto.builder()
+                            .type(ImportEventDto.Type.ERROR)
+                            .line(chunkLines.get(result.getIndex()))
+                            .email(result.getEmail())
+                            .status(result.getStatus())
+                            .detail(result.getDetail())
+                            .build());
+                }
+            }
+            progress.created += response.getCreated();
+            progress.failed += response.getFailed();
+        } else {
+            progress.failed += chunk.size();
+        }
+
+        write(output, progress.toEvent(ImportEventDto.Type.PROGRESS));
+        output.flush();
+
+        chunk.clear();
+        chunkLines.clear();
+    }
+
+    private void writeInvalid(OutputStream output, long lineNumber, String detail) throws IOException {
+        write(output, ImportEventDto.builder()
+                .type(ImportEventDto.Type.ERROR)
+                .line(lineNumber)
+                .status(BatchSignUpItemResultDto.Status.INVALID)
+                .detail(detail)
+                .build());
+    }
+
+    /**
+     * Lee la siguiente línea (sin el fin de línea) en {@code line}. Si supera
+     * {@code maxLength} caracteres, descarta el resto de la línea sin
+     * almacenarlo.
+     *
+     * @return {@link #LINE_READ}, {@link #LINE_TRUNCATED} o
+     * {@link #END_OF_INPUT} si no quedan líneas
+     */
+    static int readLine(Reader reader, StringBuilder line, int maxLength) throws IOException {
+        line.setLength(0);
+        boolean tooLong = false;
+        int c = reader.read();
+        if (c == -1) {
+            return END_OF_INPUT;
+        }
+        while (c != -1 && c != '\n') {
+            if (line.length() < maxLength) {
+                line.append((char) c);
+            } else if (c != '\r') {
+                tooLong = true;
+            }
+            c = reader.read();
+        }
+        if (line.length() > 0 && line.charAt(line.length() - 1) == '\r') {
+            line.setLength(line.length() - 1);
+        }
+        return tooLong ? LINE_TRUNCATED : LINE_READ;
+    }
+
+    private static boolean isBlank(CharSequence line) {
+        for (int i = 0; i < line.length(); i++) {
+            if (!Character.isWhitespace(line.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void write(OutputStream output, ImportEventDto event) throws IOException {
+        output.write(objectMapper.writeValueAsBytes(event));
+        output.write('\n');
+    }
+
+    private static final class Progress {
+        private long processed;
+        private long created;
+        private long failed;
+
+        private ImportEventDto toEvent(ImportEventDto.Type type) {
+            return ImportEventDto.builder()
+                    .type(type)
+                    .processed(processed)
+                    .created(created)
+                    .failed(failed)
+                    .build();
+        }
+    }
+}
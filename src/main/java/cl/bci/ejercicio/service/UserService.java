@@ -1,5 +1,6 @@
 package cl.bci.ejercicio.service;
 
+import cl.bci.ejercicio.cache.LoginResponseCache;
 import cl.bci.ejercicio.dto.SignUpRequestDto;
 import cl.bci.ejercicio.dto.SignUpResponseDto;
 import cl.bci.ejercicio.dto.UserResponseDto;
@@ -7,15 +8,34 @@ import cl.bci.ejercicio.entity.Phone;
 import cl.bci.ejercicio.entity.User;
 import cl.bci.ejercicio.exception.UserAlReadyExist;
 import cl.bci.ejercicio.exception.UserNotFoundException;
+import cl.bci.ejercicio.jfr.LoginEvent;
+import cl.bci.ejercicio.jfr.LoginStageEvent;
+import cl.bci.ejercicio.jfr.SignUpEvent;
+import cl.bci.ejercicio.jfr.SignUpStageEvent;
+import cl.bci.ejercicio.outbox.UserEventOutbox;
 import cl.bci.ejercicio.repository.UserRepository;
 import cl.bci.ejercicio.utils.AESUtil;
+import cl.bci.ejercicio.utils.AsyncUtil;
+import cl.bci.ejercicio.utils.EmailUtil;
 import cl.bci.ejercicio.utils.PhoneMapper;
+import cl.bci.ejercicio.utils.RequestTimings;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 import static cl.bci.ejercicio.utils.UserMapper.convertToSignUpResponse;
 import static cl.bci.ejercicio.utils.UserMapper.convertToUserResponse;
@@ -34,21 +54,63 @@ import static cl.bci.ejercicio.utils.UserMapper.convertToUserResponse;
 @Service
 public class UserService {
 
+    private static final String USER_ALREADY_EXISTS = "Ya existe un usuario activo registrado con el mismo email";
+    private static final Executor SAME_THREAD = Runnable::run;
+
+    private static final Timer SIGN_UP_CREATED = timer("bci.user.signup", "created");
+    private static final Timer SIGN_UP_ALREADY_EXISTS = timer("bci.user.signup", "already_exists");
+    private static final Timer SIGN_UP_ERROR = timer("bci.user.signup", "error");
+    private static final Timer LOGIN_SUCCESS = timer("bci.user.login", "success");
+    private static final Timer LOGIN_NOT_FOUND = timer("bci.user.login", "not_found");
+    private static final Timer LOGIN_ERROR = timer("bci.user.login", "error");
+
     @Autowired
     private UserRepository userRepository;
     @Autowired
     private JwtService jwtService;
+    @Autowired
+    private LastLoginBuffer lastLoginBuffer;
+    @Autowired
+    private RegisteredEmailFilter registeredEmailFilter;
+    @Autowired
+    private EmailReservationRegistry emailReservationRegistry;
+    @Autowired
+    private SignUpStageMetrics signUpStageMetrics;
+    @Autowired
+    @Qualifier("cryptoExecutor")
+    private Executor cryptoExecutor;
+
+    @Value("${signup.pipeline.async-crypto:true}")
+    private boolean asyncCrypto;
+    @Autowired
+    private LoginResponseCache loginResponseCache;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired(required = false)
+    private UserEventOutbox userEventOutbox;
 
 
     /**
      * Registra un nuevo usuario en el sistema.
      * 
      * Este método realiza las siguientes operaciones:
-     * 1. Valida que el email no esté previamente registrado
-     * 2. Crea el usuario con los datos proporcionados
-     * 3. Mapea los teléfonos si están presentes
-     * 4. Genera un token JWT para el usuario
-     * 5. Persiste el usuario en la base de datos
+     * 1. Reserva el email normalizado en memoria, rechazando registros simultáneos del mismo email
+     * 2. Si el filtro de emails registrados indica un posible acierto, inicia en
+     *    el pool criptográfico el cifrado de la contraseña y la firma del token y,
+     *    mientras tanto, verifica en la base de datos que el email no esté registrado.
+     *    Si el filtro descarta el email no hay consulta que solapar y ambas
+     *    operaciones se ejecutan en el hilo actual, evitando el costo del traspaso
+     *    (también cuando {@code signup.pipeline.async-crypto} es {@code false})
+     * 3. Espera el resultado criptográfico y crea el usuario con sus teléfonos
+     * 4. Inserta el usuario; si la restricción única del email lo rechaza,
+     *    el registro se informa como duplicado
+     * 5. Registra el evento {@code USER_CREATED} en la tabla outbox, en la misma transacción
+     * 
+     * La duración de cada etapa se acumula en {@link SignUpStageMetrics} y la
+     * del registro completo en el timer {@code bci.user.signup}, por resultado.
+     * Si la solicitud mide sus etapas ({@link RequestTimings}), también se
+     * registran en ella. Con una grabación de JDK Flight Recorder activa se
+     * emiten {@link SignUpEvent} y un {@link SignUpStageEvent} por etapa.
      * 
      * @param request DTO con los datos del usuario a registrar
      * @return SignUpResponseDto con la información básica del usuario creado y su token
@@ -56,29 +118,144 @@ public class UserService {
      */
     @Transactional
     public SignUpResponseDto signUp(SignUpRequestDto request) throws Exception {
+        long started = System.nanoTime();
+        SignUpEvent event = SignUpEvent.start();
+        Timer outcome = SIGN_UP_ERROR;
+        try {
+            SignUpResponseDto response = register(request);
+            outcome = SIGN_UP_CREATED;
+            return response;
+        } catch (UserAlReadyExist e) {
+            outcome = SIGN_UP_ALREADY_EXISTS;
+            throw e;
+        } finally {
+            outcome.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            event.finish(outcome.getId().getTag("outcome"), phoneCount(request));
+        }
+    }
+
+    private SignUpResponseDto register(SignUpRequestDto request) throws Exception {
 
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new UserAlReadyExist("Ya existe un usuario activo registrado con el mismo email");
+        String email = EmailUtil.normalize(request.getEmail());
+        Runnable release = emailReservationRegistry.reserve(email);
+        if (release == null) {
+            throw new UserAlReadyExist(USER_ALREADY_EXISTS);
         }
 
-        User user = User.builder()
-                .name(request.getName())
-                .email(request.getEmail())
-                .password(AESUtil.encrypt(request.getPassword()))
-                .isActive(true)
-                .build();
+        long started = System.nanoTime();
+        RequestTimings timings = RequestTimings.current();
+        try {
+            boolean mightExist = registeredEmailFilter.mightExist(email);
+            Executor executor = mightExist && asyncCrypto ? cryptoExecutor : SAME_THREAD;
+
+            CompletableFuture<String> password = AsyncUtil.supplyAsync(() -> {
+                long encryptStarted = System.nanoTime();
+                SignUpStageEvent event = SignUpStageEvent.start(SignUpStageEvent.ENCRYPT);
+                String encrypted = AESUtil.encrypt(request.getPassword());
+                event.finish();
+                timings.add("encrypt", signUpStageMetrics.record(SignUpStageMetrics.Stage.ENCRYPT, encryptStarted));
+                return encrypted;
+            }, executor);
+            CompletableFuture<String> token = AsyncUtil.supplyAsync(() -> {
+                long tokenStarted = System.nanoTime();
+                SignUpStageEvent event = SignUpStageEvent.start(SignUpStageEvent.TOKEN);
+                String generated = jwtService.generateToken(request.getEmail());
+                event.finish();
+                timings.add("token", signUpStageMetrics.record(SignUpStageMetrics.Stage.TOKEN, tokenStarted));
+                return generated;
+            }, executor);
+
+            if (mightExist) {
+                try {
+                    checkNotRegistered(email, timings);
+                } catch (RuntimeException e) {
+                    password.cancel(false);
+                    token.cancel(false);
+                    throw e;
+                }
+            }
 
-        if (request.getPhones() != null) {
-            List<Phone> phones = PhoneMapper.toEntityList(request.getPhones(), user);
-            user.setPhones(phones);
+            long waitStarted = System.nanoTime();
+            User user = User.builder()
+                    .name(request.getName())
+                    .email(request.getEmail())
+                    .password(AsyncUtil.join(password))
+                    .token(AsyncUtil.join(token))
+                    .isActive(true)
+                    .build();
+            timings.add("crypto-wait", signUpStageMetrics.record(SignUpStageMetrics.Stage.CRYPTO_WAIT, waitStarted));
+
+            if (request.getPhones() != null) {
+                List<Phone> phones = PhoneMapper.toEntityList(request.getPhones(), user);
+                user.setPhones(phones);
+            }
+
+            long insertStarted = System.nanoTime();
+            SignUpStageEvent persistEvent = SignUpStageEvent.start(SignUpStageEvent.PERSIST);
+            User savedUser = insert(user);
+            if (userEventOutbox != null) {
+                userEventOutbox.userCreated(savedUser);
+            }
+            persistEvent.finish(phoneCount(request));
+            timings.add("insert", signUpStageMetrics.record(SignUpStageMetrics.Stage.INSERT, insertStarted));
+            registeredEmailFilter.add(email);
+
+            signUpStageMetrics.record(SignUpStageMetrics.Stage.TOTAL, started);
+            return convertToSignUpResponse(savedUser);
+        } finally {
+            release.run();
         }
+    }
 
-        String token = jwtService.generateToken(user.getEmail());
-        user.setToken(token);
+    /**
+     * Verifica en la base de datos que el email, que el filtro de emails
+     * registrados no pudo descartar, no esté registrado.
+     */
+    private void checkNotRegistered(String email, RequestTimings timings) {
+        long checkStarted = System.nanoTime();
+        SignUpStageEvent event = SignUpStageEvent.start(SignUpStageEvent.EMAIL_CHECK);
+        boolean exists = userRepository.existsByNaturalEmail(email);
+        event.finish();
+        timings.add("existence-check", signUpStageMetrics.record(SignUpStageMetrics.Stage.EXISTENCE_CHECK, checkStarted));
+        if (exists) {
+            throw new UserAlReadyExist(USER_ALREADY_EXISTS);
+        }
+        registeredEmailFilter.recordFalsePositive();
+    }
 
-        User savedUser = userRepository.save(user);
+    /**
+     * Inserta el usuario sincronizando de inmediato con la base de datos, de
+     * modo que una violación de la restricción única del email se detecte aquí
+     * y no al confirmar la transacción.
+     */
+    private User insert(User user) {
+        try {
+            return userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            if (isEmailUniqueViolation(e)) {
+                throw new UserAlReadyExist(USER_ALREADY_EXISTS);
+            }
+            throw e;
+        }
+    }
 
-        return convertToSignUpResponse(savedUser);
+    private static int phoneCount(SignUpRequestDto request) {
+        return request.getPhones() == null ? 0 : request.getPhones().size();
+    }
+
+    /**
+     * Indica si la excepción (o alguna de sus causas) es una violación de la
+     * restricción de email único.
+     */
+    static boolean isEmailUniqueViolation(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException) {
+                String constraint = ((ConstraintViolationException) cause).getConstraintName();
+                return constraint != null
+                        && constraint.toLowerCase(Locale.ROOT).contains(User.EMAIL_UNIQUE_CONSTRAINT);
+            }
+        }
+        return false;
     }
 
     /**
@@ -86,24 +263,162 @@ public class UserService {
      * 
      * Este método realiza las siguientes operaciones:
      * 1. Extrae el email del token JWT proporcionado
-     * 2. Busca el usuario en la base de datos por email
-     * 3. Actualiza la fecha de último login
+     * 2. Busca el usuario y sus teléfonos por email a través de la caché de segundo nivel
+     * 3. Registra la fecha de último login en el buffer de escritura diferida
      * 4. Retorna la información completa del usuario
      * 
+     * Si la solicitud mide sus etapas ({@link RequestTimings}) registra la
+     * verificación del token ({@code jwt}), la consulta del usuario
+     * ({@code user-query}), la carga de teléfonos y el descifrado
+     * ({@link cl.bci.ejercicio.utils.UserMapper}) y el registro del último
+     * login ({@code last-login}). Con una grabación de JDK Flight Recorder
+     * activa se emiten {@link LoginEvent} y un {@link LoginStageEvent} por etapa.
+     * 
      * @param token Token JWT válido del usuario
      * @return UserResponseDto con toda la información del usuario autenticado
      * @throws UserNotFoundException si no se encuentra un usuario con el email del token
      */
-    @Transactional
+    @Transactional(readOnly = true)
     public UserResponseDto login(String token) throws Exception {
+        long started = System.nanoTime();
+        LoginEvent event = LoginEvent.start();
+        Timer outcome = LOGIN_ERROR;
+        try {
+            UserResponseDto response = authenticate(token);
+            outcome = LOGIN_SUCCESS;
+            return response;
+        } catch (UserNotFoundException e) {
+            outcome = LOGIN_NOT_FOUND;
+            throw e;
+        } finally {
+            outcome.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            event.finish(outcome.getId().getTag("outcome"));
+        }
+    }
+
+    private UserResponseDto authenticate(String token) throws Exception {
+        RequestTimings timings = RequestTimings.current();
+        String email = extractEmail(token, timings);
+
+        User user = findUser(email, timings);
+
+        long lastLoginStarted = timings.now();
+        LocalDateTime lastLogin = lastLoginBuffer.record(user.getId(), user.getLastLogin(), LocalDateTime.now());
+        timings.record("last-login", lastLoginStarted);
+        UserResponseDto response = convertToUserResponse(user);
+        response.setLastLogin(lastLogin);
+        return response;
+    }
+
+    /**
+     * Autentica un usuario mediante token JWT y retorna la respuesta ya serializada.
+     * 
+     * Equivalente a {@link #login(String)}, pero consulta primero la caché de
+     * respuestas de login: en un acierto no se accede a la base de datos y solo
+     * se serializan la fecha de último login vigente y la contraseña, que se
+     * descifra en cada solicitud para no guardarla en claro en la caché. En un
+     * fallo la respuesta se construye y se almacena.
+     * 
+     * Además de las etapas de {@link #login(String)}, registra en
+     * {@link RequestTimings} la consulta a la caché ({@code cache}) y la
+     * serialización de la respuesta ({@code serialize}).
+     * 
+     * @param token Token JWT válido del usuario
+     * @return JSON de UserResponseDto con la información del usuario autenticado
+     * @throws UserNotFoundException si no se encuentra un usuario con el email del token
+     */
+    public byte[] loginSerialized(String token) throws Exception {
+        long started = System.nanoTime();
+        LoginEvent event = LoginEvent.start();
+        Timer outcome = LOGIN_ERROR;
+        try {
+            byte[] response = authenticateSerialized(token);
+            outcome = LOGIN_SUCCESS;
+            return response;
+        } catch (UserNotFoundException e) {
+            outcome = LOGIN_NOT_FOUND;
+            throw e;
+        } finally {
+            outcome.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            event.finish(outcome.getId().getTag("outcome"));
+        }
+    }
+
+    private byte[] authenticateSerialized(String token) throws Exception {
+        RequestTimings timings = RequestTimings.current();
+        String email = EmailUtil.normalize(extractEmail(token, timings));
+
+        long cacheStarted = timings.now();
+        LoginResponseCache.Entry cached = loginResponseCache.get(email);
+        timings.record("cache", cacheStarted);
+        String password;
+        if (cached == null) {
+            long epoch = loginResponseCache.currentEpoch();
+            User user = findUser(email, timings);
+
+            UserResponseDto response = convertToUserResponse(user);
+            password = response.getPassword();
+            response.setLastLogin(null);
+            response.setPassword(null);
+            long serializeStarted = timings.now();
+            byte[] serialized = objectMapper.writeValueAsBytes(response);
+            timings.record("serialize", serializeStarted);
+            cached = loginResponseCache.put(email, user.getId(), user.getLastLogin(), user.getPassword(), serialized,
+                    epoch);
+            if (cached == null) {
+                response.setPassword(password);
+                long lastLoginStarted = timings.now();
+                response.setLastLogin(lastLoginBuffer.record(user.getId(), user.getLastLogin(), LocalDateTime.now()));
+                timings.record("last-login", lastLoginStarted);
+                return objectMapper.writeValueAsBytes(response);
+            }
+        } else {
+            password = decryptPassword(cached.getEncryptedPassword(), timings);
+        }
+
+        long lastLoginStarted = timings.now();
+        LocalDateTime lastLogin = lastLoginBuffer.record(cached.getUserId(), cached.getLastLogin(), LocalDateTime.now());
+        cached.setLastLogin(lastLogin);
+        timings.record("last-login", lastLoginStarted);
+        long renderStarted = timings.now();
+        byte[] rendered = cached.render(objectMapper.writeValueAsBytes(lastLogin),
+                objectMapper.writeValueAsBytes(password));
+        timings.record("serialize", renderStarted);
+        return rendered;
+    }
+
+    private String extractEmail(String token, RequestTimings timings) {
+        long started = timings.now();
+        LoginStageEvent event = LoginStageEvent.start(LoginStageEvent.VERIFY_TOKEN);
         String email = jwtService.extractEmail(token);
+        event.finish();
+        timings.record("jwt", started);
+        return email;
+    }
 
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UserNotFoundException("Usuario no encontrado"));
+    private static String decryptPassword(String encrypted, RequestTimings timings) throws Exception {
+        long started = timings.now();
+        LoginStageEvent event = LoginStageEvent.start(LoginStageEvent.DECRYPT);
+        String password = AESUtil.decrypt(encrypted);
+        event.finish();
+        timings.record("decrypt", started);
+        return password;
+    }
 
-        user.setLastLogin(LocalDateTime.now());
-        userRepository.save(user);
-        return convertToUserResponse(user);
+    private User findUser(String email, RequestTimings timings) {
+        long started = timings.now();
+        LoginStageEvent event = LoginStageEvent.start(LoginStageEvent.FETCH);
+        User user = userRepository.findByNaturalEmail(email)
+                .orElseThrow(() -> new UserNotFoundException("Usuario no encontrado"));
+        event.finish();
+        timings.record("user-query", started);
+        return user;
     }
 
-} 
\ No newline at end of file
+    private static Timer timer(String name, String outcome) {
+        return Timer.builder(name)
+                .description("Duración de la operación de usuario, por resultado")
+                .tag("outcome", outcome)
+                .register(Metrics.globalRegistry);
+    }
+}
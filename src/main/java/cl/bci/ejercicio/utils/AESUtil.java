@@ -1,27 +1,76 @@
 package cl.bci.ejercicio.utils;
 
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
 import javax.crypto.Cipher;
 import javax.crypto.spec.SecretKeySpec;
+import java.security.GeneralSecurityException;
 import java.util.Base64;
+import java.util.concurrent.TimeUnit;
 
 public class AESUtil {
 
     private static final String ALGORITHM = "AES";
     private static final String SECRET_KEY = "1234567890123456"; // 16-char key for AES-128
+    private static final SecretKeySpec KEY = new SecretKeySpec(SECRET_KEY.getBytes(), ALGORITHM);
+    private static final int POOL_CAPACITY = Runtime.getRuntime().availableProcessors() * 2;
+
+    // Cipher no es thread-safe: se reutilizan instancias ya inicializadas por modo.
+    // Si doFinal falla, la instancia no vuelve al pool.
+    private static final BoundedPool<Cipher> ENCRYPT_POOL =
+            new BoundedPool<>(() -> newCipher(Cipher.ENCRYPT_MODE), POOL_CAPACITY);
+    private static final BoundedPool<Cipher> DECRYPT_POOL =
+            new BoundedPool<>(() -> newCipher(Cipher.DECRYPT_MODE), POOL_CAPACITY);
+
+    // Registro global de Micrometer: Spring Boot le agrega el registro de la aplicación
+    private static final Timer ENCRYPT_TIMER = timer("encrypt");
+    private static final Timer DECRYPT_TIMER = timer("decrypt");
 
     public static String encrypt(String value) throws Exception {
-        SecretKeySpec key = new SecretKeySpec(SECRET_KEY.getBytes(), ALGORITHM);
-        Cipher cipher = Cipher.getInstance(ALGORITHM);
-        cipher.init(Cipher.ENCRYPT_MODE, key);
-        byte[] encrypted = cipher.doFinal(value.getBytes());
-        return Base64.getEncoder().encodeToString(encrypted);
+        long started = System.nanoTime();
+        byte[] plain = value.getBytes();
+        Cipher cipher = ENCRYPT_POOL.borrow();
+        byte[] encrypted = cipher.doFinal(plain);
+        ENCRYPT_POOL.release(cipher);
+        String result = Base64.getEncoder().encodeToString(encrypted);
+        ENCRYPT_TIMER.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        return result;
     }
 
     public static String decrypt(String encrypted) throws Exception {
-        SecretKeySpec key = new SecretKeySpec(SECRET_KEY.getBytes(), ALGORITHM);
-        Cipher cipher = Cipher.getInstance(ALGORITHM);
-        cipher.init(Cipher.DECRYPT_MODE, key);
-        byte[] original = cipher.doFinal(Base64.getDecoder().decode(encrypted));
-        return new String(original);
+        long started = System.nanoTime();
+        byte[] input = Base64.getDecoder().decode(encrypted);
+        Cipher cipher = DECRYPT_POOL.borrow();
+        byte[] original = cipher.doFinal(input);
+        DECRYPT_POOL.release(cipher);
+        String result = new String(original);
+        DECRYPT_TIMER.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        return result;
+    }
+
+    public static BoundedPool<Cipher> getEncryptPool() {
+        return ENCRYPT_POOL;
+    }
+
+    public static BoundedPool<Cipher> getDecryptPool() {
+        return DECRYPT_POOL;
+    }
+
+    private static Timer timer(String operation) {
+        return Timer.builder("bci.crypto.aes")
+                .description("Cifrado y descifrado AES de contraseñas")
+                .tag("operation", operation)
+                .register(Metrics.globalRegistry);
+    }
+
+    private static Cipher newCipher(int mode) {
+        try {
+            Cipher cipher = Cipher.getInstance(ALGORITHM);
+            cipher.init(mode, KEY);
+            return cipher;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("No fue posible inicializar el cifrador " + ALGORITHM, e);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,59 @@
+package cl.bci.ejercicio.utils;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Utilidades para ejecutar tareas que lanzan excepciones verificadas en un
+ * executor y esperar su resultado conservando la excepción original.
+ *
+ * @author BCI Team
+ * @version 1.0
+ * @since 1.0
+ */
+public final class AsyncUtil {
+
+    private AsyncUtil() {
+    }
+
+    /**
+     * Ejecuta la tarea en el executor. Una excepción verificada se envuelve en
+     * {@link CompletionException} para que {@link #join(CompletableFuture)} la
+     * relance tal como la lanzó la tarea.
+     *
+     * @param task     Tarea a ejecutar
+     * @param executor Executor en que se ejecuta la tarea
+     * @return futuro con el resultado de la tarea
+     */
+    public static <T> CompletableFuture<T> supplyAsync(Callable<T> task, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return task.call();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    /**
+     * Espera el resultado de la tarea y relanza la excepción que la hizo fallar.
+     */
+    public static <T> T join(CompletableFuture<T> future) throws Exception {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package cl.bci.ejercicio.utils;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Pool acotado y no bloqueante de instancias reutilizables que no son
+ * thread-safe (por ejemplo {@link javax.crypto.Cipher}).
+ *
+ * Si no hay instancias libres al pedir una, se crea otra en lugar de esperar;
+ * al devolverla, si el pool ya está lleno, la instancia se descarta. La
+ * cantidad de creaciones por pool vacío indica la contención del pool.
+ */
+public class BoundedPool<T> {
+
+    private final Supplier<T> factory;
+    private final int capacity;
+    private final ConcurrentLinkedDeque<T> idle = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger idleCount = new AtomicInteger();
+
+    private final LongAdder borrows = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder discards = new LongAdder();
+
+    public BoundedPool(Supplier<T> factory, int capacity) {
+        this.factory = factory;
+        this.capacity = capacity;
+    }
+
+    public T borrow() {
+        borrows.increment();
+        T instance = idle.pollFirst();
+        if (instance != null) {
+            idleCount.decrementAndGet();
+            return instance;
+        }
+        misses.increment();
+        return factory.get();
+    }
+
+    public void release(T instance) {
+        if (idleCount.incrementAndGet() > capacity) {
+            idleCount.decrementAndGet();
+            discards.increment();
+            return;
+        }
+        idle.offerFirst(instance);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getIdleCount() {
+        return idleCount.get();
+    }
+
+    public long getBorrowCount() {
+        return borrows.sum();
+    }
+
+    /**
+     * Cantidad de veces que se pidió una instancia con el pool vacío.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getDiscardCount() {
+        return discards.sum();
+    }
+}
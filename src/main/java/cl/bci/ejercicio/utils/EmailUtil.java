@@ -0,0 +1,54 @@
+package cl.bci.ejercicio.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Normalización de emails y hash de longitud fija usado como clave de búsqueda.
+ *
+ * Dos emails que solo difieren en mayúsculas o espacios al inicio o al final
+ * identifican al mismo usuario. El hash son los primeros 16 bytes del SHA-256
+ * del email normalizado, almacenados en {@code users.email_hash}.
+ */
+public final class EmailUtil {
+
+    public static final int HASH_LENGTH = 16;
+    private static final int POOL_CAPACITY = Runtime.getRuntime().availableProcessors() * 2;
+
+    // MessageDigest no es thread-safe: se reutilizan instancias desde un pool
+    // acotado, no por hilo, para no retener una por cada hilo virtual.
+    private static final BoundedPool<MessageDigest> SHA_256 = new BoundedPool<>(EmailUtil::newDigest, POOL_CAPACITY);
+
+    private EmailUtil() {
+    }
+
+    public static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Hash del email normalizado; acepta el email tal como fue ingresado.
+     */
+    public static byte[] hash(String email) {
+        byte[] input = normalize(email).getBytes(StandardCharsets.UTF_8);
+        MessageDigest sha256 = SHA_256.borrow();
+        byte[] digest = sha256.digest(input);
+        SHA_256.release(sha256);
+        return Arrays.copyOf(digest, HASH_LENGTH);
+    }
+
+    public static BoundedPool<MessageDigest> getDigestPool() {
+        return SHA_256;
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
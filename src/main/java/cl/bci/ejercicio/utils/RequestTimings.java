@@ -0,0 +1,128 @@
+package cl.bci.ejercicio.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Duración de las etapas de la solicitud en curso, para el encabezado
+ * {@code Server-Timing} y el log de tiempos.
+ *
+ * La medición se activa por solicitud con {@link #start()}. Sin una
+ * medición activa {@link #current()} entrega una instancia deshabilitada
+ * cuyos métodos retornan de inmediato, sin leer el reloj. Las etapas que se
+ * ejecutan en otro hilo (por ejemplo, en el pool criptográfico) deben
+ * registrarse sobre la instancia obtenida en el hilo de la solicitud.
+ */
+public final class RequestTimings {
+
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+    private static final RequestTimings DISABLED = new RequestTimings(false);
+
+    private final boolean enabled;
+    private final long startedNanos;
+    private final List<String> names = new ArrayList<>();
+    private final List<Long> durations = new ArrayList<>();
+
+    private RequestTimings(boolean enabled) {
+        this.enabled = enabled;
+        this.startedNanos = enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Inicia la medición de la solicitud en el hilo actual.
+     */
+    public static RequestTimings start() {
+        RequestTimings timings = new RequestTimings(true);
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    /**
+     * Termina la medición del hilo actual.
+     */
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Medición de la solicitud del hilo actual, o una deshabilitada si no hay ninguna.
+     */
+    public static RequestTimings current() {
+        RequestTimings timings = CURRENT.get();
+        return timings != null ? timings : DISABLED;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Valor de {@link System#nanoTime()} para iniciar una etapa, o 0 si la medición está deshabilitada.
+     */
+    public long now() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Registra una etapa iniciada en {@code startedNanos} (obtenido de {@link #now()}).
+     *
+     * @param stage        Nombre de la etapa, sin espacios
+     * @param startedNanos Inicio de la etapa
+     */
+    public void record(String stage, long startedNanos) {
+        if (enabled) {
+            add(stage, System.nanoTime() - startedNanos);
+        }
+    }
+
+    /**
+     * Registra una etapa ya medida.
+     *
+     * @param stage Nombre de la etapa, sin espacios
+     * @param nanos Duración de la etapa en nanosegundos
+     */
+    public void add(String stage, long nanos) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (this) {
+            names.add(stage);
+            durations.add(nanos);
+        }
+    }
+
+    /**
+     * Tiempo transcurrido desde el inicio de la medición, en nanosegundos.
+     */
+    public long getElapsedNanos() {
+        return enabled ? System.nanoTime() - startedNanos : 0;
+    }
+
+    /**
+     * Valor del encabezado {@code Server-Timing}: las etapas en orden de
+     * registro y {@code total} (tiempo transcurrido hasta ahora), en milisegundos.
+     */
+    public synchronized String toServerTiming() {
+        StringBuilder header = new StringBuilder();
+        for (int i = 0; i < names.size(); i++) {
+            header.append(names.get(i)).append(";dur=").append(millis(durations.get(i))).append(", ");
+        }
+        return header.append("total;dur=").append(millis(getElapsedNanos())).toString();
+    }
+
+    /**
+     * Campos {@code etapa=duración} para el log de tiempos, comenzando por {@code total}.
+     */
+    public synchronized String toLogFields() {
+        StringBuilder fields = new StringBuilder("total=").append(millis(getElapsedNanos())).append("ms");
+        for (int i = 0; i < names.size(); i++) {
+            fields.append(' ').append(names.get(i)).append('=').append(millis(durations.get(i))).append("ms");
+        }
+        return fields.toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+}
@@ -4,6 +4,7 @@ import cl.bci.ejercicio.dto.PhoneDto;
 import cl.bci.ejercicio.dto.SignUpResponseDto;
 import cl.bci.ejercicio.dto.UserResponseDto;
 import cl.bci.ejercicio.entity.User;
+import cl.bci.ejercicio.jfr.LoginStageEvent;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -12,7 +13,17 @@ public class UserMapper {
 
 
 
+    /**
+     * Convierte el usuario en la respuesta de login. Si la solicitud mide sus
+     * etapas ({@link RequestTimings}), registra la carga de los teléfonos
+     * ({@code phones}) y el descifrado de la contraseña ({@code decrypt}),
+     * que también se emiten como {@link LoginStageEvent} ({@code MAP} y
+     * {@code DECRYPT}) con una grabación de JDK Flight Recorder activa.
+     */
     public static UserResponseDto convertToUserResponse(User user) throws Exception {
+        RequestTimings timings = RequestTimings.current();
+        long phonesStarted = timings.now();
+        LoginStageEvent mapEvent = LoginStageEvent.start(LoginStageEvent.MAP);
         List<PhoneDto> phoneDtos = user.getPhones().stream()
                 .map(phone -> PhoneDto.builder()
                         .number(phone.getNumber())
@@ -20,6 +31,14 @@ public class UserMapper {
                         .contrycode(phone.getContrycode())
                         .build())
                 .collect(Collectors.toList());
+        mapEvent.finish(phoneDtos.size());
+        timings.record("phones", phonesStarted);
+
+        long decryptStarted = timings.now();
+        LoginStageEvent decryptEvent = LoginStageEvent.start(LoginStageEvent.DECRYPT);
+        String password = AESUtil.decrypt(user.getPassword());
+        decryptEvent.finish();
+        timings.record("decrypt", decryptStarted);
 
         return UserResponseDto.builder()
                 .id(user.getId())
@@ -29,7 +48,7 @@ public class UserMapper {
                 .created(user.getCreated())
                 .lastLogin(user.getLastLogin())
                 .token(user.getToken())
-                .password(AESUtil.decrypt(user.getPassword()))
+                .password(password)
                 .isActive(user.getIsActive())
                 .build();
     }
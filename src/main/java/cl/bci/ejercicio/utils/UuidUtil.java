@@ -0,0 +1,51 @@
+package cl.bci.ejercicio.utils;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generación de UUID ordenados por tiempo (versión 7) y conversión al formato
+ * binario de 16 bytes con que Hibernate los almacena, para las consultas que no
+ * pasan por JPA.
+ */
+public final class UuidUtil {
+
+    private static final int COUNTER_BITS = 12;
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+
+    /** Último valor emitido: milisegundos desde la época seguidos del contador de 12 bits. */
+    private static final AtomicLong lastTimestampAndCounter = new AtomicLong();
+
+    private UuidUtil() {
+    }
+
+    /**
+     * UUID versión 7: los primeros 48 bits son el instante en milisegundos y los
+     * 12 siguientes un contador dentro del mismo milisegundo, por lo que los
+     * identificadores emitidos por este proceso son estrictamente crecientes
+     * (también en su forma binaria) y se insertan al final del índice primario.
+     */
+    public static UUID timeOrdered() {
+        long next = lastTimestampAndCounter.updateAndGet(
+                last -> Math.max(System.currentTimeMillis() << COUNTER_BITS, last + 1));
+        long timestamp = next >>> COUNTER_BITS;
+        long counter = next & COUNTER_MASK;
+        long mostSigBits = (timestamp << 16) | 0x7000L | counter;
+        long leastSigBits = (ThreadLocalRandom.current().nextLong() >>> 2) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    public static byte[] toBytes(UUID id) {
+        return ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+
+    public static UUID fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+}
@@ -0,0 +1,33 @@
+-- Usuarios y teléfonos. Los ids de usuario son UUID en binario de 16 bytes.
+
+CREATE TABLE users (
+    id         BINARY(16)   NOT NULL,
+    name       VARCHAR(255) NOT NULL,
+    email      VARCHAR(255) NOT NULL,
+    password   VARCHAR(255) NOT NULL,
+    created    TIMESTAMP    NOT NULL,
+    last_login TIMESTAMP,
+    token      VARCHAR(512),
+    is_active  BOOLEAN      NOT NULL,
+    CONSTRAINT pk_users PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+-- Igual al allocationSize de Phone: Hibernate reserva 50 ids por consulta.
+CREATE SEQUENCE phones_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE phones (
+    id          BIGINT       NOT NULL,
+    number      BIGINT       NOT NULL,
+    city_code   INTEGER      NOT NULL,
+    contry_code VARCHAR(255) NOT NULL,
+    user_id     BINARY(16)   NOT NULL,
+    CONSTRAINT pk_phones PRIMARY KEY (id)
+);
+
+-- El índice se crea antes que la clave foránea para que H2 lo reutilice en
+-- lugar de crear uno propio.
+CREATE INDEX idx_phones_user_id ON phones (user_id);
+CREATE INDEX idx_phones_number ON phones (number);
+
+ALTER TABLE phones ADD CONSTRAINT fk_phones_user FOREIGN KEY (user_id) REFERENCES users (id);
@@ -0,0 +1,5 @@
+-- Email normalizado y su hash (ver EmailUtil). Se completan en V3 y pasan a
+-- ser obligatorios en V4.
+
+ALTER TABLE users ADD COLUMN email_normalized VARCHAR(255);
+ALTER TABLE users ADD COLUMN email_hash BINARY(16);
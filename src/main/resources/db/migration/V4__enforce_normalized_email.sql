@@ -0,0 +1,8 @@
+-- La unicidad del email pasa del email ingresado al hash del email normalizado.
+-- Se conserva el nombre uk_users_email, que el sign-up usa para detectar duplicados.
+
+ALTER TABLE users ALTER COLUMN email_normalized SET NOT NULL;
+ALTER TABLE users ALTER COLUMN email_hash SET NOT NULL;
+
+ALTER TABLE users DROP CONSTRAINT uk_users_email;
+ALTER TABLE users ADD CONSTRAINT uk_users_email UNIQUE (email_hash);
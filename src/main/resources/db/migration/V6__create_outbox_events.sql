@@ -0,0 +1,12 @@
+-- Eventos de usuario pendientes de publicar (patrón outbox). Se insertan en la
+-- misma transacción que el cambio que describen y el relay los elimina una vez
+-- publicados; el id creciente fija el orden de publicación.
+
+CREATE TABLE outbox_events (
+    id      BIGINT AUTO_INCREMENT NOT NULL,
+    user_id BINARY(16)    NOT NULL,
+    type    VARCHAR(32)   NOT NULL,
+    payload VARCHAR(1024) NOT NULL,
+    created TIMESTAMP     NOT NULL,
+    CONSTRAINT pk_outbox_events PRIMARY KEY (id)
+);
@@ -0,0 +1,74 @@
+package cl.bci.ejercicio.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmailBloomFilterTest {
+
+    @Test
+    void mightContain_WhenEmailWasAdded_ShouldReturnTrue() {
+        // Arrange
+        EmailBloomFilter filter = new EmailBloomFilter(10000, 0.01);
+        for (int i = 0; i < 10000; i++) {
+            filter.put("user" + i + "@example.com");
+        }
+
+        // Act & Assert
+        for (int i = 0; i < 10000; i++) {
+            assertTrue(filter.mightContain("user" + i + "@example.com"));
+        }
+        assertEquals(10000, filter.getInsertions());
+    }
+
+    @Test
+    void mightContain_WhenEmailWasNotAdded_ShouldKeepFalsePositivesNearTarget() {
+        // Arrange
+        EmailBloomFilter filter = new EmailBloomFilter(10000, 0.01);
+        for (int i = 0; i < 10000; i++) {
+            filter.put("user" + i + "@example.com");
+        }
+
+        // Act
+        int falsePositives = 0;
+        for (int i = 0; i < 100000; i++) {
+            if (filter.mightContain("other" + i + "@example.com")) {
+                falsePositives++;
+            }
+        }
+
+        // Assert
+        assertTrue(falsePositives / 100000.0 < 0.02, "tasa de falsos positivos: " + falsePositives / 100000.0);
+        assertEquals(0.01, filter.getExpectedFalsePositiveRate(), 0.005);
+    }
+
+    @Test
+    void constructor_WhenSizedForOnePercent_ShouldUseAboutTenBitsPerElement() {
+        // Act
+        EmailBloomFilter filter = new EmailBloomFilter(1000000, 0.01);
+
+        // Assert
+        assertEquals(7, filter.getHashFunctions());
+        assertEquals(EmailBloomFilter.optimalBitSize(1000000, 0.01), filter.getBitSize(), 64);
+        assertEquals(filter.getBitSize() / 8, filter.getMemoryBytes());
+        assertTrue(filter.getMemoryBytes() < 1250000);
+    }
+
+    @Test
+    void getExpectedFalsePositiveRate_WhenEmpty_ShouldReturnZero() {
+        // Arrange
+        EmailBloomFilter filter = new EmailBloomFilter(100, 0.01);
+
+        // Act & Assert
+        assertEquals(0.0, filter.getExpectedFalsePositiveRate());
+        assertFalse(filter.mightContain("test@example.com"));
+    }
+
+    @Test
+    void constructor_WhenFalsePositiveRateOutOfRange_ShouldThrowIllegalArgumentException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new EmailBloomFilter(100, 0));
+        assertThrows(IllegalArgumentException.class, () -> new EmailBloomFilter(100, 1));
+        assertThrows(IllegalArgumentException.class, () -> new EmailBloomFilter(0, 0.01));
+    }
+}
@@ -0,0 +1,107 @@
+package cl.bci.ejercicio.cache;
+
+import cl.bci.ejercicio.entity.Phone;
+import cl.bci.ejercicio.entity.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LoginResponseCacheInvalidatorTest {
+
+    private static final String TEST_EMAIL = "test@example.com";
+
+    @Mock
+    private LoginResponseCache loginResponseCache;
+
+    @InjectMocks
+    private LoginResponseCacheInvalidator invalidator;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void onChange_WhenUserUpdated_ShouldInvalidateItsEmail() {
+        // Act
+        invalidator.onChange(User.builder().email(TEST_EMAIL).build());
+
+        // Assert
+        verify(loginResponseCache).invalidate(TEST_EMAIL);
+    }
+
+    @Test
+    void onChange_WhenUserEmailHasUpperCase_ShouldInvalidateNormalizedEmail() {
+        // Act
+        invalidator.onChange(User.builder().email("Test@Example.com").build());
+
+        // Assert
+        verify(loginResponseCache).invalidate(TEST_EMAIL);
+    }
+
+    @Test
+    void onChange_WhenInsideTransaction_ShouldInvalidateAgainAfterCompletion() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        invalidator.onChange(User.builder().email(TEST_EMAIL).build());
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+
+        // Assert
+        verify(loginResponseCache, times(2)).invalidate(TEST_EMAIL);
+    }
+
+    @Test
+    void onPersist_WhenPhoneAddedToUser_ShouldInvalidateUserEmail() {
+        // Arrange
+        User user = User.builder().email(TEST_EMAIL).build();
+
+        // Act
+        invalidator.onPersist(Phone.builder().user(user).build());
+
+        // Assert
+        verify(loginResponseCache).invalidate(TEST_EMAIL);
+    }
+
+    @Test
+    void onPersist_WhenUserCreated_ShouldNotInvalidate() {
+        // Act
+        invalidator.onPersist(User.builder().email(TEST_EMAIL).build());
+
+        // Assert
+        verifyNoInteractions(loginResponseCache);
+    }
+
+    @Test
+    void onChange_WhenPhoneWithoutUser_ShouldInvalidateAll() {
+        // Act
+        invalidator.onChange(Phone.builder().build());
+
+        // Assert
+        verify(loginResponseCache).invalidateAll();
+    }
+
+    @Test
+    void onChange_WhenCacheNotAvailable_ShouldDoNothing() {
+        // Arrange
+        ReflectionTestUtils.setField(invalidator, "loginResponseCache", null);
+
+        // Act & Assert
+        invalidator.onChange(User.builder().email(TEST_EMAIL).build());
+        verifyNoInteractions(loginResponseCache);
+    }
+}
@@ -0,0 +1,184 @@
+package cl.bci.ejercicio.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginResponseCacheTest {
+
+    private static final UUID USER_ID = UUID.randomUUID();
+    private static final LocalDateTime LAST_LOGIN = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @Test
+    void put_WhenBodyHasNullLastLogin_ShouldRenderWithPatchedValue() {
+        // Arrange
+        LoginResponseCache cache = new LoginResponseCache(1024);
+        long epoch = cache.currentEpoch();
+
+        // Act
+        cache.put("test@example.com", USER_ID, LAST_LOGIN, null,
+                json("{\"id\":1,\"lastLogin\":null,\"name\":\"Test\"}"), epoch);
+        LoginResponseCache.Entry entry = cache.get("test@example.com");
+
+        // Assert
+        assertNotNull(entry);
+        assertEquals(USER_ID, entry.getUserId());
+        assertEquals(LAST_LOGIN, entry.getLastLogin());
+        assertEquals("{\"id\":1,\"lastLogin\":\"2024-01-01T12:00:00\",\"name\":\"Test\"}",
+                text(entry.render(json("\"2024-01-01T12:00:00\""), json("\"ignored\""))));
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    void put_WhenBodyHasNullPassword_ShouldStoreEncryptedPasswordAndSpliceItOnRender() {
+        // Arrange
+        LoginResponseCache cache = new LoginResponseCache(1024);
+        byte[] body = json("{\"lastLogin\":null,\"name\":\"Test\",\"password\":null,\"phones\":[]}");
+
+        // Act
+        LoginResponseCache.Entry entry = cache.put("test@example.com", USER_ID, LAST_LOGIN, "cifrada", body,
+                cache.currentEpoch());
+
+        // Assert
+        assertEquals("cifrada", entry.getEncryptedPassword());
+        assertEquals("{\"lastLogin\":\"2024-01-01T12:00:00\",\"name\":\"Test\",\"password\":\"Password12\",\"phones\":[]}",
+                text(entry.render(json("\"2024-01-01T12:00:00\""), json("\"Password12\""))));
+        assertEquals(body.length - 2 * "null".length() + "cifrada".length(), cache.getTotalBytes());
+    }
+
+    @Test
+    void put_WhenBodyHasPlaintextPassword_ShouldReturnNullAndNotStore() {
+        // Arrange
+        LoginResponseCache cache = new LoginResponseCache(1024);
+
+        // Act
+        LoginResponseCache.Entry entry = cache.put("test@example.com", USER_ID, LAST_LOGIN, "cifrada",
+                json("{\"lastLogin\":null,\"password\":\"Password12\"}"), cache.currentEpoch());
+
+        // Assert
+        assertNull(entry);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void put_WhenBodyHasNoNullLastLogin_ShouldReturnNullAndNotStore() {
+        // Arrange
+        LoginResponseCache cache = new LoginResponseCache(1024);
+
+        // Act
+        LoginResponseCache.Entry entry = cache.put("test@example.com", USER_ID, LAST_LOGIN, null,
+                json("{\"lastLogin\":\"2024-01-01T12:00:00\"}"), cache.currentEpoch());
+
+        // Assert
+        assertNull(entry);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void put_WhenEmailInvalidatedAfterLoad_ShouldNotStoreStaleEntry() {
+        // Arrange
+        LoginResponseCache cache = new LoginResponseCache(1024);
+        long epoch = cache.currentEpoch();
+        cache.invalidate("test@example.com");
+
+        // Act
+        LoginResponseCache.Entry entry = cache.put("test@example.com", USER_ID, LAST_LOGIN, null,
+                json("{\"lastLogin\":null}"), epoch);
+
+        // Assert
+        assertNotNull(entry);
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.getStalePutCount());
+    }
+
+    @Test
+    void put_WhenOtherEmailInvalidatedAfterLoad_ShouldStoreEntry() {
+        // Arrange
+        LoginResponseCache cache = new LoginResponseCache(1024);
+        long epoch = cache.currentEpoch();
+        cache.invalidate("other@example.com");
+
+        // Act
+        cache.put("test@example.com", USER_ID, LAST_LOGIN, null, json("{\"lastLogin\":null}"), epoch);
+
+        // Assert
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void put_WhenAllInvalidatedAfterLoad_ShouldNotStoreEntry() {
+        // Arrange
+        LoginResponseCache cache = new LoginResponseCache(1024);
+        long epoch = cache.currentEpoch();
+        cache.invalidateAll();
+
+        // Act
+        cache.put("test@example.com", USER_ID, LAST_LOGIN, null, json("{\"lastLogin\":null}"), epoch);
+
+        // Assert
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void put_WhenMaxBytesExceeded_ShouldEvictLeastRecentlyUsed() {
+        // Arrange
+        byte[] body = json("{\"lastLogin\":null}");
+        long entrySize = body.length - "null".length();
+        LoginResponseCache cache = new LoginResponseCache(entrySize * 2);
+        cache.put("one@example.com", USER_ID, LAST_LOGIN, null, body, cache.currentEpoch());
+        cache.put("two@example.com", USER_ID, LAST_LOGIN, null, body, cache.currentEpoch());
+        cache.get("one@example.com");
+
+        // Act
+        cache.put("three@example.com", USER_ID, LAST_LOGIN, null, body, cache.currentEpoch());
+
+        // Assert
+        assertEquals(2, cache.size());
+        assertEquals(entrySize * 2, cache.getTotalBytes());
+        assertEquals(1, cache.getEvictionCount());
+        assertNotNull(cache.get("one@example.com"));
+        assertNull(cache.get("two@example.com"));
+        assertNotNull(cache.get("three@example.com"));
+    }
+
+    @Test
+    void invalidate_WhenEntryStored_ShouldRemoveItAndReleaseBytes() {
+        // Arrange
+        LoginResponseCache cache = new LoginResponseCache(1024);
+        cache.put("test@example.com", USER_ID, LAST_LOGIN, null, json("{\"lastLogin\":null}"), cache.currentEpoch());
+
+        // Act
+        cache.invalidate("test@example.com");
+
+        // Assert
+        assertNull(cache.get("test@example.com"));
+        assertEquals(0, cache.getTotalBytes());
+        assertEquals(1, cache.getInvalidationCount());
+    }
+
+    @Test
+    void put_WhenCacheDisabled_ShouldReturnEntryWithoutStoring() {
+        // Arrange
+        LoginResponseCache cache = new LoginResponseCache(0);
+
+        // Act
+        LoginResponseCache.Entry entry = cache.put("test@example.com", USER_ID, LAST_LOGIN, null,
+                json("{\"lastLogin\":null}"), cache.currentEpoch());
+
+        // Assert
+        assertNotNull(entry);
+        assertEquals(0, cache.size());
+    }
+
+    private static byte[] json(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(byte[] value) {
+        return new String(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,99 @@
+package cl.bci.ejercicio.cache;
+
+import cl.bci.ejercicio.entity.User;
+import cl.bci.ejercicio.repository.UserRepository;
+import cl.bci.ejercicio.utils.AESUtil;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(SecondLevelCacheStatistics.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheStatisticsTest {
+
+    private static final String TEST_EMAIL = "stats@example.com";
+
+    @Autowired
+    private SecondLevelCacheStatistics secondLevelCacheStatistics;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // Arrange - Configuración común
+        userRepository.save(User.builder()
+                .name("Test User")
+                .email(TEST_EMAIL)
+                .password(AESUtil.encrypt("Testpass12"))
+                .isActive(true)
+                .build());
+        entityManagerFactory.getCache().unwrap(Cache.class).evictAllRegions();
+        entityManagerFactory.unwrap(SessionFactory.class).getStatistics().clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+        entityManagerFactory.getCache().unwrap(Cache.class).evictAllRegions();
+    }
+
+    @Test
+    void getRegions_WhenUserLoadedTwice_ShouldReportMissThenHit() {
+        // Act
+        userRepository.findByNaturalEmail(TEST_EMAIL);
+        userRepository.findByNaturalEmail(TEST_EMAIL);
+        List<SecondLevelCacheStatistics.RegionStatistics> regions = secondLevelCacheStatistics.getRegions();
+
+        // Assert
+        assertEquals(SecondLevelCacheStatistics.REGIONS.size(), regions.size());
+        SecondLevelCacheStatistics.RegionStatistics users = regions.stream()
+                .filter(region -> User.CACHE_REGION.equals(region.getRegion()))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(1, users.getHitCount());
+        assertEquals(1, users.getPutCount());
+        // La primera carga usa el fetch join, no una consulta por natural id
+        assertEquals(0, secondLevelCacheStatistics.getNaturalIdQueryCount());
+    }
+
+    @Test
+    void getHitRatio_WhenNoRequests_ShouldReturnZero() {
+        // Arrange
+        SecondLevelCacheStatistics.RegionStatistics stats = SecondLevelCacheStatistics.RegionStatistics.builder()
+                .region(User.CACHE_REGION)
+                .build();
+
+        // Act & Assert
+        assertEquals(0.0, stats.getHitRatio());
+    }
+
+    @Test
+    void getHitRatio_WhenHitsAndMisses_ShouldReturnProportion() {
+        // Arrange
+        SecondLevelCacheStatistics.RegionStatistics stats = SecondLevelCacheStatistics.RegionStatistics.builder()
+                .region(User.CACHE_REGION)
+                .hitCount(3)
+                .missCount(1)
+                .build();
+
+        // Act & Assert
+        assertEquals(0.75, stats.getHitRatio());
+    }
+}
@@ -0,0 +1,86 @@
+package cl.bci.ejercicio.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerifiedTokenCacheTest {
+
+    private static final long FAR_FUTURE = Long.MAX_VALUE;
+
+    @Test
+    void get_WhenTokenWasStored_ShouldReturnSubjectAndCountHit() {
+        // Arrange
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, 60000);
+        cache.put("token-1", "test@example.com", FAR_FUTURE);
+
+        // Act
+        String subject = cache.get("token-1");
+
+        // Assert
+        assertEquals("test@example.com", subject);
+        assertEquals(1, cache.getHitCount());
+        assertEquals(0, cache.getMissCount());
+    }
+
+    @Test
+    void get_WhenTokenIsUnknown_ShouldReturnNullAndCountMiss() {
+        // Arrange
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, 60000);
+
+        // Act
+        String subject = cache.get("unknown-token");
+
+        // Assert
+        assertNull(subject);
+        assertEquals(0, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    void put_WhenTokenAlreadyExpired_ShouldNotStoreEntry() {
+        // Arrange
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, 60000);
+
+        // Act
+        cache.put("expired-token", "test@example.com", System.currentTimeMillis() - 1000);
+
+        // Assert
+        assertEquals(0, cache.size());
+        assertNull(cache.get("expired-token"));
+    }
+
+    @Test
+    void get_WhenTokenExpirationPassed_ShouldReturnNullAndRemoveEntry() throws Exception {
+        // Arrange
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, 60000);
+        cache.put("short-token", "test@example.com", System.currentTimeMillis() + 20);
+        Thread.sleep(40);
+
+        // Act
+        String subject = cache.get("short-token");
+
+        // Assert
+        assertNull(subject);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void put_WhenMaxSizeExceeded_ShouldEvictLeastRecentlyUsed() {
+        // Arrange
+        VerifiedTokenCache cache = new VerifiedTokenCache(2, 60000);
+        cache.put("token-1", "one@example.com", FAR_FUTURE);
+        cache.put("token-2", "two@example.com", FAR_FUTURE);
+        cache.get("token-1");
+
+        // Act
+        cache.put("token-3", "three@example.com", FAR_FUTURE);
+
+        // Assert
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals("one@example.com", cache.get("token-1"));
+        assertNull(cache.get("token-2"));
+        assertEquals("three@example.com", cache.get("token-3"));
+    }
+}
@@ -0,0 +1,69 @@
+package cl.bci.ejercicio.controller;
+
+import cl.bci.ejercicio.dto.SignUpRequestDto;
+import cl.bci.ejercicio.dto.SignUpResponseDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+class MetricsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void prometheus_AfterSignUpAndLogin_ShouldExposeTimersHistogramsAndPoolGauges() throws Exception {
+        // Arrange
+        SignUpRequestDto request = new SignUpRequestDto();
+        request.setName("Metrics User");
+        request.setEmail("metrics.user@example.com");
+        request.setPassword("Testpass12");
+        request.setPhones(Collections.emptyList());
+        String body = mockMvc.perform(post("/v1/bci/sign-up")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        String token = objectMapper.readValue(body, SignUpResponseDto.class).getToken();
+        mockMvc.perform(post("/v1/bci/login").header("token", token)).andExpect(status().isOk());
+
+        // Act
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // Assert
+        assertTrue(scrape.contains("http_server_requests_seconds_bucket{"), "http.server.requests");
+        assertTrue(scrape.contains("uri=\"/v1/bci/sign-up\""), "sign-up uri");
+        assertTrue(scrape.contains("bci_user_signup_seconds_bucket{"), "bci.user.signup");
+        assertTrue(scrape.contains("bci_user_login_seconds_count{"), "bci.user.login");
+        assertTrue(scrape.contains("bci_jwt_seconds_bucket{"), "bci.jwt");
+        assertTrue(scrape.contains("bci_crypto_aes_seconds_bucket{"), "bci.crypto.aes");
+        assertTrue(scrape.contains("spring_data_repository_invocations_seconds_bucket{"), "repositories");
+        assertTrue(scrape.contains("hikaricp_connections_active{"), "hikaricp active");
+        assertTrue(scrape.contains("hikaricp_connections_idle{"), "hikaricp idle");
+        assertTrue(scrape.contains("hikaricp_connections_pending{"), "hikaricp pending");
+        assertTrue(scrape.contains("bci_signup_stage_seconds_count{"), "signup stages");
+        assertTrue(scrape.contains("bci_last_login_pending"), "last login buffer");
+        assertTrue(scrape.contains("bci_outbox_pending"), "outbox");
+        assertTrue(scrape.contains("executor_active_threads{"), "crypto executor");
+    }
+}
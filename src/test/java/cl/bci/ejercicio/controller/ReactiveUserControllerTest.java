@@ -0,0 +1,166 @@
+package cl.bci.ejercicio.controller;
+
+import cl.bci.ejercicio.dto.PhoneDto;
+import cl.bci.ejercicio.dto.SignUpRequestDto;
+import cl.bci.ejercicio.dto.SignUpResponseDto;
+import cl.bci.ejercicio.dto.UserResponseDto;
+import cl.bci.ejercicio.exception.UserAlReadyExist;
+import cl.bci.ejercicio.service.ReactiveUserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(ReactiveUserController.class)
+@ActiveProfiles("reactive")
+class ReactiveUserControllerTest {
+
+    @MockBean
+    private ReactiveUserService reactiveUserService;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    private SignUpRequestDto signUpRequestDto;
+    private SignUpResponseDto signUpResponseDto;
+    private UserResponseDto userResponseDto;
+    private PhoneDto phoneDto;
+
+    private final String TEST_EMAIL = "test@example.com";
+    private final String TEST_TOKEN = "test-jwt-token";
+
+    @BeforeEach
+    void setUp() {
+        // Arrange - Configuración común
+        phoneDto = PhoneDto.builder()
+                .number(123456789L)
+                .citycode(1)
+                .contrycode("57")
+                .build();
+
+        signUpRequestDto = new SignUpRequestDto();
+        signUpRequestDto.setName("Test User");
+        signUpRequestDto.setEmail(TEST_EMAIL);
+        signUpRequestDto.setPassword("Testpass12");
+        signUpRequestDto.setPhones(Arrays.asList(phoneDto));
+
+        signUpResponseDto = SignUpResponseDto.builder()
+                .id(UUID.randomUUID())
+                .created(LocalDateTime.now())
+                .lastLogin(LocalDateTime.now())
+                .isActive(true)
+                .token(TEST_TOKEN)
+                .build();
+
+        userResponseDto = UserResponseDto.builder()
+                .id(UUID.randomUUID())
+                .name("Test User")
+                .email(TEST_EMAIL)
+                .password("Testpass12")
+                .phones(Arrays.asList(phoneDto))
+                .created(LocalDateTime.now())
+                .lastLogin(LocalDateTime.now())
+                .token(TEST_TOKEN)
+                .isActive(true)
+                .build();
+    }
+
+    @Test
+    void signUp_WhenValidRequest_ShouldReturnCreatedStatus() {
+        // Arrange
+        when(reactiveUserService.signUp(any(SignUpRequestDto.class))).thenReturn(Mono.just(signUpResponseDto));
+
+        // Act & Assert
+        webTestClient.post().uri("/v1/bci/sign-up")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(signUpRequestDto)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(signUpResponseDto.getId().toString())
+                .jsonPath("$.token").isEqualTo(TEST_TOKEN)
+                .jsonPath("$.isActive").isEqualTo(true);
+    }
+
+    @Test
+    void signUp_WhenInvalidEmail_ShouldReturnBadRequest() {
+        // Arrange
+        signUpRequestDto.setEmail("invalid-email");
+
+        // Act & Assert
+        webTestClient.post().uri("/v1/bci/sign-up")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(signUpRequestDto)
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verifyNoInteractions(reactiveUserService);
+    }
+
+    @Test
+    void signUp_WhenInvalidPassword_ShouldReturnBadRequestWithValidationDetail() {
+        // Arrange
+        signUpRequestDto.setPassword("invalid");
+
+        // Act & Assert
+        webTestClient.post().uri("/v1/bci/sign-up")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(signUpRequestDto)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.codigo").isEqualTo(400)
+                .jsonPath("$.detail").isNotEmpty();
+    }
+
+    @Test
+    void signUp_WhenUserAlreadyExists_ShouldReturnBadRequest() {
+        // Arrange
+        when(reactiveUserService.signUp(any(SignUpRequestDto.class)))
+                .thenReturn(Mono.error(new UserAlReadyExist("Ya existe un usuario activo registrado con el mismo email")));
+
+        // Act & Assert
+        webTestClient.post().uri("/v1/bci/sign-up")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(signUpRequestDto)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.detail").isEqualTo("Ya existe un usuario activo registrado con el mismo email");
+    }
+
+    @Test
+    void login_WhenValidToken_ShouldReturnOkStatus() throws Exception {
+        // Arrange
+        when(reactiveUserService.loginSerialized(TEST_TOKEN))
+                .thenReturn(Mono.just(new ObjectMapper().findAndRegisterModules().writeValueAsBytes(userResponseDto)));
+
+        // Act & Assert
+        webTestClient.post().uri("/v1/bci/login")
+                .header("token", TEST_TOKEN)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(userResponseDto.getId().toString())
+                .jsonPath("$.name").isEqualTo("Test User")
+                .jsonPath("$.email").isEqualTo(TEST_EMAIL)
+                .jsonPath("$.token").isEqualTo(TEST_TOKEN)
+                .jsonPath("$.isActive").isEqualTo(true);
+    }
+}
@@ -0,0 +1,106 @@
+package cl.bci.ejercicio.controller;
+
+import cl.bci.ejercicio.service.UserBatchService;
+import cl.bci.ejercicio.service.UserImportService;
+import cl.bci.ejercicio.service.UserService;
+import cl.bci.ejercicio.utils.RequestTimings;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class ServerTimingFilterTest {
+
+    private static final String TEST_TOKEN = "test-jwt-token";
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private UserBatchService userBatchService;
+
+    @Mock
+    private UserImportService userImportService;
+
+    @InjectMocks
+    private UserController userController;
+
+    private ServerTimingFilter serverTimingFilter;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // Arrange - Configuración común
+        serverTimingFilter = new ServerTimingFilter();
+        ReflectionTestUtils.setField(serverTimingFilter, "enabled", false);
+        ReflectionTestUtils.setField(serverTimingFilter, "debugEnabled", true);
+        ReflectionTestUtils.setField(serverTimingFilter, "debugHeader", "X-Debug-Timing");
+        ReflectionTestUtils.setField(serverTimingFilter, "logSampleRate", 0.0);
+        mockMvc = MockMvcBuilders.standaloneSetup(userController)
+                .setControllerAdvice(new ServerTimingAdvice())
+                .addFilters(serverTimingFilter)
+                .build();
+
+        when(userService.loginSerialized(TEST_TOKEN)).thenAnswer(invocation -> {
+            RequestTimings.current().add("jwt", 412_000);
+            return "{}".getBytes(StandardCharsets.UTF_8);
+        });
+    }
+
+    @Test
+    void login_WhenDebugHeaderPresent_ShouldAddServerTimingHeader() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/v1/bci/login")
+                        .header("token", TEST_TOKEN)
+                        .header("X-Debug-Timing", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Server-Timing", startsWith("jwt;dur=0.412, total;dur=")));
+    }
+
+    @Test
+    void login_WhenDebugHeaderPresentButDebugDisabled_ShouldNotAddServerTimingHeader() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(serverTimingFilter, "debugEnabled", false);
+
+        // Act & Assert
+        mockMvc.perform(post("/v1/bci/login")
+                        .header("token", TEST_TOKEN)
+                        .header("X-Debug-Timing", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Server-Timing"));
+    }
+
+    @Test
+    void login_WhenTimingEnabled_ShouldAddServerTimingHeaderWithoutDebugHeader() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(serverTimingFilter, "enabled", true);
+
+        // Act & Assert
+        mockMvc.perform(post("/v1/bci/login")
+                        .header("token", TEST_TOKEN))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Server-Timing", startsWith("jwt;dur=0.412, total;dur=")));
+    }
+
+    @Test
+    void login_WhenTimingDisabledAndNoDebugHeader_ShouldNotAddServerTimingHeader() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/v1/bci/login")
+                        .header("token", TEST_TOKEN))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Server-Timing"));
+    }
+}
@@ -1,9 +1,14 @@
 package cl.bci.ejercicio.controller;
 
+import cl.bci.ejercicio.dto.BatchSignUpItemResultDto;
+import cl.bci.ejercicio.dto.BatchSignUpResponseDto;
+import cl.bci.ejercicio.dto.ImportEventDto;
 import cl.bci.ejercicio.dto.PhoneDto;
 import cl.bci.ejercicio.dto.SignUpRequestDto;
 import cl.bci.ejercicio.dto.SignUpResponseDto;
 import cl.bci.ejercicio.dto.UserResponseDto;
+import cl.bci.ejercicio.service.UserBatchService;
+import cl.bci.ejercicio.service.UserImportService;
 import cl.bci.ejercicio.service.UserService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,11 +21,15 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -32,6 +41,12 @@ class UserControllerTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private UserBatchService userBatchService;
+
+    @Mock
+    private UserImportService userImportService;
+
     @InjectMocks
     private UserController userController;
 
@@ -139,7 +154,8 @@ class UserControllerTest {
     @Test
     void login_WhenValidToken_ShouldReturnOkStatus() throws Exception {
         // Arrange
-        when(userService.login(anyString())).thenReturn(userResponseDto);
+        when(userService.loginSerialized(anyString()))
+                .thenReturn(new ObjectMapper().findAndRegisterModules().writeValueAsBytes(userResponseDto));
 
         // Act & Assert
         mockMvc.perform(post("/v1/bci/login")
@@ -161,4 +177,61 @@ class UserControllerTest {
         mockMvc.perform(post("/v1/bci/login"))
                 .andExpect(status().isBadRequest());
     }
-} 
\ No newline at end of file
+
+    @Test
+    void signUpBatch_WhenValidRequest_ShouldReturnOkWithPerItemResults() throws Exception {
+        // Arrange
+        BatchSignUpResponseDto batchResponse = BatchSignUpResponseDto.builder()
+                .total(1)
+                .created(1)
+                .failed(0)
+                .results(Arrays.asList(BatchSignUpItemResultDto.builder()
+                        .index(0)
+                        .email(TEST_EMAIL)
+                        .status(BatchSignUpItemResultDto.Status.CREATED)
+                        .id(UUID.randomUUID())
+                        .token(TEST_TOKEN)
+                        .build()))
+                .build();
+        when(userBatchService.signUpBatch(anyList())).thenReturn(batchResponse);
+
+        // Act & Assert
+        mockMvc.perform(post("/v1/bci/sign-up/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Arrays.asList(signUpRequestDto))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(1))
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.results[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.results[0].token").value(TEST_TOKEN));
+    }
+
+    @Test
+    void importUsers_WhenNdjsonBody_ShouldStreamImportEvents() throws Exception {
+        // Arrange
+        String body = objectMapper.writeValueAsString(signUpRequestDto) + "\n";
+        when(userImportService.importUsers(any(InputStream.class), any(OutputStream.class))).thenAnswer(invocation -> {
+            InputStream input = invocation.getArgument(0);
+            OutputStream output = invocation.getArgument(1);
+            String received = new String(input.readAllBytes(), StandardCharsets.UTF_8);
+            ImportEventDto summary = ImportEventDto.builder()
+                    .type(ImportEventDto.Type.SUMMARY)
+                    .processed(received.isEmpty() ? 0L : 1L)
+                    .created(1L)
+                    .failed(0L)
+                    .build();
+            output.write(objectMapper.writeValueAsBytes(summary));
+            output.write('\n');
+            return summary;
+        });
+
+        // Act & Assert
+        mockMvc.perform(post("/v1/bci/import")
+                        .contentType("application/x-ndjson")
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andExpect(jsonPath("$.type").value("SUMMARY"))
+                .andExpect(jsonPath("$.processed").value(1));
+    }
+}
@@ -0,0 +1,125 @@
+package cl.bci.ejercicio.datasource;
+
+import cl.bci.ejercicio.datasource.ReplicaRoutingDataSource.Pool;
+import cl.bci.ejercicio.dto.SignUpRequestDto;
+import cl.bci.ejercicio.dto.UserResponseDto;
+import cl.bci.ejercicio.service.JwtService;
+import cl.bci.ejercicio.service.UserService;
+import cl.bci.ejercicio.utils.AESUtil;
+import cl.bci.ejercicio.utils.EmailUtil;
+import cl.bci.ejercicio.utils.UuidUtil;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=" + ReadReplicaRoutingTest.PRIMARY_URL,
+        "datasource.replica.enabled=true",
+        "datasource.replica.url=" + ReadReplicaRoutingTest.REPLICA_URL,
+        "datasource.replica.max-lag=0",
+        "spring.jpa.show-sql=false"
+})
+class ReadReplicaRoutingTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void migrateReplica() {
+        // En producción el esquema de la réplica llega por replicación
+        Flyway.configure()
+                .dataSource(REPLICA_URL, "sa", "")
+                .locations("classpath:db/migration", "classpath:cl/bci/ejercicio/migration")
+                .load()
+                .migrate();
+    }
+
+    @Test
+    void login_WhenUserOnlyInReplica_ShouldReadFromReplica() throws Exception {
+        // Arrange
+        String email = "replica-only@example.com";
+        insertIntoReplica(email);
+        String token = jwtService.generateToken(email);
+        long replicaConnections = replicaRoutingDataSource.getConnectionCount(Pool.REPLICA);
+
+        // Act
+        UserResponseDto response = userService.login(token);
+
+        // Assert
+        assertEquals(email, response.getEmail());
+        assertEquals("Replica User", response.getName());
+        assertTrue(replicaRoutingDataSource.getConnectionCount(Pool.REPLICA) > replicaConnections);
+        assertNotNull(replicaRoutingDataSource.getPoolState(Pool.REPLICA));
+    }
+
+    @Test
+    void signUp_ShouldWriteToPrimaryOnly() throws Exception {
+        // Arrange
+        String email = "primary-only@example.com";
+        SignUpRequestDto request = new SignUpRequestDto();
+        request.setName("Primary User");
+        request.setEmail(email);
+        request.setPassword("Testpass12");
+        request.setPhones(Collections.emptyList());
+
+        // Act
+        userService.signUp(request);
+
+        // Assert
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM users WHERE email = ?", Integer.class, email));
+        assertEquals(0, countInReplica(email));
+    }
+
+    private static void insertIntoReplica(String email) throws Exception {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        try (Connection connection = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             PreparedStatement insert = connection.prepareStatement("INSERT INTO users "
+                     + "(id, name, email, email_normalized, email_hash, password, created, last_login, token, is_active) "
+                     + "VALUES (?, 'Replica User', ?, ?, ?, ?, ?, ?, 'token', TRUE)")) {
+            insert.setBytes(1, UuidUtil.toBytes(UuidUtil.timeOrdered()));
+            insert.setString(2, email);
+            insert.setString(3, EmailUtil.normalize(email));
+            insert.setBytes(4, EmailUtil.hash(email));
+            insert.setString(5, AESUtil.encrypt("Testpass12"));
+            insert.setTimestamp(6, now);
+            insert.setTimestamp(7, now);
+            insert.executeUpdate();
+        }
+    }
+
+    private static int countInReplica(String email) throws Exception {
+        try (Connection connection = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             PreparedStatement query = connection.prepareStatement("SELECT COUNT(*) FROM users WHERE email = ?")) {
+            query.setString(1, email);
+            try (ResultSet resultSet = query.executeQuery()) {
+                resultSet.next();
+                return resultSet.getInt(1);
+            }
+        }
+    }
+}
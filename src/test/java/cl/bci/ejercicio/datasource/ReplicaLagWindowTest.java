@@ -0,0 +1,177 @@
+package cl.bci.ejercicio.datasource;
+
+import cl.bci.ejercicio.datasource.ReplicaRoutingDataSource.Pool;
+import cl.bci.ejercicio.dto.SignUpRequestDto;
+import cl.bci.ejercicio.dto.SignUpResponseDto;
+import cl.bci.ejercicio.dto.UserResponseDto;
+import cl.bci.ejercicio.outbox.OutboxRelay;
+import cl.bci.ejercicio.service.JwtService;
+import cl.bci.ejercicio.service.LastLoginBuffer;
+import cl.bci.ejercicio.service.UserService;
+import cl.bci.ejercicio.utils.AESUtil;
+import cl.bci.ejercicio.utils.EmailUtil;
+import cl.bci.ejercicio.utils.UuidUtil;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.persistence.EntityManagerFactory;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=" + ReplicaLagWindowTest.PRIMARY_URL,
+        "datasource.replica.enabled=true",
+        "datasource.replica.url=" + ReplicaLagWindowTest.REPLICA_URL,
+        "datasource.replica.max-lag=60000",
+        "outbox.enabled=true",
+        "spring.jpa.show-sql=false"
+})
+class ReplicaLagWindowTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:lag-window-primary;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:lag-window-replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private LastLoginBuffer lastLoginBuffer;
+
+    @Autowired
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeAll
+    static void migrateReplica() {
+        // En producción el esquema de la réplica llega por replicación
+        Flyway.configure()
+                .dataSource(REPLICA_URL, "sa", "")
+                .locations("classpath:db/migration", "classpath:cl/bci/ejercicio/migration")
+                .load()
+                .migrate();
+    }
+
+    @Test
+    void login_WhenOtherUserJustSignedUp_ShouldReadFromReplica() throws Exception {
+        // Arrange
+        insertUser(REPLICA_URL, "lag-reader@example.com");
+        SignUpResponseDto writer = userService.signUp(request("lag-writer@example.com"));
+        long replicaConnections = replicaRoutingDataSource.getConnectionCount(Pool.REPLICA);
+        long lagRedirects = replicaRoutingDataSource.getLagRedirectCount();
+
+        // Act
+        UserResponseDto reader = userService.login(jwtService.generateToken("lag-reader@example.com"));
+
+        // Assert
+        assertEquals("lag-reader@example.com", reader.getEmail());
+        assertTrue(replicaRoutingDataSource.getConnectionCount(Pool.REPLICA) > replicaConnections);
+        assertEquals(lagRedirects, replicaRoutingDataSource.getLagRedirectCount());
+        assertNotNull(writer.getToken());
+    }
+
+    @Test
+    void login_WhenSameUserJustSignedUp_ShouldReadFromPrimary() throws Exception {
+        // Arrange
+        SignUpResponseDto created = userService.signUp(request("lag-own@example.com"));
+        long replicaConnections = replicaRoutingDataSource.getConnectionCount(Pool.REPLICA);
+        long lagRedirects = replicaRoutingDataSource.getLagRedirectCount();
+        // La réplica no recibe el usuario: solo el primario puede atender el login
+        entityManagerFactory.getCache().evictAll();
+
+        // Act
+        UserResponseDto response = userService.login(created.getToken());
+
+        // Assert
+        assertEquals("lag-own@example.com", response.getEmail());
+        assertEquals(replicaConnections, replicaRoutingDataSource.getConnectionCount(Pool.REPLICA));
+        assertEquals(lagRedirects + 1, replicaRoutingDataSource.getLagRedirectCount());
+    }
+
+    @Test
+    void login_WhenOnlyBackgroundJobsWrote_ShouldReadFromReplica() throws Exception {
+        // Arrange
+        insertUser(REPLICA_URL, "lag-first@example.com");
+        insertUser(REPLICA_URL, "lag-second@example.com");
+        insertOutboxEvent();
+        outboxRelay.relay();
+        long replicaConnections = replicaRoutingDataSource.getConnectionCount(Pool.REPLICA);
+        long lagRedirects = replicaRoutingDataSource.getLagRedirectCount();
+
+        // Act
+        UserResponseDto first = userService.login(jwtService.generateToken("lag-first@example.com"));
+        long afterFirst = replicaRoutingDataSource.getConnectionCount(Pool.REPLICA);
+        lastLoginBuffer.flush();
+        outboxRelay.relay();
+        UserResponseDto second = userService.login(jwtService.generateToken("lag-second@example.com"));
+
+        // Assert
+        assertEquals("lag-first@example.com", first.getEmail());
+        assertEquals("lag-second@example.com", second.getEmail());
+        assertTrue(afterFirst > replicaConnections);
+        assertTrue(replicaRoutingDataSource.getConnectionCount(Pool.REPLICA) > afterFirst);
+        assertEquals(lagRedirects, replicaRoutingDataSource.getLagRedirectCount());
+        assertEquals(0, countOutboxEvents());
+    }
+
+    private static SignUpRequestDto request(String email) {
+        SignUpRequestDto request = new SignUpRequestDto();
+        request.setName("Primary User");
+        request.setEmail(email);
+        request.setPassword("Testpass12");
+        request.setPhones(Collections.emptyList());
+        return request;
+    }
+
+    private static void insertUser(String url, String email) throws Exception {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             PreparedStatement insert = connection.prepareStatement("INSERT INTO users "
+                     + "(id, name, email, email_normalized, email_hash, password, created, last_login, token, is_active) "
+                     + "VALUES (?, 'Replica User', ?, ?, ?, ?, ?, ?, 'token', TRUE)")) {
+            insert.setBytes(1, UuidUtil.toBytes(UuidUtil.timeOrdered()));
+            insert.setString(2, email);
+            insert.setString(3, EmailUtil.normalize(email));
+            insert.setBytes(4, EmailUtil.hash(email));
+            insert.setString(5, AESUtil.encrypt("Testpass12"));
+            insert.setTimestamp(6, now);
+            insert.setTimestamp(7, now);
+            insert.executeUpdate();
+        }
+    }
+
+    private static void insertOutboxEvent() throws Exception {
+        try (Connection connection = DriverManager.getConnection(PRIMARY_URL, "sa", "");
+             PreparedStatement insert = connection.prepareStatement(
+                     "INSERT INTO outbox_events (user_id, type, payload, created) VALUES (?, 'USER_CREATED', '{}', ?)")) {
+            insert.setBytes(1, UuidUtil.toBytes(UuidUtil.timeOrdered()));
+            insert.setTimestamp(2, new Timestamp(System.currentTimeMillis()));
+            insert.executeUpdate();
+        }
+    }
+
+    private static int countOutboxEvents() throws Exception {
+        try (Connection connection = DriverManager.getConnection(PRIMARY_URL, "sa", "");
+             PreparedStatement query = connection.prepareStatement("SELECT COUNT(*) FROM outbox_events");
+             ResultSet resultSet = query.executeQuery()) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package cl.bci.ejercicio.datasource;
+
+import cl.bci.ejercicio.datasource.ReplicaRoutingDataSource.Pool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replica;
+
+    @Mock
+    private Connection primaryConnection;
+
+    @Mock
+    private Connection replicaConnection;
+
+    @BeforeEach
+    void setUp() {
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clear();
+    }
+
+    @Test
+    void getConnection_WhenReadOnlyTransaction_ShouldUseReplica() throws Exception {
+        // Arrange
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, replica, 0, true);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // Act
+        Connection connection = dataSource.getConnection();
+
+        // Assert
+        assertSame(replicaConnection, connection);
+        assertEquals(1, dataSource.getConnectionCount(Pool.REPLICA));
+        assertEquals(0, dataSource.getConnectionCount(Pool.PRIMARY));
+    }
+
+    @Test
+    void getConnection_WhenWriteTransaction_ShouldUsePrimary() throws Exception {
+        // Arrange
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, replica, 0, true);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        // Act
+        Connection connection = dataSource.getConnection();
+
+        // Assert
+        assertSame(primaryConnection, connection);
+        assertEquals(1, dataSource.getConnectionCount(Pool.PRIMARY));
+        assertEquals(0, dataSource.getConnectionCount(Pool.REPLICA));
+    }
+
+    @Test
+    void getConnection_WhenUserReadWithinMaxLagOfItsWrite_ShouldUsePrimary() throws Exception {
+        // Arrange
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, replica, 60000, true);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        dataSource.recordWrite("a@example.com");
+        commit();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // Act
+        Connection connection = readAs(dataSource, "a@example.com");
+
+        // Assert
+        assertSame(primaryConnection, connection);
+        assertEquals(1, dataSource.getLagRedirectCount());
+        assertEquals(0, dataSource.getConnectionCount(Pool.REPLICA));
+    }
+
+    @Test
+    void getConnection_WhenOtherUserWroteWithinMaxLag_ShouldUseReplica() throws Exception {
+        // Arrange
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, replica, 60000, true);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        dataSource.recordWrite("a@example.com");
+        commit();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // Act
+        Connection userB = readAs(dataSource, "b@example.com");
+        Connection anonymous = dataSource.getConnection();
+
+        // Assert
+        assertSame(replicaConnection, userB);
+        assertSame(replicaConnection, anonymous);
+        assertEquals(0, dataSource.getLagRedirectCount());
+    }
+
+    @Test
+    void getConnection_WhenWriteRolledBack_ShouldUseReplica() throws Exception {
+        // Arrange
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, replica, 60000, true);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        dataSource.recordWrite("a@example.com");
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // Act
+        Connection connection = readAs(dataSource, "a@example.com");
+
+        // Assert
+        assertSame(replicaConnection, connection);
+        assertNull(TransactionSynchronizationManager.getResource(dataSource));
+    }
+
+    @Test
+    void getConnection_WhenReadOnlyAndNoRecentWrite_ShouldIgnoreMaxLag() throws Exception {
+        // Arrange
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, replica, 60000, true);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // Act
+        Connection connection = dataSource.getConnection();
+
+        // Assert
+        assertSame(replicaConnection, connection);
+        assertEquals(0, dataSource.getLagRedirectCount());
+    }
+
+    @Test
+    void getConnection_WhenReplicaUnavailable_ShouldFallBackToPrimary() throws Exception {
+        // Arrange
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, replica, 0, true);
+        when(replica.getConnection()).thenThrow(new SQLException("replica caída"));
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // Act
+        Connection connection = dataSource.getConnection();
+
+        // Assert
+        assertSame(primaryConnection, connection);
+        assertEquals(1, dataSource.getReplicaFailureCount());
+        assertEquals(1, dataSource.getConnectionCount(Pool.PRIMARY));
+    }
+
+    @Test
+    void getConnection_WhenReplicaUnavailableAndFallbackDisabled_ShouldThrow() throws Exception {
+        // Arrange
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, replica, 0, false);
+        when(replica.getConnection()).thenThrow(new SQLException("replica caída"));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // Act & Assert
+        assertThrows(SQLException.class, dataSource::getConnection);
+        assertEquals(1, dataSource.getReplicaFailureCount());
+        assertEquals(0, dataSource.getConnectionCount(Pool.PRIMARY));
+    }
+
+    @Test
+    void getConnectionWithCredentials_WhenReadOnlyTransaction_ShouldDelegateToReplica() throws Exception {
+        // Arrange
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, replica, 0, true);
+        when(replica.getConnection("lector", "secreto")).thenReturn(replicaConnection);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // Act
+        Connection connection = dataSource.getConnection("lector", "secreto");
+
+        // Assert
+        assertSame(replicaConnection, connection);
+        assertEquals(1, dataSource.getConnectionCount(Pool.REPLICA));
+    }
+
+    @Test
+    void getConnectionWithCredentials_WhenWriteTransaction_ShouldDelegateToPrimary() throws Exception {
+        // Arrange
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, replica, 0, true);
+        when(primary.getConnection("escritor", "secreto")).thenReturn(primaryConnection);
+
+        // Act
+        Connection connection = dataSource.getConnection("escritor", "secreto");
+
+        // Assert
+        assertSame(primaryConnection, connection);
+        assertEquals(1, dataSource.getConnectionCount(Pool.PRIMARY));
+    }
+
+    @Test
+    void getPoolState_WhenTargetIsNotHikari_ShouldReturnNull() {
+        // Arrange
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, replica, 0, true);
+
+        // Act & Assert
+        assertNull(dataSource.getPoolState(Pool.REPLICA));
+    }
+
+    private static Connection readAs(ReplicaRoutingDataSource dataSource, String email) {
+        return ReplicaRoutingDataSource.callFor(email, () -> {
+            try {
+                return dataSource.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private static void commit() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.initSynchronization();
+    }
+}
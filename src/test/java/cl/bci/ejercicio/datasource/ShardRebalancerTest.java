@@ -0,0 +1,199 @@
+package cl.bci.ejercicio.datasource;
+
+import cl.bci.ejercicio.utils.EmailUtil;
+import cl.bci.ejercicio.utils.UuidUtil;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardRebalancerTest {
+
+    private static final int USERS = 300;
+
+    private List<DriverManagerDataSource> shards;
+
+    @BeforeEach
+    void setUp() {
+        shards = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            DriverManagerDataSource shard = new DriverManagerDataSource(
+                    "jdbc:h2:mem:rebalance" + i + ";DB_CLOSE_DELAY=-1", "sa", "");
+            Flyway.configure()
+                    .dataSource(shard)
+                    .locations("classpath:db/migration", "classpath:cl/bci/ejercicio/migration")
+                    .placeholders(Collections.singletonMap("shard", String.valueOf(i)))
+                    .load()
+                    .migrate();
+            shards.add(shard);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        shards.forEach(shard -> new JdbcTemplate(shard).execute("DROP ALL OBJECTS"));
+    }
+
+    @Test
+    void rebalance_WhenShardAdded_ShouldMoveUsersAndPhonesToNewShard() {
+        // Arrange
+        ShardRouter twoShards = new ShardRouter(2);
+        for (int i = 0; i < USERS; i++) {
+            String email = "user" + i + "@example.com";
+            insertUser(twoShards.shardFor(email), email);
+        }
+        ShardRouter threeShards = new ShardRouter(3);
+        ShardRebalancer rebalancer = new ShardRebalancer(threeShards, shards, 40);
+
+        // Act
+        long moved = rebalancer.rebalance();
+
+        // Assert
+        assertTrue(moved > 0);
+        assertEquals(moved, count(2, "users"));
+        int total = 0;
+        for (int shard = 0; shard < shards.size(); shard++) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(shards.get(shard));
+            for (String email : jdbcTemplate.queryForList("SELECT email FROM users", String.class)) {
+                assertEquals(shard, threeShards.shardFor(email));
+            }
+            assertEquals(count(shard, "users"), count(shard, "phones"));
+            assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM phones p "
+                    + "LEFT JOIN users u ON u.id = p.user_id WHERE u.id IS NULL", Integer.class));
+            total += count(shard, "users");
+        }
+        assertEquals(USERS, total);
+    }
+
+    @Test
+    void rebalance_WhenUsersMoved_ShouldReportIdsAndEmails() {
+        // Arrange
+        ShardRouter twoShards = new ShardRouter(2);
+        for (int i = 0; i < 60; i++) {
+            String email = "User" + i + "@Example.com";
+            insertUser(twoShards.shardFor(email), email);
+        }
+        ShardRouter threeShards = new ShardRouter(3);
+        Map<UUID, String> reported = new LinkedHashMap<>();
+        ShardRebalancer rebalancer = new ShardRebalancer(threeShards, shards, 10, reported::putAll);
+
+        // Act
+        long moved = rebalancer.rebalance();
+
+        // Assert
+        assertEquals(moved, reported.size());
+        JdbcTemplate target = new JdbcTemplate(shards.get(2));
+        for (Map.Entry<UUID, String> user : reported.entrySet()) {
+            assertEquals(user.getValue(), target.queryForObject("SELECT email_normalized FROM users WHERE id = ?",
+                    String.class, (Object) UuidUtil.toBytes(user.getKey())));
+        }
+    }
+
+    @Test
+    void rebalance_WhileCopying_ShouldLockSourceRows() throws Exception {
+        // Arrange
+        ShardRouter twoShards = new ShardRouter(2);
+        for (int i = 0; i < 100; i++) {
+            String email = "user" + i + "@example.com";
+            insertUser(twoShards.shardFor(email), email);
+        }
+        ShardRouter threeShards = new ShardRouter(3);
+        byte[] firstMoved = null;
+        for (Map<String, Object> row : new JdbcTemplate(shards.get(0))
+                .queryForList("SELECT id, email FROM users ORDER BY id")) {
+            if (threeShards.shardFor((String) row.get("email")) == 2) {
+                firstMoved = (byte[]) row.get("id");
+                break;
+            }
+        }
+        byte[] lockedId = firstMoved;
+        List<Exception> concurrentUpdate = new ArrayList<>();
+        AtomicBoolean armed = new AtomicBoolean(true);
+        List<DataSource> observed = new ArrayList<>(shards);
+        observed.set(2, new DelegatingDataSource(shards.get(2)) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                if (armed.getAndSet(false)) {
+                    try (Connection source = DriverManager.getConnection("jdbc:h2:mem:rebalance0", "sa", "");
+                         Statement statement = source.createStatement()) {
+                        statement.execute("SET LOCK_TIMEOUT 200");
+                        PreparedStatement update = source.prepareStatement(
+                                "UPDATE users SET name = 'Concurrent' WHERE id = ?");
+                        update.setBytes(1, lockedId);
+                        update.executeUpdate();
+                    } catch (SQLException e) {
+                        concurrentUpdate.add(e);
+                    }
+                }
+                return super.getConnection();
+            }
+        });
+
+        // Act
+        new ShardRebalancer(threeShards, observed, 40).rebalance();
+
+        // Assert
+        assertEquals(1, concurrentUpdate.size());
+        assertEquals("User", new JdbcTemplate(shards.get(2)).queryForObject(
+                "SELECT name FROM users WHERE id = ?", String.class, (Object) lockedId));
+    }
+
+    @Test
+    void rebalance_WhenUsersInPlace_ShouldMoveNothing() {
+        // Arrange
+        ShardRouter router = new ShardRouter(3);
+        for (int i = 0; i < 50; i++) {
+            String email = "user" + i + "@example.com";
+            insertUser(router.shardFor(email), email);
+        }
+
+        // Act
+        long moved = new ShardRebalancer(router, shards, 10).rebalance();
+
+        // Assert
+        assertEquals(0, moved);
+    }
+
+    @Test
+    void constructor_WhenShardCountDiffers_ShouldThrowException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> new ShardRebalancer(new ShardRouter(2), shards, 10));
+    }
+
+    private void insertUser(int shard, String email) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(shards.get(shard));
+        byte[] id = UuidUtil.toBytes(UuidUtil.timeOrdered());
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        jdbcTemplate.update("INSERT INTO users "
+                        + "(id, name, email, email_normalized, email_hash, password, created, last_login, token, is_active) "
+                        + "VALUES (?, 'User', ?, ?, ?, 'password', ?, ?, 'token', TRUE)",
+                id, email, EmailUtil.normalize(email), EmailUtil.hash(email), now, now);
+        jdbcTemplate.update("INSERT INTO phones (id, number, city_code, contry_code, user_id) "
+                + "VALUES (NEXT VALUE FOR phones_seq, 1234567, 1, '57', ?)", id);
+    }
+
+    private int count(int shard, String table) {
+        return new JdbcTemplate(shards.get(shard)).queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+}
@@ -0,0 +1,137 @@
+package cl.bci.ejercicio.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardRouterTest {
+
+    private static final int USERS = 10_000;
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clear();
+        TransactionSynchronizationManager.unbindResourceIfPossible(ShardContext.class);
+    }
+
+    @Test
+    void shardFor_ShouldDistributeUsersEvenly() {
+        // Arrange
+        ShardRouter router = new ShardRouter(4);
+        int[] counts = new int[4];
+
+        // Act
+        for (int i = 0; i < USERS; i++) {
+            counts[router.shardFor("user" + i + "@example.com")]++;
+        }
+
+        // Assert
+        for (int count : counts) {
+            assertTrue(count > USERS / 4 * 0.9 && count < USERS / 4 * 1.1, Arrays.toString(counts));
+        }
+    }
+
+    @Test
+    void shardFor_ShouldIgnoreEmailCaseAndSpaces() {
+        // Arrange
+        ShardRouter router = new ShardRouter(8);
+
+        // Act & Assert
+        assertEquals(router.shardFor("juan@rodriguez.org"), router.shardFor(" Juan@Rodriguez.ORG "));
+    }
+
+    @Test
+    void shardFor_WhenShardAdded_ShouldOnlyMoveUsersToNewShard() {
+        // Arrange
+        ShardRouter before = new ShardRouter(3);
+        ShardRouter after = new ShardRouter(4);
+        int moved = 0;
+
+        // Act & Assert
+        for (int i = 0; i < USERS; i++) {
+            String email = "user" + i + "@example.com";
+            int previous = before.shardFor(email);
+            int current = after.shardFor(email);
+            if (previous != current) {
+                assertEquals(3, current);
+                moved++;
+            }
+        }
+        assertTrue(moved > USERS / 4 * 0.9 && moved < USERS / 4 * 1.1, String.valueOf(moved));
+    }
+
+    @Test
+    void constructor_WhenNoShards_ShouldThrowException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new ShardRouter(0));
+    }
+
+    @Test
+    void partition_ShouldGroupByShardKeepingOrder() {
+        // Arrange
+        ShardRouter router = new ShardRouter(3);
+        List<String> emails = Arrays.asList("a@example.com", "b@example.com", "c@example.com",
+                "d@example.com", "e@example.com", "f@example.com");
+
+        // Act
+        Map<Integer, List<String>> groups = router.partition(emails, email -> email);
+
+        // Assert
+        assertEquals(emails.size(), groups.values().stream().mapToInt(List::size).sum());
+        groups.forEach((shard, group) -> {
+            group.forEach(email -> assertEquals((int) shard, router.shardFor(email)));
+            assertEquals(emails.stream().filter(group::contains).collect(Collectors.toList()), group);
+        });
+    }
+
+    @Test
+    void callOnShardOf_ShouldRunOnUserShard() {
+        // Arrange
+        ShardRouter router = new ShardRouter(3);
+        String email = "juan@rodriguez.org";
+
+        // Act
+        Integer shard = router.callOnShardOf(email, ShardContext::current);
+
+        // Assert
+        assertEquals(router.shardFor(email), shard);
+        assertNull(ShardContext.current());
+    }
+
+    @Test
+    void callOnShardOf_WhenTransactionOnOtherShard_ShouldThrowException() {
+        // Arrange
+        ShardRouter router = new ShardRouter(16);
+        TransactionSynchronizationManager.initSynchronization();
+        String first = "user0@example.com";
+        String other = "user1@example.com";
+        for (int i = 1; router.shardFor(other) == router.shardFor(first); i++) {
+            other = "user" + i + "@example.com";
+        }
+        router.callOnShardOf(first, ShardContext::current);
+        String second = other;
+
+        // Act & Assert
+        assertEquals(router.shardFor(first), ShardContext.current());
+        assertThrows(IllegalStateException.class, () -> router.callOnShardOf(second, ShardContext::current));
+    }
+
+    @Test
+    void callOnEachShard_ShouldRunOncePerShard() {
+        // Arrange
+        ShardRouter router = new ShardRouter(3);
+
+        // Act
+        List<Integer> shards = router.callOnEachShard(ShardContext::current);
+
+        // Assert
+        assertEquals(Arrays.asList(0, 1, 2), shards);
+    }
+}
@@ -0,0 +1,183 @@
+package cl.bci.ejercicio.datasource;
+
+import cl.bci.ejercicio.cache.LoginResponseCache;
+import cl.bci.ejercicio.dto.BatchSignUpResponseDto;
+import cl.bci.ejercicio.dto.PhoneDto;
+import cl.bci.ejercicio.dto.SignUpRequestDto;
+import cl.bci.ejercicio.dto.SignUpResponseDto;
+import cl.bci.ejercicio.dto.UserResponseDto;
+import cl.bci.ejercicio.service.UserBatchService;
+import cl.bci.ejercicio.entity.User;
+import cl.bci.ejercicio.service.UserService;
+import cl.bci.ejercicio.utils.EmailUtil;
+import cl.bci.ejercicio.utils.UuidUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "datasource.sharding.enabled=true",
+        "datasource.sharding.urls=jdbc:h2:mem:sharding0;DB_CLOSE_DELAY=-1,"
+                + "jdbc:h2:mem:sharding1;DB_CLOSE_DELAY=-1,"
+                + "jdbc:h2:mem:sharding2;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false"
+})
+class ShardingTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserBatchService userBatchService;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private ShardRoutingDataSource shardRoutingDataSource;
+
+    @Autowired
+    private ShardRebalancer shardRebalancer;
+
+    @Autowired
+    private LoginResponseCache loginResponseCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void signUp_ShouldStoreUserAndPhonesInItsShardOnly() throws Exception {
+        // Arrange
+        String email = "sharded.user@example.com";
+
+        // Act
+        SignUpResponseDto response = userService.signUp(request(email));
+        UserResponseDto user = userService.login(response.getToken());
+
+        // Assert
+        assertEquals(email, user.getEmail());
+        assertEquals(1, user.getPhones().size());
+        int shard = shardRouter.shardFor(email);
+        for (int i = 0; i < shardRouter.getShardCount(); i++) {
+            assertEquals(i == shard ? 1 : 0, count(i, "SELECT COUNT(*) FROM users WHERE email = ?", email));
+            assertEquals(i == shard ? 1 : 0, count(i, "SELECT COUNT(*) FROM phones p JOIN users u "
+                    + "ON u.id = p.user_id WHERE u.email = ?", email));
+        }
+    }
+
+    @Test
+    void signUp_WhenEmailAlreadyRegistered_ShouldThrowException() throws Exception {
+        // Arrange
+        userService.signUp(request("repeated.sharded@example.com"));
+
+        // Act & Assert
+        assertThrows(Exception.class, () -> userService.signUp(request("Repeated.Sharded@example.com")));
+    }
+
+    @Test
+    void signUpBatch_ShouldSpreadUsersAcrossShards() throws Exception {
+        // Arrange
+        List<SignUpRequestDto> requests = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            requests.add(request("batch.sharded" + i + "@example.com"));
+        }
+
+        // Act
+        BatchSignUpResponseDto response = userBatchService.signUpBatch(requests);
+
+        // Assert
+        assertEquals(30, response.getCreated());
+        Set<Long> phoneIds = new HashSet<>();
+        int total = 0;
+        for (int i = 0; i < shardRouter.getShardCount(); i++) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(shardRoutingDataSource.getShards().get(i));
+            List<String> emails = jdbcTemplate.queryForList(
+                    "SELECT email FROM users WHERE email LIKE 'batch.sharded%'", String.class);
+            assertFalse(emails.isEmpty());
+            for (String email : emails) {
+                assertEquals(i, shardRouter.shardFor(email));
+            }
+            total += emails.size();
+            phoneIds.addAll(jdbcTemplate.queryForList("SELECT id FROM phones", Long.class));
+        }
+        assertEquals(30, total);
+        assertEquals(phoneIds.size(), countAll("SELECT COUNT(*) FROM phones"));
+    }
+
+    @Test
+    void rebalance_WhenUserMoved_ShouldEvictItFromCaches() throws Exception {
+        // Arrange
+        String email = "moved.sharded@example.com";
+        SignUpResponseDto response = userService.signUp(request(email));
+        userService.loginSerialized(response.getToken());
+        UUID id = response.getId();
+        assertNotNull(loginResponseCache.get(EmailUtil.normalize(email)));
+        assertTrue(entityManagerFactory.getCache().contains(User.class, id));
+        int shard = shardRouter.shardFor(email);
+        copyUser(shard, (shard + 1) % shardRouter.getShardCount(), id);
+
+        // Act
+        long moved = shardRebalancer.rebalance();
+
+        // Assert
+        assertEquals(1, moved);
+        assertNull(loginResponseCache.get(EmailUtil.normalize(email)));
+        assertFalse(entityManagerFactory.getCache().contains(User.class, id));
+        assertEquals(email, userService.login(response.getToken()).getEmail());
+    }
+
+    /**
+     * Deja al usuario en otro shard, como si se hubiera registrado con otra
+     * cantidad de shards.
+     */
+    private void copyUser(int from, int to, UUID id) {
+        JdbcTemplate source = new JdbcTemplate(shardRoutingDataSource.getShards().get(from));
+        JdbcTemplate target = new JdbcTemplate(shardRoutingDataSource.getShards().get(to));
+        byte[] key = UuidUtil.toBytes(id);
+        insertRows(target, "users", source.queryForList("SELECT * FROM users WHERE id = ?", (Object) key));
+        insertRows(target, "phones", source.queryForList("SELECT * FROM phones WHERE user_id = ?", (Object) key));
+        source.update("DELETE FROM phones WHERE user_id = ?", (Object) key);
+        source.update("DELETE FROM users WHERE id = ?", (Object) key);
+    }
+
+    private static void insertRows(JdbcTemplate jdbcTemplate, String table, List<Map<String, Object>> rows) {
+        for (Map<String, Object> row : rows) {
+            jdbcTemplate.update("INSERT INTO " + table + " (" + String.join(", ", row.keySet()) + ") VALUES ("
+                    + String.join(", ", Collections.nCopies(row.size(), "?")) + ")", row.values().toArray());
+        }
+    }
+
+    private int count(int shard, String sql, Object... args) {
+        return new JdbcTemplate(shardRoutingDataSource.getShards().get(shard)).queryForObject(sql, Integer.class, args);
+    }
+
+    private int countAll(String sql) {
+        int total = 0;
+        for (int i = 0; i < shardRouter.getShardCount(); i++) {
+            total += count(i, sql);
+        }
+        return total;
+    }
+
+    private static SignUpRequestDto request(String email) {
+        SignUpRequestDto request = new SignUpRequestDto();
+        request.setName("Sharded User");
+        request.setEmail(email);
+        request.setPassword("Testpass12");
+        request.setPhones(Arrays.asList(PhoneDto.builder().number(1234567L).citycode(1).contrycode("57").build()));
+        return request;
+    }
+}
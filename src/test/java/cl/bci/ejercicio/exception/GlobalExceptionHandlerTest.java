@@ -4,11 +4,13 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.MethodParameter;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.support.WebExchangeBindException;
 
 import javax.validation.ConstraintViolation;
 import javax.validation.ConstraintViolationException;
@@ -66,6 +68,41 @@ class GlobalExceptionHandlerTest {
 
 
 
+    @Test
+    void handleInvalidBatch_WhenInvalidBatchException_ShouldReturnBadRequest() {
+        // Arrange
+        InvalidBatchException exception = new InvalidBatchException("El lote no contiene usuarios");
+
+        // Act
+        ResponseEntity<ApiErrorResponseDto> response = globalExceptionHandler.handleInvalidBatch(exception);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals("El lote no contiene usuarios", response.getBody().getDetail());
+        assertEquals(400, response.getBody().getCodigo());
+        assertNotNull(response.getBody().getTimestamp());
+    }
+
+    @Test
+    void handleWebExchangeBindException_WhenFieldErrors_ShouldReturnConcatenatedMessages() {
+        // Arrange
+        BindingResult bindingResult = mock(BindingResult.class);
+        when(bindingResult.getFieldErrors()).thenReturn(Arrays.asList(
+                new FieldError("request", "email", "Formato de email inválido"),
+                new FieldError("request", "password", "Formato de contraseña inválido")));
+        WebExchangeBindException exception = new WebExchangeBindException(mock(MethodParameter.class), bindingResult);
+
+        // Act
+        ResponseEntity<ApiErrorResponseDto> response = globalExceptionHandler.handleWebExchangeBindException(exception);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals("Formato de email inválido, Formato de contraseña inválido", response.getBody().getDetail());
+        assertEquals(400, response.getBody().getCodigo());
+    }
+
     @Test
     void handleConstraintViolationException_WhenSingleViolation_ShouldReturnBadRequest() {
         // Arrange
@@ -0,0 +1,29 @@
+package cl.bci.ejercicio.exception;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InvalidBatchExceptionTest {
+
+    @Test
+    void constructor_WhenMessageProvided_ShouldSetMessage() {
+        // Arrange
+        String expectedMessage = "El lote no contiene usuarios";
+
+        // Act
+        InvalidBatchException exception = new InvalidBatchException(expectedMessage);
+
+        // Assert
+        assertEquals(expectedMessage, exception.getMessage());
+        assertTrue(exception instanceof RuntimeException);
+    }
+
+    @Test
+    void exception_WhenThrown_ShouldBeRuntimeException() {
+        // Act & Assert
+        assertThrows(InvalidBatchException.class, () -> {
+            throw new InvalidBatchException("Test message");
+        });
+    }
+}
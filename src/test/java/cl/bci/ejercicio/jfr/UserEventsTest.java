@@ -0,0 +1,71 @@
+package cl.bci.ejercicio.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserEventsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void finish_WhenRecordingEnabled_ShouldRecordEventsWithFields() throws Exception {
+        // Arrange
+        Path file = tempDir.resolve("events.jfr");
+
+        // Act
+        try (Recording recording = new Recording()) {
+            recording.enable(SignUpEvent.class);
+            recording.enable(SignUpStageEvent.class);
+            recording.enable(LoginEvent.class);
+            recording.enable(LoginStageEvent.class);
+            recording.start();
+
+            SignUpStageEvent.start(SignUpStageEvent.PERSIST).finish(2);
+            SignUpEvent.start().finish("created", 2);
+            LoginStageEvent.start(LoginStageEvent.MAP).finish(1);
+            LoginEvent.start().finish("not_found");
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        // Assert
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().startsWith("cl.bci.ejercicio."))
+                .collect(Collectors.toList());
+        assertEquals(4, events.size());
+        assertEquals("PERSIST", find(events, "cl.bci.ejercicio.SignUpStage").getString("stage"));
+        assertEquals(2, find(events, "cl.bci.ejercicio.SignUpStage").getInt("phoneCount"));
+        assertEquals("created", find(events, "cl.bci.ejercicio.SignUp").getString("outcome"));
+        assertEquals(2, find(events, "cl.bci.ejercicio.SignUp").getInt("phoneCount"));
+        assertEquals("MAP", find(events, "cl.bci.ejercicio.LoginStage").getString("stage"));
+        assertEquals(1, find(events, "cl.bci.ejercicio.LoginStage").getInt("phoneCount"));
+        assertEquals("not_found", find(events, "cl.bci.ejercicio.Login").getString("outcome"));
+    }
+
+    @Test
+    void finish_WhenNoRecording_ShouldNotFail() {
+        // Act & Assert
+        assertDoesNotThrow(() -> {
+            SignUpEvent.start().finish("error", 0);
+            LoginStageEvent.start(LoginStageEvent.FETCH).finish();
+        });
+    }
+
+    private static RecordedEvent find(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("Sin evento " + name));
+    }
+}
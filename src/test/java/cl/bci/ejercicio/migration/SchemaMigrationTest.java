@@ -0,0 +1,143 @@
+package cl.bci.ejercicio.migration;
+
+import cl.bci.ejercicio.utils.EmailUtil;
+import cl.bci.ejercicio.utils.UuidUtil;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchemaMigrationTest {
+
+    private static final String MEMORY_URL = "jdbc:h2:mem:schema-migration;DB_CLOSE_DELAY=-1";
+
+    @TempDir
+    Path directory;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        try (Connection connection = DriverManager.getConnection(MEMORY_URL, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+    }
+
+    @Test
+    void migrate_WhenInMemoryDatabase_ShouldCreateTablesAndIndexes() throws Exception {
+        // Act
+        migrate(MEMORY_URL, null);
+
+        // Assert
+        assertIndexes(MEMORY_URL);
+    }
+
+    @Test
+    void migrate_WhenFileDatabase_ShouldCreateTablesAndIndexes() throws Exception {
+        // Arrange
+        String url = "jdbc:h2:file:" + directory.resolve("users");
+
+        // Act
+        migrate(url, null);
+
+        // Assert
+        assertIndexes(url);
+    }
+
+    @Test
+    void migrate_WhenUsersExistBeforeNormalization_ShouldFillNormalizedEmailAndHash() throws Exception {
+        // Arrange
+        migrate(MEMORY_URL, "2");
+        UUID id = insertLegacyUser(" Legacy@Example.COM");
+
+        // Act
+        migrate(MEMORY_URL, null);
+
+        // Assert
+        try (Connection connection = DriverManager.getConnection(MEMORY_URL, "sa", "");
+             PreparedStatement select = connection.prepareStatement(
+                     "SELECT email, email_normalized, email_hash FROM users WHERE id = ?")) {
+            select.setBytes(1, UuidUtil.toBytes(id));
+            try (ResultSet rs = select.executeQuery()) {
+                assertTrue(rs.next());
+                assertEquals(" Legacy@Example.COM", rs.getString(1));
+                assertEquals("legacy@example.com", rs.getString(2));
+                assertArrayEquals(EmailUtil.hash("legacy@example.com"), rs.getBytes(3));
+            }
+        }
+    }
+
+    @Test
+    void migrate_WhenUsersDifferOnlyInCase_ShouldFailReportingEmail() throws Exception {
+        // Arrange
+        migrate(MEMORY_URL, "2");
+        insertLegacyUser("dup@example.com");
+        insertLegacyUser("DUP@example.com");
+
+        // Act
+        FlywayException exception = assertThrows(FlywayException.class, () -> migrate(MEMORY_URL, null));
+
+        // Assert
+        Throwable cause = exception;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        assertTrue(cause instanceof IllegalStateException);
+        assertTrue(cause.getMessage().contains("dup@example.com"));
+    }
+
+    private static void migrate(String url, String target) {
+        Flyway.configure()
+                .dataSource(url, "sa", "")
+                .locations("classpath:db/migration", "classpath:cl/bci/ejercicio/migration")
+                .target(target != null ? target : "latest")
+                .load()
+                .migrate();
+    }
+
+    private static void assertIndexes(String url) throws Exception {
+        List<String> indexes = new ArrayList<>();
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT INDEX_NAME, COLUMN_NAME FROM INFORMATION_SCHEMA.INDEXES"
+                     + " WHERE TABLE_SCHEMA = 'PUBLIC' AND TABLE_NAME IN ('USERS', 'PHONES')")) {
+            while (rs.next()) {
+                indexes.add(rs.getString(1) + ":" + rs.getString(2));
+            }
+        }
+        assertTrue(indexes.contains("IDX_PHONES_USER_ID:USER_ID"), indexes.toString());
+        assertTrue(indexes.contains("IDX_PHONES_NUMBER:NUMBER"), indexes.toString());
+        assertTrue(indexes.stream().anyMatch(index -> index.startsWith("UK_USERS_EMAIL") && index.endsWith(":EMAIL_HASH")),
+                indexes.toString());
+        assertEquals(1, indexes.stream().filter(index -> index.endsWith(":USER_ID")).count(), indexes.toString());
+    }
+
+    private static UUID insertLegacyUser(String email) throws Exception {
+        UUID id = UuidUtil.timeOrdered();
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        try (Connection connection = DriverManager.getConnection(MEMORY_URL, "sa", "");
+             PreparedStatement insert = connection.prepareStatement(
+                     "INSERT INTO users (id, name, email, password, created, last_login, is_active)"
+                             + " VALUES (?, 'Legacy User', ?, 'cifrada', ?, ?, TRUE)")) {
+            insert.setBytes(1, UuidUtil.toBytes(id));
+            insert.setString(2, email);
+            insert.setTimestamp(3, now);
+            insert.setTimestamp(4, now);
+            insert.executeUpdate();
+        }
+        return id;
+    }
+}
@@ -0,0 +1,59 @@
+package cl.bci.ejercicio.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileOutboxPublisherTest {
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    void publish_ShouldAppendOneJsonLinePerEvent() throws Exception {
+        // Arrange
+        Path file = directory.resolve("events/outbox.ndjson");
+        OutboxEvent created = event(1L, OutboxEvent.Type.USER_CREATED);
+        OutboxEvent loggedIn = event(2L, OutboxEvent.Type.USER_LOGGED_IN);
+
+        // Act
+        try (FileOutboxPublisher publisher = new FileOutboxPublisher(file, objectMapper)) {
+            publisher.publish(Arrays.asList(created, loggedIn));
+        }
+        try (FileOutboxPublisher publisher = new FileOutboxPublisher(file, objectMapper)) {
+            publisher.publish(Collections.singletonList(event(3L, OutboxEvent.Type.USER_LOGGED_IN)));
+        }
+
+        // Assert
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(3, lines.size());
+        OutboxEvent read = objectMapper.readValue(lines.get(0), OutboxEvent.class);
+        assertEquals(created, read);
+        assertEquals(3L, objectMapper.readValue(lines.get(2), OutboxEvent.class).getId());
+    }
+
+    private static OutboxEvent event(long id, OutboxEvent.Type type) {
+        return OutboxEvent.builder()
+                .id(id)
+                .userId(UUID.randomUUID())
+                .type(type)
+                .payload("{\"email\":\"user@example.com\"}")
+                .created(LocalDateTime.of(2024, 1, 1, 12, 0))
+                .build();
+    }
+}
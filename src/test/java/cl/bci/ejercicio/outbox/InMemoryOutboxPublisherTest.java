@@ -0,0 +1,30 @@
+package cl.bci.ejercicio.outbox;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryOutboxPublisherTest {
+
+    @Test
+    void publish_WhenCapacityExceeded_ShouldKeepMostRecentEvents() {
+        // Arrange
+        InMemoryOutboxPublisher publisher = new InMemoryOutboxPublisher(2);
+
+        // Act
+        publisher.publish(Arrays.asList(event(1L), event(2L)));
+        publisher.publish(Arrays.asList(event(3L)));
+
+        // Assert
+        List<Long> ids = publisher.getEvents().stream().map(OutboxEvent::getId).collect(Collectors.toList());
+        assertEquals(Arrays.asList(2L, 3L), ids);
+    }
+
+    private static OutboxEvent event(long id) {
+        return OutboxEvent.builder().id(id).type(OutboxEvent.Type.USER_CREATED).build();
+    }
+}
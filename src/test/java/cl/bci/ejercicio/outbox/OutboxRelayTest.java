@@ -0,0 +1,173 @@
+package cl.bci.ejercicio.outbox;
+
+import cl.bci.ejercicio.utils.UuidUtil;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutboxRelayTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private InMemoryOutboxPublisher publisher;
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:relay;DB_CLOSE_DELAY=-1", "sa", "");
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration", "classpath:cl/bci/ejercicio/migration")
+                .load()
+                .migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        publisher = new InMemoryOutboxPublisher(100);
+
+        outboxRelay = new OutboxRelay();
+        ReflectionTestUtils.setField(outboxRelay, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(outboxRelay, "transactionManager", new DataSourceTransactionManager(dataSource));
+        ReflectionTestUtils.setField(outboxRelay, "outboxPublisher", publisher);
+        ReflectionTestUtils.setField(outboxRelay, "batchSize", 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void relay_WhenEventsPending_ShouldPublishInOrderInBatchesAndDeleteThem() {
+        // Arrange
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        insert(first, OutboxEvent.Type.USER_CREATED, LocalDateTime.now());
+        insert(second, OutboxEvent.Type.USER_CREATED, LocalDateTime.now());
+        insert(first, OutboxEvent.Type.USER_LOGGED_IN, LocalDateTime.now());
+        insert(second, OutboxEvent.Type.USER_LOGGED_IN, LocalDateTime.now());
+        insert(first, OutboxEvent.Type.USER_LOGGED_IN, LocalDateTime.now());
+
+        // Act
+        int published = outboxRelay.relay();
+
+        // Assert
+        assertEquals(5, published);
+        assertEquals(3, outboxRelay.getBatchCount());
+        assertEquals(5, outboxRelay.getPublishedCount());
+        assertEquals(0, outboxRelay.getPendingCount());
+        List<OutboxEvent> events = publisher.getEvents();
+        assertEquals(Arrays.asList(OutboxEvent.Type.USER_CREATED, OutboxEvent.Type.USER_LOGGED_IN,
+                OutboxEvent.Type.USER_LOGGED_IN), typesOf(events, first));
+        assertEquals(Arrays.asList(OutboxEvent.Type.USER_CREATED, OutboxEvent.Type.USER_LOGGED_IN),
+                typesOf(events, second));
+        List<Long> ids = events.stream().map(OutboxEvent::getId).collect(Collectors.toList());
+        assertEquals(ids.stream().sorted().collect(Collectors.toList()), ids);
+    }
+
+    @Test
+    void relay_WhenPublisherFails_ShouldKeepEventsForNextCycle() {
+        // Arrange
+        List<OutboxEvent> delivered = new ArrayList<>();
+        boolean[] fail = {true};
+        ReflectionTestUtils.setField(outboxRelay, "outboxPublisher", (OutboxPublisher) events -> {
+            if (fail[0]) {
+                throw new IOException("destino no disponible");
+            }
+            delivered.addAll(events);
+        });
+        insert(UUID.randomUUID(), OutboxEvent.Type.USER_CREATED, LocalDateTime.now());
+
+        // Act
+        int firstCycle = outboxRelay.relay();
+        fail[0] = false;
+        int secondCycle = outboxRelay.relay();
+
+        // Assert
+        assertEquals(0, firstCycle);
+        assertEquals(1, secondCycle);
+        assertEquals(1, outboxRelay.getFailureCount());
+        assertEquals(1, delivered.size());
+        assertEquals(0, outboxRelay.getPendingCount());
+    }
+
+    @Test
+    void relay_WhenPublisherFails_ShouldReportRemainingEventsAsPending() {
+        // Arrange
+        ReflectionTestUtils.setField(outboxRelay, "outboxPublisher", (OutboxPublisher) events -> {
+            throw new IOException("destino no disponible");
+        });
+        for (int i = 0; i < 3; i++) {
+            insert(UUID.randomUUID(), OutboxEvent.Type.USER_CREATED, LocalDateTime.now());
+        }
+
+        // Act
+        outboxRelay.relay();
+
+        // Assert
+        assertEquals(3, outboxRelay.getPendingCount());
+    }
+
+    @Test
+    void getPendingCount_ShouldNotQueryDatabase() {
+        // Arrange
+        insert(UUID.randomUUID(), OutboxEvent.Type.USER_CREATED, LocalDateTime.now());
+        outboxRelay.relay();
+        jdbcTemplate.execute("DROP TABLE outbox_events");
+
+        // Act
+        long pending = outboxRelay.getPendingCount();
+
+        // Assert
+        assertEquals(0, pending);
+    }
+
+    @Test
+    void relay_ShouldRecordLagOfPublishedEvents() {
+        // Arrange
+        insert(UUID.randomUUID(), OutboxEvent.Type.USER_CREATED, LocalDateTime.now().minusSeconds(5));
+
+        // Act
+        outboxRelay.relay();
+
+        // Assert
+        assertTrue(outboxRelay.getLastLagMillis() >= 5000);
+        assertEquals(outboxRelay.getLastLagMillis(), outboxRelay.getMaxLagMillis());
+    }
+
+    @Test
+    void relay_WhenNothingPending_ShouldPublishNothing() {
+        // Act
+        int published = outboxRelay.relay();
+
+        // Assert
+        assertEquals(0, published);
+        assertEquals(0, outboxRelay.getBatchCount());
+        assertTrue(publisher.getEvents().isEmpty());
+    }
+
+    private void insert(UUID userId, OutboxEvent.Type type, LocalDateTime created) {
+        jdbcTemplate.update(UserEventOutbox.INSERT_SQL, UuidUtil.toBytes(userId), type.name(),
+                "{\"id\":\"" + userId + "\"}", Timestamp.valueOf(created));
+    }
+
+    private static List<OutboxEvent.Type> typesOf(List<OutboxEvent> events, UUID userId) {
+        return events.stream()
+                .filter(event -> event.getUserId().equals(userId))
+                .map(OutboxEvent::getType)
+                .collect(Collectors.toList());
+    }
+}
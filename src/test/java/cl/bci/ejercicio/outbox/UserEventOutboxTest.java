@@ -0,0 +1,114 @@
+package cl.bci.ejercicio.outbox;
+
+import cl.bci.ejercicio.dto.SignUpRequestDto;
+import cl.bci.ejercicio.dto.SignUpResponseDto;
+import cl.bci.ejercicio.exception.UserAlReadyExist;
+import cl.bci.ejercicio.service.LastLoginBuffer;
+import cl.bci.ejercicio.service.UserService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "outbox.relay.poll-interval=3600000",
+        "spring.jpa.show-sql=false"
+})
+class UserEventOutboxTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private LastLoginBuffer lastLoginBuffer;
+
+    @Autowired
+    private UserEventOutbox userEventOutbox;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private InMemoryOutboxPublisher publisher;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void signUpAndLogin_ShouldPublishUserEventsInOrder() throws Exception {
+        // Arrange
+        SignUpResponseDto created = userService.signUp(request("outbox.user@example.com"));
+
+        // Act
+        userService.login(created.getToken());
+        lastLoginBuffer.flush();
+        outboxRelay.relay();
+
+        // Assert
+        List<OutboxEvent> events = eventsOf(created.getId());
+        assertEquals(Arrays.asList(OutboxEvent.Type.USER_CREATED, OutboxEvent.Type.USER_LOGGED_IN),
+                events.stream().map(OutboxEvent::getType).collect(Collectors.toList()));
+        JsonNode payload = objectMapper.readTree(events.get(0).getPayload());
+        assertEquals("outbox.user@example.com", payload.get("email").asText());
+        assertEquals(created.getId().toString(), payload.get("id").asText());
+        assertNotNull(objectMapper.readTree(events.get(1).getPayload()).get("lastLogin"));
+        assertEquals(0, outboxRelay.getPendingCount());
+    }
+
+    @Test
+    void signUp_WhenEmailAlreadyRegistered_ShouldNotRecordEvent() throws Exception {
+        // Arrange
+        userService.signUp(request("outbox.repeated@example.com"));
+        int events = countEvents();
+
+        // Act & Assert
+        assertThrows(UserAlReadyExist.class, () -> userService.signUp(request("outbox.repeated@example.com")));
+        assertEquals(events, countEvents());
+    }
+
+    @Test
+    void usersLoggedIn_WhenUserNotInDatabase_ShouldNotRecordEvent() {
+        // Arrange
+        int events = countEvents();
+
+        // Act
+        userEventOutbox.usersLoggedIn(Collections.singletonMap(
+                UUID.randomUUID(), new Timestamp(System.currentTimeMillis())));
+
+        // Assert
+        assertEquals(events, countEvents());
+    }
+
+    private List<OutboxEvent> eventsOf(UUID userId) {
+        return publisher.getEvents().stream()
+                .filter(event -> event.getUserId().equals(userId))
+                .collect(Collectors.toList());
+    }
+
+    private int countEvents() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_events", Integer.class);
+    }
+
+    private static SignUpRequestDto request(String email) {
+        SignUpRequestDto request = new SignUpRequestDto();
+        request.setName("Outbox User");
+        request.setEmail(email);
+        request.setPassword("Testpass12");
+        request.setPhones(Collections.emptyList());
+        return request;
+    }
+}
@@ -0,0 +1,90 @@
+package cl.bci.ejercicio.repository;
+
+import cl.bci.ejercicio.BciProjectApplication;
+import cl.bci.ejercicio.dto.PhoneDto;
+import cl.bci.ejercicio.dto.SignUpRequestDto;
+import cl.bci.ejercicio.dto.UserResponseDto;
+import cl.bci.ejercicio.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileDatabaseProfileTest {
+
+    private static final String TEST_EMAIL = "file@example.com";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void signUp_WhenApplicationRestarted_ShouldKeepUserAndPhones() throws Exception {
+        // Arrange
+        String token;
+        try (ConfigurableApplicationContext context = start()) {
+            token = context.getBean(UserService.class).signUp(newRequest()).getToken();
+        }
+
+        // Act
+        UserResponseDto response;
+        try (ConfigurableApplicationContext context = start()) {
+            response = context.getBean(UserService.class).login(token);
+        }
+
+        // Assert
+        assertTrue(Files.exists(directory.resolve("bci.mv.db")));
+        assertEquals(TEST_EMAIL, response.getEmail());
+        assertEquals(1, response.getPhones().size());
+    }
+
+    @Test
+    void dataSource_ShouldApplyConfiguredStorageSettings() {
+        // Act
+        Map<String, String> settings;
+        try (ConfigurableApplicationContext context = start("--h2.file.cache-size-kb=8192", "--h2.file.write-delay=100")) {
+            settings = context.getBean(JdbcTemplate.class)
+                    .queryForList("SELECT NAME, VALUE FROM INFORMATION_SCHEMA.SETTINGS "
+                            + "WHERE NAME IN ('CACHE_SIZE', 'WRITE_DELAY')").stream()
+                    .collect(Collectors.toMap(row -> (String) row.get("NAME"), row -> (String) row.get("VALUE")));
+        }
+
+        // Assert
+        assertEquals("8192", settings.get("CACHE_SIZE"));
+        assertEquals("100", settings.get("WRITE_DELAY"));
+    }
+
+    private ConfigurableApplicationContext start(String... args) {
+        String[] defaults = {
+                "--h2.file.path=" + directory.resolve("bci"),
+                "--spring.jpa.show-sql=false",
+                "--logging.level.cl.bci=WARN"
+        };
+        String[] all = new String[defaults.length + args.length];
+        System.arraycopy(defaults, 0, all, 0, defaults.length);
+        System.arraycopy(args, 0, all, defaults.length, args.length);
+        return new SpringApplicationBuilder(BciProjectApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("file")
+                .run(all);
+    }
+
+    private static SignUpRequestDto newRequest() {
+        SignUpRequestDto request = new SignUpRequestDto();
+        request.setName("File User");
+        request.setEmail(TEST_EMAIL);
+        request.setPassword("Testpass12");
+        request.setPhones(Collections.singletonList(
+                PhoneDto.builder().number(123456789L).citycode(1).contrycode("57").build()));
+        return request;
+    }
+}
@@ -0,0 +1,146 @@
+package cl.bci.ejercicio.repository;
+
+import cl.bci.ejercicio.entity.Phone;
+import cl.bci.ejercicio.entity.User;
+import cl.bci.ejercicio.utils.AESUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:reactive-repository;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.url=r2dbc:h2:mem:///reactive-repository?options=DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false"
+})
+@ActiveProfiles("reactive")
+class ReactiveUserRepositoryTest {
+
+    private static final String TEST_EMAIL = "reactive@example.com";
+
+    @Autowired
+    private ReactiveUserRepository reactiveUserRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM phones");
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    void insert_WhenUserWithPhones_ShouldBeReadableThroughJpa() throws Exception {
+        // Arrange
+        User user = newUser(TEST_EMAIL);
+
+        // Act
+        User saved = reactiveUserRepository.insert(user).block();
+
+        // Assert
+        assertNotNull(saved.getId());
+        assertNotNull(saved.getCreated());
+        User stored = userRepository.findWithPhonesByEmail(TEST_EMAIL).orElseThrow(AssertionError::new);
+        assertEquals(saved.getId(), stored.getId());
+        assertEquals("Reactive User", stored.getName());
+        assertEquals(2, stored.getPhones().size());
+    }
+
+    @Test
+    void findWithPhonesByEmail_WhenUserExists_ShouldReturnUserWithAllPhones() throws Exception {
+        // Arrange
+        User saved = reactiveUserRepository.insert(newUser(TEST_EMAIL)).block();
+
+        // Act & Assert
+        StepVerifier.create(reactiveUserRepository.findWithPhonesByEmail(TEST_EMAIL))
+                .assertNext(found -> {
+                    assertEquals(saved.getId(), found.getId());
+                    assertEquals(TEST_EMAIL, found.getEmail());
+                    assertEquals(saved.getToken(), found.getToken());
+                    assertTrue(found.getIsActive());
+                    assertEquals(2, found.getPhones().size());
+                    assertEquals(111111111L, found.getPhones().get(0).getNumber());
+                    assertEquals("57", found.getPhones().get(0).getContrycode());
+                    assertSame(found, found.getPhones().get(1).getUser());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void findWithPhonesByEmail_WhenUserHasNoPhones_ShouldReturnUserWithEmptyPhones() throws Exception {
+        // Arrange
+        User user = newUser(TEST_EMAIL);
+        user.getPhones().clear();
+        reactiveUserRepository.insert(user).block();
+
+        // Act & Assert
+        StepVerifier.create(reactiveUserRepository.findWithPhonesByEmail(TEST_EMAIL))
+                .assertNext(found -> assertTrue(found.getPhones().isEmpty()))
+                .verifyComplete();
+    }
+
+    @Test
+    void findWithPhonesByEmail_WhenUserDoesNotExist_ShouldComplete() {
+        // Act & Assert
+        StepVerifier.create(reactiveUserRepository.findWithPhonesByEmail("missing@example.com"))
+                .verifyComplete();
+    }
+
+    @Test
+    void existsByEmail_ShouldReflectRegisteredEmails() throws Exception {
+        // Arrange
+        reactiveUserRepository.insert(newUser(TEST_EMAIL)).block();
+
+        // Act & Assert
+        StepVerifier.create(reactiveUserRepository.existsByEmail(TEST_EMAIL))
+                .expectNext(true)
+                .verifyComplete();
+        StepVerifier.create(reactiveUserRepository.existsByEmail("missing@example.com"))
+                .expectNext(false)
+                .verifyComplete();
+    }
+
+    @Test
+    void insert_WhenEmailAlreadyRegistered_ShouldFailNamingUniqueConstraintAndRollBack() throws Exception {
+        // Arrange
+        reactiveUserRepository.insert(newUser(TEST_EMAIL)).block();
+
+        // Act & Assert
+        StepVerifier.create(reactiveUserRepository.insert(newUser(TEST_EMAIL)))
+                .expectErrorSatisfies(error -> {
+                    assertTrue(error instanceof DataIntegrityViolationException);
+                    assertTrue(error.getMessage().toLowerCase(Locale.ROOT).contains(User.EMAIL_UNIQUE_CONSTRAINT));
+                })
+                .verify();
+        assertEquals(1, userRepository.count());
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM phones", Integer.class));
+    }
+
+    private User newUser(String email) throws Exception {
+        User user = User.builder()
+                .name("Reactive User")
+                .email(email)
+                .password(AESUtil.encrypt("Testpass12"))
+                .token("token-" + email)
+                .isActive(true)
+                .build();
+        user.setPhones(new ArrayList<>(Arrays.asList(
+                Phone.builder().number(111111111L).cityCode(1).contrycode("57").user(user).build(),
+                Phone.builder().number(222222222L).cityCode(2).contrycode("56").user(user).build())));
+        return user;
+    }
+}
@@ -0,0 +1,176 @@
+package cl.bci.ejercicio.repository;
+
+import cl.bci.ejercicio.entity.Phone;
+import cl.bci.ejercicio.entity.User;
+import cl.bci.ejercicio.utils.AESUtil;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserNaturalIdRepositoryTest {
+
+    private static final String TEST_EMAIL = "cached@example.com";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // Arrange - Configuración común
+        User user = User.builder()
+                .name("Test User")
+                .email(TEST_EMAIL)
+                .password(AESUtil.encrypt("Testpass12"))
+                .isActive(true)
+                .build();
+        user.setPhones(Arrays.asList(
+                Phone.builder().number(123456789L).cityCode(1).contrycode("57").user(user).build(),
+                Phone.builder().number(987654321L).cityCode(2).contrycode("56").user(user).build()));
+        userId = new TransactionTemplate(transactionManager).execute(status -> userRepository.save(user).getId());
+
+        entityManagerFactory.getCache().unwrap(Cache.class).evictAllRegions();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+        entityManagerFactory.getCache().unwrap(Cache.class).evictAllRegions();
+    }
+
+    @Test
+    void findByNaturalEmail_WhenCacheWarm_ShouldNotQueryDatabase() {
+        // Arrange
+        userRepository.findByNaturalEmail(TEST_EMAIL);
+        long coldStatements = statistics.getPrepareStatementCount();
+        statistics.clear();
+
+        // Act
+        Optional<User> user = userRepository.findByNaturalEmail(TEST_EMAIL);
+
+        // Assert
+        assertEquals(1, coldStatements);
+        assertTrue(user.isPresent());
+        assertEquals(userId, user.get().getId());
+        assertEquals(2, user.get().getPhones().size());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getSecondLevelCacheHitCount() > 0);
+    }
+
+    @Test
+    void findByNaturalEmail_WhenCacheCold_ShouldLoadUserAndPhonesInOneQuery() {
+        // Act
+        Optional<User> user = userRepository.findByNaturalEmail(TEST_EMAIL);
+
+        // Assert
+        assertTrue(user.isPresent());
+        assertEquals(2, user.get().getPhones().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findByNaturalEmail_WhenPhonesEvicted_ShouldReloadWithOneQuery() {
+        // Arrange
+        userRepository.findByNaturalEmail(TEST_EMAIL);
+        entityManagerFactory.getCache().unwrap(Cache.class).evictCollectionData(User.class.getName() + ".phones");
+        statistics.clear();
+
+        // Act
+        Optional<User> user = userRepository.findByNaturalEmail(TEST_EMAIL);
+
+        // Assert
+        assertTrue(user.isPresent());
+        assertEquals(2, user.get().getPhones().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findByNaturalEmail_WhenUserEvicted_ShouldReloadFromDatabase() {
+        // Arrange
+        userRepository.findByNaturalEmail(TEST_EMAIL);
+        entityManagerFactory.getCache().evict(User.class, userId);
+        statistics.clear();
+
+        // Act
+        Optional<User> user = userRepository.findByNaturalEmail(TEST_EMAIL);
+
+        // Assert
+        assertTrue(user.isPresent());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findByNaturalEmail_WhenEmailDiffersInCase_ShouldHitCacheOfNormalizedEmail() {
+        // Arrange
+        userRepository.findByNaturalEmail(TEST_EMAIL);
+        statistics.clear();
+
+        // Act
+        Optional<User> user = userRepository.findByNaturalEmail("Cached@Example.com");
+
+        // Assert
+        assertTrue(user.isPresent());
+        assertEquals(userId, user.get().getId());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findByNaturalEmail_WhenUserDoesNotExist_ShouldReturnEmpty() {
+        // Act
+        Optional<User> user = userRepository.findByNaturalEmail("missing@example.com");
+
+        // Assert
+        assertFalse(user.isPresent());
+    }
+
+    @Test
+    void existsByNaturalEmail_WhenCacheWarm_ShouldNotQueryDatabase() {
+        // Arrange
+        userRepository.existsByNaturalEmail(TEST_EMAIL);
+        statistics.clear();
+
+        // Act
+        boolean exists = userRepository.existsByNaturalEmail(TEST_EMAIL);
+
+        // Assert
+        assertTrue(exists);
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void existsByNaturalEmail_WhenUserDoesNotExist_ShouldReturnFalse() {
+        // Act
+        boolean exists = userRepository.existsByNaturalEmail("missing@example.com");
+
+        // Assert
+        assertFalse(exists);
+    }
+}
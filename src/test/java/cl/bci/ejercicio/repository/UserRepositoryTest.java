@@ -0,0 +1,223 @@
+package cl.bci.ejercicio.repository;
+
+import cl.bci.ejercicio.dto.UserResponseDto;
+import cl.bci.ejercicio.entity.Phone;
+import cl.bci.ejercicio.entity.User;
+import cl.bci.ejercicio.utils.AESUtil;
+import cl.bci.ejercicio.utils.EmailUtil;
+import cl.bci.ejercicio.utils.UuidUtil;
+import org.hibernate.SessionFactory;
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static cl.bci.ejercicio.utils.UserMapper.convertToUserResponse;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class UserRepositoryTest {
+
+    private static final String TEST_EMAIL = "test@example.com";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // Arrange - Configuración común
+        User user = User.builder()
+                .name("Test User")
+                .email(TEST_EMAIL)
+                .password(AESUtil.encrypt("Testpass12"))
+                .isActive(true)
+                .build();
+        user.setPhones(Arrays.asList(
+                Phone.builder().number(123456789L).cityCode(1).contrycode("57").user(user).build(),
+                Phone.builder().number(987654321L).cityCode(2).contrycode("56").user(user).build()));
+        testEntityManager.persistAndFlush(user);
+        testEntityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findWithPhonesByEmail_WhenUserHasPhones_ShouldLoadUserAndPhonesInOneQuery() throws Exception {
+        // Act
+        Optional<User> user = userRepository.findWithPhonesByEmail(TEST_EMAIL);
+        UserResponseDto response = convertToUserResponse(user.orElseThrow());
+
+        // Assert
+        assertEquals(2, response.getPhones().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findWithPhonesByEmail_WhenUserDoesNotExist_ShouldReturnEmpty() {
+        // Act
+        Optional<User> user = userRepository.findWithPhonesByEmail("missing@example.com");
+
+        // Assert
+        assertTrue(user.isEmpty());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findByEmail_WhenPhonesAccessed_ShouldIssueSecondQuery() throws Exception {
+        // Act
+        Optional<User> user = userRepository.findByEmail(TEST_EMAIL);
+        UserResponseDto response = convertToUserResponse(user.orElseThrow());
+
+        // Assert
+        assertEquals(2, response.getPhones().size());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findExistingEmails_WhenSomeEmailsRegistered_ShouldReturnOnlyThoseInOneQuery() {
+        // Act
+        List<String> existing = userRepository.findExistingEmails(
+                Arrays.asList(TEST_EMAIL, "other@example.com"));
+
+        // Assert
+        assertEquals(Arrays.asList(TEST_EMAIL), existing);
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void saveAndFlush_WhenEmailAlreadyRegistered_ShouldViolateNamedUniqueConstraint() throws Exception {
+        // Arrange
+        User duplicate = User.builder()
+                .name("Other User")
+                .email(TEST_EMAIL)
+                .password(AESUtil.encrypt("Testpass12"))
+                .isActive(true)
+                .build();
+
+        // Act
+        DataIntegrityViolationException exception = assertThrows(DataIntegrityViolationException.class,
+                () -> userRepository.saveAndFlush(duplicate));
+
+        // Assert
+        assertTrue(exception.getCause() instanceof ConstraintViolationException);
+        ConstraintViolationException cause = (ConstraintViolationException) exception.getCause();
+        assertTrue(cause.getConstraintName().toLowerCase().contains(User.EMAIL_UNIQUE_CONSTRAINT));
+    }
+
+    @Test
+    void findWithPhonesByEmail_WhenEmailDiffersInCase_ShouldFindUser() {
+        // Act
+        Optional<User> user = userRepository.findWithPhonesByEmail(" Test@Example.COM");
+
+        // Assert
+        assertTrue(user.isPresent());
+        assertEquals(TEST_EMAIL, user.get().getEmailNormalized());
+        assertArrayEquals(EmailUtil.hash(TEST_EMAIL), user.get().getEmailHash());
+    }
+
+    @Test
+    void existsByEmail_WhenEmailDiffersInCase_ShouldReturnTrue() {
+        // Act & Assert
+        assertTrue(userRepository.existsByEmail("TEST@example.com"));
+        assertFalse(userRepository.existsByEmail("missing@example.com"));
+    }
+
+    @Test
+    void findExistingEmails_WhenEmailsDifferInCase_ShouldReturnThemNormalized() {
+        // Act
+        List<String> existing = userRepository.findExistingEmails(Arrays.asList("Test@Example.com", "other@example.com"));
+
+        // Assert
+        assertEquals(Arrays.asList(TEST_EMAIL), existing);
+    }
+
+    @Test
+    void saveAndFlush_WhenEmailDiffersOnlyInCase_ShouldViolateNamedUniqueConstraint() throws Exception {
+        // Arrange
+        User duplicate = User.builder()
+                .name("Other User")
+                .email("TEST@example.com")
+                .password(AESUtil.encrypt("Testpass12"))
+                .isActive(true)
+                .build();
+
+        // Act
+        DataIntegrityViolationException exception = assertThrows(DataIntegrityViolationException.class,
+                () -> userRepository.saveAndFlush(duplicate));
+
+        // Assert
+        ConstraintViolationException cause = (ConstraintViolationException) exception.getCause();
+        assertTrue(cause.getConstraintName().toLowerCase().contains(User.EMAIL_UNIQUE_CONSTRAINT));
+    }
+
+    @Test
+    void findById_WhenUuidOfSavedUser_ShouldReturnUser() {
+        // Arrange
+        UUID id = userRepository.findByEmail(TEST_EMAIL).orElseThrow().getId();
+
+        // Act
+        Optional<User> user = userRepository.findById(id);
+
+        // Assert
+        assertTrue(user.isPresent());
+        assertEquals(TEST_EMAIL, user.get().getEmail());
+    }
+
+    @Test
+    void save_WhenSeveralUsers_ShouldAssignVersion7IdsInInsertionOrder() throws Exception {
+        // Arrange
+        UUID first = userRepository.findByEmail(TEST_EMAIL).orElseThrow().getId();
+
+        // Act
+        User second = userRepository.saveAndFlush(User.builder()
+                .name("Other User")
+                .email("other@example.com")
+                .password(AESUtil.encrypt("Testpass12"))
+                .isActive(true)
+                .build());
+
+        // Assert
+        assertEquals(7, first.version());
+        assertEquals(7, second.getId().version());
+        assertTrue(first.getMostSignificantBits() < second.getId().getMostSignificantBits());
+        List<UUID> ids = jdbcTemplate.query("SELECT id FROM users ORDER BY id",
+                (rs, rowNum) -> UuidUtil.fromBytes(rs.getBytes(1)));
+        assertEquals(Arrays.asList(first, second.getId()), ids);
+    }
+
+    @Test
+    void schema_ShouldStoreUserIdsAsSixteenByteBinary() {
+        // Act
+        List<Integer> lengths = jdbcTemplate.queryForList(
+                "SELECT CHARACTER_MAXIMUM_LENGTH FROM INFORMATION_SCHEMA.COLUMNS"
+                        + " WHERE TABLE_SCHEMA = 'PUBLIC'"
+                        + " AND ((TABLE_NAME = 'USERS' AND COLUMN_NAME = 'ID')"
+                        + " OR (TABLE_NAME = 'PHONES' AND COLUMN_NAME = 'USER_ID'))", Integer.class);
+
+        // Assert
+        assertEquals(Arrays.asList(16, 16), lengths);
+    }
+}
@@ -0,0 +1,91 @@
+package cl.bci.ejercicio.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmailReservationRegistryTest {
+
+    private EmailReservationRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        // Arrange - Configuración común
+        registry = new EmailReservationRegistry();
+        ReflectionTestUtils.setField(registry, "stripes", 1024);
+        registry.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void reserve_WhenSameEmailInProgress_ShouldReturnNull() {
+        // Arrange
+        Runnable release = registry.reserve("test@example.com");
+
+        // Act
+        Runnable second = registry.reserve("test@example.com");
+
+        // Assert
+        assertNotNull(release);
+        assertNull(second);
+        assertEquals(1, registry.getRejectedCount());
+    }
+
+    @Test
+    void reserve_WhenReleased_ShouldAllowSameEmailAgain() {
+        // Arrange
+        registry.reserve("test@example.com").run();
+
+        // Act
+        Runnable release = registry.reserve("test@example.com");
+
+        // Assert
+        assertNotNull(release);
+        assertEquals(1, registry.getReservedCount());
+    }
+
+    @Test
+    void reserve_WhenSlotTakenByOtherEmail_ShouldContinueWithoutReservation() {
+        // Arrange
+        ReflectionTestUtils.setField(registry, "stripes", 1);
+        registry.init();
+        registry.reserve("one@example.com");
+
+        // Act
+        Runnable release = registry.reserve("two@example.com");
+        Runnable other = registry.reserve("three@example.com");
+
+        // Assert
+        assertNotNull(release);
+        assertNotNull(other);
+        assertTrue(registry.getCollisionCount() >= 1);
+    }
+
+    @Test
+    void reserve_WhenTransactionActive_ShouldReleaseAfterCompletion() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        Runnable release = registry.reserve("test@example.com");
+        release.run();
+
+        // Assert
+        assertNull(registry.reserve("test@example.com"));
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+        assertEquals(0, registry.getReservedCount());
+    }
+}
@@ -27,6 +27,7 @@ class JwtServiceTest {
         jwtService = new JwtService();
         ReflectionTestUtils.setField(jwtService, "secret", TEST_SECRET);
         ReflectionTestUtils.setField(jwtService, "jwtExpiration", TEST_EXPIRATION);
+        jwtService.init();
     }
 
     @Test
@@ -196,6 +197,56 @@ class JwtServiceTest {
         assertTrue(Math.abs(tokenExpiration - expectedExpiration) < 1000);
     }
 
+    @Test
+    void extractEmail_WhenCacheEnabledAndTokenRepeated_ShouldServeFromCache() {
+        // Arrange
+        ReflectionTestUtils.setField(jwtService, "cacheMaxSize", 100);
+        ReflectionTestUtils.setField(jwtService, "cacheTtl", 60000L);
+        jwtService.init();
+        String token = createValidToken(TEST_EMAIL);
+
+        // Act
+        String first = jwtService.extractEmail(token);
+        String second = jwtService.extractEmail(token);
+
+        // Assert
+        assertEquals(TEST_EMAIL, first);
+        assertEquals(TEST_EMAIL, second);
+        assertEquals(1, jwtService.getTokenCache().getMissCount());
+        assertEquals(1, jwtService.getTokenCache().getHitCount());
+    }
+
+    @Test
+    void extractEmail_WhenCacheEnabledAndTokenWithWrongSecret_ShouldStillThrowException() {
+        // Arrange
+        ReflectionTestUtils.setField(jwtService, "cacheMaxSize", 100);
+        ReflectionTestUtils.setField(jwtService, "cacheTtl", 60000L);
+        jwtService.init();
+        String tokenWithWrongSecret = Jwts.builder()
+                .setSubject(TEST_EMAIL)
+                .setExpiration(new Date(System.currentTimeMillis() + TEST_EXPIRATION))
+                .signWith(SignatureAlgorithm.HS512, "wrongSecret")
+                .compact();
+
+        // Act & Assert
+        assertThrows(Exception.class, () -> jwtService.extractEmail(tokenWithWrongSecret));
+        assertThrows(Exception.class, () -> jwtService.extractEmail(tokenWithWrongSecret));
+        assertEquals(0, jwtService.getTokenCache().size());
+    }
+
+    @Test
+    void init_WhenCacheMaxSizeIsZero_ShouldDisableCache() {
+        // Arrange
+        ReflectionTestUtils.setField(jwtService, "cacheMaxSize", 0);
+
+        // Act
+        jwtService.init();
+
+        // Assert
+        assertNull(jwtService.getTokenCache());
+        assertEquals(TEST_EMAIL, jwtService.extractEmail(createValidToken(TEST_EMAIL)));
+    }
+
     private String createValidToken(String email) {
         return Jwts.builder()
                 .setSubject(email)
@@ -0,0 +1,169 @@
+package cl.bci.ejercicio.service;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SignatureException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtSigningEngineTest {
+
+    private final String TEST_SECRET = "variable-de-entorno-con-la-key";
+    private final String TEST_EMAIL = "test@example.com";
+    private final long ISSUED_AT = 1700000000123L;
+    private final long EXPIRATION = ISSUED_AT + 28800000L;
+
+    private JwtSigningEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        // Arrange - Configuración común
+        engine = new JwtSigningEngine(TEST_SECRET);
+    }
+
+    @Test
+    void sign_WhenSameInputsAsJjwt_ShouldProduceIdenticalToken() {
+        // Arrange
+        String expected = Jwts.builder()
+                .setSubject(TEST_EMAIL)
+                .setIssuedAt(new Date(ISSUED_AT))
+                .setExpiration(new Date(EXPIRATION))
+                .signWith(SignatureAlgorithm.HS512, TEST_SECRET)
+                .compact();
+
+        // Act
+        String token = engine.sign(TEST_EMAIL, ISSUED_AT, EXPIRATION);
+
+        // Assert
+        assertEquals(expected, token);
+    }
+
+    @Test
+    void sign_WhenEmptySubject_ShouldMatchJjwtAndOmitSubject() {
+        // Arrange
+        String expected = Jwts.builder()
+                .setSubject("")
+                .setIssuedAt(new Date(ISSUED_AT))
+                .setExpiration(new Date(EXPIRATION))
+                .signWith(SignatureAlgorithm.HS512, TEST_SECRET)
+                .compact();
+
+        // Act
+        String token = engine.sign("", ISSUED_AT, EXPIRATION);
+
+        // Assert
+        assertEquals(expected, token);
+    }
+
+    @Test
+    void sign_WhenSubjectNeedsJsonEscaping_ShouldMatchJjwt() {
+        // Arrange
+        String subject = "quote\"slash\\ñandú@bci.cl";
+        String expected = Jwts.builder()
+                .setSubject(subject)
+                .setIssuedAt(new Date(ISSUED_AT))
+                .setExpiration(new Date(EXPIRATION))
+                .signWith(SignatureAlgorithm.HS512, TEST_SECRET)
+                .compact();
+
+        // Act
+        String token = engine.sign(subject, ISSUED_AT, EXPIRATION);
+
+        // Assert
+        assertEquals(expected, token);
+    }
+
+    @Test
+    void verify_WhenTokenSignedByEngine_ShouldReturnClaims() {
+        // Arrange
+        long now = System.currentTimeMillis();
+        String token = engine.sign(TEST_EMAIL, now, now + 60000);
+
+        // Act
+        Claims claims = engine.verify(token);
+
+        // Assert
+        assertEquals(TEST_EMAIL, claims.getSubject());
+        assertEquals((now + 60000) / 1000, claims.getExpiration().getTime() / 1000);
+    }
+
+    @Test
+    void verify_WhenTokenHasDifferentHeader_ShouldFallBackToParser() {
+        // Arrange
+        String token = Jwts.builder()
+                .setHeaderParam("typ", "JWT")
+                .setSubject(TEST_EMAIL)
+                .setExpiration(new Date(System.currentTimeMillis() + 60000))
+                .signWith(SignatureAlgorithm.HS512, TEST_SECRET)
+                .compact();
+
+        // Act
+        Claims claims = engine.verify(token);
+
+        // Assert
+        assertEquals(TEST_EMAIL, claims.getSubject());
+    }
+
+    @Test
+    void verify_WhenSignatureTampered_ShouldThrowSignatureException() {
+        // Arrange
+        long now = System.currentTimeMillis();
+        String token = engine.sign(TEST_EMAIL, now, now + 60000);
+        String forged = new JwtSigningEngine("otraClave").sign("admin@bci.cl", now, now + 60000);
+        String tampered = token.substring(0, token.lastIndexOf('.'))
+                + forged.substring(forged.lastIndexOf('.'));
+
+        // Act & Assert
+        assertThrows(SignatureException.class, () -> engine.verify(tampered));
+    }
+
+    @Test
+    void verify_WhenTokenExpired_ShouldThrowExpiredJwtException() {
+        // Arrange
+        long now = System.currentTimeMillis();
+        String token = engine.sign(TEST_EMAIL, now - 7200000, now - 3600000);
+
+        // Act & Assert
+        assertThrows(ExpiredJwtException.class, () -> engine.verify(token));
+    }
+
+    @Test
+    void verify_WhenTokenMalformed_ShouldThrowException() {
+        // Arrange
+        String malformed = "invalid.token.format";
+
+        // Act & Assert
+        assertThrows(Exception.class, () -> engine.verify(malformed));
+    }
+
+    @Test
+    void sign_WhenCalledFromManyThreads_ShouldReuseMacsFromPool() throws Exception {
+        // Arrange
+        String expected = engine.sign(TEST_EMAIL, ISSUED_AT, EXPIRATION);
+        Thread[] threads = new Thread[50];
+        String[] tokens = new String[threads.length];
+        for (int i = 0; i < threads.length; i++) {
+            int index = i;
+            threads[i] = new Thread(() -> tokens[index] = engine.sign(TEST_EMAIL, ISSUED_AT, EXPIRATION));
+        }
+
+        // Act
+        for (Thread thread : threads) {
+            thread.start();
+            thread.join();
+        }
+
+        // Assert
+        for (String token : tokens) {
+            assertEquals(expected, token);
+        }
+        assertEquals(51, engine.getMacPool().getBorrowCount());
+        assertEquals(1, engine.getMacPool().getMissCount());
+    }
+}
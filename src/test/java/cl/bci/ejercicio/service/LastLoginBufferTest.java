@@ -0,0 +1,275 @@
+package cl.bci.ejercicio.service;
+
+import cl.bci.ejercicio.entity.User;
+import cl.bci.ejercicio.outbox.UserEventOutbox;
+import cl.bci.ejercicio.utils.UuidUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import javax.persistence.Cache;
+import javax.persistence.EntityManagerFactory;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.ToIntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LastLoginBufferTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private Cache secondLevelCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private UserEventOutbox userEventOutbox;
+
+    @InjectMocks
+    private LastLoginBuffer lastLoginBuffer;
+
+    private final UUID userId = UUID.randomUUID();
+    private final LocalDateTime now = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        // Arrange - Configuración común
+        ReflectionTestUtils.setField(lastLoginBuffer, "minIntervalMillis", 0L);
+        ReflectionTestUtils.setField(lastLoginBuffer, "maxPending", 100);
+        ReflectionTestUtils.setField(lastLoginBuffer, "jdbcBatchSize", 50);
+        lenient().when(entityManagerFactory.getCache()).thenReturn(secondLevelCache);
+        lenient().when(jdbcTemplate.batchUpdate(anyString(), anyList(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(invocation -> updateCounts(invocation.getArgument(1), row -> 1));
+    }
+
+    @Test
+    void record_WhenSameUserLogsInSeveralTimes_ShouldCoalesceIntoOneEntry() {
+        // Act
+        lastLoginBuffer.record(userId, null, now);
+        lastLoginBuffer.record(userId, null, now.plusSeconds(5));
+        LocalDateTime result = lastLoginBuffer.record(userId, null, now.plusSeconds(2));
+
+        // Assert
+        assertEquals(now.plusSeconds(5), result);
+        assertEquals(1, lastLoginBuffer.getBufferDepth());
+        assertEquals(2, lastLoginBuffer.getRecordedCount());
+        assertEquals(1, lastLoginBuffer.getSkippedCount());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void record_WhenWithinMinInterval_ShouldSkipAndReturnPreviousLogin() {
+        // Arrange
+        ReflectionTestUtils.setField(lastLoginBuffer, "minIntervalMillis", 60000L);
+
+        // Act
+        LocalDateTime result = lastLoginBuffer.record(userId, now, now.plusSeconds(30));
+
+        // Assert
+        assertEquals(now, result);
+        assertEquals(0, lastLoginBuffer.getBufferDepth());
+        assertEquals(1, lastLoginBuffer.getSkippedCount());
+    }
+
+    @Test
+    void record_WhenMinIntervalElapsed_ShouldBufferNewLogin() {
+        // Arrange
+        ReflectionTestUtils.setField(lastLoginBuffer, "minIntervalMillis", 60000L);
+
+        // Act
+        LocalDateTime result = lastLoginBuffer.record(userId, now, now.plusMinutes(2));
+
+        // Assert
+        assertEquals(now.plusMinutes(2), result);
+        assertEquals(1, lastLoginBuffer.getBufferDepth());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_WhenEntriesPending_ShouldIssueSingleBatchUpdate() throws Exception {
+        // Arrange
+        UUID otherId = UUID.randomUUID();
+        lastLoginBuffer.record(userId, null, now);
+        lastLoginBuffer.record(otherId, null, now.plusSeconds(1));
+
+        // Act
+        int flushed = lastLoginBuffer.flush();
+
+        // Assert
+        assertEquals(2, flushed);
+        assertEquals(0, lastLoginBuffer.getBufferDepth());
+        assertEquals(1, lastLoginBuffer.getFlushCount());
+        assertEquals(2, lastLoginBuffer.getFlushedRows());
+        assertTrue(lastLoginBuffer.getMaxFlushNanos() >= lastLoginBuffer.getLastFlushNanos());
+
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<ParameterizedPreparedStatementSetter<Object[]>> setter =
+                ArgumentCaptor.forClass(ParameterizedPreparedStatementSetter.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(eq(LastLoginBuffer.UPDATE_SQL), rows.capture(), eq(50), setter.capture());
+        assertEquals(2, rows.getValue().size());
+
+        PreparedStatement ps = mock(PreparedStatement.class);
+        Object[] row = rows.getValue().stream().filter(r -> r[0].equals(userId)).findFirst().orElseThrow();
+        setter.getValue().setValues(ps, row);
+        verify(ps).setTimestamp(1, Timestamp.valueOf(now));
+        verify(ps).setBytes(2, UuidUtil.toBytes(userId));
+        verify(ps).setTimestamp(3, Timestamp.valueOf(now));
+        verify(secondLevelCache).evict(User.class, userId);
+        verify(secondLevelCache).evict(User.class, otherId);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_WhenEntriesPending_ShouldRecordLoginEventsInSameTransaction() {
+        // Arrange
+        TransactionStatus status = mock(TransactionStatus.class);
+        when(transactionManager.getTransaction(any())).thenReturn(status);
+        lastLoginBuffer.record(userId, null, now);
+
+        // Act
+        lastLoginBuffer.flush();
+
+        // Assert
+        ArgumentCaptor<Map<UUID, Timestamp>> lastLogins = ArgumentCaptor.forClass(Map.class);
+        verify(userEventOutbox).usersLoggedIn(lastLogins.capture());
+        assertEquals(Timestamp.valueOf(now), lastLogins.getValue().get(userId));
+        verify(transactionManager).commit(status);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_WhenUserNoLongerExists_ShouldRecordLoginEventsOnlyForUpdatedRows() {
+        // Arrange
+        UUID removedId = UUID.randomUUID();
+        lastLoginBuffer.record(userId, null, now);
+        lastLoginBuffer.record(removedId, null, now);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(invocation -> updateCounts(invocation.getArgument(1),
+                        row -> row[0].equals(removedId) ? 0 : 1));
+
+        // Act
+        lastLoginBuffer.flush();
+
+        // Assert
+        ArgumentCaptor<Map<UUID, Timestamp>> lastLogins = ArgumentCaptor.forClass(Map.class);
+        verify(userEventOutbox).usersLoggedIn(lastLogins.capture());
+        assertEquals(1, lastLogins.getValue().size());
+        assertEquals(Timestamp.valueOf(now), lastLogins.getValue().get(userId));
+        assertFalse(lastLogins.getValue().containsKey(removedId));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_WhenUpdateFails_ShouldRollBackWithoutLoginEvents() {
+        // Arrange
+        TransactionStatus status = mock(TransactionStatus.class);
+        when(transactionManager.getTransaction(any())).thenReturn(status);
+        lastLoginBuffer.record(userId, null, now);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new DataAccessResourceFailureException("sin conexión"));
+
+        // Act
+        lastLoginBuffer.flush();
+
+        // Assert
+        verifyNoInteractions(userEventOutbox);
+        verify(transactionManager).rollback(status);
+        verify(transactionManager, never()).commit(any());
+    }
+
+    @Test
+    void flush_WhenNothingPending_ShouldNotTouchDatabase() {
+        // Act
+        int flushed = lastLoginBuffer.flush();
+
+        // Assert
+        assertEquals(0, flushed);
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_WhenUpdateFails_ShouldKeepEntriesForNextFlush() {
+        // Arrange
+        lastLoginBuffer.record(userId, null, now);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new DataAccessResourceFailureException("sin conexión"));
+
+        // Act
+        int flushed = lastLoginBuffer.flush();
+
+        // Assert
+        assertEquals(0, flushed);
+        assertEquals(1, lastLoginBuffer.getBufferDepth());
+        assertEquals(1, lastLoginBuffer.getFlushFailureCount());
+        assertEquals(0, lastLoginBuffer.getFlushCount());
+        verifyNoInteractions(secondLevelCache);
+    }
+
+    @Test
+    void record_WhenMaxPendingReached_ShouldFlushImmediately() {
+        // Arrange
+        ReflectionTestUtils.setField(lastLoginBuffer, "maxPending", 2);
+        lastLoginBuffer.record(UUID.randomUUID(), null, now);
+
+        // Act
+        lastLoginBuffer.record(userId, null, now);
+
+        // Assert
+        assertEquals(0, lastLoginBuffer.getBufferDepth());
+        assertEquals(2, lastLoginBuffer.getFlushedRows());
+    }
+
+    @Test
+    void shutdown_WhenEntriesPending_ShouldFlushThem() {
+        // Arrange
+        lastLoginBuffer.record(userId, null, now);
+
+        // Act
+        lastLoginBuffer.shutdown();
+
+        // Assert
+        assertEquals(0, lastLoginBuffer.getBufferDepth());
+        assertEquals(1, lastLoginBuffer.getFlushedRows());
+    }
+
+    private static int[][] updateCounts(List<Object[]> rows, ToIntFunction<Object[]> count) {
+        int[][] counts = new int[(rows.size() + 49) / 50][];
+        for (int batch = 0; batch < counts.length; batch++) {
+            counts[batch] = new int[Math.min(50, rows.size() - batch * 50)];
+            for (int i = 0; i < counts[batch].length; i++) {
+                counts[batch][i] = count.applyAsInt(rows.get(batch * 50 + i));
+            }
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,339 @@
+package cl.bci.ejercicio.service;
+
+import cl.bci.ejercicio.cache.LoginResponseCache;
+import cl.bci.ejercicio.dto.PhoneDto;
+import cl.bci.ejercicio.dto.SignUpRequestDto;
+import cl.bci.ejercicio.dto.UserResponseDto;
+import cl.bci.ejercicio.entity.Phone;
+import cl.bci.ejercicio.entity.User;
+import cl.bci.ejercicio.exception.UserAlReadyExist;
+import cl.bci.ejercicio.exception.UserNotFoundException;
+import cl.bci.ejercicio.repository.ReactiveUserRepository;
+import cl.bci.ejercicio.utils.AESUtil;
+import cl.bci.ejercicio.utils.UserMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveUserServiceTest {
+
+    @Mock
+    private ReactiveUserRepository reactiveUserRepository;
+
+    @Mock
+    private JwtService jwtService;
+
+    @Mock
+    private LastLoginBuffer lastLoginBuffer;
+
+    @Mock
+    private RegisteredEmailFilter registeredEmailFilter;
+
+    @InjectMocks
+    private ReactiveUserService reactiveUserService;
+
+    private SignUpRequestDto signUpRequestDto;
+    private User mockUser;
+    private EmailReservationRegistry emailReservationRegistry;
+    private SignUpStageMetrics signUpStageMetrics;
+    private final String TEST_EMAIL = "test@example.com";
+    private final String TEST_TOKEN = "test-jwt-token";
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // Arrange - Configuración común para todos los tests
+        emailReservationRegistry = new EmailReservationRegistry();
+        ReflectionTestUtils.setField(emailReservationRegistry, "stripes", 16);
+        emailReservationRegistry.init();
+        ReflectionTestUtils.setField(reactiveUserService, "emailReservationRegistry", emailReservationRegistry);
+        signUpStageMetrics = new SignUpStageMetrics();
+        ReflectionTestUtils.setField(reactiveUserService, "signUpStageMetrics", signUpStageMetrics);
+        ReflectionTestUtils.setField(reactiveUserService, "cryptoScheduler", Schedulers.immediate());
+
+        signUpRequestDto = new SignUpRequestDto();
+        signUpRequestDto.setName("Test User");
+        signUpRequestDto.setEmail(TEST_EMAIL);
+        signUpRequestDto.setPassword("TestPass1234");
+        signUpRequestDto.setPhones(Arrays.asList(PhoneDto.builder()
+                .number(123456789L)
+                .citycode(1)
+                .contrycode("57")
+                .build()));
+
+        mockUser = User.builder()
+                .id(UUID.randomUUID())
+                .name("Test User")
+                .email(TEST_EMAIL)
+                .password(AESUtil.encrypt("TestPass1234"))
+                .created(LocalDateTime.now())
+                .lastLogin(LocalDateTime.now())
+                .token(TEST_TOKEN)
+                .isActive(true)
+                .build();
+        mockUser.getPhones().add(Phone.builder()
+                .number(123456789L)
+                .cityCode(1)
+                .contrycode("57")
+                .user(mockUser)
+                .build());
+    }
+
+    @Test
+    void signUp_WhenEmailRuledOutByFilter_ShouldInsertWithoutExistenceCheck() throws Exception {
+        // Arrange
+        when(registeredEmailFilter.mightExist(TEST_EMAIL)).thenReturn(false);
+        when(jwtService.generateToken(TEST_EMAIL)).thenReturn(TEST_TOKEN);
+        when(reactiveUserRepository.insert(any(User.class))).thenReturn(Mono.just(mockUser));
+
+        // Act & Assert
+        StepVerifier.create(reactiveUserService.signUp(signUpRequestDto))
+                .assertNext(response -> {
+                    assertEquals(mockUser.getId(), response.getId());
+                    assertEquals(TEST_TOKEN, response.getToken());
+                    assertTrue(response.getIsActive());
+                })
+                .verifyComplete();
+
+        ArgumentCaptor<User> captor = ArgumentCaptor.forClass(User.class);
+        verify(reactiveUserRepository).insert(captor.capture());
+        assertEquals("TestPass1234", AESUtil.decrypt(captor.getValue().getPassword()));
+        assertEquals(TEST_TOKEN, captor.getValue().getToken());
+        assertEquals(1, captor.getValue().getPhones().size());
+        verify(reactiveUserRepository, never()).existsByEmail(any());
+        verify(registeredEmailFilter).add(TEST_EMAIL);
+        assertEquals(0, emailReservationRegistry.getReservedCount());
+        assertEquals(1, signUpStageMetrics.getCount(SignUpStageMetrics.Stage.TOTAL));
+    }
+
+    @Test
+    void signUp_WhenFilterFalsePositive_ShouldCheckExistenceAndInsert() throws Exception {
+        // Arrange
+        when(registeredEmailFilter.mightExist(TEST_EMAIL)).thenReturn(true);
+        when(reactiveUserRepository.existsByEmail(TEST_EMAIL)).thenReturn(Mono.just(false));
+        when(jwtService.generateToken(TEST_EMAIL)).thenReturn(TEST_TOKEN);
+        when(reactiveUserRepository.insert(any(User.class))).thenReturn(Mono.just(mockUser));
+
+        // Act & Assert
+        StepVerifier.create(reactiveUserService.signUp(signUpRequestDto))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        verify(registeredEmailFilter).recordFalsePositive();
+        assertEquals(1, signUpStageMetrics.getCount(SignUpStageMetrics.Stage.EXISTENCE_CHECK));
+        assertEquals(1, signUpStageMetrics.getCount(SignUpStageMetrics.Stage.INSERT));
+    }
+
+    @Test
+    void signUp_WhenEmailAlreadyRegistered_ShouldFailWithUserAlReadyExist() {
+        // Arrange
+        when(registeredEmailFilter.mightExist(TEST_EMAIL)).thenReturn(true);
+        when(reactiveUserRepository.existsByEmail(TEST_EMAIL)).thenReturn(Mono.just(true));
+
+        // Act & Assert
+        StepVerifier.create(reactiveUserService.signUp(signUpRequestDto))
+                .expectError(UserAlReadyExist.class)
+                .verify();
+
+        verify(reactiveUserRepository, never()).insert(any());
+        verify(registeredEmailFilter, never()).add(any());
+        assertEquals(0, emailReservationRegistry.getReservedCount());
+    }
+
+    @Test
+    void signUp_WhenSameEmailInFlight_ShouldFailWithoutTouchingDatabase() {
+        // Arrange
+        Runnable release = emailReservationRegistry.reserve(TEST_EMAIL);
+
+        // Act & Assert
+        StepVerifier.create(reactiveUserService.signUp(signUpRequestDto))
+                .expectError(UserAlReadyExist.class)
+                .verify();
+
+        verifyNoInteractions(reactiveUserRepository, registeredEmailFilter);
+        release.run();
+    }
+
+    @Test
+    void signUp_WhenEmailUniqueConstraintViolated_ShouldFailWithUserAlReadyExist() throws Exception {
+        // Arrange
+        when(registeredEmailFilter.mightExist(TEST_EMAIL)).thenReturn(false);
+        when(jwtService.generateToken(TEST_EMAIL)).thenReturn(TEST_TOKEN);
+        when(reactiveUserRepository.insert(any(User.class))).thenReturn(Mono.error(new DataIntegrityViolationException(
+                "Unique index or primary key violation: \"PUBLIC.UK_USERS_EMAIL_INDEX_4 ON PUBLIC.USERS(EMAIL)\"")));
+
+        // Act & Assert
+        StepVerifier.create(reactiveUserService.signUp(signUpRequestDto))
+                .expectError(UserAlReadyExist.class)
+                .verify();
+
+        verify(registeredEmailFilter, never()).add(any());
+        assertEquals(0, emailReservationRegistry.getReservedCount());
+    }
+
+    @Test
+    void signUp_WhenOtherIntegrityViolation_ShouldPropagateOriginalException() throws Exception {
+        // Arrange
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("NULL not allowed for column \"NAME\"");
+        when(registeredEmailFilter.mightExist(TEST_EMAIL)).thenReturn(false);
+        when(jwtService.generateToken(TEST_EMAIL)).thenReturn(TEST_TOKEN);
+        when(reactiveUserRepository.insert(any(User.class))).thenReturn(Mono.error(violation));
+
+        // Act & Assert
+        StepVerifier.create(reactiveUserService.signUp(signUpRequestDto))
+                .expectErrorMatches(error -> error == violation)
+                .verify();
+    }
+
+    @Test
+    void login_WhenUserExists_ShouldReturnUserWithBufferedLastLogin() throws Exception {
+        // Arrange
+        LocalDateTime bufferedLastLogin = LocalDateTime.now();
+        when(jwtService.extractEmail(TEST_TOKEN)).thenReturn(TEST_EMAIL);
+        when(reactiveUserRepository.findWithPhonesByEmail(TEST_EMAIL)).thenReturn(Mono.just(mockUser));
+        when(lastLoginBuffer.record(eq(mockUser.getId()), eq(mockUser.getLastLogin()), any(LocalDateTime.class)))
+                .thenReturn(bufferedLastLogin);
+
+        // Act & Assert
+        StepVerifier.create(reactiveUserService.login(TEST_TOKEN))
+                .assertNext(response -> {
+                    assertEquals(mockUser.getId(), response.getId());
+                    assertEquals(TEST_EMAIL, response.getEmail());
+                    assertEquals("TestPass1234", response.getPassword());
+                    assertEquals(1, response.getPhones().size());
+                    assertEquals(bufferedLastLogin, response.getLastLogin());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void login_WhenUserDoesNotExist_ShouldFailWithUserNotFoundException() throws Exception {
+        // Arrange
+        when(jwtService.extractEmail(TEST_TOKEN)).thenReturn(TEST_EMAIL);
+        when(reactiveUserRepository.findWithPhonesByEmail(TEST_EMAIL)).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(reactiveUserService.login(TEST_TOKEN))
+                .expectError(UserNotFoundException.class)
+                .verify();
+
+        verifyNoInteractions(lastLoginBuffer);
+    }
+
+    @Test
+    void loginSerialized_WhenCacheMiss_ShouldLoadUserAndStoreResponse() throws Exception {
+        // Arrange
+        ObjectMapper objectMapper = objectMapper();
+        LoginResponseCache cache = useLoginCache(objectMapper);
+        LocalDateTime bufferedLogin = LocalDateTime.of(2024, 1, 1, 12, 0);
+        when(jwtService.extractEmail(TEST_TOKEN)).thenReturn(TEST_EMAIL);
+        when(reactiveUserRepository.findWithPhonesByEmail(TEST_EMAIL)).thenReturn(Mono.just(mockUser));
+        when(lastLoginBuffer.record(eq(mockUser.getId()), eq(mockUser.getLastLogin()), any(LocalDateTime.class)))
+                .thenReturn(bufferedLogin);
+
+        // Act
+        byte[] result = reactiveUserService.loginSerialized(TEST_TOKEN).block();
+
+        // Assert
+        UserResponseDto expected = UserMapper.convertToUserResponse(mockUser);
+        expected.setLastLogin(bufferedLogin);
+        assertEquals(objectMapper.writeValueAsString(expected), new String(result, StandardCharsets.UTF_8));
+        assertEquals(1, cache.size());
+        assertEquals(bufferedLogin, cache.get(TEST_EMAIL).getLastLogin());
+    }
+
+    @Test
+    void loginSerialized_WhenResponseCached_ShouldNotStorePlaintextPassword() throws Exception {
+        // Arrange
+        LoginResponseCache cache = useLoginCache(objectMapper());
+        when(jwtService.extractEmail(TEST_TOKEN)).thenReturn(TEST_EMAIL);
+        when(reactiveUserRepository.findWithPhonesByEmail(TEST_EMAIL)).thenReturn(Mono.just(mockUser));
+        when(lastLoginBuffer.record(eq(mockUser.getId()), eq(mockUser.getLastLogin()), any(LocalDateTime.class)))
+                .thenReturn(LocalDateTime.of(2024, 1, 1, 12, 0));
+
+        // Act
+        byte[] result = reactiveUserService.loginSerialized(TEST_TOKEN).block();
+
+        // Assert
+        LoginResponseCache.Entry entry = cache.get(TEST_EMAIL);
+        byte[] stored = entry.render(new byte[0], new byte[0]);
+        assertFalse(new String(stored, StandardCharsets.UTF_8).contains("TestPass1234"));
+        assertEquals(mockUser.getPassword(), entry.getEncryptedPassword());
+        assertTrue(new String(result, StandardCharsets.UTF_8).contains("\"password\":\"TestPass1234\""));
+    }
+
+    @Test
+    void loginSerialized_WhenCacheHit_ShouldNotQueryDatabaseAndPatchLastLogin() throws Exception {
+        // Arrange
+        ObjectMapper objectMapper = objectMapper();
+        useLoginCache(objectMapper);
+        LocalDateTime firstLogin = LocalDateTime.of(2024, 1, 1, 12, 0);
+        LocalDateTime secondLogin = firstLogin.plusMinutes(5);
+        when(jwtService.extractEmail(TEST_TOKEN)).thenReturn(TEST_EMAIL);
+        when(reactiveUserRepository.findWithPhonesByEmail(TEST_EMAIL)).thenReturn(Mono.just(mockUser));
+        when(lastLoginBuffer.record(eq(mockUser.getId()), eq(mockUser.getLastLogin()), any(LocalDateTime.class)))
+                .thenReturn(firstLogin);
+        when(lastLoginBuffer.record(eq(mockUser.getId()), eq(firstLogin), any(LocalDateTime.class)))
+                .thenReturn(secondLogin);
+        reactiveUserService.loginSerialized(TEST_TOKEN).block();
+
+        // Act
+        byte[] result = reactiveUserService.loginSerialized(TEST_TOKEN).block();
+
+        // Assert
+        UserResponseDto expected = UserMapper.convertToUserResponse(mockUser);
+        expected.setLastLogin(secondLogin);
+        assertEquals(objectMapper.writeValueAsString(expected), new String(result, StandardCharsets.UTF_8));
+        verify(reactiveUserRepository, times(1)).findWithPhonesByEmail(TEST_EMAIL);
+    }
+
+    @Test
+    void loginSerialized_WhenUserDoesNotExist_ShouldFailWithUserNotFoundException() throws Exception {
+        // Arrange
+        LoginResponseCache cache = useLoginCache(objectMapper());
+        when(jwtService.extractEmail(TEST_TOKEN)).thenReturn(TEST_EMAIL);
+        when(reactiveUserRepository.findWithPhonesByEmail(TEST_EMAIL)).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(reactiveUserService.loginSerialized(TEST_TOKEN))
+                .expectError(UserNotFoundException.class)
+                .verify();
+        assertEquals(0, cache.size());
+        verifyNoInteractions(lastLoginBuffer);
+    }
+
+    private LoginResponseCache useLoginCache(ObjectMapper objectMapper) {
+        LoginResponseCache cache = new LoginResponseCache(1024 * 1024);
+        ReflectionTestUtils.setField(reactiveUserService, "loginResponseCache", cache);
+        ReflectionTestUtils.setField(reactiveUserService, "objectMapper", objectMapper);
+        return cache;
+    }
+
+    private static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+}
@@ -0,0 +1,122 @@
+package cl.bci.ejercicio.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.ResultSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RegisteredEmailFilterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private RegisteredEmailFilter registeredEmailFilter;
+
+    @BeforeEach
+    void setUp() {
+        // Arrange - Configuración común
+        ReflectionTestUtils.setField(registeredEmailFilter, "enabled", true);
+        ReflectionTestUtils.setField(registeredEmailFilter, "expectedInsertions", 1000L);
+        ReflectionTestUtils.setField(registeredEmailFilter, "falsePositiveRate", 0.01);
+    }
+
+    @Test
+    void mightExist_WhenNotLoaded_ShouldFallBackToDatabase() {
+        // Act
+        boolean mightExist = registeredEmailFilter.mightExist("test@example.com");
+
+        // Assert
+        assertTrue(mightExist);
+        assertFalse(registeredEmailFilter.isLoaded());
+        assertEquals(1, registeredEmailFilter.getUnavailableCount());
+    }
+
+    @Test
+    void rebuild_WhenUsersExist_ShouldLoadAllEmails() throws Exception {
+        // Arrange
+        stubEmails("one@example.com", "two@example.com");
+
+        // Act
+        registeredEmailFilter.rebuild();
+
+        // Assert
+        assertTrue(registeredEmailFilter.isLoaded());
+        assertEquals(2, registeredEmailFilter.getInsertions());
+        assertTrue(registeredEmailFilter.mightExist("one@example.com"));
+        assertTrue(registeredEmailFilter.mightExist("two@example.com"));
+        assertFalse(registeredEmailFilter.mightExist("new@example.com"));
+        assertEquals(2, registeredEmailFilter.getPossibleHitCount());
+        assertEquals(1, registeredEmailFilter.getDefiniteMissCount());
+        assertTrue(registeredEmailFilter.getMemoryBytes() > 0);
+    }
+
+    @Test
+    void add_WhenLoaded_ShouldMarkEmailAsPossiblyRegistered() throws Exception {
+        // Arrange
+        stubEmails();
+        registeredEmailFilter.rebuild();
+
+        // Act
+        registeredEmailFilter.add("new@example.com");
+
+        // Assert
+        assertTrue(registeredEmailFilter.mightExist("new@example.com"));
+        assertEquals(1, registeredEmailFilter.getInsertions());
+    }
+
+    @Test
+    void add_WhenInsertedDuringRebuild_ShouldBeKeptInNewFilter() throws Exception {
+        // Arrange
+        when(jdbcTemplate.queryForObject(RegisteredEmailFilter.COUNT_SQL, Long.class)).thenReturn(0L);
+        doAnswer(invocation -> {
+            registeredEmailFilter.add("concurrent@example.com");
+            return null;
+        }).when(jdbcTemplate).query(eq(RegisteredEmailFilter.SELECT_EMAILS_SQL), any(RowCallbackHandler.class));
+
+        // Act
+        registeredEmailFilter.rebuild();
+
+        // Assert
+        assertTrue(registeredEmailFilter.mightExist("concurrent@example.com"));
+    }
+
+    @Test
+    void rebuild_WhenDisabled_ShouldNotQueryDatabase() {
+        // Arrange
+        ReflectionTestUtils.setField(registeredEmailFilter, "enabled", false);
+
+        // Act
+        registeredEmailFilter.rebuild();
+
+        // Assert
+        assertFalse(registeredEmailFilter.isLoaded());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private void stubEmails(String... emails) throws Exception {
+        when(jdbcTemplate.queryForObject(RegisteredEmailFilter.COUNT_SQL, Long.class)).thenReturn((long) emails.length);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (String email : emails) {
+                ResultSet resultSet = mock(ResultSet.class);
+                when(resultSet.getString(1)).thenReturn(email);
+                handler.processRow(resultSet);
+            }
+            return null;
+        }).when(jdbcTemplate).query(eq(RegisteredEmailFilter.SELECT_EMAILS_SQL), any(RowCallbackHandler.class));
+    }
+}
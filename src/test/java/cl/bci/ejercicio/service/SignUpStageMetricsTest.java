@@ -0,0 +1,34 @@
+package cl.bci.ejercicio.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SignUpStageMetricsTest {
+
+    @Test
+    void record_WhenStageMeasured_ShouldAccumulateCountTotalAndMax() throws Exception {
+        // Arrange
+        SignUpStageMetrics metrics = new SignUpStageMetrics();
+
+        // Act
+        long first = metrics.record(SignUpStageMetrics.Stage.INSERT, System.nanoTime() - 1000);
+        long second = metrics.record(SignUpStageMetrics.Stage.INSERT, System.nanoTime() - 3000);
+
+        // Assert
+        assertEquals(2, metrics.getCount(SignUpStageMetrics.Stage.INSERT));
+        assertEquals(first + second, metrics.getTotalNanos(SignUpStageMetrics.Stage.INSERT));
+        assertEquals(Math.max(first, second), metrics.getMaxNanos(SignUpStageMetrics.Stage.INSERT));
+        assertEquals((first + second) / 2, metrics.getMeanNanos(SignUpStageMetrics.Stage.INSERT));
+        assertEquals(0, metrics.getCount(SignUpStageMetrics.Stage.ENCRYPT));
+    }
+
+    @Test
+    void getMeanNanos_WhenStageNotMeasured_ShouldReturnZero() {
+        // Arrange
+        SignUpStageMetrics metrics = new SignUpStageMetrics();
+
+        // Act & Assert
+        assertEquals(0, metrics.getMeanNanos(SignUpStageMetrics.Stage.TOTAL));
+    }
+}
@@ -0,0 +1,386 @@
+package cl.bci.ejercicio.service;
+
+import cl.bci.ejercicio.dto.BatchSignUpItemResultDto;
+import cl.bci.ejercicio.dto.BatchSignUpResponseDto;
+import cl.bci.ejercicio.dto.PhoneDto;
+import cl.bci.ejercicio.dto.SignUpRequestDto;
+import cl.bci.ejercicio.entity.User;
+import cl.bci.ejercicio.exception.InvalidBatchException;
+import cl.bci.ejercicio.outbox.UserEventOutbox;
+import cl.bci.ejercicio.repository.UserRepository;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserBatchServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private JwtService jwtService;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private UserBatchService userBatchService;
+
+    private final String TEST_TOKEN = "test-jwt-token";
+
+    @BeforeEach
+    void setUp() {
+        // Arrange - Configuración común
+        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+        ReflectionTestUtils.setField(userBatchService, "validator", validator);
+        ReflectionTestUtils.setField(userBatchService, "maxBatchSize", 10);
+        ReflectionTestUtils.setField(userBatchService, "jdbcBatchSize", 2);
+        ReflectionTestUtils.setField(userBatchService, "cryptoExecutor", (Executor) Runnable::run);
+        ReflectionTestUtils.setField(userBatchService, "registeredEmailFilter", new RegisteredEmailFilter());
+    }
+
+    @Test
+    void signUpBatch_WhenAllUsersAreNew_ShouldCreateAllInJdbcBatches() throws Exception {
+        // Arrange
+        List<SignUpRequestDto> requests = Arrays.asList(
+                request("one@example.com"), request("two@example.com"), request("three@example.com"));
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(Collections.emptyList());
+        when(jwtService.generateToken(anyString())).thenReturn(TEST_TOKEN);
+        when(userRepository.saveAll(anyList())).thenAnswer(invocation -> assignIds(invocation.getArgument(0)));
+
+        // Act
+        BatchSignUpResponseDto result = userBatchService.signUpBatch(requests);
+
+        // Assert
+        assertEquals(3, result.getTotal());
+        assertEquals(3, result.getCreated());
+        assertEquals(0, result.getFailed());
+        for (int i = 0; i < 3; i++) {
+            BatchSignUpItemResultDto item = result.getResults().get(i);
+            assertEquals(i, item.getIndex());
+            assertEquals(BatchSignUpItemResultDto.Status.CREATED, item.getStatus());
+            assertNotNull(item.getId());
+            assertEquals(TEST_TOKEN, item.getToken());
+        }
+        assertEquals("one@example.com", result.getResults().get(0).getEmail());
+        verify(userRepository, times(1)).findExistingEmails(anyCollection());
+        verify(userRepository, times(2)).saveAll(anyList());
+        verify(entityManager, times(2)).flush();
+        verify(entityManager, times(2)).clear();
+        verify(userRepository, never()).existsByEmail(anyString());
+    }
+
+    @Test
+    void signUpBatch_WhenOutboxEnabled_ShouldRecordCreatedEventPerJdbcBatch() throws Exception {
+        // Arrange
+        UserEventOutbox userEventOutbox = mock(UserEventOutbox.class);
+        ReflectionTestUtils.setField(userBatchService, "userEventOutbox", userEventOutbox);
+        List<String> recorded = new ArrayList<>();
+        doAnswer(invocation -> {
+            List<User> users = invocation.getArgument(0);
+            users.forEach(user -> recorded.add(user.getEmail()));
+            return null;
+        }).when(userEventOutbox).usersCreated(anyList());
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(Collections.emptyList());
+        when(jwtService.generateToken(anyString())).thenReturn(TEST_TOKEN);
+        when(userRepository.saveAll(anyList())).thenAnswer(invocation -> assignIds(invocation.getArgument(0)));
+
+        // Act
+        userBatchService.signUpBatch(Arrays.asList(
+                request("one@example.com"), request("two@example.com"), request("three@example.com")));
+
+        // Assert
+        verify(userEventOutbox, times(2)).usersCreated(anyList());
+        assertEquals(Arrays.asList("one@example.com", "two@example.com", "three@example.com"), recorded);
+    }
+
+    @Test
+    void signUpBatch_WhenFilterRulesOutAllEmails_ShouldSkipExistenceQuery() throws Exception {
+        // Arrange
+        RegisteredEmailFilter registeredEmailFilter = mock(RegisteredEmailFilter.class);
+        ReflectionTestUtils.setField(userBatchService, "registeredEmailFilter", registeredEmailFilter);
+        when(registeredEmailFilter.mightExist(anyString())).thenReturn(false);
+        when(jwtService.generateToken(anyString())).thenReturn(TEST_TOKEN);
+        when(userRepository.saveAll(anyList())).thenAnswer(invocation -> assignIds(invocation.getArgument(0)));
+
+        // Act
+        BatchSignUpResponseDto result = userBatchService.signUpBatch(
+                Arrays.asList(request("one@example.com"), request("two@example.com")));
+
+        // Assert
+        assertEquals(2, result.getCreated());
+        verify(userRepository, never()).findExistingEmails(anyCollection());
+        verify(registeredEmailFilter).add("one@example.com");
+        verify(registeredEmailFilter).add("two@example.com");
+    }
+
+    @Test
+    void signUpBatch_WhenFilterMissesRegisteredEmail_ShouldRetryAndReportAlreadyExists() throws Exception {
+        // Arrange
+        RegisteredEmailFilter registeredEmailFilter = mock(RegisteredEmailFilter.class);
+        ReflectionTestUtils.setField(userBatchService, "registeredEmailFilter", registeredEmailFilter);
+        when(registeredEmailFilter.mightExist(anyString())).thenReturn(false);
+        when(jwtService.generateToken(anyString())).thenReturn(TEST_TOKEN);
+        when(userRepository.saveAll(anyList())).thenAnswer(invocation -> assignIds(invocation.getArgument(0)));
+        doThrow(new PersistenceException(new ConstraintViolationException("duplicado",
+                new SQLException("Unique index or primary key violation"), "PUBLIC.UK_USERS_EMAIL_INDEX_4")))
+                .doNothing()
+                .when(entityManager).flush();
+        when(userRepository.findExistingEmails(anyCollection()))
+                .thenReturn(Collections.singletonList("taken@example.com"));
+
+        // Act
+        BatchSignUpResponseDto result = userBatchService.signUpBatch(
+                Arrays.asList(request("taken@example.com"), request("new@example.com")));
+
+        // Assert
+        assertEquals(1, result.getCreated());
+        assertEquals(1, result.getFailed());
+        assertEquals(BatchSignUpItemResultDto.Status.ALREADY_EXISTS, result.getResults().get(0).getStatus());
+        assertEquals(UserBatchService.ALREADY_EXISTS, result.getResults().get(0).getDetail());
+        assertEquals(BatchSignUpItemResultDto.Status.CREATED, result.getResults().get(1).getStatus());
+        verify(userRepository, times(1)).findExistingEmails(anyCollection());
+        verify(transactionManager, times(1)).rollback(any());
+        verify(transactionManager, times(1)).commit(any());
+        verify(registeredEmailFilter, atLeastOnce()).add("taken@example.com");
+    }
+
+    @Test
+    void signUpBatch_WhenUniqueViolationPersists_ShouldPropagateAfterMaxAttempts() {
+        // Arrange
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(Collections.emptyList());
+        when(jwtService.generateToken(anyString())).thenReturn(TEST_TOKEN);
+        when(userRepository.saveAll(anyList())).thenAnswer(invocation -> assignIds(invocation.getArgument(0)));
+        doThrow(new PersistenceException(new ConstraintViolationException("duplicado",
+                new SQLException("Unique index or primary key violation"), "UK_USERS_EMAIL")))
+                .when(entityManager).flush();
+
+        // Act & Assert
+        assertThrows(PersistenceException.class,
+                () -> userBatchService.signUpBatch(Collections.singletonList(request("race@example.com"))));
+        verify(entityManager, times(UserBatchService.MAX_ATTEMPTS)).flush();
+    }
+
+    @Test
+    void signUpBatch_WhenFlushFailsForOtherReason_ShouldNotRetry() {
+        // Arrange
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(Collections.emptyList());
+        when(jwtService.generateToken(anyString())).thenReturn(TEST_TOKEN);
+        when(userRepository.saveAll(anyList())).thenAnswer(invocation -> assignIds(invocation.getArgument(0)));
+        doThrow(new PersistenceException("conexión cerrada")).when(entityManager).flush();
+
+        // Act & Assert
+        assertThrows(PersistenceException.class,
+                () -> userBatchService.signUpBatch(Collections.singletonList(request("one@example.com"))));
+        verify(entityManager, times(1)).flush();
+    }
+
+    @Test
+    void signUpBatch_WhenSomeEmailsExist_ShouldRejectOnlyThoseItems() throws Exception {
+        // Arrange
+        List<SignUpRequestDto> requests = Arrays.asList(request("taken@example.com"), request("new@example.com"));
+        when(userRepository.findExistingEmails(anyCollection()))
+                .thenReturn(Collections.singletonList("taken@example.com"));
+        when(jwtService.generateToken(anyString())).thenReturn(TEST_TOKEN);
+        when(userRepository.saveAll(anyList())).thenAnswer(invocation -> assignIds(invocation.getArgument(0)));
+
+        // Act
+        BatchSignUpResponseDto result = userBatchService.signUpBatch(requests);
+
+        // Assert
+        assertEquals(1, result.getCreated());
+        assertEquals(1, result.getFailed());
+        assertEquals(BatchSignUpItemResultDto.Status.ALREADY_EXISTS, result.getResults().get(0).getStatus());
+        assertEquals(UserBatchService.ALREADY_EXISTS, result.getResults().get(0).getDetail());
+        assertNull(result.getResults().get(0).getId());
+        assertEquals(BatchSignUpItemResultDto.Status.CREATED, result.getResults().get(1).getStatus());
+    }
+
+    @Test
+    void signUpBatch_WhenEmailRepeatedInBatch_ShouldKeepFirstOccurrence() throws Exception {
+        // Arrange
+        List<SignUpRequestDto> requests = Arrays.asList(request("dup@example.com"), request("dup@example.com"));
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(Collections.emptyList());
+        when(jwtService.generateToken(anyString())).thenReturn(TEST_TOKEN);
+        when(userRepository.saveAll(anyList())).thenAnswer(invocation -> assignIds(invocation.getArgument(0)));
+
+        // Act
+        BatchSignUpResponseDto result = userBatchService.signUpBatch(requests);
+
+        // Assert
+        assertEquals(BatchSignUpItemResultDto.Status.CREATED, result.getResults().get(0).getStatus());
+        assertEquals(BatchSignUpItemResultDto.Status.ALREADY_EXISTS, result.getResults().get(1).getStatus());
+        assertEquals(UserBatchService.DUPLICATED_IN_BATCH, result.getResults().get(1).getDetail());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<String>> emails = ArgumentCaptor.forClass(Collection.class);
+        verify(userRepository).findExistingEmails(emails.capture());
+        assertEquals(1, emails.getValue().size());
+    }
+
+    @Test
+    void signUpBatch_WhenItemIsInvalid_ShouldRejectItWithValidationMessage() throws Exception {
+        // Arrange
+        SignUpRequestDto invalid = request("invalid-email");
+        SignUpRequestDto valid = request("valid@example.com");
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(Collections.emptyList());
+        when(jwtService.generateToken(anyString())).thenReturn(TEST_TOKEN);
+        when(userRepository.saveAll(anyList())).thenAnswer(invocation -> assignIds(invocation.getArgument(0)));
+
+        // Act
+        BatchSignUpResponseDto result = userBatchService.signUpBatch(Arrays.asList(invalid, null, valid));
+
+        // Assert
+        assertEquals(1, result.getCreated());
+        assertEquals(2, result.getFailed());
+        assertEquals(BatchSignUpItemResultDto.Status.INVALID, result.getResults().get(0).getStatus());
+        assertTrue(result.getResults().get(0).getDetail().contains("El formato del email no es válido"));
+        assertEquals(BatchSignUpItemResultDto.Status.INVALID, result.getResults().get(1).getStatus());
+        assertEquals(BatchSignUpItemResultDto.Status.CREATED, result.getResults().get(2).getStatus());
+    }
+
+    @Test
+    void signUpBatch_WhenAllItemsInvalid_ShouldNotQueryDatabase() throws Exception {
+        // Arrange
+        List<SignUpRequestDto> requests = Collections.singletonList(request("invalid-email"));
+
+        // Act
+        BatchSignUpResponseDto result = userBatchService.signUpBatch(requests);
+
+        // Assert
+        assertEquals(0, result.getCreated());
+        assertEquals(1, result.getFailed());
+        verifyNoInteractions(userRepository, jwtService, entityManager);
+    }
+
+    @Test
+    void signUpBatch_WhenBatchIsEmpty_ShouldThrowInvalidBatchException() {
+        // Act & Assert
+        assertThrows(InvalidBatchException.class, () -> userBatchService.signUpBatch(new ArrayList<>()));
+        assertThrows(InvalidBatchException.class, () -> userBatchService.signUpBatch(null));
+    }
+
+    @Test
+    void signUpBatch_WhenBatchExceedsMaxSize_ShouldThrowInvalidBatchException() {
+        // Arrange
+        List<SignUpRequestDto> requests = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            requests.add(request("user" + i + "@example.com"));
+        }
+
+        // Act & Assert
+        InvalidBatchException exception = assertThrows(InvalidBatchException.class,
+                () -> userBatchService.signUpBatch(requests));
+        assertEquals("El lote supera el máximo de 10 usuarios", exception.getMessage());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void signUpBatch_WhenCryptoRunsOnThreadPool_ShouldKeepResultsInRequestOrder() throws Exception {
+        // Arrange
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        ReflectionTestUtils.setField(userBatchService, "cryptoExecutor", executor);
+        List<SignUpRequestDto> requests = new ArrayList<>();
+        for (int i = 0; i < 9; i++) {
+            requests.add(request("user" + i + "@example.com"));
+        }
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(Collections.emptyList());
+        when(jwtService.generateToken(anyString())).thenAnswer(invocation -> "token-" + invocation.getArgument(0));
+        when(userRepository.saveAll(anyList())).thenAnswer(invocation -> assignIds(invocation.getArgument(0)));
+
+        try {
+            // Act
+            BatchSignUpResponseDto result = userBatchService.signUpBatch(requests);
+
+            // Assert
+            assertEquals(9, result.getCreated());
+            for (int i = 0; i < 9; i++) {
+                assertEquals("user" + i + "@example.com", result.getResults().get(i).getEmail());
+                assertEquals("token-user" + i + "@example.com", result.getResults().get(i).getToken());
+            }
+            verify(userRepository, times(5)).saveAll(anyList());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void signUpBatch_WhenTokenGenerationFails_ShouldPropagateOriginalException() {
+        // Arrange
+        List<SignUpRequestDto> requests = Collections.singletonList(request("fail@example.com"));
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(Collections.emptyList());
+        when(jwtService.generateToken(anyString())).thenThrow(new IllegalStateException("firma no disponible"));
+
+        // Act & Assert
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> userBatchService.signUpBatch(requests));
+        assertEquals("firma no disponible", exception.getMessage());
+        verify(userRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void signUpBatch_WhenInsertFailsWithWrappedError_ShouldPropagateTheError() {
+        // Arrange
+        List<SignUpRequestDto> requests = Collections.singletonList(request("error@example.com"));
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(Collections.emptyList());
+        when(jwtService.generateToken(anyString())).thenReturn("token");
+        when(userRepository.saveAll(anyList()))
+                .thenThrow(new CompletionException(new LinkageError("clase no disponible")));
+
+        // Act & Assert
+        LinkageError error = assertThrows(LinkageError.class, () -> userBatchService.signUpBatch(requests));
+        assertEquals("clase no disponible", error.getMessage());
+    }
+
+    private static SignUpRequestDto request(String email) {
+        SignUpRequestDto request = new SignUpRequestDto();
+        request.setName("Test User");
+        request.setEmail(email);
+        request.setPassword("Testpass12");
+        request.setPhones(Collections.singletonList(PhoneDto.builder()
+                .number(123456789L)
+                .citycode(1)
+                .contrycode("57")
+                .build()));
+        return request;
+    }
+
+    private static List<User> assignIds(List<User> users) {
+        users.forEach(user -> user.setId(UUID.randomUUID()));
+        return users;
+    }
+}
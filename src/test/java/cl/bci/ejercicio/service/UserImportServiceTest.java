@@ -0,0 +1,255 @@
+package cl.bci.ejercicio.service;
+
+import cl.bci.ejercicio.dto.BatchSignUpItemResultDto;
+import cl.bci.ejercicio.dto.BatchSignUpResponseDto;
+import cl.bci.ejercicio.dto.ImportEventDto;
+import cl.bci.ejercicio.dto.SignUpRequestDto;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserImportServiceTest {
+
+    @Mock
+    private UserBatchService userBatchService;
+
+    @InjectMocks
+    private UserImportService userImportService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<Integer> chunkSizes = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        // Arrange - Configuración común
+        ReflectionTestUtils.setField(userImportService, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(userImportService, "chunkSize", 2);
+        ReflectionTestUtils.setField(userImportService, "maxLineLength", 200);
+        ReflectionTestUtils.setField(userImportService, "batchMaxSize", 1000);
+    }
+
+    @Test
+    void importUsers_WhenAllRecordsValid_ShouldCommitInChunksAndReportProgress() throws Exception {
+        // Arrange
+        stubBatchCreatingAll();
+        InputStream input = ndjson(user("one@example.com"), user("two@example.com"), user("three@example.com"));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // Act
+        ImportEventDto summary = userImportService.importUsers(input, output);
+
+        // Assert
+        assertEquals(3L, summary.getProcessed());
+        assertEquals(3L, summary.getCreated());
+        assertEquals(0L, summary.getFailed());
+        assertEquals(List.of(2, 1), chunkSizes);
+
+        List<JsonNode> events = events(output);
+        assertEquals(3, events.size());
+        assertEquals("PROGRESS", events.get(0).get("type").asText());
+        assertEquals(2, events.get(0).get("created").asLong());
+        assertEquals("PROGRESS", events.get(1).get("type").asText());
+        assertEquals("SUMMARY", events.get(2).get("type").asText());
+        assertEquals(3, events.get(2).get("created").asLong());
+    }
+
+    @Test
+    void importUsers_WhenLineIsMalformed_ShouldReportErrorAndContinue() throws Exception {
+        // Arrange
+        stubBatchCreatingAll();
+        InputStream input = ndjson(user("one@example.com"), "{not-json", "", user("two@example.com"));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // Act
+        ImportEventDto summary = userImportService.importUsers(input, output);
+
+        // Assert
+        assertEquals(3L, summary.getProcessed());
+        assertEquals(2L, summary.getCreated());
+        assertEquals(1L, summary.getFailed());
+
+        JsonNode error = events(output).get(0);
+        assertEquals("ERROR", error.get("type").asText());
+        assertEquals(2, error.get("line").asLong());
+        assertEquals("INVALID", error.get("status").asText());
+        assertEquals(UserImportService.INVALID_JSON, error.get("detail").asText());
+        assertNull(error.get("processed"));
+    }
+
+    @Test
+    void importUsers_WhenBatchRejectsRecord_ShouldReportItsLineNumber() throws Exception {
+        // Arrange
+        when(userBatchService.signUpBatch(anyList())).thenReturn(BatchSignUpResponseDto.builder()
+                .total(2)
+                .created(1)
+                .failed(1)
+                .results(List.of(
+                        BatchSignUpItemResultDto.builder()
+                                .index(0)
+                                .email("one@example.com")
+                                .status(BatchSignUpItemResultDto.Status.CREATED)
+                                .build(),
+                        BatchSignUpItemResultDto.builder()
+                                .index(1)
+                                .email("taken@example.com")
+                                .status(BatchSignUpItemResultDto.Status.ALREADY_EXISTS)
+                                .detail(UserBatchService.ALREADY_EXISTS)
+                                .build()))
+                .build());
+        InputStream input = ndjson(user("one@example.com"), "", user("taken@example.com"));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // Act
+        ImportEventDto summary = userImportService.importUsers(input, output);
+
+        // Assert
+        assertEquals(1L, summary.getCreated());
+        assertEquals(1L, summary.getFailed());
+        JsonNode error = events(output).get(0);
+        assertEquals("ERROR", error.get("type").asText());
+        assertEquals(3, error.get("line").asLong());
+        assertEquals("taken@example.com", error.get("email").asText());
+        assertEquals("ALREADY_EXISTS", error.get("status").asText());
+    }
+
+    @Test
+    void importUsers_WhenInputIsEmpty_ShouldOnlyWriteSummary() throws Exception {
+        // Arrange
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // Act
+        ImportEventDto summary = userImportService.importUsers(ndjson(), output);
+
+        // Assert
+        assertEquals(0L, summary.getProcessed());
+        List<JsonNode> events = events(output);
+        assertEquals(1, events.size());
+        assertEquals("SUMMARY", events.get(0).get("type").asText());
+        verifyNoInteractions(userBatchService);
+    }
+
+    @Test
+    void importUsers_WhenLineExceedsMaxLength_ShouldReportInvalidWithoutBufferingIt() throws Exception {
+        // Arrange
+        stubBatchCreatingAll();
+        String longLine = "{\"name\":\"" + "x".repeat(10_000) + "\"}";
+        InputStream input = ndjson(user("one@example.com"), longLine, user("two@example.com"));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // Act
+        ImportEventDto summary = userImportService.importUsers(input, output);
+
+        // Assert
+        assertEquals(3L, summary.getProcessed());
+        assertEquals(2L, summary.getCreated());
+        assertEquals(1L, summary.getFailed());
+        JsonNode error = events(output).get(0);
+        assertEquals("ERROR", error.get("type").asText());
+        assertEquals(2, error.get("line").asLong());
+        assertEquals("INVALID", error.get("status").asText());
+        assertEquals(UserImportService.LINE_TOO_LONG, error.get("detail").asText());
+    }
+
+    @Test
+    void importUsers_WhenChunkFails_ShouldReportItsRecordsAndContinueWithSummary() throws Exception {
+        // Arrange
+        when(userBatchService.signUpBatch(anyList()))
+                .thenThrow(new IllegalStateException("Base de datos no disponible"))
+                .thenAnswer(invocation -> {
+                    List<SignUpRequestDto> chunk = invocation.getArgument(0);
+                    return BatchSignUpResponseDto.builder()
+                            .total(chunk.size())
+                            .created(chunk.size())
+                            .failed(0)
+                            .results(List.of(BatchSignUpItemResultDto.builder()
+                                    .index(0)
+                                    .email(chunk.get(0).getEmail())
+                                    .status(BatchSignUpItemResultDto.Status.CREATED)
+                                    .build()))
+                            .build();
+                });
+        InputStream input = ndjson(user("one@example.com"), user("two@example.com"), user("three@example.com"));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // Act
+        ImportEventDto summary = userImportService.importUsers(input, output);
+
+        // Assert
+        assertEquals(3L, summary.getProcessed());
+        assertEquals(1L, summary.getCreated());
+        assertEquals(2L, summary.getFailed());
+        List<JsonNode> events = events(output);
+        assertEquals(5, events.size());
+        assertEquals("FAILED", events.get(0).get("status").asText());
+        assertEquals(1, events.get(0).get("line").asLong());
+        assertEquals("two@example.com", events.get(1).get("email").asText());
+        assertEquals(UserImportService.CHUNK_FAILED, events.get(1).get("detail").asText());
+        assertEquals("PROGRESS", events.get(2).get("type").asText());
+        assertEquals("PROGRESS", events.get(3).get("type").asText());
+        assertEquals("SUMMARY", events.get(4).get("type").asText());
+    }
+
+    @Test
+    void init_WhenChunkSizeExceedsBatchMaxSize_ShouldThrowIllegalStateException() {
+        // Arrange
+        ReflectionTestUtils.setField(userImportService, "chunkSize", 1001);
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> userImportService.init());
+    }
+
+    private void stubBatchCreatingAll() throws Exception {
+        when(userBatchService.signUpBatch(anyList())).thenAnswer(invocation -> {
+            List<SignUpRequestDto> chunk = invocation.getArgument(0);
+            chunkSizes.add(chunk.size());
+            List<BatchSignUpItemResultDto> results = new ArrayList<>();
+            for (int i = 0; i < chunk.size(); i++) {
+                results.add(BatchSignUpItemResultDto.builder()
+                        .index(i)
+                        .email(chunk.get(i).getEmail())
+                        .status(BatchSignUpItemResultDto.Status.CREATED)
+                        .build());
+            }
+            return BatchSignUpResponseDto.builder()
+                    .total(chunk.size())
+                    .created(chunk.size())
+                    .failed(0)
+                    .results(results)
+                    .build();
+        });
+    }
+
+    private static String user(String email) {
+        return "{\"name\":\"Test User\",\"email\":\"" + email + "\",\"password\":\"Testpass12\",\"phones\":[]}";
+    }
+
+    private static InputStream ndjson(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private List<JsonNode> events(ByteArrayOutputStream output) throws Exception {
+        List<JsonNode> events = new ArrayList<>();
+        for (String line : output.toString(StandardCharsets.UTF_8.name()).split("\n")) {
+            events.add(objectMapper.readTree(line));
+        }
+        return events;
+    }
+}
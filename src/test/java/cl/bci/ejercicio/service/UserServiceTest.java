@@ -1,5 +1,6 @@
 package cl.bci.ejercicio.service;
 
+import cl.bci.ejercicio.cache.LoginResponseCache;
 import cl.bci.ejercicio.dto.PhoneDto;
 import cl.bci.ejercicio.dto.SignUpRequestDto;
 import cl.bci.ejercicio.dto.SignUpResponseDto;
@@ -8,24 +9,39 @@ import cl.bci.ejercicio.entity.Phone;
 import cl.bci.ejercicio.entity.User;
 import cl.bci.ejercicio.exception.UserAlReadyExist;
 import cl.bci.ejercicio.exception.UserNotFoundException;
+import cl.bci.ejercicio.outbox.UserEventOutbox;
 import cl.bci.ejercicio.repository.UserRepository;
 import cl.bci.ejercicio.utils.AESUtil;
+import cl.bci.ejercicio.utils.RequestTimings;
+import cl.bci.ejercicio.utils.UserMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.Executor;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,6 +53,15 @@ class UserServiceTest {
     @Mock
     private JwtService jwtService;
 
+    @Mock
+    private LastLoginBuffer lastLoginBuffer;
+
+    @Mock
+    private RegisteredEmailFilter registeredEmailFilter;
+
+    @Mock
+    private UserEventOutbox userEventOutbox;
+
     @InjectMocks
     private UserService userService;
 
@@ -46,10 +71,21 @@ class UserServiceTest {
     private Phone phone;
     private final String TEST_EMAIL = "test@example.com";
     private final String TEST_TOKEN = "test-jwt-token";
+    private EmailReservationRegistry emailReservationRegistry;
+    private SignUpStageMetrics signUpStageMetrics;
 
     @BeforeEach
     void setUp() throws Exception {
         // Arrange - Configuración común para todos los tests
+        emailReservationRegistry = new EmailReservationRegistry();
+        ReflectionTestUtils.setField(emailReservationRegistry, "stripes", 16);
+        emailReservationRegistry.init();
+        ReflectionTestUtils.setField(userService, "emailReservationRegistry", emailReservationRegistry);
+        signUpStageMetrics = new SignUpStageMetrics();
+        ReflectionTestUtils.setField(userService, "signUpStageMetrics", signUpStageMetrics);
+        ReflectionTestUtils.setField(userService, "cryptoExecutor", (Executor) Runnable::run);
+        ReflectionTestUtils.setField(userService, "asyncCrypto", true);
+
         phoneDto = PhoneDto.builder()
                 .number(123456789L)
                 .citycode(1)
@@ -85,9 +121,10 @@ class UserServiceTest {
     @Test
     void signUp_WhenUserDoesNotExist_ShouldCreateUserSuccessfully() throws Exception {
         // Arrange
-        when(userRepository.existsByEmail(TEST_EMAIL)).thenReturn(false);
+        when(registeredEmailFilter.mightExist(TEST_EMAIL)).thenReturn(true);
+        when(userRepository.existsByNaturalEmail(TEST_EMAIL)).thenReturn(false);
         when(jwtService.generateToken(TEST_EMAIL)).thenReturn(TEST_TOKEN);
-        when(userRepository.save(any(User.class))).thenReturn(mockUser);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(mockUser);
 
         // Act
         SignUpResponseDto result = userService.signUp(signUpRequestDto);
@@ -100,15 +137,54 @@ class UserServiceTest {
         assertEquals(mockUser.getIsActive(), result.getIsActive());
         assertEquals(TEST_TOKEN, result.getToken());
 
-        verify(userRepository).existsByEmail(TEST_EMAIL);
+        verify(userRepository).existsByNaturalEmail(TEST_EMAIL);
         verify(jwtService).generateToken(TEST_EMAIL);
-        verify(userRepository).save(any(User.class));
+        verify(userRepository).saveAndFlush(any(User.class));
+        verify(registeredEmailFilter).recordFalsePositive();
+        verify(registeredEmailFilter).add(TEST_EMAIL);
+        verify(userEventOutbox).userCreated(mockUser);
+    }
+
+    @Test
+    void signUp_WhenFilterRulesOutEmail_ShouldSkipExistenceQuery() throws Exception {
+        // Arrange
+        when(registeredEmailFilter.mightExist(TEST_EMAIL)).thenReturn(false);
+        when(jwtService.generateToken(TEST_EMAIL)).thenReturn(TEST_TOKEN);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(mockUser);
+
+        // Act
+        SignUpResponseDto result = userService.signUp(signUpRequestDto);
+
+        // Assert
+        assertNotNull(result);
+        verify(userRepository, never()).existsByNaturalEmail(anyString());
+        verify(registeredEmailFilter, never()).recordFalsePositive();
+        verify(registeredEmailFilter).add(TEST_EMAIL);
+    }
+
+    @Test
+    void signUp_WhenEmailHasUpperCase_ShouldCheckNormalizedEmailAndKeepOriginal() throws Exception {
+        // Arrange
+        signUpRequestDto.setEmail("Test@Example.com");
+        when(registeredEmailFilter.mightExist(TEST_EMAIL)).thenReturn(true);
+        when(userRepository.existsByNaturalEmail(TEST_EMAIL)).thenReturn(false);
+        when(jwtService.generateToken("Test@Example.com")).thenReturn(TEST_TOKEN);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(mockUser);
+
+        // Act
+        userService.signUp(signUpRequestDto);
+
+        // Assert
+        verify(userRepository).existsByNaturalEmail(TEST_EMAIL);
+        verify(registeredEmailFilter).add(TEST_EMAIL);
+        verify(userRepository).saveAndFlush(argThat(user -> "Test@Example.com".equals(user.getEmail())));
     }
 
     @Test
     void signUp_WhenUserAlreadyExists_ShouldThrowUserAlReadyExist() {
         // Arrange
-        when(userRepository.existsByEmail(TEST_EMAIL)).thenReturn(true);
+        when(registeredEmailFilter.mightExist(TEST_EMAIL)).thenReturn(true);
+        when(userRepository.existsByNaturalEmail(TEST_EMAIL)).thenReturn(true);
 
         // Act & Assert
         UserAlReadyExist exception = assertThrows(UserAlReadyExist.class, () -> {
@@ -116,9 +192,99 @@ class UserServiceTest {
         });
 
         assertEquals("Ya existe un usuario activo registrado con el mismo email", exception.getMessage());
-        verify(userRepository).existsByEmail(TEST_EMAIL);
-        verify(userRepository, never()).save(any(User.class));
-        verify(jwtService, never()).generateToken(anyString());
+        verify(userRepository).existsByNaturalEmail(TEST_EMAIL);
+        verify(userRepository, never()).saveAndFlush(any(User.class));
+        verifyNoInteractions(userEventOutbox);
+        assertEquals(1, signUpStageMetrics.getCount(SignUpStageMetrics.Stage.EXISTENCE_CHECK));
+        assertEquals(0, signUpStageMetrics.getCount(SignUpStageMetrics.Stage.INSERT));
+        verify(registeredEmailFilter, never()).add(anyString());
+    }
+
+    @Test
+    void signUp_WhenEmailMightExist_ShouldRunCryptoOnExecutorDuringExistenceCheck() throws Exception {
+        // Arrange
+        List<Runnable> tasks = new ArrayList<>();
+        ReflectionTestUtils.setField(userService, "cryptoExecutor", (Executor) tasks::add);
+        when(registeredEmailFilter.mightExist(TEST_EMAIL)).thenReturn(true);
+        when(userRepository.existsByNaturalEmail(TEST_EMAIL)).thenAnswer(invocation -> {
+            assertEquals(2, tasks.size());
+            tasks.forEach(Runnable::run);
+            return false;
+        });
+        when(jwtService.generateToken(TEST_EMAIL)).thenReturn(TEST_TOKEN);
+        when(userRepository.saveAndFlush(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        SignUpResponseDto result = userService.signUp(signUpRequestDto);
+
+        // Assert
+        assertEquals(TEST_TOKEN, result.getToken());
+        for (SignUpStageMetrics.Stage stage : SignUpStageMetrics.Stage.values()) {
+            assertEquals(1, signUpStageMetrics.getCount(stage), stage.name());
+        }
+        ArgumentCaptor<User> saved = ArgumentCaptor.forClass(User.class);
+        verify(userRepository).saveAndFlush(saved.capture());
+        assertEquals("TestPass1234", AESUtil.decrypt(saved.getValue().getPassword()));
+    }
+
+    @Test
+    void signUp_WhenFilterRulesOutEmail_ShouldRunCryptoOnCallingThread() throws Exception {
+        // Arrange
+        List<Runnable> tasks = new ArrayList<>();
+        ReflectionTestUtils.setField(userService, "cryptoExecutor", (Executor) tasks::add);
+        when(registeredEmailFilter.mightExist(TEST_EMAIL)).thenReturn(false);
+        when(jwtService.generateToken(TEST_EMAIL)).thenReturn(TEST_TOKEN);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(mockUser);
+
+        // Act
+        userService.signUp(signUpRequestDto);
+
+        // Assert
+        assertTrue(tasks.isEmpty());
+        assertEquals(0, signUpStageMetrics.getCount(SignUpStageMetrics.Stage.EXISTENCE_CHECK));
+        assertEquals(1, signUpStageMetrics.getCount(SignUpStageMetrics.Stage.ENCRYPT));
+        assertEquals(1, signUpStageMetrics.getCount(SignUpStageMetrics.Stage.TOKEN));
+    }
+
+    @Test
+    void signUp_WhenEmailUniqueConstraintViolated_ShouldThrowUserAlReadyExist() throws Exception {
+        // Arrange
+        when(jwtService.generateToken(TEST_EMAIL)).thenReturn(TEST_TOKEN);
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(new DataIntegrityViolationException("duplicado",
+                new ConstraintViolationException("duplicado", new SQLException(), "PUBLIC.UK_USERS_EMAIL_INDEX_4")));
+
+        // Act & Assert
+        UserAlReadyExist exception = assertThrows(UserAlReadyExist.class, () -> {
+            userService.signUp(signUpRequestDto);
+        });
+
+        assertEquals("Ya existe un usuario activo registrado con el mismo email", exception.getMessage());
+        verify(registeredEmailFilter, never()).add(anyString());
+        assertEquals(0, emailReservationRegistry.getReservedCount());
+    }
+
+    @Test
+    void signUp_WhenOtherIntegrityViolation_ShouldRethrow() throws Exception {
+        // Arrange
+        when(jwtService.generateToken(TEST_EMAIL)).thenReturn(TEST_TOKEN);
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(new DataIntegrityViolationException("nulo",
+                new ConstraintViolationException("nulo", new SQLException(), null)));
+
+        // Act & Assert
+        assertThrows(DataIntegrityViolationException.class, () -> userService.signUp(signUpRequestDto));
+    }
+
+    @Test
+    void signUp_WhenSameEmailInProgress_ShouldRejectWithoutQueryingDatabase() {
+        // Arrange
+        Runnable release = emailReservationRegistry.reserve(TEST_EMAIL);
+
+        // Act & Assert
+        assertThrows(UserAlReadyExist.class, () -> userService.signUp(signUpRequestDto));
+        verifyNoInteractions(userRepository, jwtService, registeredEmailFilter);
+
+        release.run();
+        assertEquals(0, emailReservationRegistry.getReservedCount());
     }
 
     @Test
@@ -137,9 +303,10 @@ class UserServiceTest {
                 .isActive(true)
                 .build();
 
-        when(userRepository.existsByEmail(TEST_EMAIL)).thenReturn(false);
+        when(registeredEmailFilter.mightExist(TEST_EMAIL)).thenReturn(true);
+        when(userRepository.existsByNaturalEmail(TEST_EMAIL)).thenReturn(false);
         when(jwtService.generateToken(TEST_EMAIL)).thenReturn(TEST_TOKEN);
-        when(userRepository.save(any(User.class))).thenReturn(userWithoutPhones);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(userWithoutPhones);
 
         // Act
         SignUpResponseDto result = userService.signUp(signUpRequestDto);
@@ -149,17 +316,19 @@ class UserServiceTest {
         assertEquals(userWithoutPhones.getId(), result.getId());
         assertEquals(TEST_TOKEN, result.getToken());
 
-        verify(userRepository).existsByEmail(TEST_EMAIL);
+        verify(userRepository).existsByNaturalEmail(TEST_EMAIL);
         verify(jwtService).generateToken(TEST_EMAIL);
-        verify(userRepository).save(any(User.class));
+        verify(userRepository).saveAndFlush(any(User.class));
     }
 
     @Test
     void login_WhenUserExists_ShouldReturnUserResponseDto() throws Exception {
         // Arrange
         when(jwtService.extractEmail(TEST_TOKEN)).thenReturn(TEST_EMAIL);
-        when(userRepository.findByEmail(TEST_EMAIL)).thenReturn(Optional.of(mockUser));
-        when(userRepository.save(any(User.class))).thenReturn(mockUser);
+        when(userRepository.findByNaturalEmail(TEST_EMAIL)).thenReturn(Optional.of(mockUser));
+        LocalDateTime bufferedLogin = LocalDateTime.now();
+        when(lastLoginBuffer.record(eq(mockUser.getId()), eq(mockUser.getLastLogin()), any(LocalDateTime.class)))
+                .thenReturn(bufferedLogin);
 
         // Act
         UserResponseDto result = userService.login(TEST_TOKEN);
@@ -174,17 +343,18 @@ class UserServiceTest {
         assertEquals(TEST_TOKEN, result.getToken());
         assertNotNull(result.getPhones());
         assertEquals(1, result.getPhones().size());
+        assertEquals(bufferedLogin, result.getLastLogin());
 
         verify(jwtService).extractEmail(TEST_TOKEN);
-        verify(userRepository).findByEmail(TEST_EMAIL);
-        verify(userRepository).save(any(User.class));
+        verify(userRepository).findByNaturalEmail(TEST_EMAIL);
+        verify(userRepository, never()).saveAndFlush(any(User.class));
     }
 
     @Test
     void login_WhenUserDoesNotExist_ShouldThrowUserNotFoundException() {
         // Arrange
         when(jwtService.extractEmail(TEST_TOKEN)).thenReturn(TEST_EMAIL);
-        when(userRepository.findByEmail(TEST_EMAIL)).thenReturn(Optional.empty());
+        when(userRepository.findByNaturalEmail(TEST_EMAIL)).thenReturn(Optional.empty());
 
         // Act & Assert
         UserNotFoundException exception = assertThrows(UserNotFoundException.class, () -> {
@@ -193,7 +363,126 @@ class UserServiceTest {
 
         assertEquals("Usuario no encontrado", exception.getMessage());
         verify(jwtService).extractEmail(TEST_TOKEN);
-        verify(userRepository).findByEmail(TEST_EMAIL);
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository).findByNaturalEmail(TEST_EMAIL);
+        verify(userRepository, never()).saveAndFlush(any(User.class));
+        verifyNoInteractions(lastLoginBuffer);
+    }
+
+    @Test
+    void loginSerialized_WhenCacheMiss_ShouldLoadUserAndStoreResponse() throws Exception {
+        // Arrange
+        ObjectMapper objectMapper = objectMapper();
+        LoginResponseCache cache = useLoginCache(objectMapper);
+        LocalDateTime bufferedLogin = LocalDateTime.of(2024, 1, 1, 12, 0);
+        when(jwtService.extractEmail(TEST_TOKEN)).thenReturn(TEST_EMAIL);
+        when(userRepository.findByNaturalEmail(TEST_EMAIL)).thenReturn(Optional.of(mockUser));
+        when(lastLoginBuffer.record(eq(mockUser.getId()), eq(mockUser.getLastLogin()), any(LocalDateTime.class)))
+                .thenReturn(bufferedLogin);
+
+        // Act
+        byte[] result = userService.loginSerialized(TEST_TOKEN);
+
+        // Assert
+        UserResponseDto expected = UserMapper.convertToUserResponse(mockUser);
+        expected.setLastLogin(bufferedLogin);
+        assertEquals(objectMapper.writeValueAsString(expected), new String(result, StandardCharsets.UTF_8));
+        assertEquals(1, cache.size());
+        assertEquals(bufferedLogin, cache.get(TEST_EMAIL).getLastLogin());
+    }
+
+    @Test
+    void loginSerialized_WhenResponseCached_ShouldNotStorePlaintextPassword() throws Exception {
+        // Arrange
+        LoginResponseCache cache = useLoginCache(objectMapper());
+        when(jwtService.extractEmail(TEST_TOKEN)).thenReturn(TEST_EMAIL);
+        when(userRepository.findByNaturalEmail(TEST_EMAIL)).thenReturn(Optional.of(mockUser));
+        when(lastLoginBuffer.record(eq(mockUser.getId()), eq(mockUser.getLastLogin()), any(LocalDateTime.class)))
+                .thenReturn(LocalDateTime.of(2024, 1, 1, 12, 0));
+
+        // Act
+        byte[] result = userService.loginSerialized(TEST_TOKEN);
+
+        // Assert
+        LoginResponseCache.Entry entry = cache.get(TEST_EMAIL);
+        byte[] stored = entry.render(new byte[0], new byte[0]);
+        assertFalse(new String(stored, StandardCharsets.UTF_8).contains("TestPass1234"));
+        assertEquals(mockUser.getPassword(), entry.getEncryptedPassword());
+        assertTrue(new String(result, StandardCharsets.UTF_8).contains("\"password\":\"TestPass1234\""));
+    }
+
+    @Test
+    void loginSerialized_WhenCacheHit_ShouldNotQueryDatabaseAndPatchLastLogin() throws Exception {
+        // Arrange
+        ObjectMapper objectMapper = objectMapper();
+        useLoginCache(objectMapper);
+        LocalDateTime firstLogin = LocalDateTime.of(2024, 1, 1, 12, 0);
+        LocalDateTime secondLogin = firstLogin.plusMinutes(5);
+        when(jwtService.extractEmail(TEST_TOKEN)).thenReturn(TEST_EMAIL);
+        when(userRepository.findByNaturalEmail(TEST_EMAIL)).thenReturn(Optional.of(mockUser));
+        when(lastLoginBuffer.record(eq(mockUser.getId()), eq(mockUser.getLastLogin()), any(LocalDateTime.class)))
+                .thenReturn(firstLogin);
+        when(lastLoginBuffer.record(eq(mockUser.getId()), eq(firstLogin), any(LocalDateTime.class)))
+                .thenReturn(secondLogin);
+        userService.loginSerialized(TEST_TOKEN);
+
+        // Act
+        byte[] result = userService.loginSerialized(TEST_TOKEN);
+
+        // Assert
+        UserResponseDto expected = UserMapper.convertToUserResponse(mockUser);
+        expected.setLastLogin(secondLogin);
+        assertEquals(objectMapper.writeValueAsString(expected), new String(result, StandardCharsets.UTF_8));
+        verify(userRepository, times(1)).findByNaturalEmail(TEST_EMAIL);
+    }
+
+    @Test
+    void loginSerialized_WhenRequestIsTimed_ShouldRecordLoginStages() throws Exception {
+        // Arrange
+        useLoginCache(objectMapper());
+        when(jwtService.extractEmail(TEST_TOKEN)).thenReturn(TEST_EMAIL);
+        when(userRepository.findByNaturalEmail(TEST_EMAIL)).thenReturn(Optional.of(mockUser));
+        when(lastLoginBuffer.record(eq(mockUser.getId()), eq(mockUser.getLastLogin()), any(LocalDateTime.class)))
+                .thenReturn(LocalDateTime.now());
+        RequestTimings timings = RequestTimings.start();
+
+        // Act
+        try {
+            userService.loginSerialized(TEST_TOKEN);
+        } finally {
+            RequestTimings.stop();
+        }
+
+        // Assert
+        String header = timings.toServerTiming();
+        for (String stage : Arrays.asList("jwt", "cache", "user-query", "phones", "decrypt", "serialize",
+                "last-login", "total")) {
+            assertTrue(header.contains(stage + ";dur="), header);
+        }
+    }
+
+    @Test
+    void loginSerialized_WhenUserDoesNotExist_ShouldThrowUserNotFoundException() {
+        // Arrange
+        LoginResponseCache cache = useLoginCache(objectMapper());
+        when(jwtService.extractEmail(TEST_TOKEN)).thenReturn(TEST_EMAIL);
+        when(userRepository.findByNaturalEmail(TEST_EMAIL)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(UserNotFoundException.class, () -> userService.loginSerialized(TEST_TOKEN));
+        assertEquals(0, cache.size());
+        verifyNoInteractions(lastLoginBuffer);
+    }
+
+    private LoginResponseCache useLoginCache(ObjectMapper objectMapper) {
+        LoginResponseCache cache = new LoginResponseCache(1024 * 1024);
+        ReflectionTestUtils.setField(userService, "loginResponseCache", cache);
+        ReflectionTestUtils.setField(userService, "objectMapper", objectMapper);
+        return cache;
+    }
+
+    private static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
     }
-} 
\ No newline at end of file
+}
@@ -2,6 +2,13 @@ package cl.bci.ejercicio.utils;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -169,4 +176,52 @@ class AESUtilTest {
                 "Failed to correctly encrypt/decrypt: " + testString);
         }
     }
-} 
\ No newline at end of file
+
+    @Test
+    void encrypt_WhenCalledRepeatedly_ShouldReusePooledCiphers() throws Exception {
+        // Arrange
+        long missesBefore = AESUtil.getEncryptPool().getMissCount();
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            AESUtil.encrypt("pooled" + i);
+        }
+
+        // Assert
+        assertTrue(AESUtil.getEncryptPool().getMissCount() - missesBefore <= 1);
+        assertTrue(AESUtil.getEncryptPool().getIdleCount() >= 1);
+    }
+
+    @Test
+    void decrypt_WhenPreviousDecryptFailed_ShouldStillDecryptCorrectly() throws Exception {
+        // Arrange
+        String encrypted = AESUtil.encrypt("Password12");
+        String corrupted = Base64.getEncoder().encodeToString(new byte[]{1, 2, 3});
+        assertThrows(Exception.class, () -> AESUtil.decrypt(corrupted));
+
+        // Act
+        String decrypted = AESUtil.decrypt(encrypted);
+
+        // Assert
+        assertEquals("Password12", decrypted);
+    }
+
+    @Test
+    void encryptAndDecrypt_WhenConcurrentCalls_ShouldBeConsistent() throws Exception {
+        // Arrange
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 200; i++) {
+            String value = "Concurrent" + i;
+            results.add(executor.submit(() -> value.equals(AESUtil.decrypt(AESUtil.encrypt(value)))));
+        }
+
+        // Assert
+        for (Future<Boolean> result : results) {
+            assertTrue(result.get());
+        }
+        executor.shutdown();
+    }
+}
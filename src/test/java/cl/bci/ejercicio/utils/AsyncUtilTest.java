@@ -0,0 +1,46 @@
+package cl.bci.ejercicio.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncUtilTest {
+
+    private final Executor direct = Runnable::run;
+
+    @Test
+    void join_WhenTaskSucceeds_ShouldReturnResult() throws Exception {
+        // Arrange
+        CompletableFuture<String> future = AsyncUtil.supplyAsync(() -> "ok", direct);
+
+        // Act & Assert
+        assertEquals("ok", AsyncUtil.join(future));
+    }
+
+    @Test
+    void join_WhenTaskThrowsCheckedException_ShouldRethrowOriginal() {
+        // Arrange
+        CompletableFuture<String> future = AsyncUtil.supplyAsync(() -> {
+            throw new IOException("fallo");
+        }, direct);
+
+        // Act & Assert
+        IOException exception = assertThrows(IOException.class, () -> AsyncUtil.join(future));
+        assertEquals("fallo", exception.getMessage());
+    }
+
+    @Test
+    void join_WhenTaskThrowsRuntimeException_ShouldRethrowOriginal() {
+        // Arrange
+        CompletableFuture<String> future = AsyncUtil.supplyAsync(() -> {
+            throw new IllegalStateException("fallo");
+        }, direct);
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> AsyncUtil.join(future));
+    }
+}
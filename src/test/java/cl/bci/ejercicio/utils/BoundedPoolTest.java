@@ -0,0 +1,63 @@
+package cl.bci.ejercicio.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPoolTest {
+
+    @Test
+    void borrow_WhenPoolIsEmpty_ShouldCreateInstanceAndCountMiss() {
+        // Arrange
+        AtomicInteger created = new AtomicInteger();
+        BoundedPool<Object> pool = new BoundedPool<>(() -> {
+            created.incrementAndGet();
+            return new Object();
+        }, 2);
+
+        // Act
+        Object instance = pool.borrow();
+
+        // Assert
+        assertNotNull(instance);
+        assertEquals(1, created.get());
+        assertEquals(1, pool.getBorrowCount());
+        assertEquals(1, pool.getMissCount());
+    }
+
+    @Test
+    void borrow_WhenInstanceWasReleased_ShouldReuseIt() {
+        // Arrange
+        BoundedPool<Object> pool = new BoundedPool<>(Object::new, 2);
+        Object first = pool.borrow();
+        pool.release(first);
+
+        // Act
+        Object second = pool.borrow();
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(2, pool.getBorrowCount());
+        assertEquals(1, pool.getMissCount());
+        assertEquals(0, pool.getIdleCount());
+    }
+
+    @Test
+    void release_WhenPoolIsFull_ShouldDiscardInstance() {
+        // Arrange
+        BoundedPool<Object> pool = new BoundedPool<>(Object::new, 1);
+        Object first = pool.borrow();
+        Object second = pool.borrow();
+        pool.release(first);
+
+        // Act
+        pool.release(second);
+
+        // Assert
+        assertEquals(1, pool.getIdleCount());
+        assertEquals(1, pool.getDiscardCount());
+        assertSame(first, pool.borrow());
+    }
+}
@@ -0,0 +1,55 @@
+package cl.bci.ejercicio.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmailUtilTest {
+
+    @Test
+    void normalize_WhenMixedCaseWithSpaces_ShouldTrimAndLowerCase() {
+        // Act
+        String result = EmailUtil.normalize("  Juan.Perez@BCI.cl ");
+
+        // Assert
+        assertEquals("juan.perez@bci.cl", result);
+    }
+
+    @Test
+    void hash_WhenEmailsDifferOnlyInCase_ShouldBeEqual() {
+        // Act
+        byte[] lower = EmailUtil.hash("juan.perez@bci.cl");
+        byte[] mixed = EmailUtil.hash(" Juan.Perez@BCI.cl");
+
+        // Assert
+        assertEquals(EmailUtil.HASH_LENGTH, lower.length);
+        assertArrayEquals(lower, mixed);
+    }
+
+    @Test
+    void hash_WhenDifferentEmails_ShouldDiffer() {
+        // Act
+        byte[] first = EmailUtil.hash("juan.perez@bci.cl");
+        byte[] second = EmailUtil.hash("juan.perez2@bci.cl");
+
+        // Assert
+        assertFalse(Arrays.equals(first, second));
+    }
+
+    @Test
+    void hash_WhenCalledRepeatedly_ShouldReuseDigestFromPool() {
+        // Arrange
+        byte[] expected = EmailUtil.hash("juan.perez@bci.cl");
+        long misses = EmailUtil.getDigestPool().getMissCount();
+
+        // Act
+        byte[] result = EmailUtil.hash("juan.perez@bci.cl");
+
+        // Assert
+        assertArrayEquals(expected, result);
+        assertEquals(misses, EmailUtil.getDigestPool().getMissCount());
+        assertTrue(EmailUtil.getDigestPool().getIdleCount() <= EmailUtil.getDigestPool().getCapacity());
+    }
+}
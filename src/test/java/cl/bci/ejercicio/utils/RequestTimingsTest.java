@@ -0,0 +1,70 @@
+package cl.bci.ejercicio.utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestTimingsTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestTimings.stop();
+    }
+
+    @Test
+    void current_WhenNotStarted_ShouldReturnDisabledTimings() {
+        // Act
+        RequestTimings timings = RequestTimings.current();
+        timings.record("jwt", timings.now());
+        timings.add("decrypt", 1_000_000);
+
+        // Assert
+        assertFalse(timings.isEnabled());
+        assertEquals(0, timings.now());
+        assertEquals("total;dur=0.000", timings.toServerTiming());
+    }
+
+    @Test
+    void current_WhenStarted_ShouldReturnStartedTimingsUntilStopped() {
+        // Arrange
+        RequestTimings started = RequestTimings.start();
+
+        // Act
+        RequestTimings current = RequestTimings.current();
+        RequestTimings.stop();
+
+        // Assert
+        assertSame(started, current);
+        assertTrue(current.isEnabled());
+        assertFalse(RequestTimings.current().isEnabled());
+    }
+
+    @Test
+    void toServerTiming_WhenStagesRecorded_ShouldListStagesInOrderFollowedByTotal() {
+        // Arrange
+        RequestTimings timings = RequestTimings.start();
+        timings.add("jwt", 412_000);
+        timings.add("user-query", 1_250_000);
+
+        // Act
+        String header = timings.toServerTiming();
+
+        // Assert
+        assertTrue(header.startsWith("jwt;dur=0.412, user-query;dur=1.250, total;dur="), header);
+    }
+
+    @Test
+    void toLogFields_WhenStagesRecorded_ShouldStartWithTotal() {
+        // Arrange
+        RequestTimings timings = RequestTimings.start();
+        timings.add("decrypt", 50_000);
+
+        // Act
+        String fields = timings.toLogFields();
+
+        // Assert
+        assertTrue(fields.startsWith("total="), fields);
+        assertTrue(fields.endsWith(" decrypt=0.050ms"), fields);
+    }
+}
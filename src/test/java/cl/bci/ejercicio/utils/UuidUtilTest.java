@@ -0,0 +1,77 @@
+package cl.bci.ejercicio.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidUtilTest {
+
+    private final UUID id = UUID.fromString("0f8fad5b-d9cb-469f-a165-70867728950e");
+
+    @Test
+    void toBytes_WhenUuid_ShouldUseMostThenLeastSignificantBits() {
+        // Act
+        byte[] bytes = UuidUtil.toBytes(id);
+
+        // Assert
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        assertEquals(16, bytes.length);
+        assertEquals(id.getMostSignificantBits(), buffer.getLong());
+        assertEquals(id.getLeastSignificantBits(), buffer.getLong());
+    }
+
+    @Test
+    void fromBytes_WhenBytesFromToBytes_ShouldReturnSameUuid() {
+        // Act
+        UUID result = UuidUtil.fromBytes(UuidUtil.toBytes(id));
+
+        // Assert
+        assertEquals(id, result);
+    }
+
+    @Test
+    void timeOrdered_ShouldSetVersion7AndIetfVariant() {
+        // Act
+        UUID result = UuidUtil.timeOrdered();
+
+        // Assert
+        assertEquals(7, result.version());
+        assertEquals(2, result.variant());
+    }
+
+    @Test
+    void timeOrdered_ShouldEncodeCurrentTimeInFirst48Bits() {
+        // Arrange
+        long before = System.currentTimeMillis();
+
+        // Act
+        UUID result = UuidUtil.timeOrdered();
+
+        // Assert
+        long timestamp = result.getMostSignificantBits() >>> 16;
+        assertTrue(timestamp >= before);
+        assertTrue(timestamp <= System.currentTimeMillis() + 1);
+    }
+
+    @Test
+    void timeOrdered_WhenGeneratedInSequence_ShouldBeStrictlyIncreasingAsBytes() {
+        // Arrange
+        List<byte[]> generated = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 10_000; i++) {
+            generated.add(UuidUtil.toBytes(UuidUtil.timeOrdered()));
+        }
+
+        // Assert
+        for (int i = 1; i < generated.size(); i++) {
+            assertTrue(Arrays.compareUnsigned(generated.get(i - 1), generated.get(i)) < 0);
+        }
+    }
+}